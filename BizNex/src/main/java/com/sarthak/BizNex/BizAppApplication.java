@@ -2,6 +2,9 @@ package com.sarthak.BizNex;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.system.ApplicationHome;
+
+import java.io.File;
 
 /**
  * Entry point for the BizApp Spring Boot application.
@@ -14,4 +17,11 @@ public class BizAppApplication {
 		SpringApplication.run(BizAppApplication.class, args);
 	}
 
+	/** Application version plus the jar's (or classes directory's) timestamp; identifies the running build. */
+	public static String buildId() {
+		String version = BizAppApplication.class.getPackage().getImplementationVersion();
+		File source = new ApplicationHome(BizAppApplication.class).getSource();
+		return (version == null ? "dev" : version) + "@" + (source == null ? 0 : source.lastModified());
+	}
+
 }
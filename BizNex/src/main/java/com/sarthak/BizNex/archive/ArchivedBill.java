@@ -0,0 +1,22 @@
+package com.sarthak.BizNex.archive;
+
+import com.sarthak.BizNex.dto.response.BillResponseDto;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * One bill in the cold archive: its response form plus the keys the archive is queried by. The response already
+ * carries the sale-time customer and product details, so nothing refers back to the hot tables.
+ */
+public record ArchivedBill(long billId, long customerId, LocalDateTime billDate, BillResponseDto bill) {
+
+    /** Archive key of a bill number; lookups are case-insensitive. */
+    public static String key(String billNumber) {
+        return billNumber.toUpperCase(Locale.ROOT);
+    }
+
+    public String key() {
+        return key(bill.getBillNumber());
+    }
+}
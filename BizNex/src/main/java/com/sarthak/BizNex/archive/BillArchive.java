@@ -0,0 +1,369 @@
+package com.sarthak.BizNex.archive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sarthak.BizNex.dto.response.BillResponseDto;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Read side of the cold bill archive: every {@link BillArchiveSegment} under {@code app.archive.dir}, grouped by
+ * month. A month may have several segments (one per archiving run that found bills for it). Bill numbers carry the
+ * bill's ddMMyy date, so a lookup usually opens one month's segments; numbers that do not parse fall back to all.
+ * Segments are only ever added, never rewritten; a dataset restore swaps in the snapshot's set as a whole.
+ */
+@Component
+public class BillArchive {
+
+    private static final Logger log = LoggerFactory.getLogger(BillArchive.class);
+    private static final Pattern SEGMENT_NAME = Pattern.compile("bills-(\\d{4})-(\\d{2})\\.(\\d+)\\" + BillArchiveSegment.SUFFIX);
+    private static final String PART_SUFFIX = ".part";
+    private static final int MAX_CACHED_CUSTOMERS = 256;
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final NavigableMap<YearMonth, List<BillArchiveSegment>> segments = new ConcurrentSkipListMap<>();
+    private final Object writeLock = new Object();
+    // Per-customer sort keys for paging customer history; access-ordered LRU, guarded by itself
+    private final Map<Long, List<BillSortKey>> customerKeys = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, List<BillSortKey>> eldest) {
+            return size() > MAX_CACHED_CUSTOMERS;
+        }
+    };
+    private volatile long generation; // bumped whenever the segments change
+    private Path root;
+
+    @Value("${app.archive.dir:${user.home}/biznex-bill-archive}")
+    private String dir;
+    @Value("${app.archive.block-bills:64}")
+    private int blockBills;
+
+    public BillArchive(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void open() throws IOException {
+        root = Path.of(dir);
+        Files.createDirectories(root);
+        try (Stream<Path> files = Files.list(root)) {
+            for (Path file : files.sorted().toList()) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(PART_SUFFIX)) {
+                    Files.deleteIfExists(file); // an archiving run died before publishing; its bills are still hot
+                } else if (SEGMENT_NAME.matcher(name).matches()) {
+                    try {
+                        add(BillArchiveSegment.open(file, objectMapper));
+                    } catch (IOException e) {
+                        log.error("Skipping unreadable archive segment {}: {}", file, e.getMessage());
+                    }
+                }
+            }
+        }
+        Gauge.builder("biznex.archive.segments", this, BillArchive::segmentCount).register(meterRegistry);
+        Gauge.builder("biznex.archive.bills", this, BillArchive::billCount).register(meterRegistry);
+        log.info("Bill archive at {}: {} segment(s), {} bill(s)", root, segmentCount(), billCount());
+    }
+
+    @PreDestroy
+    void close() {
+        all().forEach(segment -> {
+            try {
+                segment.close();
+            } catch (IOException e) {
+                log.warn("Could not close archive segment {}: {}", segment.file(), e.toString());
+            }
+        });
+    }
+
+    /** An archived bill by number (case-insensitive). */
+    public Optional<BillResponseDto> find(String billNumber) {
+        if (segments.isEmpty()) {
+            return Optional.empty();
+        }
+        String key = ArchivedBill.key(billNumber);
+        YearMonth month = monthOf(key);
+        Collection<BillArchiveSegment> candidates = month != null ? segments.getOrDefault(month, List.of()) : all();
+        try {
+            for (BillArchiveSegment segment : candidates) {
+                ArchivedBill bill = segment.find(key);
+                if (bill != null) {
+                    meterRegistry.counter("biznex.archive.lookups", "outcome", "hit").increment();
+                    return Optional.of(bill.bill());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        meterRegistry.counter("biznex.archive.lookups", "outcome", "miss").increment();
+        return Optional.empty();
+    }
+
+    /** A customer's archived bills, oldest first. */
+    public List<ArchivedBill> findByCustomer(long customerId) {
+        List<ArchivedBill> bills = new ArrayList<>();
+        try {
+            for (BillArchiveSegment segment : all()) {
+                segment.forCustomer(customerId, bills::add);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        bills.sort(Comparator.comparing(ArchivedBill::billDate).thenComparingLong(ArchivedBill::billId));
+        return bills;
+    }
+
+    /**
+     * Sort keys of a customer's archived bills, in no particular order. Segments are immutable, so the keys are
+     * cached per customer until the next segment is added; whole bills are then read with {@link #find} only for
+     * the ones a page shows.
+     */
+    public List<BillSortKey> customerKeys(long customerId) {
+        synchronized (customerKeys) {
+            List<BillSortKey> cached = customerKeys.get(customerId);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        long before = generation;
+        List<BillSortKey> keys = new ArrayList<>();
+        try {
+            for (BillArchiveSegment segment : all()) {
+                segment.forCustomer(customerId, bill -> keys.add(BillSortKey.of(bill)));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        List<BillSortKey> result = List.copyOf(keys);
+        synchronized (customerKeys) {
+            if (generation == before) { // otherwise a segment was added meanwhile and may hold more of them
+                customerKeys.put(customerId, result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Sort keys of the archived bills dated in [from, to) (either end may be null), optionally of one customer, in
+     * billId order. Without a customer every segment in the range is read once.
+     */
+    public List<BillSortKey> sortKeys(Long customerId, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime start = from != null ? from : LocalDateTime.MIN;
+        LocalDateTime end = to != null ? to : LocalDateTime.MAX;
+        List<BillSortKey> keys = new ArrayList<>();
+        if (customerId != null) {
+            for (BillSortKey key : customerKeys(customerId)) {
+                if (!key.billDate().isBefore(start) && key.billDate().isBefore(end)) {
+                    keys.add(key);
+                }
+            }
+        } else if (!segments.isEmpty()) {
+            forEachBetween(start, end, bill -> keys.add(BillSortKey.of(bill)));
+        }
+        keys.sort(Comparator.comparingLong(BillSortKey::billId));
+        return keys;
+    }
+
+    /** Whether any archived month overlaps [from, to). */
+    public boolean covers(LocalDateTime from, LocalDateTime to) {
+        return !monthsBetween(from, to).isEmpty();
+    }
+
+    /** Archived bills dated in [from, to), month by month (within a month in bill-number order). */
+    public void forEachBetween(LocalDateTime from, LocalDateTime to, Consumer<ArchivedBill> action) {
+        try {
+            for (List<BillArchiveSegment> month : monthsBetween(from, to).values()) {
+                for (BillArchiveSegment segment : month) {
+                    segment.forEach(bill -> {
+                        if (!bill.billDate().isBefore(from) && bill.billDate().isBefore(to)) {
+                            action.accept(bill);
+                        }
+                    });
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    int segmentCount() {
+        return segments.values().stream().mapToInt(List::size).sum();
+    }
+
+    long billCount() {
+        return all().stream().mapToLong(BillArchiveSegment::billCount).sum();
+    }
+
+    /** Keys already archived for a month (so a re-run after a crash does not archive a bill twice). */
+    Set<String> keys(YearMonth month) throws IOException {
+        Set<String> keys = new HashSet<>();
+        for (BillArchiveSegment segment : segments.getOrDefault(month, List.of())) {
+            keys.addAll(segment.keys());
+        }
+        return keys;
+    }
+
+    /**
+     * Write a new segment for {@code month} from the bills {@code fill} adds (ascending keys) and publish it once it
+     * is on disk. Returns the number of bills written; nothing is published when there are none.
+     */
+    int write(YearMonth month, SegmentFiller fill) throws IOException {
+        synchronized (writeLock) {
+            Path target = nextSegmentPath(month);
+            Path part = target.resolveSibling(target.getFileName() + PART_SUFFIX);
+            try (BillArchiveSegment.Writer writer = new BillArchiveSegment.Writer(part, month, objectMapper, blockBills)) {
+                fill.fill(writer);
+                if (writer.count() == 0) {
+                    return 0;
+                }
+                writer.finish();
+                Files.move(part, target, StandardCopyOption.ATOMIC_MOVE);
+                try (FileChannel directory = FileChannel.open(root, StandardOpenOption.READ)) {
+                    directory.force(true); // make the rename durable before the archiver deletes the hot rows
+                }
+                add(BillArchiveSegment.open(target, objectMapper));
+                return writer.count();
+            }
+        }
+    }
+
+    /** The published segment files, oldest month first (for a dataset snapshot; they never change once published). */
+    public List<Path> segmentFiles() {
+        return all().stream().map(BillArchiveSegment::file).toList();
+    }
+
+    /**
+     * Replace the whole archive with copies of {@code files} (a dataset snapshot's segments). The copies are staged
+     * and opened first, so a damaged file fails before anything changes; then {@code commit} runs (the restore of the
+     * tables) and the archive is swapped only if it succeeds. Returns what {@code commit} returned.
+     */
+    public <T> T replaceWith(List<Path> files, Callable<T> commit) throws Exception {
+        synchronized (writeLock) {
+            Map<Path, Path> staged = new LinkedHashMap<>();
+            try {
+                for (Path file : files) {
+                    String name = file.getFileName().toString();
+                    if (!SEGMENT_NAME.matcher(name).matches()) {
+                        throw new IOException("Not an archive segment name: " + name);
+                    }
+                    Path part = root.resolve(name + PART_SUFFIX);
+                    staged.put(part, root.resolve(name));
+                    Files.copy(file, part, StandardCopyOption.REPLACE_EXISTING);
+                    BillArchiveSegment.open(part, objectMapper).close();
+                }
+                T result = commit.call();
+                swap(staged);
+                return result;
+            } finally {
+                for (Path part : staged.keySet()) {
+                    Files.deleteIfExists(part);
+                }
+            }
+        }
+    }
+
+    private void swap(Map<Path, Path> staged) throws IOException {
+        List<BillArchiveSegment> old = all();
+        segments.clear();
+        segmentsChanged();
+        for (BillArchiveSegment segment : old) {
+            segment.close();
+            Files.deleteIfExists(segment.file());
+        }
+        for (Map.Entry<Path, Path> file : staged.entrySet()) {
+            Files.move(file.getKey(), file.getValue(), StandardCopyOption.ATOMIC_MOVE);
+        }
+        try (FileChannel directory = FileChannel.open(root, StandardOpenOption.READ)) {
+            directory.force(true);
+        }
+        for (Path file : staged.values()) {
+            add(BillArchiveSegment.open(file, objectMapper));
+        }
+        log.info("Bill archive replaced: {} segment(s), {} bill(s)", segmentCount(), billCount());
+    }
+
+    @FunctionalInterface
+    interface SegmentFiller {
+        void fill(BillArchiveSegment.Writer writer) throws IOException;
+    }
+
+    private void add(BillArchiveSegment segment) {
+        segments.computeIfAbsent(segment.month(), m -> new CopyOnWriteArrayList<>()).add(segment);
+        segmentsChanged();
+    }
+
+    private void segmentsChanged() {
+        synchronized (customerKeys) {
+            generation++;
+            customerKeys.clear();
+        }
+    }
+
+    private List<BillArchiveSegment> all() {
+        List<BillArchiveSegment> all = new ArrayList<>();
+        segments.values().forEach(all::addAll);
+        return all;
+    }
+
+    private NavigableMap<YearMonth, List<BillArchiveSegment>> monthsBetween(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            return Collections.emptyNavigableMap();
+        }
+        return segments.subMap(YearMonth.from(from), true, YearMonth.from(to.minusNanos(1)), true);
+    }
+
+    private Path nextSegmentPath(YearMonth month) {
+        int next = 1;
+        for (BillArchiveSegment segment : segments.getOrDefault(month, List.of())) {
+            Matcher m = SEGMENT_NAME.matcher(segment.file().getFileName().toString());
+            if (m.matches()) {
+                next = Math.max(next, Integer.parseInt(m.group(3)) + 1);
+            }
+        }
+        return root.resolve(String.format("bills-%d-%02d.%d%s", month.getYear(), month.getMonthValue(), next,
+                BillArchiveSegment.SUFFIX));
+    }
+
+    /** The month in a generated bill number (initials, ddMMyy, "-", random), or null. */
+    static YearMonth monthOf(String key) {
+        if (key.length() < 8) {
+            return null;
+        }
+        for (int i = 2; i < 8; i++) {
+            if (!Character.isDigit(key.charAt(i))) {
+                return null;
+            }
+        }
+        try {
+            return YearMonth.of(2000 + Integer.parseInt(key.substring(6, 8)), Integer.parseInt(key.substring(4, 6)));
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,374 @@
+package com.sarthak.BizNex.archive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * One immutable archive file holding bills of a single month, sorted by bill number. Layout:
+ * <pre>
+ * header  = [int magic][short version][short year][byte month]
+ * block*  = zlib-compressed run of records; record = [short keyLength][key][int jsonLength][json]
+ * index   = [int blocks] ([long offset][int compressedLength][int rawLength][int bills][short keyLength][firstKey])*
+ *           [short keyLength][lastKey] [int customers] ([long customerId][int blockCount][int block]*)*
+ * trailer = [long indexOffset][int indexLength][int indexCrc32][int magic]
+ * </pre>
+ * The sparse index (first key per block) and the customer-to-blocks map are read into the heap on open; blocks stay
+ * in the read-only mapping and are inflated on demand, so a lookup costs one binary search and one block.
+ */
+final class BillArchiveSegment implements Closeable {
+
+    static final String SUFFIX = ".arc";
+
+    private static final int MAGIC = 0x425A4152; // "BZAR"
+    private static final short VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 2 + 2 + 1;
+    private static final int TRAILER_BYTES = 8 + 4 + 4 + 4;
+
+    private final Path file;
+    private final YearMonth month;
+    private final ObjectMapper objectMapper;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final String[] firstKeys;
+    private final long[] offsets;
+    private final int[] compressedLengths;
+    private final int[] rawLengths;
+    private final String lastKey;
+    private final Map<Long, int[]> customerBlocks;
+    private final int billCount;
+
+    private BillArchiveSegment(Path file, ObjectMapper objectMapper) throws IOException {
+        this.file = file;
+        this.objectMapper = objectMapper;
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < HEADER_BYTES + TRAILER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Not an archive segment (size " + size + "): " + file);
+            }
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt(0) != MAGIC || buffer.getShort(4) != VERSION || buffer.getInt((int) size - 4) != MAGIC) {
+                throw new IOException("Not an archive segment: " + file);
+            }
+            this.month = YearMonth.of(buffer.getShort(6), buffer.get(8));
+            int trailer = (int) size - TRAILER_BYTES;
+            long indexOffset = buffer.getLong(trailer);
+            int indexLength = buffer.getInt(trailer + 8);
+            if (indexOffset < HEADER_BYTES || indexOffset + indexLength != trailer) {
+                throw new IOException("Corrupt archive index bounds in " + file);
+            }
+            ByteBuffer index = buffer.slice((int) indexOffset, indexLength);
+            CRC32 crc = new CRC32();
+            crc.update(index.duplicate());
+            if ((int) crc.getValue() != buffer.getInt(trailer + 12)) {
+                throw new IOException("Archive index checksum mismatch in " + file);
+            }
+            int blocks = index.getInt();
+            firstKeys = new String[blocks];
+            offsets = new long[blocks];
+            compressedLengths = new int[blocks];
+            rawLengths = new int[blocks];
+            int bills = 0;
+            for (int i = 0; i < blocks; i++) {
+                offsets[i] = index.getLong();
+                compressedLengths[i] = index.getInt();
+                rawLengths[i] = index.getInt();
+                bills += index.getInt();
+                firstKeys[i] = readKey(index);
+            }
+            billCount = bills;
+            lastKey = blocks == 0 ? null : readKey(index);
+            int customers = index.getInt();
+            customerBlocks = new HashMap<>(customers * 2);
+            for (int i = 0; i < customers; i++) {
+                long customerId = index.getLong();
+                int[] refs = new int[index.getInt()];
+                for (int j = 0; j < refs.length; j++) {
+                    refs[j] = index.getInt();
+                }
+                customerBlocks.put(customerId, refs);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e instanceof IOException io ? io : new IOException("Corrupt archive segment " + file, e);
+        }
+    }
+
+    static BillArchiveSegment open(Path file, ObjectMapper objectMapper) throws IOException {
+        return new BillArchiveSegment(file, objectMapper);
+    }
+
+    Path file() {
+        return file;
+    }
+
+    YearMonth month() {
+        return month;
+    }
+
+    int billCount() {
+        return billCount;
+    }
+
+    long sizeBytes() {
+        return buffer.capacity();
+    }
+
+    /** The bill with this key, or null. */
+    ArchivedBill find(String key) throws IOException {
+        if (firstKeys.length == 0 || key.compareTo(firstKeys[0]) < 0 || key.compareTo(lastKey) > 0) {
+            return null;
+        }
+        int found = Arrays.binarySearch(firstKeys, key);
+        int block = found >= 0 ? found : -found - 2;
+        ByteBuffer records = inflate(block);
+        while (records.hasRemaining()) {
+            String recordKey = readKey(records);
+            int jsonLength = records.getInt();
+            if (recordKey.equals(key)) {
+                return objectMapper.readValue(records.array(), records.position(), jsonLength, ArchivedBill.class);
+            }
+            records.position(records.position() + jsonLength);
+        }
+        return null;
+    }
+
+    /** Every bill of one customer, in key order; only the blocks that hold them are inflated. */
+    void forCustomer(long customerId, Consumer<ArchivedBill> action) throws IOException {
+        for (int block : customerBlocks.getOrDefault(customerId, new int[0])) {
+            forEachInBlock(block, bill -> {
+                if (bill.customerId() == customerId) {
+                    action.accept(bill);
+                }
+            });
+        }
+    }
+
+    /** Every bill, in key order. */
+    void forEach(Consumer<ArchivedBill> action) throws IOException {
+        for (int block = 0; block < firstKeys.length; block++) {
+            forEachInBlock(block, action);
+        }
+    }
+
+    /** Every key, without deserialising the bills. */
+    Set<String> keys() throws IOException {
+        Set<String> keys = new HashSet<>(billCount * 2);
+        for (int block = 0; block < firstKeys.length; block++) {
+            ByteBuffer records = inflate(block);
+            while (records.hasRemaining()) {
+                keys.add(readKey(records));
+                int jsonLength = records.getInt();
+                records.position(records.position() + jsonLength);
+            }
+        }
+        return keys;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void forEachInBlock(int block, Consumer<ArchivedBill> action) throws IOException {
+        ByteBuffer records = inflate(block);
+        while (records.hasRemaining()) {
+            readKey(records);
+            int jsonLength = records.getInt();
+            action.accept(objectMapper.readValue(records.array(), records.position(), jsonLength, ArchivedBill.class));
+            records.position(records.position() + jsonLength);
+        }
+    }
+
+    private ByteBuffer inflate(int block) throws IOException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(buffer.slice((int) offsets[block], compressedLengths[block]));
+            byte[] raw = new byte[rawLengths[block]];
+            int filled = 0;
+            while (filled < raw.length && !inflater.finished()) {
+                int n = inflater.inflate(raw, filled, raw.length - filled);
+                if (n == 0 && inflater.needsInput()) {
+                    break;
+                }
+                filled += n;
+            }
+            if (filled != raw.length) {
+                throw new IOException("Truncated block " + block + " in " + file);
+            }
+            return ByteBuffer.wrap(raw);
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt block " + block + " in " + file, e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static String readKey(ByteBuffer in) {
+        byte[] key = new byte[in.getShort()];
+        in.get(key);
+        return new String(key, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Builds a segment file from bills added in ascending key order. {@link #finish()} forces it to disk; closing an
+     * unfinished writer deletes the file.
+     */
+    static final class Writer implements Closeable {
+
+        private final Path file;
+        private final YearMonth month;
+        private final ObjectMapper objectMapper;
+        private final int blockBills;
+        private final FileChannel channel;
+        private final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION); // written once, read rarely
+        private final ByteArrayOutputStream block = new ByteArrayOutputStream();
+        private final DataOutputStream blockOut = new DataOutputStream(block);
+        private final ByteArrayOutputStream index = new ByteArrayOutputStream();
+        private final DataOutputStream indexOut = new DataOutputStream(index);
+        private final Map<Long, List<Integer>> customerBlocks = new LinkedHashMap<>();
+        private long position;
+        private int blocks;
+        private int blockCount;
+        private String blockFirstKey;
+        private String previousKey;
+        private int count;
+        private boolean finished;
+
+        Writer(Path file, YearMonth month, ObjectMapper objectMapper, int blockBills) throws IOException {
+            this.file = file;
+            this.month = month;
+            this.objectMapper = objectMapper;
+            this.blockBills = blockBills;
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                    .putInt(MAGIC).putShort(VERSION).putShort((short) month.getYear()).put((byte) month.getMonthValue())
+                    .flip();
+            writeFully(header);
+        }
+
+        void add(ArchivedBill bill) throws IOException {
+            if (!YearMonth.from(bill.billDate()).equals(month)) {
+                throw new IllegalArgumentException("Bill " + bill.key() + " is not from " + month);
+            }
+            String key = bill.key();
+            if (previousKey != null && key.compareTo(previousKey) <= 0) {
+                throw new IllegalArgumentException("Bills must be added in ascending key order: " + key + " after " + previousKey);
+            }
+            if (blockCount == 0) {
+                blockFirstKey = key;
+            }
+            writeKey(blockOut, key);
+            byte[] json = objectMapper.writeValueAsBytes(bill);
+            blockOut.writeInt(json.length);
+            blockOut.write(json);
+            List<Integer> refs = customerBlocks.computeIfAbsent(bill.customerId(), id -> new ArrayList<>());
+            if (refs.isEmpty() || refs.get(refs.size() - 1) != blocks) {
+                refs.add(blocks);
+            }
+            previousKey = key;
+            count++;
+            if (++blockCount == blockBills) {
+                flushBlock();
+            }
+        }
+
+        int count() {
+            return count;
+        }
+
+        /** Write the index and trailer and force the file to disk. */
+        void finish() throws IOException {
+            if (blockCount > 0) {
+                flushBlock();
+            }
+            ByteArrayOutputStream tail = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(tail);
+            out.writeInt(blocks);
+            index.writeTo(out);
+            if (blocks > 0) {
+                writeKey(out, previousKey);
+            }
+            out.writeInt(customerBlocks.size());
+            for (Map.Entry<Long, List<Integer>> customer : customerBlocks.entrySet()) {
+                out.writeLong(customer.getKey());
+                out.writeInt(customer.getValue().size());
+                for (int ref : customer.getValue()) {
+                    out.writeInt(ref);
+                }
+            }
+            byte[] indexBytes = tail.toByteArray();
+            CRC32 crc = new CRC32();
+            crc.update(indexBytes);
+            long indexOffset = position;
+            writeFully(ByteBuffer.wrap(indexBytes));
+            writeFully(ByteBuffer.allocate(TRAILER_BYTES)
+                    .putLong(indexOffset).putInt(indexBytes.length).putInt((int) crc.getValue()).putInt(MAGIC)
+                    .flip());
+            channel.force(true);
+            channel.close();
+            deflater.end();
+            finished = true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!finished) {
+                channel.close();
+                deflater.end();
+                Files.deleteIfExists(file);
+            }
+        }
+
+        private void flushBlock() throws IOException {
+            byte[] raw = block.toByteArray();
+            deflater.reset();
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(raw.length / 4 + 64);
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                compressed.write(chunk, 0, deflater.deflate(chunk));
+            }
+            indexOut.writeLong(position);
+            indexOut.writeInt(compressed.size());
+            indexOut.writeInt(raw.length);
+            indexOut.writeInt(blockCount);
+            writeKey(indexOut, blockFirstKey);
+            writeFully(ByteBuffer.wrap(compressed.toByteArray()));
+            block.reset();
+            blockCount = 0;
+            blocks++;
+        }
+
+        private void writeFully(ByteBuffer bytes) throws IOException {
+            while (bytes.hasRemaining()) {
+                position += channel.write(bytes);
+            }
+        }
+
+        private static void writeKey(DataOutputStream out, String key) throws IOException {
+            byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+            out.writeShort(bytes.length);
+            out.write(bytes);
+        }
+    }
+}
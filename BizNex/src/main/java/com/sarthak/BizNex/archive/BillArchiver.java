@@ -0,0 +1,185 @@
+package com.sarthak.BizNex.archive;
+
+import com.sarthak.BizNex.entity.Bill;
+import com.sarthak.BizNex.mapper.BillResponseMapper;
+import com.sarthak.BizNex.repository.BillRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Moves bills out of {@code bills}/{@code bill_items} into the {@link BillArchive}, one whole month at a time once
+ * the month is older than {@code app.archive.age-days}. Bills that old are treated as closed: they can no longer be
+ * returned. A month's bills are written to a new segment, forced to disk and published before the rows are deleted;
+ * after a crash in between, the next run finds the bills already archived, skips writing them and deletes them.
+ */
+@Component
+public class BillArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(BillArchiver.class);
+    private static final int BATCH_SIZE = 500;
+
+    private final BillArchive billArchive;
+    private final BillRepository billRepository;
+    private final BillResponseMapper billResponseMapper;
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate readOnly;
+    private final TransactionTemplate readWrite;
+    private final MeterRegistry meterRegistry;
+    private ScheduledExecutorService executor;
+
+    @Value("${app.archive.enabled:false}")
+    private boolean enabled;
+    @Value("${app.archive.age-days:365}")
+    private int ageDays;
+    @Value("${app.archive.interval-minutes:360}")
+    private long intervalMinutes;
+
+    public BillArchiver(BillArchive billArchive, BillRepository billRepository, BillResponseMapper billResponseMapper,
+                        NamedParameterJdbcTemplate jdbc, PlatformTransactionManager transactionManager,
+                        MeterRegistry meterRegistry) {
+        this.billArchive = billArchive;
+        this.billRepository = billRepository;
+        this.billResponseMapper = billResponseMapper;
+        this.jdbc = jdbc;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.readWrite = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            log.info("Bill archiving disabled; existing archive segments are still read");
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "bill-archiver");
+            t.setDaemon(true);
+            return t;
+        });
+        executor.scheduleWithFixedDelay(this::archiveSafely, 1, intervalMinutes, TimeUnit.MINUTES);
+        log.info("Bill archiving enabled: months older than {} days, checked every {} minutes", ageDays, intervalMinutes);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /** Archive every whole month older than the configured age; returns the number of bills moved. */
+    public int archiveDue() {
+        return archiveBefore(YearMonth.from(LocalDate.now().minusDays(ageDays)));
+    }
+
+    /** Archive all bills dated before the first day of {@code month}; returns the number of bills moved. */
+    public synchronized int archiveBefore(YearMonth month) {
+        LocalDateTime cutoff = month.atDay(1).atStartOfDay();
+        LocalDateTime oldest = readOnly.execute(status -> jdbc.queryForObject(
+                "SELECT MIN(bill_date) FROM bills WHERE bill_date < :cutoff", Map.of("cutoff", cutoff), LocalDateTime.class));
+        int moved = 0;
+        if (oldest == null) {
+            return moved;
+        }
+        try {
+            for (YearMonth m = YearMonth.from(oldest); m.isBefore(month); m = m.plusMonths(1)) {
+                moved += archiveMonth(m);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return moved;
+    }
+
+    /**
+     * Run {@code action} with no archiving pass in progress, so bills are not moving between the tables and the
+     * archive while a dataset snapshot or restore reads or replaces both.
+     */
+    public synchronized <T> T exclusive(Callable<T> action) throws Exception {
+        return action.call();
+    }
+
+    private void archiveSafely() {
+        try {
+            archiveDue();
+        } catch (RuntimeException e) {
+            log.warn("Bill archiving pass failed: {}", e.getMessage());
+        }
+    }
+
+    private int archiveMonth(YearMonth month) throws IOException {
+        Map<String, Object> range = Map.of("from", month.atDay(1).atStartOfDay(),
+                "to", month.plusMonths(1).atDay(1).atStartOfDay());
+        List<Map.Entry<String, Long>> hot = readOnly.execute(status -> jdbc.query(
+                "SELECT bill_id, bill_number FROM bills WHERE bill_date >= :from AND bill_date < :to", range,
+                (rs, n) -> Map.entry(ArchivedBill.key(rs.getString("bill_number")), rs.getLong("bill_id"))));
+        if (hot.isEmpty()) {
+            return 0;
+        }
+        hot.sort(Map.Entry.comparingByKey()); // segment order is Java string order, whatever the database collation
+
+        Set<String> alreadyArchived = billArchive.keys(month);
+        List<Long> archivedIds = new ArrayList<>();
+        List<Long> pending = new ArrayList<>();
+        for (Map.Entry<String, Long> bill : hot) {
+            (alreadyArchived.contains(bill.getKey()) ? archivedIds : pending).add(bill.getValue());
+        }
+        int written = billArchive.write(month, writer -> {
+            for (int i = 0; i < pending.size(); i += BATCH_SIZE) {
+                List<Long> ids = pending.subList(i, Math.min(i + BATCH_SIZE, pending.size()));
+                for (ArchivedBill bill : readOnly.execute(status -> load(ids))) {
+                    writer.add(bill);
+                    archivedIds.add(bill.billId());
+                }
+            }
+        });
+        for (int i = 0; i < archivedIds.size(); i += BATCH_SIZE) {
+            Map<String, Object> batch = Map.of("ids", archivedIds.subList(i, Math.min(i + BATCH_SIZE, archivedIds.size())));
+            readWrite.executeWithoutResult(status -> {
+                jdbc.update("DELETE FROM bill_items WHERE bill_id IN (:ids)", batch);
+                jdbc.update("DELETE FROM bills WHERE bill_id IN (:ids)", batch);
+            });
+        }
+        meterRegistry.counter("biznex.archive.archived").increment(archivedIds.size());
+        log.info("Archived {} bill(s) of {} ({} written to a new segment)", archivedIds.size(), month, written);
+        return archivedIds.size();
+    }
+
+    /** Bills for {@code ids} in the same order (bills deleted meanwhile are skipped). */
+    private List<ArchivedBill> load(List<Long> ids) {
+        Map<Long, Bill> byId = billRepository.findByBillIdIn(ids).stream()
+                .collect(Collectors.toMap(Bill::getBillId, Function.identity(), (a, b) -> a));
+        List<ArchivedBill> bills = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Bill bill = byId.get(id);
+            if (bill != null) {
+                bills.add(new ArchivedBill(bill.getBillId(), bill.getCustomer().getCustomerId(), bill.getBillDate(),
+                        billResponseMapper.toResponseDto(bill)));
+            }
+        }
+        return bills;
+    }
+}
@@ -0,0 +1,43 @@
+package com.sarthak.BizNex.archive;
+
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+/**
+ * The sortable fields of a bill, hot or archived, so a customer's bill history can be merged across both tiers in
+ * the requested order without loading whole bills. Only these Bill properties can order such a merged listing.
+ */
+public record BillSortKey(long billId, LocalDateTime billDate, String billNumber, double billTotalAmount,
+                          double billTotalDiscount, boolean archived) {
+
+    static BillSortKey of(ArchivedBill bill) {
+        return new BillSortKey(bill.billId(), bill.billDate(), bill.bill().getBillNumber(), bill.bill().getTotalAmount(),
+                bill.bill().getTotalDiscount(), true);
+    }
+
+    /** Java order matching {@link #withTieBreak(Sort)} in the database; unsupported properties are rejected. */
+    public static Comparator<BillSortKey> comparator(Sort sort) {
+        Comparator<BillSortKey> order = null;
+        for (Sort.Order o : sort) {
+            Comparator<BillSortKey> next = switch (o.getProperty()) {
+                case "billId" -> Comparator.comparingLong(BillSortKey::billId);
+                case "billDate" -> Comparator.comparing(BillSortKey::billDate);
+                case "billNumber" -> Comparator.comparing(BillSortKey::billNumber);
+                case "billTotalAmount" -> Comparator.comparingDouble(BillSortKey::billTotalAmount);
+                case "billTotalDiscount" -> Comparator.comparingDouble(BillSortKey::billTotalDiscount);
+                default -> throw new IllegalArgumentException("Bills including archived ones cannot be sorted by " + o.getProperty());
+            };
+            order = order == null ? o.isDescending() ? next.reversed() : next
+                    : order.thenComparing(o.isDescending() ? next.reversed() : next);
+        }
+        Comparator<BillSortKey> byId = Comparator.comparingLong(BillSortKey::billId);
+        return order == null ? byId : order.thenComparing(byId);
+    }
+
+    /** {@code sort} with billId appended, so that equal sort values come back in a stable order. */
+    public static Sort withTieBreak(Sort sort) {
+        return sort.getOrderFor("billId") != null ? sort : sort.and(Sort.by("billId"));
+    }
+}
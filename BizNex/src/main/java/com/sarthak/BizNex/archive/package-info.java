@@ -0,0 +1,6 @@
+/**
+ * Cold tier for old bills: {@link com.sarthak.BizNex.archive.BillArchiver} moves whole months past the configured age
+ * out of the hot tables into compressed, immutable segment files, and {@link com.sarthak.BizNex.archive.BillArchive}
+ * serves bill lookups, customer history and report exports from them.
+ */
+package com.sarthak.BizNex.archive;
@@ -0,0 +1,67 @@
+package com.sarthak.BizNex.backup;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * In-memory state of one snapshot or restore run. Mutated only by the thread running it; fields are volatile so
+ * status polls see progress without locking.
+ */
+@Getter
+class DatasetJob {
+
+    enum Type {
+        SNAPSHOT,
+        RESTORE
+    }
+
+    enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final String id;
+    private final Type type;
+    private final String snapshotId;
+    private final String requestedBy;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime completedAt;
+    private volatile long rowCount;
+    private volatile long sizeBytes;
+    private volatile String error;
+
+    DatasetJob(String id, Type type, String snapshotId, String requestedBy) {
+        this.id = id;
+        this.type = type;
+        this.snapshotId = snapshotId;
+        this.requestedBy = requestedBy;
+    }
+
+    boolean isDone() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    void markRunning() {
+        this.startedAt = LocalDateTime.now();
+        this.status = Status.RUNNING;
+    }
+
+    void markCompleted(long rowCount, long sizeBytes) {
+        this.rowCount = rowCount;
+        this.sizeBytes = sizeBytes;
+        this.completedAt = LocalDateTime.now();
+        this.status = Status.COMPLETED;
+    }
+
+    void markFailed(String error) {
+        this.error = error;
+        this.completedAt = LocalDateTime.now();
+        this.status = Status.FAILED;
+    }
+}
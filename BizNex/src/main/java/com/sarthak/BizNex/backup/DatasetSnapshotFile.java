@@ -0,0 +1,431 @@
+package com.sarthak.BizNex.backup;
+
+import com.sarthak.BizNex.backup.SnapshotTable.Column;
+import com.sarthak.BizNex.backup.SnapshotTable.ColumnType;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * One table of a dataset snapshot. Layout (big-endian):
+ * <pre>
+ * header  = [int magic][short version][short nameLength][table name] [short columns] ([short nameLength][name][byte type])*
+ * block   = [int rawLength][int compressedLength][int rows][int crc32 of raw] [deflate(rows)]
+ * end     = [int 0] [long rows][long rawBytes][int magic]
+ * row     = [null bitmap, one bit per column] [non-null values: long/double 8 bytes, int 4, boolean 1,
+ *            string varint length + UTF-8, timestamp long epoch second (UTC wall clock) + int nanos]
+ * </pre>
+ * Blocks hold about {@link #BLOCK_BYTES} of encoded rows, so writing and reading cost is proportional to the data,
+ * not to the number of rows. Every block is checked against its CRC when read, and the totals in the end record
+ * against what was read.
+ */
+final class DatasetSnapshotFile {
+
+    static final String SUFFIX = ".bzt";
+    static final short VERSION = 1;
+
+    private static final int MAGIC = 0x425A4453; // "BZDS"
+    private static final int BLOCK_BYTES = 1 << 20;
+
+    private DatasetSnapshotFile() {
+    }
+
+    /** Encodes rows from a result set, one block at a time. Closing an unfinished writer deletes the file. */
+    static final class Writer implements Closeable {
+
+        private final Path file;
+        private final List<Column> columns;
+        private final FileChannel channel;
+        private final DataOutputStream out;
+        private final RowBuffer block = new RowBuffer(BLOCK_BYTES + BLOCK_BYTES / 4);
+        private final Deflater deflater = new Deflater(Deflater.BEST_SPEED); // keeps pace with the cursor
+        private byte[] compressed = new byte[BLOCK_BYTES];
+        private int blockRows;
+        private long rows;
+        private long rawBytes;
+        private boolean finished;
+
+        Writer(Path file, SnapshotTable table) throws IOException {
+            this.file = file;
+            this.columns = table.columns();
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            this.out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            writeName(out, table.tableName());
+            out.writeShort(columns.size());
+            for (Column column : columns) {
+                writeName(out, column.name());
+                out.writeByte(column.type().ordinal());
+            }
+        }
+
+        /** Append the current row of {@code rs}, whose columns are in {@link SnapshotTable#columns()} order. */
+        void add(ResultSet rs) throws SQLException, IOException {
+            int bitmap = block.reserve((columns.size() + 7) / 8);
+            for (int i = 0; i < columns.size(); i++) {
+                int col = i + 1;
+                boolean isNull = switch (columns.get(i).type()) {
+                    case LONG -> {
+                        long v = rs.getLong(col);
+                        if (rs.wasNull()) yield true;
+                        block.putLong(v);
+                        yield false;
+                    }
+                    case INT -> {
+                        int v = rs.getInt(col);
+                        if (rs.wasNull()) yield true;
+                        block.putInt(v);
+                        yield false;
+                    }
+                    case DOUBLE -> {
+                        double v = rs.getDouble(col);
+                        if (rs.wasNull()) yield true;
+                        block.putLong(Double.doubleToRawLongBits(v));
+                        yield false;
+                    }
+                    case BOOLEAN -> {
+                        boolean v = rs.getBoolean(col);
+                        if (rs.wasNull()) yield true;
+                        block.put(v ? 1 : 0);
+                        yield false;
+                    }
+                    case STRING -> {
+                        String v = rs.getString(col);
+                        if (v == null) yield true;
+                        block.putString(v);
+                        yield false;
+                    }
+                    case TIMESTAMP -> {
+                        LocalDateTime v = rs.getObject(col, LocalDateTime.class);
+                        if (v == null) yield true;
+                        block.putLong(v.toEpochSecond(ZoneOffset.UTC));
+                        block.putInt(v.getNano());
+                        yield false;
+                    }
+                };
+                if (isNull) {
+                    block.setBit(bitmap, i);
+                }
+            }
+            blockRows++;
+            rows++;
+            if (block.size() >= BLOCK_BYTES) {
+                flushBlock();
+            }
+        }
+
+        long rows() {
+            return rows;
+        }
+
+        long rawBytes() {
+            return rawBytes;
+        }
+
+        /** Write the last block and the end record and force the file to disk. */
+        void finish() throws IOException {
+            if (blockRows > 0) {
+                flushBlock();
+            }
+            out.writeInt(0);
+            out.writeLong(rows);
+            out.writeLong(rawBytes);
+            out.writeInt(MAGIC);
+            out.flush();
+            channel.force(true);
+            out.close();
+            deflater.end();
+            finished = true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!finished) {
+                out.close();
+                deflater.end();
+                Files.deleteIfExists(file);
+            }
+        }
+
+        private void flushBlock() throws IOException {
+            int rawLength = block.size();
+            CRC32 crc = new CRC32();
+            crc.update(block.bytes, 0, rawLength);
+            deflater.reset();
+            deflater.setInput(block.bytes, 0, rawLength);
+            deflater.finish();
+            int length = 0;
+            while (!deflater.finished()) {
+                if (length == compressed.length) {
+                    compressed = Arrays.copyOf(compressed, compressed.length * 2);
+                }
+                length += deflater.deflate(compressed, length, compressed.length - length);
+            }
+            out.writeInt(rawLength);
+            out.writeInt(length);
+            out.writeInt(blockRows);
+            out.writeInt((int) crc.getValue());
+            out.write(compressed, 0, length);
+            rawBytes += rawLength;
+            block.clear();
+            blockRows = 0;
+        }
+    }
+
+    /** Decodes rows straight into the parameters of an insert statement. */
+    static final class Reader implements Closeable {
+
+        private final Path file;
+        private final List<Column> columns;
+        private final DataInputStream in;
+        private final Inflater inflater = new Inflater();
+        private byte[] compressed = new byte[BLOCK_BYTES];
+        private ByteBuffer block = ByteBuffer.allocate(0);
+        private int blockRows;
+        private long rows;
+        private long rawBytes;
+        private boolean ended;
+
+        Reader(Path file, SnapshotTable table) throws IOException {
+            this.file = file;
+            this.columns = table.columns();
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16));
+            try {
+                if (in.readInt() != MAGIC) {
+                    throw new IOException("Not a dataset snapshot file: " + file);
+                }
+                short version = in.readShort();
+                if (version != VERSION) {
+                    throw new IOException("Unsupported dataset snapshot version " + version + " in " + file);
+                }
+                String name = readName(in);
+                int count = in.readShort();
+                boolean sameColumns = name.equals(table.tableName()) && count == columns.size();
+                for (int i = 0; i < count; i++) {
+                    String column = readName(in);
+                    int type = in.readByte();
+                    sameColumns &= i < columns.size() && columns.get(i).name().equals(column)
+                            && columns.get(i).type().ordinal() == type;
+                }
+                if (!sameColumns) {
+                    throw new IOException("Snapshot file " + file + " does not match the columns of " + table.tableName());
+                }
+            } catch (IOException e) {
+                close();
+                throw e;
+            }
+        }
+
+        /** Bind the next row to {@code insert}; false once the table has been read completely. */
+        boolean next(PreparedStatement insert) throws IOException, SQLException {
+            if (blockRows == 0 && !readBlock()) {
+                return false;
+            }
+            int bitmap = block.position();
+            block.position(bitmap + (columns.size() + 7) / 8);
+            for (int i = 0; i < columns.size(); i++) {
+                int param = i + 1;
+                ColumnType type = columns.get(i).type();
+                if ((block.get(bitmap + i / 8) & (1 << (i % 8))) != 0) {
+                    insert.setNull(param, sqlType(type));
+                    continue;
+                }
+                switch (type) {
+                    case LONG -> insert.setLong(param, block.getLong());
+                    case INT -> insert.setInt(param, block.getInt());
+                    case DOUBLE -> insert.setDouble(param, Double.longBitsToDouble(block.getLong()));
+                    case BOOLEAN -> insert.setBoolean(param, block.get() != 0);
+                    case STRING -> insert.setString(param, getString());
+                    case TIMESTAMP -> insert.setObject(param,
+                            LocalDateTime.ofEpochSecond(block.getLong(), block.getInt(), ZoneOffset.UTC));
+                }
+            }
+            blockRows--;
+            rows++;
+            return true;
+        }
+
+        long rows() {
+            return rows;
+        }
+
+        @Override
+        public void close() throws IOException {
+            inflater.end();
+            in.close();
+        }
+
+        private boolean readBlock() throws IOException {
+            if (ended) {
+                return false;
+            }
+            if (block.hasRemaining()) {
+                throw new IOException("Corrupt block in " + file + ": bytes left after its rows");
+            }
+            int rawLength = in.readInt();
+            if (rawLength == 0) {
+                long expectedRows = in.readLong();
+                long expectedBytes = in.readLong();
+                if (in.readInt() != MAGIC || expectedRows != rows || expectedBytes != rawBytes) {
+                    throw new IOException("Snapshot file " + file + " is truncated or damaged (read " + rows + " of "
+                            + expectedRows + " rows)");
+                }
+                ended = true;
+                return false;
+            }
+            int compressedLength = in.readInt();
+            int count = in.readInt();
+            int crc = in.readInt();
+            if (rawLength < 0 || compressedLength < 0 || count <= 0) {
+                throw new IOException("Corrupt block header in " + file);
+            }
+            if (compressed.length < compressedLength) {
+                compressed = new byte[compressedLength];
+            }
+            in.readFully(compressed, 0, compressedLength);
+            byte[] raw = block.capacity() >= rawLength ? block.array() : new byte[rawLength];
+            inflater.reset();
+            inflater.setInput(compressed, 0, compressedLength);
+            try {
+                if (inflater.inflate(raw, 0, rawLength) != rawLength || !inflater.finished()) {
+                    throw new IOException("Corrupt block in " + file + ": unexpected length");
+                }
+            } catch (DataFormatException e) {
+                throw new IOException("Corrupt block in " + file, e);
+            }
+            CRC32 check = new CRC32();
+            check.update(raw, 0, rawLength);
+            if ((int) check.getValue() != crc) {
+                throw new IOException("Checksum mismatch in a block of " + file);
+            }
+            block = ByteBuffer.wrap(raw, 0, rawLength);
+            blockRows = count;
+            rawBytes += rawLength;
+            return true;
+        }
+
+        private String getString() {
+            int length = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = block.get();
+                length |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            String s = new String(block.array(), block.position(), length, StandardCharsets.UTF_8);
+            block.position(block.position() + length);
+            return s;
+        }
+
+        private static int sqlType(ColumnType type) {
+            return switch (type) {
+                case LONG -> Types.BIGINT;
+                case INT -> Types.INTEGER;
+                case DOUBLE -> Types.DOUBLE;
+                case BOOLEAN -> Types.BOOLEAN;
+                case STRING -> Types.VARCHAR;
+                case TIMESTAMP -> Types.TIMESTAMP;
+            };
+        }
+    }
+
+    /** Growable byte array for one block of encoded rows. */
+    private static final class RowBuffer {
+        byte[] bytes;
+        private int size;
+
+        RowBuffer(int capacity) {
+            bytes = new byte[capacity];
+        }
+
+        int size() {
+            return size;
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        /** Reserve zeroed bytes and return their offset. */
+        int reserve(int n) {
+            ensure(n);
+            Arrays.fill(bytes, size, size + n, (byte) 0);
+            size += n;
+            return size - n;
+        }
+
+        void setBit(int offset, int bit) {
+            bytes[offset + bit / 8] |= (byte) (1 << (bit % 8));
+        }
+
+        void put(int b) {
+            ensure(1);
+            bytes[size++] = (byte) b;
+        }
+
+        void putInt(int v) {
+            ensure(4);
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                bytes[size++] = (byte) (v >>> shift);
+            }
+        }
+
+        void putLong(long v) {
+            ensure(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                bytes[size++] = (byte) (v >>> shift);
+            }
+        }
+
+        void putString(String s) {
+            byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+            ensure(5 + utf8.length);
+            int length = utf8.length;
+            while ((length & ~0x7F) != 0) {
+                bytes[size++] = (byte) ((length & 0x7F) | 0x80);
+                length >>>= 7;
+            }
+            bytes[size++] = (byte) length;
+            System.arraycopy(utf8, 0, bytes, size, utf8.length);
+            size += utf8.length;
+        }
+
+        private void ensure(int n) {
+            if (size + n > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + n));
+            }
+        }
+    }
+
+    private static void writeName(DataOutputStream out, String name) throws IOException {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readName(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readShort()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
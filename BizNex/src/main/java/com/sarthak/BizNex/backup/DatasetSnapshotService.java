@@ -0,0 +1,487 @@
+package com.sarthak.BizNex.backup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sarthak.BizNex.archive.BillArchive;
+import com.sarthak.BizNex.archive.BillArchiver;
+import com.sarthak.BizNex.dto.response.DatasetJobResponseDto;
+import com.sarthak.BizNex.exception.EntityNotFoundException;
+import com.sarthak.BizNex.invalidation.CacheInvalidator;
+import com.sarthak.BizNex.invalidation.CacheRegion;
+import com.sarthak.BizNex.invalidation.InvalidationBus;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Service;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Admin-triggered snapshot and restore of the whole dataset (see {@link SnapshotTable}).
+ * <p>
+ * A snapshot runs one reader per table in parallel, each streaming its table through a forward-only cursor into a
+ * {@link DatasetSnapshotFile}. On PostgreSQL the coordinator exports its transaction snapshot and every reader adopts
+ * it, so the tables are read as of one instant while checkout keeps writing. Files are written into
+ * {@code <id>.part} and the directory is renamed once the manifest is on disk. The bill archive's segments are
+ * copied into {@code archive/} alongside, since old bills live only there.
+ * <p>
+ * A restore replaces the five tables in a single transaction: secondary indexes are dropped (PostgreSQL), the tables
+ * emptied, the files loaded in {@link SnapshotTable} order with batched inserts, identity sequences moved past the
+ * restored ids and the indexes rebuilt once. A damaged file rolls the whole restore back. The archive is replaced
+ * with the snapshot's segments once the transaction commits.
+ * <p>
+ * Both run on their own small connection pool, one job at a time, with archiving held off so no bills move between
+ * the tables and the archive meanwhile.
+ */
+@Service
+public class DatasetSnapshotService {
+
+    private static final Logger log = LoggerFactory.getLogger(DatasetSnapshotService.class);
+    private static final String MANIFEST = "manifest.json";
+    private static final String ARCHIVE_DIR = "archive";
+    private static final String PART_SUFFIX = ".part";
+    private static final Pattern SNAPSHOT_ID = Pattern.compile("\\d{8}-\\d{6}-[0-9a-f]{6}");
+    private static final Pattern EXPORTED_SNAPSHOT = Pattern.compile("[0-9A-Fa-f-]+");
+    private static final DateTimeFormatter ID_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final int FETCH_SIZE = 1000;
+
+    private final Map<String, DatasetJob> jobsById = new ConcurrentHashMap<>();
+    private final AtomicReference<DatasetJob> active = new AtomicReference<>();
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final CacheInvalidator cacheInvalidator;
+    private final InvalidationBus invalidationBus;
+    private final BillArchive billArchive;
+    private final BillArchiver billArchiver;
+    private final HikariDataSource dataSource;
+    private final ExecutorService coordinator;
+    private final ExecutorService readers;
+    private final Path root;
+    private final int batchSize;
+
+    public DatasetSnapshotService(DataSourceProperties dataSourceProperties, ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry, CacheInvalidator cacheInvalidator,
+                                  InvalidationBus invalidationBus, BillArchive billArchive, BillArchiver billArchiver,
+                                  @Value("${app.backup.dir:${user.home}/biznex-backups}") String dir,
+                                  @Value("${app.backup.reader-threads:5}") int readerThreads,
+                                  @Value("${app.backup.batch-size:1000}") int batchSize) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.cacheInvalidator = cacheInvalidator;
+        this.invalidationBus = invalidationBus;
+        this.billArchive = billArchive;
+        this.billArchiver = billArchiver;
+        this.root = Path.of(dir);
+        this.batchSize = batchSize;
+
+        // Readers plus the coordinator's connection, outside the application pool so a snapshot never starves checkout.
+        // autoCommit=false lets the Postgres driver honour the fetch size (cursor based) instead of buffering a table.
+        this.dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        this.dataSource.setPoolName("dataset-pool");
+        this.dataSource.setMaximumPoolSize(readerThreads + 1);
+        this.dataSource.setMinimumIdle(0);
+        this.dataSource.setAutoCommit(false);
+
+        this.coordinator = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "dataset-snapshot");
+            t.setDaemon(true);
+            return t;
+        });
+        AtomicInteger readerSeq = new AtomicInteger();
+        this.readers = Executors.newFixedThreadPool(readerThreads, r -> {
+            Thread t = new Thread(r, "dataset-reader-" + readerSeq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PostConstruct
+    void open() throws IOException {
+        Files.createDirectories(root);
+        try (Stream<Path> files = Files.list(root)) {
+            for (Path leftover : files.filter(p -> p.getFileName().toString().endsWith(PART_SUFFIX)).toList()) {
+                FileSystemUtils.deleteRecursively(leftover); // a snapshot that never completed
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        coordinator.shutdownNow();
+        readers.shutdownNow();
+        dataSource.close();
+    }
+
+    /** Start a snapshot of the current dataset; 409 while another snapshot or restore runs. */
+    public DatasetJobResponseDto startSnapshot(String requestedBy) {
+        String snapshotId = LocalDateTime.now().format(ID_TIME) + "-"
+                + UUID.randomUUID().toString().replace("-", "").substring(0, 6);
+        return submit(new DatasetJob(UUID.randomUUID().toString(), DatasetJob.Type.SNAPSHOT, snapshotId, requestedBy));
+    }
+
+    /** Start replacing the dataset with a snapshot; 404 for an unknown snapshot, 409 while another job runs. */
+    public DatasetJobResponseDto startRestore(String snapshotId, String requestedBy) {
+        readManifest(snapshotId);
+        return submit(new DatasetJob(UUID.randomUUID().toString(), DatasetJob.Type.RESTORE, snapshotId, requestedBy));
+    }
+
+    public DatasetJobResponseDto getJob(String jobId) {
+        DatasetJob job = jobsById.get(jobId);
+        if (job == null) {
+            throw new EntityNotFoundException("Dataset job not found");
+        }
+        return toDto(job);
+    }
+
+    /** Completed snapshots, newest first. */
+    public List<SnapshotManifest> listSnapshots() {
+        try (Stream<Path> dirs = Files.list(root)) {
+            return dirs.map(p -> p.getFileName().toString())
+                    .filter(name -> SNAPSHOT_ID.matcher(name).matches() && Files.isRegularFile(root.resolve(name).resolve(MANIFEST)))
+                    .sorted(Comparator.reverseOrder())
+                    .map(this::readManifest)
+                    .toList();
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot list snapshots in " + root, e);
+        }
+    }
+
+    public SnapshotManifest getSnapshot(String snapshotId) {
+        return readManifest(snapshotId);
+    }
+
+    private DatasetJobResponseDto submit(DatasetJob job) {
+        if (!active.compareAndSet(null, job)) {
+            throw new IllegalStateException("A dataset snapshot or restore is already running");
+        }
+        jobsById.put(job.getId(), job);
+        coordinator.execute(() -> run(job));
+        log.info("Dataset {} job={} snapshot={} queued by user='{}'", job.getType(), job.getId(), job.getSnapshotId(),
+                job.getRequestedBy());
+        return toDto(job);
+    }
+
+    private void run(DatasetJob job) {
+        job.markRunning();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            if (job.getType() == DatasetJob.Type.SNAPSHOT) {
+                SnapshotManifest manifest = billArchiver.exclusive(() -> snapshot(job.getSnapshotId()));
+                job.markCompleted(manifest.tables().stream().mapToLong(SnapshotManifest.TableEntry::rows).sum(),
+                        sizeBytes(manifest));
+            } else {
+                SnapshotManifest manifest = readManifest(job.getSnapshotId());
+                job.markCompleted(billArchiver.exclusive(() -> restore(manifest)), sizeBytes(manifest));
+            }
+            log.info("Dataset {} job={} snapshot={} completed: {} rows, {} bytes", job.getType(), job.getId(),
+                    job.getSnapshotId(), job.getRowCount(), job.getSizeBytes());
+        } catch (Exception e) {
+            job.markFailed(e.getMessage());
+            log.warn("Dataset {} job={} snapshot={} failed: {}", job.getType(), job.getId(), job.getSnapshotId(), e.toString());
+        } finally {
+            sample.stop(meterRegistry.timer("biznex.dataset.jobs", "type", job.getType().name().toLowerCase(Locale.ROOT),
+                    "status", job.getStatus().name().toLowerCase(Locale.ROOT)));
+            active.set(null);
+        }
+    }
+
+    private SnapshotManifest snapshot(String snapshotId) throws Exception {
+        Path part = root.resolve(snapshotId + PART_SUFFIX);
+        Files.createDirectories(part);
+        try {
+            return snapshotInto(snapshotId, part);
+        } catch (Exception e) {
+            FileSystemUtils.deleteRecursively(part);
+            throw e;
+        }
+    }
+
+    private SnapshotManifest snapshotInto(String snapshotId, Path part) throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            String database = connection.getMetaData().getDatabaseProductName();
+            String exported = null;
+            long maxBillId = Long.MAX_VALUE;
+            try (Statement st = connection.createStatement()) {
+                if (isPostgres(connection)) {
+                    st.execute("SET TRANSACTION ISOLATION LEVEL REPEATABLE READ, READ ONLY");
+                    try (ResultSet rs = st.executeQuery("SELECT pg_export_snapshot()")) {
+                        rs.next();
+                        exported = rs.getString(1);
+                    }
+                } else {
+                    // No shared snapshot: at least keep bills created during the run (and their items) out
+                    try (ResultSet rs = st.executeQuery("SELECT COALESCE(MAX(bill_id), 0) FROM bills")) {
+                        rs.next();
+                        maxBillId = rs.getLong(1);
+                    }
+                }
+            }
+            // The exporting transaction stays open until every reader has finished
+            List<Future<SnapshotManifest.TableEntry>> tables = new ArrayList<>();
+            for (SnapshotTable table : SnapshotTable.values()) {
+                String snapshot = exported;
+                long billBound = maxBillId;
+                tables.add(readers.submit(() -> dumpTable(table, part, snapshot, billBound)));
+            }
+            List<SnapshotManifest.TableEntry> entries = new ArrayList<>();
+            try {
+                for (Future<SnapshotManifest.TableEntry> table : tables) {
+                    entries.add(table.get());
+                }
+            } catch (ExecutionException e) {
+                tables.forEach(f -> f.cancel(true));
+                throw e.getCause() instanceof Exception cause ? cause : e;
+            } finally {
+                connection.rollback();
+            }
+            SnapshotManifest manifest = new SnapshotManifest(snapshotId, DatasetSnapshotFile.VERSION, LocalDateTime.now(),
+                    database, exported != null, entries, copyArchive(part.resolve(ARCHIVE_DIR)));
+            objectMapper.writeValue(part.resolve(MANIFEST).toFile(), manifest);
+            Files.move(part, root.resolve(snapshotId), StandardCopyOption.ATOMIC_MOVE);
+            return manifest;
+        }
+    }
+
+    private SnapshotManifest.TableEntry dumpTable(SnapshotTable table, Path dir, String exportedSnapshot, long maxBillId)
+            throws SQLException, IOException {
+        Path file = dir.resolve(table.fileName());
+        boolean billBound = table == SnapshotTable.BILLS || table == SnapshotTable.BILL_ITEMS;
+        try (Connection connection = dataSource.getConnection()) {
+            if (exportedSnapshot != null) {
+                if (!EXPORTED_SNAPSHOT.matcher(exportedSnapshot).matches()) {
+                    throw new SQLException("Unexpected exported snapshot id " + exportedSnapshot);
+                }
+                try (Statement st = connection.createStatement()) {
+                    st.execute("SET TRANSACTION ISOLATION LEVEL REPEATABLE READ, READ ONLY");
+                    st.execute("SET TRANSACTION SNAPSHOT '" + exportedSnapshot + "'");
+                }
+            }
+            String sql = table.selectSql() + (billBound && maxBillId != Long.MAX_VALUE ? " WHERE bill_id <= ?" : "");
+            try (PreparedStatement select = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                 DatasetSnapshotFile.Writer writer = new DatasetSnapshotFile.Writer(file, table)) {
+                if (sql.endsWith("?")) {
+                    select.setLong(1, maxBillId);
+                }
+                select.setFetchSize(FETCH_SIZE);
+                try (ResultSet rs = select.executeQuery()) {
+                    while (rs.next()) {
+                        writer.add(rs);
+                    }
+                }
+                writer.finish();
+                return new SnapshotManifest.TableEntry(table.tableName(), table.fileName(), writer.rows(),
+                        writer.rawBytes(), Files.size(file));
+            } finally {
+                connection.rollback();
+            }
+        }
+    }
+
+    /** Segments never change once published, so a hard link will do when the backups share the file system. */
+    private List<SnapshotManifest.ArchiveEntry> copyArchive(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        List<SnapshotManifest.ArchiveEntry> entries = new ArrayList<>();
+        for (Path segment : billArchive.segmentFiles()) {
+            Path copy = dir.resolve(segment.getFileName());
+            try {
+                Files.createLink(copy, segment);
+            } catch (IOException | UnsupportedOperationException e) {
+                Files.copy(segment, copy);
+            }
+            entries.add(new SnapshotManifest.ArchiveEntry(copy.getFileName().toString(), Files.size(copy)));
+        }
+        return entries;
+    }
+
+    private long restore(SnapshotManifest manifest) throws Exception {
+        if (manifest.formatVersion() != DatasetSnapshotFile.VERSION) {
+            throw new IOException("Unsupported snapshot format version " + manifest.formatVersion());
+        }
+        if (manifest.archive() == null) {
+            throw new IOException("Snapshot " + manifest.id() + " does not record the bill archive; restoring it could lose archived bills");
+        }
+        Path dir = root.resolve(manifest.id());
+        List<Path> segments = new ArrayList<>();
+        for (SnapshotManifest.ArchiveEntry entry : manifest.archive()) {
+            Path segment = dir.resolve(ARCHIVE_DIR).resolve(entry.file());
+            if (!Files.isRegularFile(segment) || Files.size(segment) != entry.fileBytes()) {
+                throw new IOException("Snapshot " + manifest.id() + ": archive segment " + entry.file() + " is missing or truncated");
+            }
+            segments.add(segment);
+        }
+        long rows = billArchive.replaceWith(segments, () -> restoreTables(manifest, dir));
+        // Every cached row may be gone or different, here and on the other instances
+        cacheInvalidator.applyAll();
+        for (CacheRegion region : CacheRegion.values()) {
+            invalidationBus.publish(region, InvalidationBus.ALL);
+        }
+        return rows;
+    }
+
+    private long restoreTables(SnapshotManifest manifest, Path dir) throws Exception {
+        Map<String, SnapshotManifest.TableEntry> entries = manifest.tables().stream()
+                .collect(Collectors.toMap(SnapshotManifest.TableEntry::table, e -> e));
+        long rows = 0;
+        try (Connection connection = dataSource.getConnection()) {
+            boolean postgres = isPostgres(connection);
+            try (Statement st = connection.createStatement()) {
+                List<String> indexes = postgres ? dropSecondaryIndexes(connection) : List.of();
+                if (postgres) {
+                    st.execute("TRUNCATE TABLE " + Arrays.stream(SnapshotTable.values()).map(SnapshotTable::tableName)
+                            .collect(Collectors.joining(", ")));
+                } else {
+                    for (int i = SnapshotTable.values().length - 1; i >= 0; i--) {
+                        st.executeUpdate("DELETE FROM " + SnapshotTable.values()[i].tableName());
+                    }
+                }
+                for (SnapshotTable table : SnapshotTable.values()) {
+                    SnapshotManifest.TableEntry entry = entries.get(table.tableName());
+                    if (entry == null) {
+                        throw new IOException("Snapshot " + manifest.id() + " has no " + table.tableName() + " table");
+                    }
+                    rows += load(connection, table, dir.resolve(entry.file()), entry.rows());
+                }
+                if (postgres) {
+                    for (SnapshotTable table : SnapshotTable.values()) {
+                        st.execute("SELECT setval(pg_get_serial_sequence('" + table.tableName() + "', '" + table.idColumn()
+                                + "'), COALESCE(MAX(" + table.idColumn() + "), 0) + 1, false) FROM " + table.tableName());
+                    }
+                    for (String index : indexes) {
+                        st.execute(index);
+                    }
+                    for (SnapshotTable table : SnapshotTable.values()) {
+                        st.execute("ANALYZE " + table.tableName());
+                    }
+                }
+                connection.commit();
+                if (!postgres) {
+                    restartIdentities(st); // DDL: commits on its own in H2, so only after the data is in
+                    connection.commit();
+                }
+            } catch (Exception e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+        return rows;
+    }
+
+    private long load(Connection connection, SnapshotTable table, Path file, long expectedRows)
+            throws SQLException, IOException {
+        try (DatasetSnapshotFile.Reader reader = new DatasetSnapshotFile.Reader(file, table);
+             PreparedStatement insert = connection.prepareStatement(table.insertSql())) {
+            int batched = 0;
+            while (reader.next(insert)) {
+                insert.addBatch();
+                if (++batched == batchSize) {
+                    insert.executeBatch();
+                    batched = 0;
+                }
+            }
+            if (batched > 0) {
+                insert.executeBatch();
+            }
+            if (reader.rows() != expectedRows) {
+                throw new IOException(table.tableName() + ": loaded " + reader.rows() + " rows, manifest lists " + expectedRows);
+            }
+            return reader.rows();
+        }
+    }
+
+    /** Drop the non-constraint indexes of the snapshot tables and return the statements that recreate them. */
+    private List<String> dropSecondaryIndexes(Connection connection) throws SQLException {
+        String tables = Arrays.stream(SnapshotTable.values()).map(t -> "'" + t.tableName() + "'").collect(Collectors.joining(", "));
+        List<String> definitions = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        try (Statement st = connection.createStatement();
+             ResultSet rs = st.executeQuery(
+                     "SELECT ic.relname, pg_get_indexdef(i.indexrelid) FROM pg_index i " +
+                             "JOIN pg_class ic ON ic.oid = i.indexrelid " +
+                             "JOIN pg_class tc ON tc.oid = i.indrelid " +
+                             "JOIN pg_namespace n ON n.oid = tc.relnamespace " +
+                             "WHERE n.nspname = current_schema() AND tc.relname IN (" + tables + ") " +
+                             "AND NOT EXISTS (SELECT 1 FROM pg_constraint c WHERE c.conindid = i.indexrelid)")) {
+            while (rs.next()) {
+                names.add(rs.getString(1));
+                definitions.add(rs.getString(2));
+            }
+        }
+        try (Statement st = connection.createStatement()) {
+            for (String name : names) {
+                st.execute("DROP INDEX \"" + name.replace("\"", "\"\"") + "\"");
+            }
+        }
+        return definitions;
+    }
+
+    private static void restartIdentities(Statement st) throws SQLException {
+        for (SnapshotTable table : SnapshotTable.values()) {
+            long next;
+            try (ResultSet rs = st.executeQuery("SELECT COALESCE(MAX(" + table.idColumn() + "), 0) + 1 FROM " + table.tableName())) {
+                rs.next();
+                next = rs.getLong(1);
+            }
+            st.execute("ALTER TABLE " + table.tableName() + " ALTER COLUMN " + table.idColumn() + " RESTART WITH " + next);
+        }
+    }
+
+    private SnapshotManifest readManifest(String snapshotId) {
+        if (snapshotId == null || !SNAPSHOT_ID.matcher(snapshotId).matches()) {
+            throw new EntityNotFoundException("Snapshot not found");
+        }
+        Path manifest = root.resolve(snapshotId).resolve(MANIFEST);
+        if (!Files.isRegularFile(manifest)) {
+            throw new EntityNotFoundException("Snapshot not found");
+        }
+        try {
+            return objectMapper.readValue(manifest.toFile(), SnapshotManifest.class);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unreadable snapshot manifest " + manifest, e);
+        }
+    }
+
+    private static long sizeBytes(SnapshotManifest manifest) {
+        return manifest.tables().stream().mapToLong(SnapshotManifest.TableEntry::fileBytes).sum()
+                + manifest.archive().stream().mapToLong(SnapshotManifest.ArchiveEntry::fileBytes).sum();
+    }
+
+    private static boolean isPostgres(Connection connection) throws SQLException {
+        return connection.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT).contains("postgres");
+    }
+
+    private DatasetJobResponseDto toDto(DatasetJob job) {
+        boolean completed = job.getStatus() == DatasetJob.Status.COMPLETED;
+        return DatasetJobResponseDto.builder()
+                .jobId(job.getId())
+                .type(job.getType().name())
+                .snapshotId(job.getSnapshotId())
+                .status(job.getStatus().name())
+                .requestedBy(job.getRequestedBy())
+                .submittedAt(job.getSubmittedAt())
+                .startedAt(job.getStartedAt())
+                .completedAt(job.getCompletedAt())
+                .rowCount(completed ? job.getRowCount() : null)
+                .sizeBytes(completed ? job.getSizeBytes() : null)
+                .error(job.getError())
+                .build();
+    }
+}
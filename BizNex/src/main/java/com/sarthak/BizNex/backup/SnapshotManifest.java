@@ -0,0 +1,21 @@
+package com.sarthak.BizNex.backup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * {@code manifest.json} of a dataset snapshot directory. {@code consistent} is true when all tables were read from
+ * one database snapshot (PostgreSQL); otherwise each table was read in its own transaction. {@code archive} lists the
+ * bill archive segments copied alongside the tables.
+ */
+public record SnapshotManifest(String id, int formatVersion, LocalDateTime createdAt, String database,
+                               boolean consistent, List<TableEntry> tables, List<ArchiveEntry> archive) {
+
+    /** One table file: its rows, encoded (uncompressed) bytes and size on disk. */
+    public record TableEntry(String table, String file, long rows, long rawBytes, long fileBytes) {
+    }
+
+    /** One bill archive segment under {@code archive/} and its size on disk. */
+    public record ArchiveEntry(String file, long fileBytes) {
+    }
+}
@@ -0,0 +1,93 @@
+package com.sarthak.BizNex.backup;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The tables a dataset snapshot carries, in restore order (referenced tables before the tables pointing at them),
+ * with the columns in the order they are encoded. Changing a column list changes the file format: bump
+ * {@link DatasetSnapshotFile#VERSION}.
+ */
+enum SnapshotTable {
+
+    PRODUCTS("products", "product_id",
+            col("product_id", ColumnType.LONG), col("product_name", ColumnType.STRING),
+            col("product_description", ColumnType.STRING), col("price_per_item", ColumnType.DOUBLE),
+            col("product_total_price", ColumnType.DOUBLE), col("product_quantity", ColumnType.INT),
+            col("product_category", ColumnType.STRING), col("product_code", ColumnType.STRING),
+            col("product_active", ColumnType.BOOLEAN)),
+    CUSTOMERS("customers", "customer_id",
+            col("customer_id", ColumnType.LONG), col("customer_name", ColumnType.STRING),
+            col("customer_contact", ColumnType.STRING), col("customer_email", ColumnType.STRING),
+            col("customer_address", ColumnType.STRING), col("customer_registration_date", ColumnType.TIMESTAMP),
+            col("customer_active_status", ColumnType.STRING), col("customer_credits", ColumnType.DOUBLE)),
+    USERS("users", "user_id",
+            col("user_id", ColumnType.LONG), col("username", ColumnType.STRING), col("user_email", ColumnType.STRING),
+            col("user_password", ColumnType.STRING), col("user_role", ColumnType.STRING),
+            col("user_contact", ColumnType.STRING), col("user_salary", ColumnType.DOUBLE),
+            col("password_changed", ColumnType.BOOLEAN), col("security_version", ColumnType.LONG)),
+    BILLS("bills", "bill_id",
+            col("bill_id", ColumnType.LONG), col("customer_id", ColumnType.LONG), col("bill_type", ColumnType.STRING),
+            col("bill_status", ColumnType.STRING), col("payment_method", ColumnType.STRING),
+            col("bill_total_amount", ColumnType.DOUBLE), col("bill_total_discount", ColumnType.DOUBLE),
+            col("bill_number", ColumnType.STRING), col("bill_date", ColumnType.TIMESTAMP),
+            col("original_bill_number", ColumnType.STRING), col("client_bill_id", ColumnType.STRING),
+            col("customer_name", ColumnType.STRING), col("customer_contact", ColumnType.STRING),
+            col("customer_email", ColumnType.STRING)),
+    BILL_ITEMS("bill_items", "bill_item_id",
+            col("bill_item_id", ColumnType.LONG), col("bill_id", ColumnType.LONG), col("product_id", ColumnType.LONG),
+            col("bill_item_quantity", ColumnType.INT), col("price_per_unit", ColumnType.DOUBLE),
+            col("bill_item_total_price", ColumnType.DOUBLE), col("bill_item_discount_per_unit", ColumnType.DOUBLE),
+            col("product_name", ColumnType.STRING), col("product_code", ColumnType.STRING),
+            col("product_category", ColumnType.STRING));
+
+    enum ColumnType {
+        LONG, INT, DOUBLE, BOOLEAN, STRING, TIMESTAMP
+    }
+
+    record Column(String name, ColumnType type) {
+    }
+
+    private final String tableName;
+    private final String idColumn;
+    private final List<Column> columns;
+
+    SnapshotTable(String tableName, String idColumn, Column... columns) {
+        this.tableName = tableName;
+        this.idColumn = idColumn;
+        this.columns = List.of(columns);
+    }
+
+    private static Column col(String name, ColumnType type) {
+        return new Column(name, type);
+    }
+
+    String tableName() {
+        return tableName;
+    }
+
+    String idColumn() {
+        return idColumn;
+    }
+
+    List<Column> columns() {
+        return columns;
+    }
+
+    String fileName() {
+        return tableName + DatasetSnapshotFile.SUFFIX;
+    }
+
+    String selectSql() {
+        return "SELECT " + columnList() + " FROM " + tableName;
+    }
+
+    String insertSql() {
+        return "INSERT INTO " + tableName + " (" + columnList() + ") VALUES ("
+                + columns.stream().map(c -> "?").collect(Collectors.joining(", ")) + ")";
+    }
+
+    private String columnList() {
+        return columns.stream().map(Column::name).collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,6 @@
+/**
+ * Whole-dataset snapshots for moving a store's data into a test or standby environment: products, customers, users,
+ * bills and bill items are dumped by parallel per-table readers into block-compressed, checksummed binary files and
+ * bulk-loaded back with JDBC batches.
+ */
+package com.sarthak.BizNex.backup;
@@ -0,0 +1,29 @@
+package com.sarthak.BizNex.bulkhead;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/** Wires the lanes and registers {@link BulkheadFilter} just before the Spring Security filter chain. */
+@Configuration
+@ConditionalOnProperty(name = "app.bulkhead.enabled", havingValue = "true", matchIfMissing = true)
+public class BulkheadConfig {
+
+    @Bean
+    BulkheadRegistry bulkheadRegistry(Environment env, MeterRegistry meterRegistry) {
+        return new BulkheadRegistry(env, meterRegistry);
+    }
+
+    @Bean
+    FilterRegistrationBean<BulkheadFilter> bulkheadFilter(BulkheadRegistry registry, ObjectMapper objectMapper) {
+        FilterRegistrationBean<BulkheadFilter> registration = new FilterRegistrationBean<>(new BulkheadFilter(registry, objectMapper));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
@@ -0,0 +1,115 @@
+package com.sarthak.BizNex.bulkhead;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sarthak.BizNex.dto.response.ExceptionResponseDto;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Holds a lane permit for the duration of each API request. Registered ahead of Spring Security (see
+ * BulkheadConfig) so a request rejected for capacity costs no token verification. Rejections are 503 with
+ * Retry-After.
+ * <p>
+ * An async request (a history stream) keeps its permit until the container completes it, errors or times out, not
+ * just until the first dispatch returns; async dispatches themselves are not filtered again.
+ */
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    private final BulkheadRegistry registry;
+    private final ObjectMapper objectMapper;
+
+    public BulkheadFilter(BulkheadRegistry registry, ObjectMapper objectMapper) {
+        this.registry = registry;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        Lane lane = "OPTIONS".equalsIgnoreCase(request.getMethod()) ? null : Lane.classify(request.getMethod(), request.getRequestURI());
+        if (lane == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        BulkheadRegistry.Permit permit;
+        try {
+            permit = registry.acquire(lane);
+        } catch (BulkheadRegistry.Rejected e) {
+            reject(request, response, e.getMessage());
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            reject(request, response, "Server shutting down");
+            return;
+        }
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnCompletion(permit));
+                async = true;
+            }
+        } finally {
+            if (!async) {
+                permit.release();
+            }
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, String message) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write(objectMapper.writeValueAsString(ExceptionResponseDto.of(
+                HttpStatus.SERVICE_UNAVAILABLE.value(), HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase(),
+                message, request.getRequestURI())));
+    }
+
+    /** Releases an async request's permit once, whichever of complete, error or timeout comes first. */
+    private static final class ReleaseOnCompletion implements AsyncListener {
+
+        private final BulkheadRegistry.Permit permit;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private ReleaseOnCompletion(BulkheadRegistry.Permit permit) {
+            this.permit = permit;
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                permit.release();
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Listeners are dropped when async is started again; stay registered so the permit is still released
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
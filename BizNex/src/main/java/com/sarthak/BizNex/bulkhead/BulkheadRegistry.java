@@ -0,0 +1,112 @@
+package com.sarthak.BizNex.bulkhead;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.env.Environment;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The lanes and their permits. Checkout first uses its own permits, then borrows a free permit from another lane
+ * (heavy first, interactive last), and only then waits on its own queue. Other lanes never touch checkout's
+ * permits, so checkout capacity is always available to checkout.
+ */
+public class BulkheadRegistry {
+
+    /** A held permit; release it exactly once when the request finishes. */
+    public record Permit(LaneBulkhead owner) {
+        public void release() {
+            owner.release();
+        }
+    }
+
+    /** Thrown when a lane cannot admit a request; mapped to 503 by the filter. */
+    public static class Rejected extends Exception {
+        private final Lane lane;
+
+        Rejected(Lane lane, String message) {
+            super(message);
+            this.lane = lane;
+        }
+
+        public Lane getLane() {
+            return lane;
+        }
+    }
+
+    private static final List<Lane> CHECKOUT_DONORS = List.of(Lane.HEAVY, Lane.ADMIN, Lane.INTERACTIVE);
+    private static final Map<Lane, int[]> DEFAULTS = Map.of(
+            // maxConcurrent, queueSize, queueTimeoutMs
+            Lane.CHECKOUT, new int[]{40, 200, 2000},
+            Lane.INTERACTIVE, new int[]{60, 200, 1000},
+            Lane.HEAVY, new int[]{8, 16, 500},
+            Lane.ADMIN, new int[]{8, 16, 1000});
+
+    private final Map<Lane, LaneBulkhead> lanes = new EnumMap<>(Lane.class);
+    private final Map<Lane, Counter> admitted = new EnumMap<>(Lane.class);
+    private final Map<Lane, Counter> rejectedQueueFull = new EnumMap<>(Lane.class);
+    private final Map<Lane, Counter> rejectedTimeout = new EnumMap<>(Lane.class);
+    private final Counter borrowed;
+
+    public BulkheadRegistry(Environment env, MeterRegistry meterRegistry) {
+        for (Lane lane : Lane.values()) {
+            String prefix = "app.bulkhead." + lane.name().toLowerCase(Locale.ROOT);
+            int[] d = DEFAULTS.get(lane);
+            LaneBulkhead bulkhead = new LaneBulkhead(lane,
+                    env.getProperty(prefix + ".max-concurrent", Integer.class, d[0]),
+                    env.getProperty(prefix + ".queue-size", Integer.class, d[1]),
+                    env.getProperty(prefix + ".queue-timeout-ms", Long.class, (long) d[2]));
+            lanes.put(lane, bulkhead);
+
+            String tag = lane.name().toLowerCase(Locale.ROOT);
+            Gauge.builder("biznex.bulkhead.active", bulkhead, LaneBulkhead::active).tag("lane", tag).register(meterRegistry);
+            Gauge.builder("biznex.bulkhead.waiting", bulkhead, LaneBulkhead::waiting).tag("lane", tag).register(meterRegistry);
+            Gauge.builder("biznex.bulkhead.saturation", bulkhead, b -> (double) b.active() / b.maxConcurrent())
+                    .tag("lane", tag).register(meterRegistry);
+            admitted.put(lane, meterRegistry.counter("biznex.bulkhead.admitted", "lane", tag));
+            rejectedQueueFull.put(lane, meterRegistry.counter("biznex.bulkhead.rejected", "lane", tag, "reason", "queue_full"));
+            rejectedTimeout.put(lane, meterRegistry.counter("biznex.bulkhead.rejected", "lane", tag, "reason", "timeout"));
+        }
+        borrowed = meterRegistry.counter("biznex.bulkhead.borrowed", "lane", "checkout");
+    }
+
+    public Permit acquire(Lane lane) throws Rejected, InterruptedException {
+        LaneBulkhead own = lanes.get(lane);
+        if (own.tryAcquireNow()) {
+            admitted.get(lane).increment();
+            return new Permit(own);
+        }
+        if (lane == Lane.CHECKOUT) {
+            for (Lane donor : CHECKOUT_DONORS) {
+                LaneBulkhead other = lanes.get(donor);
+                if (other.tryAcquireNow()) {
+                    borrowed.increment();
+                    admitted.get(lane).increment();
+                    return new Permit(other);
+                }
+            }
+        }
+        switch (own.acquire()) {
+            case ADMITTED -> {
+                admitted.get(lane).increment();
+                return new Permit(own);
+            }
+            case QUEUE_FULL -> {
+                rejectedQueueFull.get(lane).increment();
+                throw new Rejected(lane, "Server busy: " + lane.name().toLowerCase(Locale.ROOT) + " lane queue is full");
+            }
+            default -> {
+                rejectedTimeout.get(lane).increment();
+                throw new Rejected(lane, "Server busy: timed out waiting in the " + lane.name().toLowerCase(Locale.ROOT) + " lane");
+            }
+        }
+    }
+
+    LaneBulkhead lane(Lane lane) {
+        return lanes.get(lane);
+    }
+}
@@ -0,0 +1,29 @@
+package com.sarthak.BizNex.bulkhead;
+
+/** Priority lanes. Checkout may borrow idle permits from the other lanes; no lane may borrow from checkout. */
+public enum Lane {
+    CHECKOUT,
+    INTERACTIVE,
+    HEAVY,
+    ADMIN;
+
+    /** Lane for a request, or null for paths outside the API (docs, actuator), which are not limited. */
+    public static Lane classify(String method, String path) {
+        if (path == null || !path.startsWith("/api/")) {
+            return null;
+        }
+        boolean read = "GET".equalsIgnoreCase(method) || "HEAD".equalsIgnoreCase(method);
+        if (path.startsWith("/api/v1/reports") || path.startsWith("/api/v1/changes") || (read && path.contains("/search"))) {
+            return HEAVY;
+        }
+        boolean delete = "DELETE".equalsIgnoreCase(method);
+        if (!read && !delete && (path.startsWith("/api/v1/billing") || path.startsWith("/api/v1/bills"))) {
+            return CHECKOUT;
+        }
+        if (path.startsWith("/api/v1/users") || path.startsWith("/api/v1/snapshots") || path.startsWith("/api/v1/auth/register") || delete
+                || (!read && (path.startsWith("/api/v1/products") || path.startsWith("/api/v1/customers")))) {
+            return ADMIN;
+        }
+        return INTERACTIVE;
+    }
+}
@@ -0,0 +1,74 @@
+package com.sarthak.BizNex.bulkhead;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit of one lane: {@code maxConcurrent} permits, at most {@code queueSize} callers waiting, each
+ * for at most {@code queueTimeoutMs}. Waiting is bounded up front so overload fails fast instead of piling up.
+ */
+class LaneBulkhead {
+
+    private final Lane lane;
+    private final int maxConcurrent;
+    private final int queueSize;
+    private final long queueTimeoutMs;
+    private final Semaphore permits;
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    LaneBulkhead(Lane lane, int maxConcurrent, int queueSize, long queueTimeoutMs) {
+        this.lane = lane;
+        this.maxConcurrent = maxConcurrent;
+        this.queueSize = queueSize;
+        this.queueTimeoutMs = queueTimeoutMs;
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+    Lane lane() {
+        return lane;
+    }
+
+    int maxConcurrent() {
+        return maxConcurrent;
+    }
+
+    /** Take a permit only if one is free right now (used for borrowing). */
+    boolean tryAcquireNow() {
+        return permits.tryAcquire();
+    }
+
+    /** Outcome of {@link #acquire()}. */
+    enum Admission {
+        ADMITTED,
+        QUEUE_FULL,
+        TIMED_OUT
+    }
+
+    Admission acquire() throws InterruptedException {
+        if (permits.tryAcquire()) {
+            return Admission.ADMITTED;
+        }
+        if (waiting.incrementAndGet() > queueSize) {
+            waiting.decrementAndGet();
+            return Admission.QUEUE_FULL;
+        }
+        try {
+            return permits.tryAcquire(queueTimeoutMs, TimeUnit.MILLISECONDS) ? Admission.ADMITTED : Admission.TIMED_OUT;
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    void release() {
+        permits.release();
+    }
+
+    int active() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    int waiting() {
+        return waiting.get();
+    }
+}
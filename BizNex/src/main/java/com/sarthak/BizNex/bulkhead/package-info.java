@@ -0,0 +1,6 @@
+/**
+ * Bulkheads: every API request is classified into a {@link com.sarthak.BizNex.bulkhead.Lane} and must hold a
+ * permit of that lane while it runs ({@link com.sarthak.BizNex.bulkhead.BulkheadFilter}), so heavy searches and
+ * exports cannot occupy the threads and connections checkout depends on.
+ */
+package com.sarthak.BizNex.bulkhead;
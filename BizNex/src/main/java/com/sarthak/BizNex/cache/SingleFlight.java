@@ -0,0 +1,28 @@
+package com.sarthak.BizNex.cache;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Serve a read-only method through {@link SingleFlightCache}, keyed by method and arguments. Results younger than
+ * {@link #freshMillis()} are returned as is; up to {@link #staleMillis()} after that the old result is returned
+ * while one background call refreshes it. A commit that writes one of the {@link #invalidatedBy()} entity types ends
+ * the fresh window at once, so after a write the old result is only served as a stale one, with a refresh running.
+ * Only for public methods on Spring beans whose result is immutable.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SingleFlight {
+
+    /** Cache name used in metrics and for invalidation; defaults to {@code SimpleClassName.method}. */
+    String value() default "";
+
+    long freshMillis() default 5_000;
+
+    long staleMillis() default 30_000;
+
+    /** Entity types (ChangeLogEntry.EntityType names, e.g. "CUSTOMER") whose writes invalidate this cache. */
+    String[] invalidatedBy() default {};
+}
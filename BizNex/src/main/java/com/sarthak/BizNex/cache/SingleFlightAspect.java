@@ -0,0 +1,38 @@
+package com.sarthak.BizNex.cache;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Routes {@link SingleFlight} methods through the cache. Ordered ahead of the transaction interceptor, so a
+ * coalesced or cached call does not open a transaction at all and a load (or background refresh) runs in its own.
+ */
+@Aspect
+@Component
+@Order(0) // outside the transaction interceptor (lowest precedence)
+public class SingleFlightAspect {
+
+    private final SingleFlightCache cache;
+
+    public SingleFlightAspect(SingleFlightCache cache) {
+        this.cache = cache;
+    }
+
+    @Around("@annotation(singleFlight)")
+    public Object around(ProceedingJoinPoint pjp, SingleFlight singleFlight) throws Throwable {
+        MethodSignature signature = (MethodSignature) pjp.getSignature();
+        String name = singleFlight.value().isEmpty()
+                ? signature.getDeclaringType().getSimpleName() + "." + signature.getName()
+                : singleFlight.value();
+        List<Object> args = Arrays.asList(pjp.getArgs());
+        return cache.get(new SingleFlightCache.Key(name, args), singleFlight.freshMillis(), singleFlight.staleMillis(),
+                List.of(singleFlight.invalidatedBy()), pjp::proceed);
+    }
+}
@@ -0,0 +1,267 @@
+package com.sarthak.BizNex.cache;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single-flight cache with stale-while-revalidate. Per key there is at most one load running: the caller that
+ * starts it runs the loader on its own thread and every concurrent caller waits on the same future. A value older
+ * than its fresh window but within the stale window is returned immediately while one background refresh runs.
+ * Failures are not cached; a failed refresh keeps serving the previous value until the stale window ends.
+ * <p>
+ * A committed write to one of an entry's {@code invalidatedBy} types ends the entry's fresh window rather than
+ * dropping it: for up to the stale window after the write it is still served while a refresh runs. Generations are kept per entity
+ * type, so a write only affects loads of the caches it invalidates; a load that overlapped such a write is kept as
+ * stale too, since it may predate the write. The table is bounded by {@code app.singleflight.max-entries}; the
+ * least recently read entries go first.
+ */
+@Component
+public class SingleFlightCache {
+
+    private static final Logger log = LoggerFactory.getLogger(SingleFlightCache.class);
+
+    /** Cache key: cache name plus method arguments (which must have value equality). */
+    public record Key(String name, List<Object> args) {
+    }
+
+    @FunctionalInterface
+    public interface Loader {
+        Object load() throws Throwable;
+    }
+
+    private static final class Entry {
+        final List<String> invalidatedBy;
+        volatile Object value;
+        volatile long loadedAt;
+        volatile boolean loaded;
+        volatile long invalidatedAt = Long.MAX_VALUE; // when a write made value stale (during or after its load)
+        volatile long lastRead = System.nanoTime();
+        volatile CompletableFuture<Object> inFlight;
+        final AtomicBoolean refreshing = new AtomicBoolean();
+
+        Entry(List<String> invalidatedBy) {
+            this.invalidatedBy = invalidatedBy;
+        }
+    }
+
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>(); // per entity type
+    private final AtomicLong allGeneration = new AtomicLong();
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService refresher;
+    private final boolean enabled;
+    private final int maxEntries;
+
+    public SingleFlightCache(MeterRegistry meterRegistry,
+                             @Value("${app.singleflight.enabled:true}") boolean enabled,
+                             @Value("${app.singleflight.max-entries:1000}") int maxEntries,
+                             @Value("${app.singleflight.refresh-threads:2}") int refreshThreads) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.refresher = Executors.newFixedThreadPool(Math.max(1, refreshThreads), r -> {
+            Thread t = new Thread(r, "single-flight-refresh");
+            t.setDaemon(true);
+            return t;
+        });
+        Gauge.builder("biznex.singleflight.entries", entries, Map::size).register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    public Object get(Key key, long freshMillis, long staleMillis, List<String> invalidatedBy, Loader loader) throws Throwable {
+        if (!enabled) {
+            return loader.load();
+        }
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            evictIfFull();
+            entry = entries.computeIfAbsent(key, k -> new Entry(invalidatedBy));
+        }
+        entry.lastRead = System.nanoTime();
+
+        if (entry.loaded) {
+            long now = System.currentTimeMillis();
+            long freshUntil = Math.min(entry.loadedAt + freshMillis, entry.invalidatedAt);
+            if (now < freshUntil) {
+                count(key, "hit");
+                return entry.value;
+            }
+            if (now < freshUntil + staleMillis) {
+                count(key, "stale");
+                Object stale = entry.value;
+                if (entry.refreshing.compareAndSet(false, true)) {
+                    Entry target = entry;
+                    refresher.execute(() -> refresh(key, target, loader));
+                }
+                return stale;
+            }
+        }
+        return await(key, entry, loader);
+    }
+
+    /** Drop every entry invalidated by writes to this entity type once the current transaction commits. */
+    public void invalidateAfterCommit(String entityType) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(Set.of(entityType));
+            return;
+        }
+        // One synchronization per transaction, however many rows it writes
+        @SuppressWarnings("unchecked")
+        Set<String> pending = (Set<String>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<String> types = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(this, types);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(SingleFlightCache.this);
+                    if (status == STATUS_COMMITTED) {
+                        invalidate(types);
+                    }
+                }
+            });
+            pending = types;
+        }
+        pending.add(entityType);
+    }
+
+    void invalidate(Set<String> entityTypes) {
+        entityTypes.forEach(type -> generationOf(type).incrementAndGet());
+        long now = System.currentTimeMillis();
+        for (Entry entry : entries.values()) {
+            if (entry.invalidatedBy.stream().anyMatch(entityTypes::contains) && entry.invalidatedAt > now) {
+                entry.invalidatedAt = now;
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        allGeneration.incrementAndGet();
+        entries.clear();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    /** Join the running load for this key, or become the loader if there is none. */
+    private Object await(Key key, Entry entry, Loader loader) throws Throwable {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> running;
+        synchronized (entry) {
+            running = entry.inFlight;
+            if (running == null) {
+                entry.inFlight = mine;
+            }
+        }
+        if (running != null) {
+            count(key, "coalesced");
+            try {
+                return running.get();
+            } catch (ExecutionException e) {
+                throw e.getCause();
+            }
+        }
+        count(key, "miss");
+        long startGeneration = generation(entry);
+        try {
+            Object value = loader.load();
+            store(entry, value, startGeneration);
+            mine.complete(value);
+            return value;
+        } catch (Throwable t) {
+            mine.completeExceptionally(t);
+            throw t;
+        } finally {
+            synchronized (entry) {
+                entry.inFlight = null;
+            }
+        }
+    }
+
+    private void refresh(Key key, Entry entry, Loader loader) {
+        long startGeneration = generation(entry);
+        try {
+            store(entry, loader.load(), startGeneration);
+            meterRegistry.counter("biznex.singleflight.refreshes", "cache", key.name(), "outcome", "success").increment();
+        } catch (Throwable t) {
+            meterRegistry.counter("biznex.singleflight.refreshes", "cache", key.name(), "outcome", "failure").increment();
+            log.warn("Background refresh of {} failed: {}", key.name(), t instanceof CompletionException ? t.getCause() : t.toString());
+        } finally {
+            entry.refreshing.set(false);
+        }
+    }
+
+    private void store(Entry entry, Object value, long loadGeneration) {
+        long now = System.currentTimeMillis();
+        entry.value = value;
+        entry.loadedAt = now;
+        entry.invalidatedAt = Long.MAX_VALUE;
+        entry.loaded = true;
+        // Checked after publishing, so an invalidation racing with this store is never overwritten. A write that
+        // committed while loading means the value may predate it: only good as a stale one.
+        if (generation(entry) != loadGeneration) {
+            entry.invalidatedAt = now;
+        }
+    }
+
+    /** Changes whenever a type the entry depends on is invalidated (the generations only grow). */
+    private long generation(Entry entry) {
+        long sum = allGeneration.get();
+        for (String type : entry.invalidatedBy) {
+            sum += generationOf(type).get();
+        }
+        return sum;
+    }
+
+    private AtomicLong generationOf(String entityType) {
+        return generations.computeIfAbsent(entityType, t -> new AtomicLong());
+    }
+
+    /** Evict the least recently read tenth of the table when it is full. */
+    private void evictIfFull() {
+        if (entries.size() < maxEntries) {
+            return;
+        }
+        int toRemove = Math.max(1, maxEntries / 10);
+        entries.entrySet().stream()
+                .filter(e -> e.getValue().inFlight == null)
+                .sorted(Comparator.comparingLong(e -> e.getValue().lastRead))
+                .limit(toRemove)
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(k -> {
+                    entries.remove(k);
+                    meterRegistry.counter("biznex.singleflight.evictions").increment();
+                });
+    }
+
+    private void count(Key key, String outcome) {
+        meterRegistry.counter("biznex.singleflight.requests", "cache", key.name(), "outcome", outcome).increment();
+    }
+}
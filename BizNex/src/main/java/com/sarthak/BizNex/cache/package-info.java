@@ -0,0 +1,6 @@
+/**
+ * Request coalescing for read-only aggregates: service methods annotated with
+ * {@link com.sarthak.BizNex.cache.SingleFlight} are served through the {@link com.sarthak.BizNex.cache.SingleFlightCache},
+ * so concurrent identical calls share one query and recent results are reused (stale-while-revalidate).
+ */
+package com.sarthak.BizNex.cache;
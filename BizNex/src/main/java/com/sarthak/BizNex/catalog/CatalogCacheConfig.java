@@ -0,0 +1,24 @@
+package com.sarthak.BizNex.catalog;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/** Registers {@link CatalogCacheFilter} right after the Spring Security filter chain. */
+@Configuration
+@ConditionalOnProperty(name = "app.catalog.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class CatalogCacheConfig {
+
+    @Bean
+    FilterRegistrationBean<CatalogCacheFilter> catalogCacheFilter(CatalogVersion catalogVersion, CatalogResponseCache cache,
+                                                                  MeterRegistry meterRegistry) {
+        FilterRegistrationBean<CatalogCacheFilter> registration =
+                new FilterRegistrationBean<>(new CatalogCacheFilter(catalogVersion, cache, meterRegistry));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        registration.addUrlPatterns("/api/v1/products", "/api/v1/products/*");
+        return registration;
+    }
+}
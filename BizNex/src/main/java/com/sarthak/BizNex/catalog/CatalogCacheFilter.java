@@ -0,0 +1,176 @@
+package com.sarthak.BizNex.catalog;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Conditional GETs for the catalog listings (all products, by category, name search). The ETag is the catalog
+ * version, so {@code If-None-Match} is answered with 304 before any query runs; otherwise a body cached for the
+ * current version is written straight from memory, gzip-encoded when the client accepts it. Runs after Spring
+ * Security (see CatalogCacheConfig), so only authorised requests reach it.
+ */
+public class CatalogCacheFilter extends OncePerRequestFilter {
+
+    private static final String PRODUCTS = "/api/v1/products";
+    private static final String GZIP_SUFFIX = "-gz";
+
+    private final CatalogVersion catalogVersion;
+    private final CatalogResponseCache cache;
+    private final MeterRegistry meterRegistry;
+
+    public CatalogCacheFilter(CatalogVersion catalogVersion, CatalogResponseCache cache, MeterRegistry meterRegistry) {
+        this.catalogVersion = catalogVersion;
+        this.cache = cache;
+        this.meterRegistry = meterRegistry;
+    }
+
+    static boolean isCatalogRead(String method, String path) {
+        return "GET".equals(method) && (PRODUCTS.equals(path) || (PRODUCTS + "/search").equals(path)
+                || path.startsWith(PRODUCTS + "/category/"));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !isCatalogRead(request.getMethod(), request.getRequestURI())
+                || !prefersJson(request.getHeader(HttpHeaders.ACCEPT));
+    }
+
+    /** Only the default JSON representation is cached; CBOR or columnar requests go straight to the controller. */
+    static boolean prefersJson(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return true;
+        }
+        try {
+            MediaType preferred = null;
+            for (MediaType type : MediaType.parseMediaTypes(accept)) {
+                if (preferred == null || type.getQualityValue() > preferred.getQualityValue()) {
+                    preferred = type; // ties keep the first listed
+                }
+            }
+            return preferred != null && preferred.isCompatibleWith(MediaType.APPLICATION_JSON);
+        } catch (InvalidMediaTypeException e) {
+            return false; // let content negotiation reject it
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        long version = catalogVersion.current();
+        String tag = catalogVersion.tag(version);
+        boolean acceptsGzip = acceptsGzip(request);
+
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), tag)) {
+            count("not_modified");
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            writeCacheHeaders(response, tag, acceptsGzip);
+            return;
+        }
+        String key = cacheKey(request);
+        CatalogResponseCache.CachedBody cached = cache.get(key, version);
+        if (cached != null) {
+            count("hit");
+            write(response, cached, tag, acceptsGzip);
+            return;
+        }
+
+        count("miss");
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, wrapper);
+        String contentType = wrapper.getContentType();
+        if (wrapper.getStatus() != HttpStatus.OK.value() || contentType == null
+                || !MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType))) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+        // The body was read at or after this version, so it is safe to tag it with it
+        write(response, cache.put(key, version, contentType, wrapper.getContentAsByteArray()), tag, acceptsGzip);
+    }
+
+    private void write(HttpServletResponse response, CatalogResponseCache.CachedBody body, String tag, boolean acceptsGzip) throws IOException {
+        boolean gzip = acceptsGzip && body.gzip() != null;
+        byte[] bytes = gzip ? body.gzip() : body.identity();
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(body.contentType());
+        writeCacheHeaders(response, tag, gzip);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentLength(bytes.length);
+        response.getOutputStream().write(bytes);
+    }
+
+    private static void writeCacheHeaders(HttpServletResponse response, String tag, boolean gzip) {
+        // Strong ETags must differ per encoding; both variants validate against the same version
+        response.setHeader(HttpHeaders.ETAG, "\"" + tag + (gzip ? GZIP_SUFFIX : "") + "\"");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    /** True if any tag in an If-None-Match header names this catalog version (either encoding). */
+    static boolean matches(String ifNoneMatch, String tag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String t = candidate.trim();
+            if (t.equals("*")) {
+                return true;
+            }
+            if (t.startsWith("W/")) {
+                t = t.substring(2);
+            }
+            if (t.length() >= 2 && t.startsWith("\"") && t.endsWith("\"")) {
+                t = t.substring(1, t.length() - 1);
+            }
+            if (t.endsWith(GZIP_SUFFIX)) {
+                t = t.substring(0, t.length() - GZIP_SUFFIX.length());
+            }
+            if (t.equals(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (accept == null) {
+            return false;
+        }
+        for (String coding : accept.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length < 2 || !parts[1].replace(" ", "").equals("q=0");
+            }
+        }
+        return false;
+    }
+
+    /** Path plus parameters in a canonical order, so equivalent query strings share an entry. */
+    private static String cacheKey(HttpServletRequest request) {
+        StringBuilder key = new StringBuilder(request.getRequestURI());
+        Map<String, String[]> params = new TreeMap<>(request.getParameterMap());
+        for (Map.Entry<String, String[]> e : params.entrySet()) {
+            key.append('|').append(e.getKey()).append('=').append(Arrays.toString(e.getValue()));
+        }
+        return key.toString();
+    }
+
+    private void count(String outcome) {
+        meterRegistry.counter("biznex.catalog.responses", "outcome", outcome).increment();
+    }
+}
@@ -0,0 +1,107 @@
+package com.sarthak.BizNex.catalog;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialised catalog responses per (path, query) key, each stored for one catalog version together with a
+ * gzip copy compressed once at store time. LRU over entry count and total bytes; entries of an older
+ * version are simply misses and get replaced.
+ */
+@Component
+public class CatalogResponseCache {
+
+    /** One stored response. {@code gzip} is null when the body is below the compression threshold. */
+    public record CachedBody(long version, String contentType, byte[] identity, byte[] gzip) {
+        long bytes() {
+            return identity.length + (gzip == null ? 0 : gzip.length);
+        }
+    }
+
+    private final LinkedHashMap<String, CachedBody> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final int maxEntries;
+    private final long maxBytes;
+    private final int minCompressBytes;
+    private long totalBytes;
+
+    public CatalogResponseCache(MeterRegistry meterRegistry,
+                                @Value("${app.catalog.cache.max-entries:500}") int maxEntries,
+                                @Value("${app.catalog.cache.max-bytes:33554432}") long maxBytes,
+                                @Value("${app.catalog.cache.min-compress-bytes:512}") int minCompressBytes) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.minCompressBytes = minCompressBytes;
+        Gauge.builder("biznex.catalog.cache.bytes", this, CatalogResponseCache::totalBytes).register(meterRegistry);
+    }
+
+    public synchronized CachedBody get(String key, long version) {
+        CachedBody body = entries.get(key);
+        return body != null && body.version() == version ? body : null;
+    }
+
+    /** Store a body (compressing it if large enough) and return the stored entry. */
+    public CachedBody put(String key, long version, String contentType, byte[] identity) {
+        byte[] gzip = identity.length >= minCompressBytes ? gzip(identity) : null;
+        CachedBody body = new CachedBody(version, contentType, identity, gzip);
+        if (body.bytes() > maxBytes / 4) {
+            return body; // too large to be worth pinning; served but not kept
+        }
+        synchronized (this) {
+            CachedBody previous = entries.put(key, body);
+            if (previous != null) {
+                totalBytes -= previous.bytes();
+            }
+            totalBytes += body.bytes();
+            Iterator<Map.Entry<String, CachedBody>> eldest = entries.entrySet().iterator();
+            while ((entries.size() > maxEntries || totalBytes > maxBytes) && eldest.hasNext()) {
+                totalBytes -= eldest.next().getValue().bytes();
+                eldest.remove();
+            }
+        }
+        return body;
+    }
+
+    /** Copy of the entries stored for this version, least recently used first (for the warm-start snapshot). */
+    public synchronized Map<String, CachedBody> entries(long version) {
+        Map<String, CachedBody> copy = new LinkedHashMap<>();
+        entries.forEach((key, body) -> {
+            if (body.version() == version) {
+                copy.put(key, body);
+            }
+        });
+        return copy;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        totalBytes = 0;
+    }
+
+    synchronized long totalBytes() {
+        return totalBytes;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,50 @@
+package com.sarthak.BizNex.catalog;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic version of the product catalog, bumped once per committed transaction that writes a product
+ * (edits, soft deletes and stock changes from billing alike; see ChangeLogListener). The version is
+ * prefixed with a per-process id so ETags issued before a restart never match afterwards.
+ */
+@Component
+public class CatalogVersion {
+
+    private final String instanceId = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicLong version = new AtomicLong();
+
+    public long current() {
+        return version.get();
+    }
+
+    /** Opaque tag for a version (without quotes or encoding suffix). */
+    public String tag(long v) {
+        return "cat-" + instanceId + "-" + v;
+    }
+
+    /** Bump once the current transaction commits (immediately when there is none). */
+    public void bumpAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            version.incrementAndGet();
+            return;
+        }
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return; // already scheduled for this transaction
+        }
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(CatalogVersion.this);
+                if (status == STATUS_COMMITTED) {
+                    version.incrementAndGet();
+                }
+            }
+        });
+    }
+}
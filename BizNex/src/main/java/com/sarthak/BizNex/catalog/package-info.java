@@ -0,0 +1,6 @@
+/**
+ * HTTP conditional caching for catalog reads: a catalog version bumped after every committed product write
+ * ({@link com.sarthak.BizNex.catalog.CatalogVersion}) drives strong ETags, and serialised (and pre-gzipped)
+ * response bodies are kept per request in {@link com.sarthak.BizNex.catalog.CatalogResponseCache}.
+ */
+package com.sarthak.BizNex.catalog;
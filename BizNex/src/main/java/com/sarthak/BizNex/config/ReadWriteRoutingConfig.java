@@ -0,0 +1,70 @@
+package com.sarthak.BizNex.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Read/write split, active when {@code app.datasource.read.url} is set. The application DataSource becomes a
+ * {@link LazyConnectionDataSourceProxy}: it defers fetching a physical connection until the first statement, by
+ * which time the transaction's read-only flag is known, and then takes it from the read pool for
+ * {@code @Transactional(readOnly = true)} work and from the write pool otherwise. The read pool may point at a
+ * replica; either way it is a separate pool, so searches and exports cannot take connections checkout needs.
+ */
+@Configuration
+@ConditionalOnExpression("!'${app.datasource.read.url:}'.isEmpty()")
+public class ReadWriteRoutingConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadWriteRoutingConfig.class);
+
+    @Bean
+    DataSource writeDataSource(DataSourceProperties properties, Environment env) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(env).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        if (pool.getPoolName() == null) {
+            pool.setPoolName("write-pool");
+        }
+        return pool;
+    }
+
+    @Bean
+    DataSource readDataSource(DataSourceProperties properties,
+                              @Value("${app.datasource.read.url}") String url,
+                              @Value("${app.datasource.read.username:}") String username,
+                              @Value("${app.datasource.read.password:}") String password,
+                              @Value("${app.datasource.read.maximum-pool-size:10}") int maxPoolSize) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setJdbcUrl(url);
+        if (!username.isEmpty()) {
+            pool.setUsername(username);
+            pool.setPassword(password);
+        }
+        pool.setPoolName("read-pool");
+        pool.setMaximumPoolSize(maxPoolSize);
+        pool.setReadOnly(true);
+        log.info("Read-only transactions routed to read pool ({} connections) at {}", maxPoolSize, url);
+        return pool;
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(@Qualifier("writeDataSource") DataSource writeDataSource,
+                          @Qualifier("readDataSource") DataSource readDataSource) {
+        LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(writeDataSource);
+        routing.setReadOnlyDataSource(readDataSource);
+        return routing;
+    }
+}
@@ -1,6 +1,7 @@
 package com.sarthak.BizNex.config;
 
 import com.sarthak.BizNex.security.JwtAuthenticationFilter;
+import com.sarthak.BizNex.security.RateLimitFilter;
 import com.sarthak.BizNex.security.RestAccessDeniedHandler;
 import com.sarthak.BizNex.security.RestAuthEntryPoint;
 import com.sarthak.BizNex.security.ForcePasswordChangeFilter;
@@ -44,6 +45,7 @@ public class SecurityConfig {
     private final RestAuthEntryPoint restAuthEntryPoint;
     private final RestAccessDeniedHandler restAccessDeniedHandler;
     private final ForcePasswordChangeFilter forcePasswordChangeFilter;
+    private final RateLimitFilter rateLimitFilter;
 
     // CORS properties (comma separated in application.properties / env overrides)
     @Value("${app.cors.allowed-origins:http://localhost:5173,http://localhost:3000}")
@@ -70,8 +72,8 @@ public class SecurityConfig {
                         .accessDeniedHandler(restAccessDeniedHandler)
                 )
                 .authorizeHttpRequests(auth -> auth
-                        // Only login & forgot-password are public
-                        .requestMatchers("/api/v1/auth/login", "/api/v1/auth/forgot-password", "/api/v1/auth/first-login/password").permitAll()
+                        // Login, refresh & forgot-password are public
+                        .requestMatchers("/api/v1/auth/login", "/api/v1/auth/refresh", "/api/v1/auth/forgot-password", "/api/v1/auth/first-login/password").permitAll()
                         // OpenAPI / Swagger UI endpoints
                         .requestMatchers("/v3/api-docs/**", "/swagger-ui.html", "/swagger-ui/**").permitAll()
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
@@ -86,7 +88,9 @@ public class SecurityConfig {
                         .anyRequest().authenticated()
                 )
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
-                .addFilterAfter(forcePasswordChangeFilter, JwtAuthenticationFilter.class);
+                // Rate limiting needs the JWT subject, so it runs right after authentication
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class)
+                .addFilterAfter(forcePasswordChangeFilter, RateLimitFilter.class);
 
         return http.build();
     }
@@ -0,0 +1,41 @@
+package com.sarthak.BizNex.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Virtual-thread deployment mode ({@code spring.threads.virtual.enabled=true}). Spring Boot moves Tomcat and the
+ * application task executors onto virtual threads; this class adds the guard rail for the JDBC layer: the
+ * connection pools (the primary one, or the write and read pools when routing is on) are each wrapped in a
+ * {@link ConcurrencyLimitingDataSource} sized to that pool.
+ * The limiter defaults to on in virtual-thread mode and can be toggled with
+ * {@code app.datasource.concurrency-limit.enabled}.
+ */
+@Configuration
+public class VirtualThreadConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    @Bean
+    static BeanPostProcessor dataSourceConcurrencyLimiter(Environment env) {
+        boolean virtualThreads = env.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        boolean enabled = env.getProperty("app.datasource.concurrency-limit.enabled", Boolean.class, virtualThreads);
+        int configuredPermits = env.getProperty("app.datasource.concurrency-limit.permits", Integer.class, 0);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!enabled || !(bean instanceof HikariDataSource hikari)) {
+                    return bean;
+                }
+                int permits = configuredPermits > 0 ? configuredPermits : hikari.getMaximumPoolSize();
+                log.info("Limiting concurrent connections of '{}' to {} (virtual threads: {})", beanName, permits, virtualThreads);
+                return new ConcurrencyLimitingDataSource(hikari, permits, hikari.getConnectionTimeout());
+            }
+        };
+    }
+}
@@ -0,0 +1,106 @@
+package com.sarthak.BizNex.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Watches JFR {@code jdk.VirtualThreadPinned} events in virtual-thread mode. A pinned virtual thread blocks its
+ * carrier (typically a {@code synchronized} block around I/O in a driver or Hibernate), which quietly caps
+ * throughput at the carrier count. Each event is counted as {@code biznex.virtualthreads.pinned} tagged by where
+ * it happened (jdbc, hibernate, other); the first occurrence per call site is logged with its stack.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 12;
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AtomicLong> seenSites = new ConcurrentHashMap<>();
+    private RecordingStream stream;
+
+    @Value("${app.virtual-threads.pinning-threshold-ms:20}")
+    private long thresholdMs;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void start() {
+        stream = new RecordingStream();
+        stream.enable(EVENT).withThreshold(Duration.ofMillis(thresholdMs)).withStackTrace();
+        stream.onEvent(EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("Virtual thread pinning monitor started (threshold {} ms)", thresholdMs);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    private void onPinned(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        List<RecordedFrame> frames = stackTrace == null ? List.of() : stackTrace.getFrames();
+        String source = classify(frames);
+        meterRegistry.counter("biznex.virtualthreads.pinned", "source", source).increment();
+
+        String site = firstApplicationFrame(frames);
+        if (seenSites.computeIfAbsent(site, k -> new AtomicLong()).getAndIncrement() == 0) {
+            StringBuilder trace = new StringBuilder();
+            frames.stream().limit(LOGGED_FRAMES).forEach(f -> trace.append("\n\tat ")
+                    .append(f.getMethod().getType().getName()).append('.').append(f.getMethod().getName())
+                    .append(':').append(f.getLineNumber()));
+            log.warn("Virtual thread pinned for {} ms ({}) at {}{}", event.getDuration().toMillis(), source, site, trace);
+        }
+    }
+
+    static String classify(List<RecordedFrame> frames) {
+        for (RecordedFrame frame : frames) {
+            String type = frame.getMethod().getType().getName();
+            if (type.startsWith("org.hibernate.")) {
+                return "hibernate";
+            }
+            if (type.startsWith("org.postgresql.") || type.startsWith("org.h2.") || type.startsWith("com.zaxxer.hikari.")
+                    || type.startsWith("java.sql.")) {
+                return "jdbc";
+            }
+        }
+        return "other";
+    }
+
+    private static String firstApplicationFrame(List<RecordedFrame> frames) {
+        for (RecordedFrame frame : frames) {
+            String type = frame.getMethod().getType().getName();
+            if (type.startsWith("com.sarthak.")) {
+                return type + "." + frame.getMethod().getName();
+            }
+        }
+        if (frames.isEmpty()) {
+            return "unknown";
+        }
+        RecordedFrame top = frames.get(0);
+        return top.getMethod().getType().getName() + "." + top.getMethod().getName();
+    }
+}
@@ -2,13 +2,22 @@ package com.sarthak.BizNex.controller;
 
 import com.sarthak.BizNex.dto.UserDto;
 import com.sarthak.BizNex.dto.request.AuthRequest;
+import com.sarthak.BizNex.dto.request.RefreshTokenRequest;
 import com.sarthak.BizNex.dto.request.UserRegistrationRequest;
 import com.sarthak.BizNex.dto.request.FirstLoginPasswordChangeRequest;
 import com.sarthak.BizNex.dto.response.FirstLoginPasswordChangeResponse;
 import com.sarthak.BizNex.dto.response.AuthResponse;
 import com.sarthak.BizNex.entity.User;
+import com.sarthak.BizNex.exception.InvalidTokenException;
+import com.sarthak.BizNex.security.AuthenticatedUser;
 import com.sarthak.BizNex.security.JwtTokenProvider;
+import com.sarthak.BizNex.security.PasswordHashingExecutor;
+import com.sarthak.BizNex.security.RefreshTokenRevocationStore;
+import com.sarthak.BizNex.security.UserAccountDetails;
+import com.sarthak.BizNex.security.VerifiedToken;
+import com.sarthak.BizNex.security.UserStateCache;
 import com.sarthak.BizNex.service.UserService;
+import io.jsonwebtoken.JwtException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -20,11 +29,13 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
 
+import java.util.List;
+
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api/v1/auth")
@@ -33,6 +44,9 @@ public class AuthController {
     private final AuthenticationManager authenticationManager;
     private final JwtTokenProvider jwtTokenProvider;
     private final UserService userService;
+    private final UserStateCache userStateCache;
+    private final RefreshTokenRevocationStore refreshTokenRevocationStore;
+    private final PasswordHashingExecutor passwordHashingExecutor;
 
 
     @PostMapping("/login")
@@ -40,35 +54,82 @@ public class AuthController {
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Login successful"),
             @ApiResponse(responseCode = "400", description = "Validation or bad request"),
-            @ApiResponse(responseCode = "401", description = "Invalid credentials")
+            @ApiResponse(responseCode = "401", description = "Invalid credentials"),
+            @ApiResponse(responseCode = "429", description = "Too many concurrent logins; retry after the Retry-After delay")
     })
     public ResponseEntity<AuthResponse> login(@RequestBody @Valid AuthRequest request){
-        //Authenticate credentials
-        Authentication authentication = authenticationManager.authenticate(
+        //Authenticate credentials on the bounded hashing pool (BCrypt is the expensive part)
+        Authentication authentication = passwordHashingExecutor.execute(() -> authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(request.getUsername(), request.getUserPassword())
-        );
-
-        // userService already throws if not found
-        User user = userService.getUserByUsername(request.getUsername());
+        ));
 
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+        // The principal already carries role, flag and security version; no second user query
+        UserAccountDetails account = (UserAccountDetails) authentication.getPrincipal();
 
-        String token = jwtTokenProvider.generateAccessToken(userDetails);
-        String refreshToken = jwtTokenProvider.generateRefreshToken(userDetails);
+        String token = jwtTokenProvider.generateAccessToken(account, account.isMustChangePassword(), account.getSecurityVersion());
+        userStateCache.put(account.getUsername(), account.toUserState()); // first authenticated request needs no user lookup
+        String refreshToken = jwtTokenProvider.generateRefreshToken(account, account.getSecurityVersion());
         long expiresAt = jwtTokenProvider.getExpirationEpochMillis(token);
 
         AuthResponse authResponse = AuthResponse.builder()
                 .accessToken(token)
                 .refreshToken(refreshToken)
                 .expireAt(expiresAt)
-                .username(user.getUsername())
-                .userRole(user.getUserRole().name())
-                .mustChangePassword(user.isMustChangePassword())
+                .username(account.getUsername())
+                .userRole(account.getRole().name())
+                .mustChangePassword(account.isMustChangePassword())
                 .build();
 
         return ResponseEntity.ok(authResponse);
     }
 
+    /**
+     * Exchange a refresh token for a new access/refresh pair. The presented refresh token is revoked (rotation),
+     * so each one works once; no password hashing or user query is involved when the user state is cached.
+     */
+    @PostMapping("/refresh")
+    @Operation(summary = "Rotate a refresh token", description = "Returns new access & refresh tokens; the presented refresh token is revoked.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Tokens rotated"),
+            @ApiResponse(responseCode = "400", description = "Validation or bad request"),
+            @ApiResponse(responseCode = "401", description = "Refresh token invalid, expired, already used or outdated")
+    })
+    public ResponseEntity<AuthResponse> refresh(@RequestBody @Valid RefreshTokenRequest request){
+        VerifiedToken presented;
+        try {
+            presented = jwtTokenProvider.verify(request.getRefreshToken());
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new InvalidTokenException("Invalid or expired refresh token");
+        }
+        if (!presented.isRefreshToken() || presented.getTokenId() == null) {
+            throw new InvalidTokenException("Not a refresh token");
+        }
+        // Password change or deletion since issue invalidates the refresh token as well
+        UserStateCache.UserState state = userStateCache.get(presented.getSubject());
+        if (!state.exists() || state.securityVersion() != presented.getSecurityVersion()) {
+            throw new InvalidTokenException("Refresh token is no longer valid");
+        }
+        if (!refreshTokenRevocationStore.revoke(presented.getTokenId(), presented.getExpiresAtMillis())) {
+            throw new InvalidTokenException("Refresh token has already been used");
+        }
+
+        AuthenticatedUser userDetails = new AuthenticatedUser(presented.getSubject(),
+                List.of(new SimpleGrantedAuthority("ROLE_" + state.role().name())),
+                state.mustChangePassword(), state.securityVersion());
+        String token = jwtTokenProvider.generateAccessToken(userDetails, state.mustChangePassword(), state.securityVersion());
+        String refreshToken = jwtTokenProvider.generateRefreshToken(userDetails, state.securityVersion());
+
+        AuthResponse authResponse = AuthResponse.builder()
+                .accessToken(token)
+                .refreshToken(refreshToken)
+                .expireAt(jwtTokenProvider.getExpirationEpochMillis(token))
+                .username(presented.getSubject())
+                .userRole(state.role().name())
+                .mustChangePassword(state.mustChangePassword())
+                .build();
+        return ResponseEntity.ok(authResponse);
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     @PostMapping("/register")
     @Operation(summary = "Register a new user (ADMIN only)", security = @SecurityRequirement(name = "bearer-jwt"))
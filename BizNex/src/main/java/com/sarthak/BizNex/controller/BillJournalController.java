@@ -0,0 +1,45 @@
+package com.sarthak.BizNex.controller;
+
+import com.sarthak.BizNex.dto.request.OfflineBillSyncRequest;
+import com.sarthak.BizNex.dto.response.OfflineBillSyncResponseDto.BillOutcome;
+import com.sarthak.BizNex.journal.BillJournalService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+/**
+ * Journaled checkout (enabled with app.billing.journal.enabled=true): bills are acknowledged after a local
+ * fsync and applied to the database in the background. Poll the Location for the final outcome.
+ */
+@RestController
+@RequestMapping("/api/v1/billing/async")
+@ConditionalOnProperty(name = "app.billing.journal.enabled", havingValue = "true")
+public class BillJournalController {
+
+    private final BillJournalService billJournalService;
+
+    public BillJournalController(BillJournalService billJournalService) {
+        this.billJournalService = billJournalService;
+    }
+
+    /** Journal a bill and acknowledge it (202, status PENDING). Re-sending the same clientBillId is safe. */
+    @PostMapping()
+    @Operation(summary = "Submit a bill to the journal", security = @SecurityRequirement(name = "bearer-jwt"))
+    public ResponseEntity<BillOutcome> submit(@RequestBody OfflineBillSyncRequest.OfflineBill bill) {
+        BillOutcome outcome = billJournalService.submit(bill);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/billing/async/" + outcome.getClientBillId()))
+                .body(outcome);
+    }
+
+    /** Outcome of a journaled bill (PENDING until applied). */
+    @GetMapping("/{clientBillId}")
+    @Operation(summary = "Get the outcome of a journaled bill", security = @SecurityRequirement(name = "bearer-jwt"))
+    public ResponseEntity<BillOutcome> getOutcome(@PathVariable String clientBillId) {
+        return ResponseEntity.ok(billJournalService.getOutcome(clientBillId));
+    }
+}
@@ -1,15 +1,24 @@
 package com.sarthak.BizNex.controller;
 
 import com.sarthak.BizNex.dto.BillDto;
+import com.sarthak.BizNex.dto.request.OfflineBillSyncRequest;
 import com.sarthak.BizNex.dto.response.BillResponseDto;
+import com.sarthak.BizNex.dto.response.OfflineBillSyncResponseDto;
 import com.sarthak.BizNex.dto.response.PageResponseDto;
 import com.sarthak.BizNex.service.BillingService;
+import com.sarthak.BizNex.snapshot.BillSnapshot;
+import com.sarthak.BizNex.snapshot.BillSnapshotStore;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -23,9 +32,11 @@ import org.springframework.web.bind.annotation.*;
 public class BillingController {
 
     private final BillingService billingService;
+    private final BillSnapshotStore billSnapshotStore;
 
-    public BillingController (BillingService billingService) {
+    public BillingController (BillingService billingService, BillSnapshotStore billSnapshotStore) {
         this.billingService = billingService;
+        this.billSnapshotStore = billSnapshotStore;
     }
 
     /** Build a Pageable from request parameters with defensive defaults. */
@@ -43,10 +54,25 @@ public class BillingController {
         return ResponseEntity.ok(billingService.createBill(billDto));
     }
 
-    /** Retrieve a bill by its unique bill number. */
-    @GetMapping("/{billNumber}")
-    public ResponseEntity<BillResponseDto> getBillByBillNumber(@PathVariable String billNumber) {
-        return ResponseEntity.ok(billingService.getBillByBillNumber(billNumber)); // throws if not found
+    /**
+     * Catch-up endpoint for tills that queued bills while offline. Bills are de-duplicated on their
+     * client-generated UUID, so the whole batch can safely be re-sent after a dropped response.
+     */
+    @PostMapping("/sync")
+    public ResponseEntity<OfflineBillSyncResponseDto> syncOfflineBills(@RequestBody @NotNull @Valid OfflineBillSyncRequest request) {
+        return ResponseEntity.ok(billingService.syncOfflineBills(request));
+    }
+
+    /** Retrieve a bill by its unique bill number, served from the bill snapshot store (ETag / 304 aware). */
+    @GetMapping(value = "/{billNumber}", produces = MediaType.APPLICATION_JSON_VALUE) // snapshots are JSON bytes
+    @Operation(summary = "Get bill by number", description = "Pre-serialised snapshot with a content ETag; send If-None-Match to get 304 when unchanged.",
+            responses = @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = BillResponseDto.class))))
+    public ResponseEntity<BillSnapshot> getBillByBillNumber(@PathVariable String billNumber) {
+        BillSnapshot snapshot = billSnapshotStore.get(billNumber, billingService::getBillByBillNumber); // throws if not found
+        return ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(snapshot);
     }
 
     /** Bill search across billNumber, customerName/contact, billType, paymentMethod, originalBillNumber (paged). */
@@ -56,8 +82,7 @@ public class BillingController {
                                                                         @RequestParam(defaultValue = "20") int size,
                                                                         @RequestParam(defaultValue = "billDate,desc") String sort){
         Pageable pageable = buildPageable(page,size,sort);
-        Page<BillResponseDto> dtoPage = billingService.searchBills(query, pageable);
-        return ResponseEntity.ok(PageResponseDto.from(dtoPage));
+        return ResponseEntity.ok(billingService.searchBills(query, pageable));
     }
 
     /** Process a full or partial return for an existing bill. */
@@ -78,8 +103,7 @@ public class BillingController {
                                                                         @RequestParam(defaultValue = "20") int size,
                                                                         @RequestParam(defaultValue = "billId,asc") String sort) {
         Pageable pageable = buildPageable(page,size,sort);
-        Page<BillResponseDto> dtoPage = billingService.getAllBills(pageable);
-        return ResponseEntity.ok(PageResponseDto.from(dtoPage));
+        return ResponseEntity.ok(billingService.getAllBills(pageable));
     }
 
 
@@ -90,8 +114,7 @@ public class BillingController {
                                                                                            @RequestParam(defaultValue = "20") int size,
                                                                                            @RequestParam(defaultValue = "billId,asc") String sort){
         Pageable pageable = buildPageable(page,size,sort);
-        Page<BillResponseDto> dtoPage = billingService.getBillsByCustomerContact(contact, pageable);
-        return ResponseEntity.ok(PageResponseDto.from(dtoPage));
+        return ResponseEntity.ok(billingService.getBillsByCustomerContact(contact, pageable));
     }
 
     /** Delete a bill by id (idempotent-like; throws if not found). */
@@ -3,7 +3,6 @@ package com.sarthak.BizNex.controller;
 import com.sarthak.BizNex.dto.response.BillResponseDto;
 import com.sarthak.BizNex.dto.response.PageResponseDto;
 import com.sarthak.BizNex.service.BillingService;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -39,8 +38,7 @@ public class BillsAliasController {
                                                                         @RequestParam(defaultValue = "20") int size,
                                                                         @RequestParam(defaultValue = "billDate,desc") String sort){
         Pageable pageable = buildPageable(page,size,sort);
-        Page<BillResponseDto> dtoPage = billingService.searchBills(query, pageable);
-        return ResponseEntity.ok(PageResponseDto.from(dtoPage));
+        return ResponseEntity.ok(billingService.searchBills(query, pageable));
     }
 }
 
@@ -0,0 +1,41 @@
+package com.sarthak.BizNex.controller;
+
+import com.sarthak.BizNex.dto.response.ChangeFeedResponseDto;
+import com.sarthak.BizNex.entity.ChangeLogEntry;
+import com.sarthak.BizNex.service.ChangeFeedService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Incremental sync for clients that cache products, customers and bills locally.
+ * Start with since=0, then pass back the returned cursor.
+ */
+@RestController
+@RequestMapping("/api/v1/changes")
+@Tag(name = "Changes", description = "Incremental change feed for client-side caches")
+public class ChangeFeedController {
+
+    private final ChangeFeedService changeFeedService;
+
+    public ChangeFeedController(ChangeFeedService changeFeedService) {
+        this.changeFeedService = changeFeedService;
+    }
+
+    /** Deltas and tombstones after the given cursor. */
+    @GetMapping()
+    @Operation(summary = "Changes since cursor", security = @SecurityRequirement(name = "bearer-jwt"),
+            description = "types is a comma separated subset of PRODUCT,CUSTOMER,BILL (default all). When hasMore is true, call again with the returned cursor.")
+    public ResponseEntity<ChangeFeedResponseDto> getChanges(@RequestParam(defaultValue = "0") long since,
+                                                            @RequestParam(required = false) List<ChangeLogEntry.EntityType> types,
+                                                            @RequestParam(defaultValue = "" + ChangeFeedService.DEFAULT_LIMIT) int limit) {
+        Set<ChangeLogEntry.EntityType> typeSet = types == null || types.isEmpty() ? Set.of() : EnumSet.copyOf(types);
+        return ResponseEntity.ok(changeFeedService.getChangesSince(since, typeSet, limit));
+    }
+}
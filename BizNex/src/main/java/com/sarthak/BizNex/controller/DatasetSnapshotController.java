@@ -0,0 +1,84 @@
+package com.sarthak.BizNex.controller;
+
+import com.sarthak.BizNex.backup.DatasetSnapshotService;
+import com.sarthak.BizNex.backup.SnapshotManifest;
+import com.sarthak.BizNex.dto.response.DatasetJobResponseDto;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.List;
+
+/**
+ * Whole-dataset snapshots (ADMIN only): take a snapshot, list them, and restore one, replacing the products,
+ * customers, users and bills of this database. Both run as jobs; poll the Location for the outcome.
+ */
+@RestController
+@RequestMapping("/api/v1/snapshots")
+@PreAuthorize("hasRole('ADMIN')")
+@Tag(name = "Snapshots", description = "Binary snapshot and restore of the whole dataset")
+public class DatasetSnapshotController {
+
+    private final DatasetSnapshotService datasetSnapshotService;
+
+    public DatasetSnapshotController(DatasetSnapshotService datasetSnapshotService) {
+        this.datasetSnapshotService = datasetSnapshotService;
+    }
+
+    /** Start a snapshot of the current dataset. */
+    @PostMapping()
+    @Operation(summary = "Take a dataset snapshot", security = @SecurityRequirement(name = "bearer-jwt"))
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "Snapshot job accepted"),
+            @ApiResponse(responseCode = "409", description = "Another snapshot or restore is running")
+    })
+    public ResponseEntity<DatasetJobResponseDto> snapshot(Authentication authentication) {
+        return accepted(datasetSnapshotService.startSnapshot(authentication.getName()));
+    }
+
+    /** Completed snapshots, newest first. */
+    @GetMapping()
+    @Operation(summary = "List dataset snapshots", security = @SecurityRequirement(name = "bearer-jwt"))
+    public ResponseEntity<List<SnapshotManifest>> list() {
+        return ResponseEntity.ok(datasetSnapshotService.listSnapshots());
+    }
+
+    @GetMapping("/{snapshotId}")
+    @Operation(summary = "Get a dataset snapshot's manifest", security = @SecurityRequirement(name = "bearer-jwt"))
+    public ResponseEntity<SnapshotManifest> get(@PathVariable String snapshotId) {
+        return ResponseEntity.ok(datasetSnapshotService.getSnapshot(snapshotId));
+    }
+
+    /** Replace the dataset with a snapshot. */
+    @PostMapping("/{snapshotId}/restore")
+    @Operation(summary = "Restore a dataset snapshot", security = @SecurityRequirement(name = "bearer-jwt"),
+            description = "Replaces all products, customers, users, bills and bill items with the snapshot's, in one transaction.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "Restore job accepted"),
+            @ApiResponse(responseCode = "404", description = "Unknown snapshot"),
+            @ApiResponse(responseCode = "409", description = "Another snapshot or restore is running")
+    })
+    public ResponseEntity<DatasetJobResponseDto> restore(@PathVariable String snapshotId, Authentication authentication) {
+        return accepted(datasetSnapshotService.startRestore(snapshotId, authentication.getName()));
+    }
+
+    /** Status of a snapshot or restore job. */
+    @GetMapping("/jobs/{jobId}")
+    @Operation(summary = "Get a snapshot or restore job", security = @SecurityRequirement(name = "bearer-jwt"))
+    public ResponseEntity<DatasetJobResponseDto> getJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(datasetSnapshotService.getJob(jobId));
+    }
+
+    private static ResponseEntity<DatasetJobResponseDto> accepted(DatasetJobResponseDto job) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/snapshots/jobs/" + job.getJobId()))
+                .body(job);
+    }
+}
@@ -0,0 +1,72 @@
+package com.sarthak.BizNex.controller;
+
+import com.sarthak.BizNex.service.HistoryStreamService;
+import com.sarthak.BizNex.service.HistoryStreamService.Format;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.time.LocalDate;
+
+/**
+ * Streaming history reads: every matching row, chunk by chunk, as NDJSON (one JSON object per line) or as
+ * server-sent events whose id is the row id, so a dropped SSE connection resumes from {@code Last-Event-ID}.
+ */
+@RestController
+@RequestMapping("/api/v1/history")
+@Tag(name = "History", description = "Streaming bill and customer history (NDJSON / server-sent events)")
+public class HistoryController {
+
+    private final HistoryStreamService historyStreamService;
+
+    public HistoryController(HistoryStreamService historyStreamService) {
+        this.historyStreamService = historyStreamService;
+    }
+
+    /** Bills as NDJSON, optionally for one customer and a date range (yyyy-MM-dd, inclusive). */
+    @GetMapping(value = "/bills", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream bill history (NDJSON)", security = @SecurityRequirement(name = "bearer-jwt"))
+    public ResponseEntity<ResponseBodyEmitter> streamBills(@RequestParam(required = false) String customerContact,
+                                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return stream(MediaType.APPLICATION_NDJSON,
+                historyStreamService.streamBills(customerContact, from, to, 0, Format.NDJSON));
+    }
+
+    /** Bills as server-sent events ("bill"); resumes after Last-Event-ID. */
+    @GetMapping(value = "/bills", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream bill history (SSE)", security = @SecurityRequirement(name = "bearer-jwt"))
+    public ResponseEntity<ResponseBodyEmitter> streamBillEvents(@RequestParam(required = false) String customerContact,
+                                                                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                                @RequestHeader(value = "Last-Event-ID", defaultValue = "0") long lastEventId) {
+        return stream(MediaType.TEXT_EVENT_STREAM,
+                historyStreamService.streamBills(customerContact, from, to, lastEventId, Format.SSE));
+    }
+
+    /** Customers as NDJSON. */
+    @GetMapping(value = "/customers", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream customers (NDJSON)", security = @SecurityRequirement(name = "bearer-jwt"))
+    public ResponseEntity<ResponseBodyEmitter> streamCustomers() {
+        return stream(MediaType.APPLICATION_NDJSON, historyStreamService.streamCustomers(0, Format.NDJSON));
+    }
+
+    /** Customers as server-sent events ("customer"); resumes after Last-Event-ID. */
+    @GetMapping(value = "/customers", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream customers (SSE)", security = @SecurityRequirement(name = "bearer-jwt"))
+    public ResponseEntity<ResponseBodyEmitter> streamCustomerEvents(@RequestHeader(value = "Last-Event-ID", defaultValue = "0") long lastEventId) {
+        return stream(MediaType.TEXT_EVENT_STREAM, historyStreamService.streamCustomers(lastEventId, Format.SSE));
+    }
+
+    private static ResponseEntity<ResponseBodyEmitter> stream(MediaType contentType, ResponseBodyEmitter emitter) {
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
+    }
+}
@@ -2,6 +2,7 @@ package com.sarthak.BizNex.controller;
 
 import com.sarthak.BizNex.dto.ProductDto;
 import com.sarthak.BizNex.dto.response.PageResponseDto;
+import com.sarthak.BizNex.dto.response.ProductStatsResponseDto;
 import com.sarthak.BizNex.service.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -30,6 +31,17 @@ public class ProductController {
         this.productService = productService;
     }
 
+    /** Dashboard aggregates (low-stock count, products per category); may be a few seconds stale. */
+    @GetMapping("/stats")
+    @Operation(summary = "Product stats", description = "Low-stock count and active products per category. Values are shared across concurrent callers and may lag writes by a few seconds.")
+    public ResponseEntity<ProductStatsResponseDto> getProductStats(){
+        return ResponseEntity.ok(ProductStatsResponseDto.builder()
+                .lowStockThreshold(ProductService.LOW_STOCK_THRESHOLD)
+                .lowStockCount(productService.countLowStockProducts())
+                .categoryCounts(productService.countProductsByCategory())
+                .build());
+    }
+
     /** Retrieve a single product by id (404 via exception if not found). */
     @GetMapping("/{id}")
     public ResponseEntity<ProductDto> getProductById(@PathVariable @Valid Long id){
@@ -0,0 +1,75 @@
+package com.sarthak.BizNex.controller;
+
+import com.sarthak.BizNex.dto.request.ReportRequest;
+import com.sarthak.BizNex.dto.response.ReportJobResponseDto;
+import com.sarthak.BizNex.service.ReportJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+/**
+ * Asynchronous report jobs (ADMIN only): submit, poll status and download the gzip-compressed CSV result.
+ * Downloads honour HTTP Range requests so large files can be resumed.
+ */
+@RestController
+@RequestMapping("/api/v1/reports")
+@PreAuthorize("hasRole('ADMIN')")
+@Tag(name = "Reports", description = "Asynchronous heavy reports with on-disk compressed results")
+public class ReportController {
+
+    private final ReportJobService reportJobService;
+
+    public ReportController(ReportJobService reportJobService) {
+        this.reportJobService = reportJobService;
+    }
+
+    /** Submit a report job; identical in-flight requests return the existing job. */
+    @PostMapping()
+    @Operation(summary = "Submit a report job", security = @SecurityRequirement(name = "bearer-jwt"),
+            description = "Returns 202 with the job id. Identical requests (same type and parameters) submitted while a job is queued or running return that job instead of starting a new one.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "Job accepted (or coalesced into an in-flight job)"),
+            @ApiResponse(responseCode = "400", description = "Invalid parameters"),
+            @ApiResponse(responseCode = "503", description = "Report queue is full")
+    })
+    public ResponseEntity<ReportJobResponseDto> submit(@RequestBody @Valid ReportRequest request, Authentication authentication) {
+        ReportJobResponseDto job = reportJobService.submit(request, authentication.getName());
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/reports/" + job.getJobId()))
+                .body(job);
+    }
+
+    /** Poll job status. */
+    @GetMapping("/{jobId}")
+    @Operation(summary = "Get report job status", security = @SecurityRequirement(name = "bearer-jwt"))
+    public ResponseEntity<ReportJobResponseDto> getStatus(@PathVariable String jobId) {
+        return ResponseEntity.ok(reportJobService.getStatus(jobId));
+    }
+
+    /** Download the finished result (application/gzip, Range supported). 409 while not complete. */
+    @GetMapping("/{jobId}/download")
+    @Operation(summary = "Download a completed report", security = @SecurityRequirement(name = "bearer-jwt"),
+            description = "Streams the gzip-compressed CSV. Supports Range requests (206 Partial Content).")
+    public ResponseEntity<Resource> download(@PathVariable String jobId) {
+        Resource body = new FileSystemResource(reportJobService.getResultFile(jobId));
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/gzip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(reportJobService.getDownloadFileName(jobId)).build().toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,43 @@
+package com.sarthak.BizNex.dto.request;
+
+import com.sarthak.BizNex.dto.BillItemDto;
+import com.sarthak.BizNex.dto.CustomerDto;
+import com.sarthak.BizNex.entity.Bill;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Batch of bills captured by a till while offline. Each bill carries a client-generated UUID
+ * (used for de-duplication on retries) and the time it was rung up at the counter.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OfflineBillSyncRequest {
+
+    private String tillId; // optional, for logging / auditing only
+
+    @NotEmpty(message = "At least one bill is required")
+    private List<OfflineBill> bills;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class OfflineBill {
+        private String clientBillId;          // UUID generated on the till
+        private LocalDateTime clientCreatedAt; // original time of sale; bills are applied in this order
+        private CustomerDto customer;         // only customerId is read
+        private List<BillItemDto> billItems;  // only productId, quantity and discount are read
+        private Bill.PaymentMethod paymentMethod;
+        @Builder.Default
+        private Bill.BillStatus billStatus = Bill.BillStatus.COMPLETE;
+    }
+}
@@ -0,0 +1,30 @@
+package com.sarthak.BizNex.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportRequest {
+
+    @NotNull(message = "Report type is required")
+    private ReportType reportType;
+
+    private LocalDate from; // inclusive; defaults to the first day of the current year
+    private LocalDate to;   // inclusive; defaults to today
+
+    private String customerContact; // required for CUSTOMER_STATEMENT only
+
+    public enum ReportType {
+        SALES_SUMMARY,
+        CUSTOMER_STATEMENT,
+        INVENTORY_VALUATION
+    }
+}
@@ -0,0 +1,36 @@
+package com.sarthak.BizNex.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.sarthak.BizNex.dto.CustomerDto;
+import com.sarthak.BizNex.dto.ProductDto;
+import com.sarthak.BizNex.entity.ChangeLogEntry;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class ChangeFeedResponseDto {
+    private long cursor;      // pass as ?since= on the next call
+    private boolean hasMore;  // true when the limit was reached; call again immediately
+    private List<ProductDto> products;        // current state of changed products
+    private List<CustomerDto> customers;      // current state of changed customers
+    private List<BillResponseDto> bills;      // current state of changed bills
+    private List<Tombstone> tombstones;       // removed or soft-deleted entities; drop from local caches
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Tombstone {
+        private ChangeLogEntry.EntityType entityType;
+        private Long entityId;
+        private String entityKey; // productCode / customerContact / billNumber
+    }
+}
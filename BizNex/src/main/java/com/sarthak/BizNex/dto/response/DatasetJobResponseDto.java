@@ -0,0 +1,28 @@
+package com.sarthak.BizNex.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DatasetJobResponseDto {
+    private String jobId;
+    private String type;             // SNAPSHOT, RESTORE
+    private String snapshotId;
+    private String status;           // QUEUED, RUNNING, COMPLETED, FAILED
+    private String requestedBy;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+    private Long rowCount;           // rows written / loaded across all tables, once COMPLETED
+    private Long sizeBytes;          // compressed snapshot size on disk, once COMPLETED
+    private String error;            // present once FAILED
+}
@@ -0,0 +1,54 @@
+package com.sarthak.BizNex.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OfflineBillSyncResponseDto {
+    private int received;
+    private int created;
+    private int duplicates;
+    private int conflicts;
+    private int rejected;
+    private List<BillOutcome> results; // same order as the request
+
+    public enum OutcomeStatus {
+        PENDING,   // accepted into the bill journal, not yet applied (async mode only)
+        CREATED,   // bill persisted; stock and credits applied
+        DUPLICATE, // clientBillId already synced (earlier call or earlier in this batch)
+        CONFLICT,  // not enough stock at the time the bill is applied; nothing changed
+        REJECTED   // malformed bill (missing customer/items, unknown product, ...); nothing changed
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class BillOutcome {
+        private String clientBillId;
+        private OutcomeStatus status;
+        private String billNumber; // server bill number (CREATED and DUPLICATE)
+        private String message;
+        private List<StockConflict> stockConflicts;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class StockConflict {
+        private Long productId;
+        private String productName;
+        private int requested;
+        private int available;
+    }
+}
@@ -1,5 +1,9 @@
 package com.sarthak.BizNex.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.sarthak.BizNex.streaming.ChunkedList;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -13,6 +17,7 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@JsonPropertyOrder({"content", "page", "size", "totalElements", "totalPages", "last", "missing"})
 @Schema(description = "Generic paged response envelope containing a slice of data and paging metadata")
 public class PageResponseDto<T> {
     @Schema(description = "Current page content list")
@@ -28,9 +33,25 @@ public class PageResponseDto<T> {
     @Schema(description = "Indicator if this page is the last one")
     private boolean last;
 
+    /**
+     * Rows of a streamed page (ChunkedList content) that were deleted or archived before their chunk was read. They
+     * are left out of content; known only once content has been written, hence written after it.
+     */
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Schema(description = "Ids of rows on this page that vanished (deleted or archived) while it was being written; they are not in content")
+    public List<Object> getMissing() {
+        return content instanceof ChunkedList<?, ?> chunked ? chunked.missing() : List.of();
+    }
+
     public static <T> PageResponseDto<T> from(Page<T> page){
+        return of(page, page.getContent());
+    }
+
+    /** Paging metadata from {@code page} with separately produced content (e.g. a ChunkedList filled while writing). */
+    public static <T> PageResponseDto<T> of(Page<?> page, List<T> content){
         return PageResponseDto.<T>builder()
-                .content(page.getContent())
+                .content(content)
                 .page(page.getNumber())
                 .size(page.getSize())
                 .totalElements(page.getTotalElements())
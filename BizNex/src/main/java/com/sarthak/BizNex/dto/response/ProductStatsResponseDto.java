@@ -0,0 +1,23 @@
+package com.sarthak.BizNex.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Dashboard aggregates over active products")
+public class ProductStatsResponseDto {
+    @Schema(description = "Quantity below which a product counts as low stock")
+    private int lowStockThreshold;
+    @Schema(description = "Active products below the low-stock threshold")
+    private long lowStockCount;
+    @Schema(description = "Active product count per category")
+    private Map<String, Long> categoryCounts;
+}
@@ -0,0 +1,33 @@
+package com.sarthak.BizNex.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.sarthak.BizNex.dto.request.ReportRequest;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ReportJobResponseDto {
+    private String jobId;
+    private ReportRequest.ReportType reportType;
+    private LocalDate from;
+    private LocalDate to;
+    private String customerContact;
+    private String status;           // QUEUED, RUNNING, COMPLETED, FAILED
+    private String submittedBy;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+    private Long rowCount;           // data rows written (excludes header/footer)
+    private Long sizeBytes;          // compressed size on disk
+    private String downloadUrl;      // present once COMPLETED
+    private String error;            // present once FAILED
+}
@@ -0,0 +1,249 @@
+package com.sarthak.BizNex.encoding;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Columnar, dictionary-encoded JSON. Every non-empty top-level array of objects in a response (a page's
+ * {@code content}, the change feed's {@code bills}, ...) becomes an array of tables of at most {@value #BLOCK_ROWS}
+ * rows each, named in {@code "$tables"}; other fields are unchanged. Blocks let a writer stream a long listing with
+ * one block in memory at a time.
+ * <pre>
+ * table  = {"rows": n, "columns": {name: column, ...}}
+ * column = {"values": [v0, v1, ...]}                         plain values, one per row
+ *        | {"dictionary": ["CASH", ...], "codes": [0, ...]}  repeated strings, stored once (null code = null)
+ *        | {"lengths": [2, 0, null, ...], "table": table}    arrays of objects, all rows' elements in one table
+ * </pre>
+ * Field names appear once per table instead of once per row. A field missing from a row decodes as null.
+ */
+public final class ColumnarJson {
+
+    public static final String TABLES = "$tables";
+
+    public static final int BLOCK_ROWS = 1000;
+
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+
+    private ColumnarJson() {
+    }
+
+    /** Encode a response tree (not modified). */
+    public static ObjectNode encode(ObjectNode response) {
+        ObjectNode out = NODES.objectNode();
+        ArrayNode tables = out.putArray(TABLES);
+        for (Map.Entry<String, JsonNode> field : response.properties()) {
+            JsonNode value = field.getValue();
+            if (!value.isEmpty() && isArrayOfObjects(value)) {
+                tables.add(field.getKey());
+                ArrayNode blocks = out.putArray(field.getKey());
+                ArrayNode block = NODES.arrayNode();
+                for (JsonNode row : value) {
+                    block.add(row);
+                    if (block.size() == BLOCK_ROWS) {
+                        blocks.add(encodeTable(block));
+                        block.removeAll();
+                    }
+                }
+                if (!block.isEmpty()) {
+                    blocks.add(encodeTable(block));
+                }
+            } else {
+                out.set(field.getKey(), value);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Streaming counterpart of {@link #encode} for one field: writes {@code rows} as the field's value, buffering
+     * one block at a time. Returns whether they were written as tables (the caller lists the field in
+     * {@code "$tables"}); rows that do not start with an object are written as a plain array.
+     */
+    public static boolean writeRows(Iterator<JsonNode> rows, JsonGenerator gen) throws IOException {
+        gen.writeStartArray();
+        boolean first = true;
+        boolean table = true;
+        ArrayNode block = NODES.arrayNode();
+        while (rows.hasNext()) {
+            JsonNode row = rows.next();
+            if (first) {
+                table = row.isObject();
+                first = false;
+            }
+            if (!table) {
+                gen.writeTree(row);
+                continue;
+            }
+            if (!row.isObject()) {
+                throw new IllegalArgumentException("Table row is not an object: " + row.getNodeType());
+            }
+            block.add(row);
+            if (block.size() == BLOCK_ROWS) {
+                gen.writeTree(encodeTable(block));
+                block.removeAll();
+            }
+        }
+        if (!block.isEmpty()) {
+            gen.writeTree(encodeTable(block));
+        }
+        gen.writeEndArray();
+        return table && !first;
+    }
+
+    /** Inverse of {@link #encode}: the response tree with every table expanded back to an array of objects. */
+    public static ObjectNode decode(ObjectNode encoded) {
+        Set<String> tables = new LinkedHashSet<>();
+        encoded.path(TABLES).forEach(name -> tables.add(name.asText()));
+        ObjectNode out = NODES.objectNode();
+        for (Map.Entry<String, JsonNode> field : encoded.properties()) {
+            if (TABLES.equals(field.getKey())) {
+                continue;
+            }
+            if (tables.contains(field.getKey())) {
+                ArrayNode rows = out.putArray(field.getKey());
+                field.getValue().forEach(block -> rows.addAll(decodeTable(block)));
+            } else {
+                out.set(field.getKey(), field.getValue());
+            }
+        }
+        return out;
+    }
+
+    static ObjectNode encodeTable(JsonNode rows) {
+        Set<String> names = new LinkedHashSet<>();
+        rows.forEach(row -> row.properties().forEach(field -> names.add(field.getKey())));
+        ObjectNode table = NODES.objectNode();
+        table.put("rows", rows.size());
+        ObjectNode columns = table.putObject("columns");
+        for (String name : names) {
+            List<JsonNode> cells = new ArrayList<>(rows.size());
+            rows.forEach(row -> cells.add(row.path(name)));
+            columns.set(name, encodeColumn(cells));
+        }
+        return table;
+    }
+
+    private static ObjectNode encodeColumn(List<JsonNode> cells) {
+        boolean nested = false;
+        boolean text = true;
+        int nonNull = 0;
+        Set<String> distinct = new LinkedHashSet<>();
+        for (JsonNode cell : cells) {
+            if (isNull(cell)) {
+                continue;
+            }
+            nonNull++;
+            nested = nonNull == 1 ? isArrayOfObjects(cell) : nested && isArrayOfObjects(cell);
+            text &= cell.isTextual();
+            if (text) {
+                distinct.add(cell.textValue());
+            }
+        }
+        ObjectNode column = NODES.objectNode();
+        if (nonNull > 0 && nested) {
+            ArrayNode lengths = column.putArray("lengths");
+            ArrayNode elements = NODES.arrayNode();
+            for (JsonNode cell : cells) {
+                if (isNull(cell)) {
+                    lengths.addNull();
+                } else {
+                    lengths.add(cell.size());
+                    elements.addAll((ArrayNode) cell);
+                }
+            }
+            column.set("table", encodeTable(elements));
+        } else if (nonNull > 0 && text && distinct.size() < nonNull) {
+            Map<String, Integer> codeOf = new HashMap<>();
+            ArrayNode dictionary = column.putArray("dictionary");
+            for (String value : distinct) {
+                codeOf.put(value, codeOf.size());
+                dictionary.add(value);
+            }
+            ArrayNode codes = column.putArray("codes");
+            for (JsonNode cell : cells) {
+                if (isNull(cell)) {
+                    codes.addNull();
+                } else {
+                    codes.add(codeOf.get(cell.textValue()));
+                }
+            }
+        } else {
+            ArrayNode values = column.putArray("values");
+            cells.forEach(cell -> values.add(isNull(cell) ? NODES.nullNode() : cell));
+        }
+        return column;
+    }
+
+    private static ArrayNode decodeTable(JsonNode table) {
+        int rowCount = table.path("rows").asInt();
+        ArrayNode rows = NODES.arrayNode(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            rows.addObject();
+        }
+        for (Map.Entry<String, JsonNode> column : table.path("columns").properties()) {
+            List<JsonNode> cells = decodeColumn(column.getValue(), rowCount);
+            for (int i = 0; i < rowCount; i++) {
+                ((ObjectNode) rows.get(i)).set(column.getKey(), cells.get(i));
+            }
+        }
+        return rows;
+    }
+
+    private static List<JsonNode> decodeColumn(JsonNode column, int rowCount) {
+        List<JsonNode> cells = new ArrayList<>(rowCount);
+        if (column.has("lengths")) {
+            ArrayNode elements = decodeTable(column.get("table"));
+            int next = 0;
+            for (JsonNode length : column.get("lengths")) {
+                if (length.isNull()) {
+                    cells.add(NODES.nullNode());
+                    continue;
+                }
+                ArrayNode cell = NODES.arrayNode(length.asInt());
+                for (int j = 0; j < length.asInt(); j++) {
+                    cell.add(elements.get(next++));
+                }
+                cells.add(cell);
+            }
+        } else if (column.has("dictionary")) {
+            JsonNode dictionary = column.get("dictionary");
+            for (JsonNode code : column.get("codes")) {
+                cells.add(code.isNull() ? NODES.nullNode() : dictionary.get(code.asInt()));
+            }
+        } else {
+            column.path("values").forEach(cells::add);
+        }
+        if (cells.size() != rowCount) {
+            throw new IllegalArgumentException("Column has " + cells.size() + " cells for " + rowCount + " rows");
+        }
+        return cells;
+    }
+
+    private static boolean isArrayOfObjects(JsonNode node) {
+        if (!node.isArray()) {
+            return false;
+        }
+        for (JsonNode element : node) {
+            if (!element.isObject()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isNull(JsonNode node) {
+        return node == null || node.isNull() || node.isMissingNode();
+    }
+}
@@ -0,0 +1,204 @@
+package com.sarthak.BizNex.encoding;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+import com.sarthak.BizNex.dto.response.ChangeFeedResponseDto;
+import com.sarthak.BizNex.dto.response.PageResponseDto;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Writes paged listings and the change feed as {@link ColumnarJson} when the client accepts
+ * {@code application/vnd.biznex.columnar+json}. Write-only; rows are serialised column by column through their
+ * bean serializers from the application ObjectMapper, so values are formatted exactly as in the plain JSON response
+ * without building a tree per row.
+ * <p>
+ * The response is streamed: list fields are written one block of rows at a time rather than as one tree, so a
+ * {@link com.sarthak.BizNex.streaming.ChunkedList} page keeps loading its rows chunk by chunk.
+ */
+public class ColumnarJsonHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    public static final MediaType COLUMNAR_JSON = MediaType.parseMediaType("application/vnd.biznex.columnar+json");
+
+    private static final String TABLES_ATTRIBUTE = ColumnarJsonHttpMessageConverter.class.getName() + ".tables";
+
+    private final ObjectMapper columnarMapper;
+
+    public ColumnarJsonHttpMessageConverter(ObjectMapper objectMapper) {
+        super(COLUMNAR_JSON);
+        this.columnarMapper = objectMapper.copy().registerModule(new SimpleModule("columnar-json")
+                .setSerializerModifier(new ColumnarModifier(objectMapper)));
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return PageResponseDto.class.isAssignableFrom(clazz) || ChangeFeedResponseDto.class.isAssignableFrom(clazz);
+    }
+
+    /**
+     * Only when asked for by name. With no media type (Spring collecting what it can produce for a wildcard Accept)
+     * this converter stays out, so JSON remains the default even though it is registered first.
+     */
+    @Override
+    protected boolean canWrite(MediaType mediaType) {
+        return mediaType != null && COLUMNAR_JSON.equalsTypeAndSubtype(mediaType);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Columnar JSON is a response-only format", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object value, HttpOutputMessage outputMessage) throws IOException, HttpMessageNotWritableException {
+        try (JsonGenerator gen = columnarMapper.getFactory()
+                .createGenerator(StreamUtils.nonClosing(outputMessage.getBody()), JsonEncoding.UTF8)) {
+            columnarMapper.writeValue(gen, value);
+        }
+    }
+
+    /** Swaps in {@link TableWriter} for the list fields of the response types and {@link ResponseSerializer} for the types. */
+    private final class ColumnarModifier extends BeanSerializerModifier {
+
+        private final ObjectMapper rowMapper;
+
+        private ColumnarModifier(ObjectMapper rowMapper) {
+            this.rowMapper = rowMapper;
+        }
+
+        @Override
+        public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription description,
+                                                         List<BeanPropertyWriter> properties) {
+            if (!supports(description.getBeanClass())) {
+                return properties;
+            }
+            List<BeanPropertyWriter> changed = new ArrayList<>(properties.size());
+            for (BeanPropertyWriter property : properties) {
+                changed.add(property.getType().isCollectionLikeType() ? new TableWriter(property, rowMapper) : property);
+            }
+            return changed;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription description,
+                                                  JsonSerializer<?> serializer) {
+            return supports(description.getBeanClass())
+                    ? new ResponseSerializer((JsonSerializer<Object>) serializer)
+                    : serializer;
+        }
+    }
+
+    /** Writes the bean's fields, then {@code "$tables"} naming the fields {@link TableWriter} wrote as tables. */
+    private static final class ResponseSerializer extends StdSerializer<Object> implements ResolvableSerializer {
+
+        private final JsonSerializer<Object> bean;
+        private JsonSerializer<Object> fields;
+
+        private ResponseSerializer(JsonSerializer<Object> bean) {
+            super(Object.class);
+            this.bean = bean;
+        }
+
+        @Override
+        public void resolve(SerializerProvider provider) throws JsonMappingException {
+            if (bean instanceof ResolvableSerializer resolvable) {
+                resolvable.resolve(provider);
+            }
+            fields = bean.unwrappingSerializer(NameTransformer.NOP);
+        }
+
+        @Override
+        public void serialize(Object value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            List<String> tables = new ArrayList<>();
+            provider.setAttribute(TABLES_ATTRIBUTE, tables);
+            gen.writeStartObject(value);
+            fields.serialize(value, gen, provider);
+            gen.writeArrayFieldStart(ColumnarJson.TABLES);
+            for (String table : tables) {
+                gen.writeString(table);
+            }
+            gen.writeEndArray();
+            gen.writeEndObject();
+        }
+    }
+
+    /** A list field written through {@link ColumnarRows}; null and empty lists keep the usual inclusion rules. */
+    private static final class TableWriter extends BeanPropertyWriter {
+
+        private final transient ObjectMapper rowMapper;
+
+        private TableWriter(BeanPropertyWriter base, ObjectMapper rowMapper) {
+            super(base);
+            this.rowMapper = rowMapper;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void serializeAsField(Object bean, JsonGenerator gen, SerializerProvider provider) throws Exception {
+            Object value = get(bean);
+            if (!(value instanceof Collection<?> rows) || rows.isEmpty()) {
+                super.serializeAsField(bean, gen, provider);
+                return;
+            }
+            gen.writeFieldName(_name);
+            if (new ColumnarRows(provider, rowMapper).write(present(rows.iterator()), gen)) {
+                ((List<String>) provider.getAttribute(TABLES_ATTRIBUTE)).add(getName());
+            }
+        }
+
+        /** The rows as they are reached; null rows (vanished since the page was counted) are left out. */
+        private static Iterator<?> present(Iterator<?> rows) {
+            return new Iterator<>() {
+                private Object next;
+
+                @Override
+                public boolean hasNext() {
+                    while (next == null && rows.hasNext()) {
+                        next = rows.next();
+                    }
+                    return next != null;
+                }
+
+                @Override
+                public Object next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    Object row = next;
+                    next = null;
+                    return row;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,374 @@
+package com.sarthak.BizNex.encoding;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.util.JsonGeneratorDelegate;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.std.BeanSerializerBase;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes rows (bean objects) as {@link ColumnarJson} tables straight from their bean serializers: each column is
+ * serialised through its property writer for the whole block, so values are formatted exactly as in the plain JSON
+ * response without a tree per row. Output is identical to {@link ColumnarJson#writeRows} over the rows' trees.
+ * Rows a bean serializer does not write (maps, scalars, custom serializers) go through the tree encoder instead.
+ * One instance per response write; property writers are looked up once per row class.
+ */
+final class ColumnarRows {
+
+    private final SerializerProvider provider;
+    private final ObjectMapper treeMapper;
+    private final Map<Class<?>, Map<String, BeanPropertyWriter>> properties = new HashMap<>();
+
+    ColumnarRows(SerializerProvider provider, ObjectMapper treeMapper) {
+        this.provider = provider;
+        this.treeMapper = treeMapper;
+    }
+
+    /** As {@link ColumnarJson#writeRows}: {@code rows} (no nulls) as the field's value; returns whether as tables. */
+    boolean write(Iterator<?> rows, JsonGenerator gen) throws IOException {
+        if (!rows.hasNext()) {
+            gen.writeStartArray();
+            gen.writeEndArray();
+            return false;
+        }
+        Object first = rows.next();
+        if (propertiesOf(first) == null) {
+            return ColumnarJson.writeRows(trees(first, rows), gen);
+        }
+        gen.writeStartArray();
+        List<Object> block = new ArrayList<>(ColumnarJson.BLOCK_ROWS);
+        block.add(first);
+        while (rows.hasNext()) {
+            Object row = rows.next();
+            if (propertiesOf(row) == null) {
+                throw new IllegalArgumentException("Table row is not a bean: " + row.getClass().getName());
+            }
+            block.add(row);
+            if (block.size() == ColumnarJson.BLOCK_ROWS) {
+                writeTable(block, gen);
+                block.clear();
+            }
+        }
+        if (!block.isEmpty()) {
+            writeTable(block, gen);
+        }
+        gen.writeEndArray();
+        return true;
+    }
+
+    /** Property writers by name, or null when the row is not written by a plain bean serializer. */
+    private Map<String, BeanPropertyWriter> propertiesOf(Object row) throws JsonMappingException {
+        Class<?> type = row.getClass();
+        if (properties.containsKey(type)) {
+            return properties.get(type);
+        }
+        Map<String, BeanPropertyWriter> byName = null;
+        JsonSerializer<Object> serializer = provider.findContentValueSerializer(type, null);
+        if (serializer instanceof BeanSerializerBase bean && !bean.usesObjectId() && !bean.isUnwrappingSerializer()) {
+            byName = new LinkedHashMap<>();
+            for (Iterator<PropertyWriter> it = bean.properties(); it.hasNext(); ) {
+                PropertyWriter property = it.next();
+                if (!(property instanceof BeanPropertyWriter writer) || writer.isUnwrapping()) {
+                    byName = null;
+                    break;
+                }
+                byName.put(writer.getName(), writer);
+            }
+        }
+        properties.put(type, byName);
+        return byName;
+    }
+
+    private void writeTable(List<?> rows, JsonGenerator gen) throws IOException {
+        Set<String> nameSet = new LinkedHashSet<>();
+        Map<Class<?>, BeanPropertyWriter[]> aligned = new HashMap<>();
+        for (Object row : rows) {
+            Map<String, BeanPropertyWriter> byName = propertiesOf(row);
+            if (byName == null) {
+                gen.writeTree(ColumnarJson.encodeTable(treesOf(rows)));
+                return;
+            }
+            if (!aligned.containsKey(row.getClass())) {
+                aligned.put(row.getClass(), null);
+                nameSet.addAll(byName.keySet());
+            }
+        }
+        List<String> names = new ArrayList<>(nameSet);
+        // Each row's property writers by column, one lookup per row class
+        for (Map.Entry<Class<?>, BeanPropertyWriter[]> entry : aligned.entrySet()) {
+            Map<String, BeanPropertyWriter> byName = properties.get(entry.getKey());
+            BeanPropertyWriter[] byColumn = new BeanPropertyWriter[names.size()];
+            for (int c = 0; c < byColumn.length; c++) {
+                byColumn[c] = byName.get(names.get(c));
+            }
+            entry.setValue(byColumn);
+        }
+        List<BeanPropertyWriter[]> writers = new ArrayList<>(rows.size());
+        Class<?> lastType = null;
+        BeanPropertyWriter[] last = null;
+        for (Object row : rows) {
+            if (row.getClass() != lastType) {
+                lastType = row.getClass();
+                last = aligned.get(lastType);
+            }
+            writers.add(last);
+        }
+
+        gen.writeStartObject();
+        gen.writeNumberField("rows", rows.size());
+        gen.writeObjectFieldStart("columns");
+        for (int c = 0; c < names.size(); c++) {
+            Column column = new Column(names.get(c), rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                column.add(i, rows.get(i), writers.get(i)[c]);
+            }
+            column.write(rows, writers, c, gen);
+        }
+        gen.writeEndObject();
+        gen.writeEndObject();
+    }
+
+    /**
+     * One column of a block: every row's property written into one token buffer (rows whose value is suppressed
+     * write nothing), read back once for the statistics the encoding depends on, then written with the encoding the
+     * tree encoder would choose.
+     */
+    private final class Column {
+
+        private final String name;
+        private final TokenBuffer buffer = new TokenBuffer(treeMapper, false);
+        private final FieldCounter cells = new FieldCounter(buffer);
+        private final boolean[] present;
+        private final String[] texts;
+        private final int[] lengths; // elements of an array-of-objects cell, -1 otherwise
+        private final Set<String> distinct = new LinkedHashSet<>();
+        private boolean anyPresent;
+        private boolean nested = true;
+        private boolean text = true;
+        private int nonNull;
+
+        private Column(String name, int rowCount) throws IOException {
+            this.name = name;
+            this.present = new boolean[rowCount];
+            this.texts = new String[rowCount];
+            this.lengths = new int[rowCount];
+            buffer.writeStartObject();
+        }
+
+        private void add(int index, Object row, BeanPropertyWriter writer) throws IOException {
+            if (writer == null) {
+                return;
+            }
+            int before = cells.fields;
+            try {
+                writer.serializeAsField(row, cells, provider);
+            } catch (IOException e) {
+                throw e;
+            } catch (Exception e) {
+                throw JsonMappingException.wrapWithPath(e, row, name);
+            }
+            if (cells.fields - before > 1) {
+                throw new IllegalStateException("Property " + name + " wrote more than one field");
+            }
+            present[index] = cells.fields > before;
+        }
+
+        /** Reads the cells back once and collects what the encoding depends on. */
+        private void scan() throws IOException {
+            buffer.writeEndObject();
+            JsonParser p = buffer.asParser();
+            p.nextToken(); // START_OBJECT
+            for (int i = 0; i < present.length; i++) {
+                lengths[i] = -1;
+                if (!present[i]) {
+                    continue;
+                }
+                anyPresent = true;
+                p.nextToken(); // FIELD_NAME
+                JsonToken value = p.nextToken();
+                if (value == JsonToken.VALUE_NULL) {
+                    continue;
+                }
+                nonNull++;
+                text &= value == JsonToken.VALUE_STRING;
+                if (text) {
+                    texts[i] = p.getText();
+                    distinct.add(texts[i]);
+                }
+                if (nested) {
+                    lengths[i] = elementsIfArrayOfObjects(p);
+                    nested = lengths[i] >= 0;
+                } else {
+                    p.skipChildren();
+                }
+            }
+        }
+
+        private void write(List<?> rows, List<BeanPropertyWriter[]> writers, int column, JsonGenerator gen) throws IOException {
+            scan();
+            if (!anyPresent) {
+                return;
+            }
+            gen.writeObjectFieldStart(name);
+            if (nonNull > 0 && nested) {
+                gen.writeArrayFieldStart("lengths");
+                List<Object> elements = new ArrayList<>();
+                for (int i = 0; i < rows.size(); i++) {
+                    if (lengths[i] < 0) {
+                        gen.writeNull();
+                        continue;
+                    }
+                    gen.writeNumber(lengths[i]);
+                    Collection<?> cell = elements(rows.get(i), writers.get(i)[column]);
+                    if (cell.size() != lengths[i]) {
+                        throw new IllegalStateException("Property " + name + " wrote " + lengths[i] + " of " + cell.size() + " elements");
+                    }
+                    elements.addAll(cell);
+                }
+                gen.writeEndArray();
+                gen.writeFieldName("table");
+                writeTable(elements, gen);
+            } else if (nonNull > 0 && text && distinct.size() < nonNull) {
+                Map<String, Integer> codeOf = new HashMap<>();
+                gen.writeArrayFieldStart("dictionary");
+                for (String value : distinct) {
+                    codeOf.put(value, codeOf.size());
+                    gen.writeString(value);
+                }
+                gen.writeEndArray();
+                gen.writeArrayFieldStart("codes");
+                for (String value : texts) {
+                    if (value == null) {
+                        gen.writeNull();
+                    } else {
+                        gen.writeNumber(codeOf.get(value));
+                    }
+                }
+                gen.writeEndArray();
+            } else {
+                gen.writeArrayFieldStart("values");
+                JsonParser p = buffer.asParser();
+                p.nextToken(); // START_OBJECT
+                for (boolean cell : present) {
+                    if (cell) {
+                        p.nextToken(); // FIELD_NAME
+                        p.nextToken();
+                        gen.copyCurrentStructure(p);
+                    } else {
+                        gen.writeNull();
+                    }
+                }
+                gen.writeEndArray();
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    /** Counts the field names written directly into the column object, i.e. the cells that were not suppressed. */
+    private static final class FieldCounter extends JsonGeneratorDelegate {
+
+        private int fields;
+
+        private FieldCounter(JsonGenerator buffer) {
+            super(buffer, false);
+        }
+
+        @Override
+        public void writeFieldName(String name) throws IOException {
+            count();
+            super.writeFieldName(name);
+        }
+
+        @Override
+        public void writeFieldName(SerializableString name) throws IOException {
+            count();
+            super.writeFieldName(name);
+        }
+
+        private void count() {
+            if (getOutputContext().getParent().inRoot()) {
+                fields++;
+            }
+        }
+    }
+
+    /** Element count when the parser is on an array of objects only (empty included), else -1; skips the value. */
+    private static int elementsIfArrayOfObjects(JsonParser p) throws IOException {
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            p.skipChildren();
+            return -1;
+        }
+        int count = 0;
+        boolean objects = true;
+        JsonToken token;
+        while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+            objects &= token == JsonToken.START_OBJECT;
+            p.skipChildren();
+            count++;
+        }
+        return objects ? count : -1;
+    }
+
+    private static Collection<?> elements(Object row, BeanPropertyWriter writer) throws JsonMappingException {
+        Object value;
+        try {
+            value = writer.get(row);
+        } catch (Exception e) {
+            throw JsonMappingException.wrapWithPath(e, row, writer.getName());
+        }
+        if (value instanceof Collection<?> collection) {
+            return collection;
+        }
+        if (value instanceof Object[] array) {
+            return Arrays.asList(array);
+        }
+        throw new IllegalStateException("Not a collection: " + (value == null ? null : value.getClass().getName()));
+    }
+
+    private ArrayNode treesOf(List<?> rows) {
+        ArrayNode trees = JsonNodeFactory.instance.arrayNode(rows.size());
+        rows.forEach(row -> trees.add(treeMapper.<JsonNode>valueToTree(row)));
+        return trees;
+    }
+
+    private Iterator<JsonNode> trees(Object first, Iterator<?> rest) {
+        return new Iterator<>() {
+            private boolean started;
+
+            @Override
+            public boolean hasNext() {
+                return !started || rest.hasNext();
+            }
+
+            @Override
+            public JsonNode next() {
+                Object row = started ? rest.next() : first;
+                started = true;
+                return treeMapper.valueToTree(row);
+            }
+        };
+    }
+}
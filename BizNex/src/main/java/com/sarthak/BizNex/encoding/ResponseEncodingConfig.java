@@ -0,0 +1,36 @@
+package com.sarthak.BizNex.encoding;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Message converters for the compact encodings. Requests without an Accept header (or with a wildcard) still get
+ * JSON; each encoding is chosen only when its media type is asked for.
+ */
+@Configuration
+public class ResponseEncodingConfig implements WebMvcConfigurer {
+
+    private final ObjectMapper objectMapper;
+    private final Jackson2ObjectMapperBuilder objectMapperBuilder;
+
+    public ResponseEncodingConfig(ObjectMapper objectMapper, Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        this.objectMapper = objectMapper;
+        this.objectMapperBuilder = objectMapperBuilder;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Replace Spring's default CBOR converter with one built from Boot's builder (spring.jackson settings, modules)
+        converters.removeIf(MappingJackson2CborHttpMessageConverter.class::isInstance);
+        converters.add(new MappingJackson2CborHttpMessageConverter(objectMapperBuilder.factory(new CBORFactory()).build()));
+        // First, because the JSON converter also claims application/*+json; it only ever writes its own media type
+        converters.add(0, new ColumnarJsonHttpMessageConverter(objectMapper));
+    }
+}
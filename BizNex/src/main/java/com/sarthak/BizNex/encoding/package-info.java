@@ -0,0 +1,6 @@
+/**
+ * Compact response encodings for bulk clients, chosen by the Accept header: CBOR for every endpoint
+ * ({@code application/cbor}) and {@link com.sarthak.BizNex.encoding.ColumnarJson} for paged listings and the change
+ * feed ({@code application/vnd.biznex.columnar+json}). Plain JSON stays the default.
+ */
+package com.sarthak.BizNex.encoding;
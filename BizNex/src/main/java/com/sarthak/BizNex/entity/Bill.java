@@ -12,9 +12,14 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
+@EntityListeners(ChangeLogListener.class)
 @Data
 @NoArgsConstructor
-@Table(name = "bills")
+// Indexes are owned by the Flyway migrations (db/migration); these mirror the plain ones for generated schemas
+@Table(name = "bills", indexes = {
+        @Index(name = "idx_bills_customer_date", columnList = "customer_id, bill_date"),
+        @Index(name = "idx_bills_date_summary", columnList = "bill_date")
+})
 public class Bill {
     
     @Id
@@ -56,6 +61,14 @@ public class Bill {
     @Column(nullable = false)
     private String originalBillNumber = "NA"; // Original bill number for returns or credits
 
+    @Column(unique = true, length = 36)
+    private String clientBillId; // UUID generated by an offline till; null for bills created online
+
+    // Customer details as they were at sale time (captured on insert), so history never reads the customers table
+    private String customerName;
+    private String customerContact;
+    private String customerEmail;
+
    private String generateBillNumber() {
         // Generate bill number: 2 letters (customer initials) + 6 digits (ddMMyy) + 4 random alphanumerics
         String initials = "XX";
@@ -65,8 +78,8 @@ public class Bill {
             String lastInitial = nameParts.length > 1 && !nameParts[1].isEmpty() ? nameParts[1].substring(0, 1).toUpperCase() : "X";
             initials = firstInitial + lastInitial;
         }
-        LocalDateTime now = LocalDateTime.now();
-        String dateTimePart = String.format("%02d%02d%02d", now.getDayOfMonth(), now.getMonthValue(), now.getYear() % 100);
+        LocalDateTime when = billDate != null ? billDate : LocalDateTime.now();
+        String dateTimePart = String.format("%02d%02d%02d", when.getDayOfMonth(), when.getMonthValue(), when.getYear() % 100);
         String randomPart = java.util.UUID.randomUUID().toString().replaceAll("[^A-Za-z0-9]", "").substring(0, 4).toUpperCase();
         return initials + dateTimePart + "-" + randomPart;
     }
@@ -98,14 +111,21 @@ public class Bill {
             billTotalDiscount = 0.0; // No items, no discount
         }
 
-        // Set the bill date to the current date when the bill is created
-        this.billDate = LocalDateTime.now().withNano(0);
+        // Set the bill date to the current date when the bill is created (offline bills keep their till timestamp)
+        if (this.billDate == null) {
+            this.billDate = LocalDateTime.now().withNano(0);
+        }
         // Generate a unique bill number
         this.billNumber = generateBillNumber();
         // Validate customer
         if (customer == null) {
             throw new BillInformationInvalidException("Bill must be associated with a customer.");
         }
+        if (customerName == null) {
+            customerName = customer.getCustomerName();
+            customerContact = customer.getCustomerContact();
+            customerEmail = customer.getCustomerEmail();
+        }
         // Validate bill status & payment method
         if (billStatus == null) {
             throw new BillInformationInvalidException("Bill status must not be null.");
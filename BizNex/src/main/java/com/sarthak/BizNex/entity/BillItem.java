@@ -9,7 +9,10 @@ import lombok.NoArgsConstructor;
 @Entity
 @Data
 @NoArgsConstructor
-@Table(name = "bill_items")
+@Table(name = "bill_items", indexes = {
+        @Index(name = "idx_bill_items_bill", columnList = "bill_id"),
+        @Index(name = "idx_bill_items_product", columnList = "product_id")
+})
 public class BillItem {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -23,6 +26,13 @@ public class BillItem {
     @JoinColumn(name = "product_id", nullable = false)
     private Product billItemProduct;
 
+    // Product details as they were at sale time (captured on insert); productId mirrors the foreign key read-only
+    @Column(name = "product_id", insertable = false, updatable = false)
+    private Long productId;
+    private String productName;
+    private String productCode;
+    private String productCategory;
+
     @Min(1)
     @Column(nullable = false)
     private int billItemQuantity;
@@ -51,6 +61,12 @@ public class BillItem {
         if (billItemProduct != null) {
             this.pricePerUnit = billItemProduct.getPricePerItem();
             this.billItemTotalPrice = getTotal();
+            this.productId = billItemProduct.getProductId();
+            if (productName == null) {
+                this.productName = billItemProduct.getProductName();
+                this.productCode = billItemProduct.getProductCode();
+                this.productCategory = billItemProduct.getProductCategory();
+            }
         } else {
             throw new BillInformationInvalidException("Bill item must have a valid product.");
         }
@@ -71,7 +87,7 @@ public class BillItem {
     public String toString() {
         return "BillItem{" +
                 "billItemId=" + billItemId +
-                ", productId=" + (billItemProduct != null ? billItemProduct.getProductId() : null) +
+                ", productId=" + productId +
                 ", quantity=" + billItemQuantity +
                 '}';
     }
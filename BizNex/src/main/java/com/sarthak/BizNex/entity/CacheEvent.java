@@ -0,0 +1,36 @@
+package com.sarthak.BizNex.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One cache invalidation published by an application instance for the others to apply. Rows are written and read
+ * with JdbcTemplate by {@code JdbcInvalidationBus} and purged after a few minutes; the entity only describes the table.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "cache_events", indexes = {
+        @Index(name = "idx_cache_events_created_at", columnList = "created_at")
+})
+public class CacheEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 16)
+    private String region;
+
+    @Column(name = "cache_key", nullable = false)
+    private String cacheKey;
+
+    @Column(nullable = false, length = 16)
+    private String origin;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
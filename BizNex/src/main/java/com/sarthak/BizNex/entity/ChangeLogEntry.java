@@ -0,0 +1,57 @@
+package com.sarthak.BizNex.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row per committed write to a Product, Customer or Bill. Rows are inserted by {@link ChangeLogListener};
+ * {@code commitSeq} is stamped after commit by {@code ChangeLogSequencer} and is the change feed cursor, since the
+ * identity {@code seq} is allocated at flush and does not follow commit order.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "change_log", indexes = {
+        @Index(name = "idx_change_log_type_seq", columnList = "entity_type, seq"),
+        @Index(name = "idx_change_log_commit_seq", columnList = "commit_seq", unique = true),
+        @Index(name = "idx_change_log_type_commit_seq", columnList = "entity_type, commit_seq")
+})
+public class ChangeLogEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long seq;
+
+    private Long commitSeq; // null until ChangeLogSequencer sees the row committed
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private EntityType entityType;
+
+    @Column(nullable = false)
+    private Long entityId;
+
+    @Column(length = 64)
+    private String entityKey; // productCode / customerContact / billNumber, so tombstones stay addressable
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private ChangeType changeType;
+
+    @Column(nullable = false)
+    private LocalDateTime changedAt;
+
+    public enum EntityType {
+        PRODUCT,
+        CUSTOMER,
+        BILL
+    }
+
+    public enum ChangeType {
+        UPSERT,
+        DELETE // hard delete or soft-delete (productActive=false / customerActiveStatus=inactive)
+    }
+}
@@ -0,0 +1,94 @@
+package com.sarthak.BizNex.entity;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import com.sarthak.BizNex.cache.SingleFlightCache;
+import com.sarthak.BizNex.catalog.CatalogVersion;
+import com.sarthak.BizNex.invalidation.CacheRegion;
+import com.sarthak.BizNex.invalidation.InvalidationBus;
+import com.sarthak.BizNex.snapshot.BillSnapshotStore;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Records writes to change-tracked entities into {@code change_log}. The insert goes through JdbcTemplate,
+ * which joins the surrounding JPA transaction's connection, so a change row commits (or rolls back)
+ * together with the entity write it describes; its feed cursor is stamped after commit by
+ * {@code ChangeLogSequencer}. Cached aggregates over the entity type are invalidated, and for products the catalog
+ * version bumped and for bills the serialised snapshot dropped, once the transaction commits; the same
+ * invalidation is published for the other application instances.
+ */
+@Component
+public class ChangeLogListener {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO change_log (entity_type, entity_id, entity_key, change_type, changed_at) VALUES (?, ?, ?, ?, ?)";
+
+    // Lazy: Hibernate instantiates listeners while the EntityManagerFactory is still being built
+    private final ObjectProvider<JdbcTemplate> jdbcTemplate;
+    private final ObjectProvider<SingleFlightCache> singleFlightCache;
+    private final ObjectProvider<CatalogVersion> catalogVersion;
+    private final ObjectProvider<BillSnapshotStore> billSnapshotStore;
+    private final ObjectProvider<InvalidationBus> invalidationBus;
+
+    public ChangeLogListener(ObjectProvider<JdbcTemplate> jdbcTemplate, ObjectProvider<SingleFlightCache> singleFlightCache,
+                             ObjectProvider<CatalogVersion> catalogVersion, ObjectProvider<BillSnapshotStore> billSnapshotStore,
+                             ObjectProvider<InvalidationBus> invalidationBus) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.singleFlightCache = singleFlightCache;
+        this.catalogVersion = catalogVersion;
+        this.billSnapshotStore = billSnapshotStore;
+        this.invalidationBus = invalidationBus;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onWrite(Object entity) {
+        record(entity, isSoftDeleted(entity) ? ChangeLogEntry.ChangeType.DELETE : ChangeLogEntry.ChangeType.UPSERT);
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        record(entity, ChangeLogEntry.ChangeType.DELETE);
+    }
+
+    private void record(Object entity, ChangeLogEntry.ChangeType changeType) {
+        ChangeLogEntry.EntityType type;
+        Long id;
+        String key;
+        if (entity instanceof Product p) {
+            type = ChangeLogEntry.EntityType.PRODUCT; id = p.getProductId(); key = p.getProductCode();
+        } else if (entity instanceof Customer c) {
+            type = ChangeLogEntry.EntityType.CUSTOMER; id = c.getCustomerId(); key = c.getCustomerContact();
+        } else if (entity instanceof Bill b) {
+            type = ChangeLogEntry.EntityType.BILL; id = b.getBillId(); key = b.getBillNumber();
+        } else {
+            return;
+        }
+        jdbcTemplate.getObject().update(INSERT_SQL, type.name(), id, key, changeType.name(), Timestamp.valueOf(LocalDateTime.now()));
+        singleFlightCache.ifAvailable(cache -> cache.invalidateAfterCommit(type.name()));
+        if (type == ChangeLogEntry.EntityType.PRODUCT) {
+            catalogVersion.ifAvailable(CatalogVersion::bumpAfterCommit);
+        } else if (type == ChangeLogEntry.EntityType.BILL) {
+            billSnapshotStore.ifAvailable(store -> store.invalidateAfterCommit(key));
+        }
+        // Product and customer caches are per entity type, so only bills name the row
+        String published = type == ChangeLogEntry.EntityType.BILL ? key : InvalidationBus.ALL;
+        invalidationBus.ifAvailable(bus -> bus.publish(CacheRegion.valueOf(type.name()), published));
+    }
+
+    private static boolean isSoftDeleted(Object entity) {
+        if (entity instanceof Product p) {
+            return !p.isProductActive();
+        }
+        if (entity instanceof Customer c) {
+            return "inactive".equalsIgnoreCase(c.getCustomerActiveStatus());
+        }
+        return false;
+    }
+}
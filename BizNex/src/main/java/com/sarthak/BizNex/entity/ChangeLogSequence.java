@@ -0,0 +1,23 @@
+package com.sarthak.BizNex.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Single-row high-water mark of {@link ChangeLogEntry#getCommitSeq()}. {@code ChangeLogSequencer} locks the row
+ * while stamping, which serialises stamping and keeps commit sequences in commit order; the entity only describes
+ * the table.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "change_log_sequence")
+public class ChangeLogSequence {
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private long lastCommitSeq;
+}
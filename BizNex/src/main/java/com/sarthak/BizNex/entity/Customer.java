@@ -11,6 +11,7 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(ChangeLogListener.class)
 @Data
 @NoArgsConstructor
 @Table(name = "customers")
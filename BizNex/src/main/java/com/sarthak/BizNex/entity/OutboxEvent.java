@@ -0,0 +1,83 @@
+package com.sarthak.BizNex.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Side-effect event written in the same transaction as the business change it describes and
+ * delivered asynchronously by the outbox relay. PENDING rows are retried with backoff until
+ * delivered or moved to FAILED (dead letter) after the configured number of attempts.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_status_next_attempt", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_outbox_aggregate", columnList = "aggregate_type, aggregate_id")
+})
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 32)
+    private String aggregateType; // e.g. BILL; events of one aggregate are delivered in id order
+
+    @Column(nullable = false, length = 64)
+    private String aggregateId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private EventType eventType;
+
+    @JdbcTypeCode(SqlTypes.LONG32VARCHAR) // text on PostgreSQL, unbounded varchar on H2
+    @Column(nullable = false)
+    private String payload; // JSON
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status = Status.PENDING;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    private LocalDateTime deliveredAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @PrePersist
+    public void prePersist() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+        if (nextAttemptAt == null) {
+            nextAttemptAt = createdAt;
+        }
+    }
+
+    public enum EventType {
+        BILL_CREATED,
+        BILL_RETURNED,
+        CREDIT_PAYMENT,
+        BILL_DELETED
+    }
+
+    public enum Status {
+        PENDING,
+        DELIVERED,
+        FAILED
+    }
+}
@@ -7,9 +7,13 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
+@EntityListeners(ChangeLogListener.class)
 @Data
 @NoArgsConstructor
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_active_category", columnList = "product_active, product_category"),
+        @Index(name = "idx_products_name_category", columnList = "product_name, product_category")
+})
 public class Product {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -8,6 +8,7 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 @Getter
@@ -59,9 +60,19 @@ public class User {
     @Column(name = "password_changed", nullable = false)
     private boolean mustChangePassword = false;
 
+    // Incremented whenever credentials or authority change; access tokens carry it ("sv") and older values are rejected
+    @Setter
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long securityVersion = 0;
+
     public User(String username, String userEmail){
         this.username = username;
         this.userEmail = userEmail;
     }
 
+    public void bumpSecurityVersion() {
+        this.securityVersion++;
+    }
+
 }
@@ -6,8 +6,11 @@ import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -19,8 +22,19 @@ import org.springframework.security.authentication.BadCredentialsException;
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    // Error bodies are always JSON: streaming endpoints (NDJSON, server-sent events) have no error representation
     private ResponseEntity<ExceptionResponseDto> build(HttpStatus status, String message, HttpServletRequest request) {
         return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(ExceptionResponseDto.of(status.value(), status.getReasonPhrase(), message, request.getRequestURI()));
+    }
+
+    /** {@link #build} with a Retry-After header, for load-shedding responses. */
+    private ResponseEntity<ExceptionResponseDto> build(HttpStatus status, String message, HttpServletRequest request,
+                                                       int retryAfterSeconds) {
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, Integer.toString(retryAfterSeconds))
+                .contentType(MediaType.APPLICATION_JSON)
                 .body(ExceptionResponseDto.of(status.value(), status.getReasonPhrase(), message, request.getRequestURI()));
     }
 
@@ -55,6 +69,12 @@ public class GlobalExceptionHandler {
         return build(HttpStatus.METHOD_NOT_ALLOWED, ex.getMessage(), req);
     }
 
+    // No body: the client accepts none of the representations this endpoint can write
+    @ExceptionHandler(HttpMediaTypeNotAcceptableException.class)
+    public ResponseEntity<Void> handleNotAcceptable(HttpMediaTypeNotAcceptableException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+    }
+
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ResponseEntity<ExceptionResponseDto> handleDataIntegrityViolation(DataIntegrityViolationException ex, HttpServletRequest req) {
         return build(HttpStatus.CONFLICT, ex.getMostSpecificCause().getMessage(), req);
@@ -100,6 +120,11 @@ public class GlobalExceptionHandler {
         return build(HttpStatus.UNAUTHORIZED, ex.getMessage(), req);
     }
 
+    @ExceptionHandler(InvalidTokenException.class)
+    public ResponseEntity<ExceptionResponseDto> handleInvalidToken(InvalidTokenException ex, HttpServletRequest req) {
+        return build(HttpStatus.UNAUTHORIZED, ex.getMessage(), req);
+    }
+
     @ExceptionHandler(MalformedJwtException.class)
     public ResponseEntity<ExceptionResponseDto> handleMalformedJwt(MalformedJwtException ex, HttpServletRequest req) {
         return build(HttpStatus.BAD_REQUEST, ex.getMessage(), req);
@@ -115,6 +140,21 @@ public class GlobalExceptionHandler {
         return build(HttpStatus.BAD_REQUEST, ex.getMessage(), req);
     }
 
+    @ExceptionHandler(ReportQueueFullException.class)
+    public ResponseEntity<ExceptionResponseDto> handleReportQueueFull(ReportQueueFullException ex, HttpServletRequest req) {
+        return build(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), req, 30);
+    }
+
+    @ExceptionHandler(HistoryStreamsBusyException.class)
+    public ResponseEntity<ExceptionResponseDto> handleHistoryStreamsBusy(HistoryStreamsBusyException ex, HttpServletRequest req) {
+        return build(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), req, 5);
+    }
+
+    @ExceptionHandler(LoginThrottledException.class)
+    public ResponseEntity<ExceptionResponseDto> handleLoginThrottled(LoginThrottledException ex, HttpServletRequest req) {
+        return build(HttpStatus.TOO_MANY_REQUESTS, ex.getMessage(), req, 1);
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<ExceptionResponseDto> handleGenericRuntime(RuntimeException ex, HttpServletRequest req) {
         return build(HttpStatus.BAD_REQUEST, ex.getMessage(), req);
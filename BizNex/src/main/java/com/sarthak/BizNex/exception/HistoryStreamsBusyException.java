@@ -0,0 +1,7 @@
+package com.sarthak.BizNex.exception;
+
+public class HistoryStreamsBusyException extends RuntimeException {
+    public HistoryStreamsBusyException(String message) {
+        super(message);
+    }
+}
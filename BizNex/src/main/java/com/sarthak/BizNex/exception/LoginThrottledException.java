@@ -0,0 +1,7 @@
+package com.sarthak.BizNex.exception;
+
+public class LoginThrottledException extends RuntimeException {
+    public LoginThrottledException(String message) {
+        super(message);
+    }
+}
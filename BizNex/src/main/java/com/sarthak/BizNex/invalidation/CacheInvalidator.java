@@ -0,0 +1,85 @@
+package com.sarthak.BizNex.invalidation;
+
+import com.sarthak.BizNex.cache.SingleFlightCache;
+import com.sarthak.BizNex.catalog.CatalogVersion;
+import com.sarthak.BizNex.security.UserStateCache;
+import com.sarthak.BizNex.snapshot.BillSnapshotStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Applies invalidations to this instance's caches: the same entries ChangeLogListener and UserServiceImp drop for
+ * local writes. Product writes bump the catalog version, bill writes drop the bill's snapshot, user changes the
+ * user's security state, and each entity type's cached aggregates go with it.
+ */
+@Component
+public class CacheInvalidator {
+
+    private final CatalogVersion catalogVersion;
+    private final BillSnapshotStore billSnapshotStore;
+    private final SingleFlightCache singleFlightCache;
+    private final UserStateCache userStateCache;
+    private final Map<CacheRegion, Counter> applied = new EnumMap<>(CacheRegion.class);
+    private volatile long lastAppliedAll;
+
+    public CacheInvalidator(CatalogVersion catalogVersion, BillSnapshotStore billSnapshotStore,
+                            SingleFlightCache singleFlightCache, UserStateCache userStateCache,
+                            MeterRegistry meterRegistry) {
+        this.catalogVersion = catalogVersion;
+        this.billSnapshotStore = billSnapshotStore;
+        this.singleFlightCache = singleFlightCache;
+        this.userStateCache = userStateCache;
+        for (CacheRegion region : CacheRegion.values()) {
+            applied.put(region, Counter.builder("biznex.invalidation.applied")
+                    .tag("region", region.name().toLowerCase(Locale.ROOT)).register(meterRegistry));
+        }
+    }
+
+    /** Drops the given keys of a region; a key of {@link InvalidationBus#ALL} drops the whole region. */
+    public void apply(CacheRegion region, Collection<String> keys) {
+        boolean all = keys.contains(InvalidationBus.ALL);
+        switch (region) {
+            case PRODUCT -> {
+                catalogVersion.bumpAfterCommit();
+                singleFlightCache.invalidateAfterCommit(region.name());
+            }
+            case CUSTOMER -> singleFlightCache.invalidateAfterCommit(region.name());
+            case BILL -> {
+                if (all) {
+                    billSnapshotStore.invalidateAll();
+                } else {
+                    keys.forEach(billSnapshotStore::invalidate);
+                }
+                singleFlightCache.invalidateAfterCommit(region.name());
+            }
+            case USER -> {
+                if (all) {
+                    userStateCache.invalidateAll();
+                } else {
+                    keys.forEach(userStateCache::evict);
+                }
+            }
+        }
+        applied.get(region).increment(keys.size());
+    }
+
+    /** Drops every cache this class knows about. */
+    public void applyAll() {
+        lastAppliedAll = System.currentTimeMillis();
+        for (CacheRegion region : CacheRegion.values()) {
+            apply(region, List.of(InvalidationBus.ALL));
+        }
+    }
+
+    /** When {@link #applyAll()} last ran, 0 if never: cache contents saved before then must not be reloaded. */
+    public long lastAppliedAll() {
+        return lastAppliedAll;
+    }
+}
@@ -0,0 +1,12 @@
+package com.sarthak.BizNex.invalidation;
+
+/**
+ * What an invalidation refers to. The key is the product code, customer contact, bill number or username, or
+ * {@link InvalidationBus#ALL} for every entry of the region.
+ */
+public enum CacheRegion {
+    PRODUCT,
+    CUSTOMER,
+    BILL,
+    USER
+}
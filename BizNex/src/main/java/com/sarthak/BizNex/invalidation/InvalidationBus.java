@@ -0,0 +1,14 @@
+package com.sarthak.BizNex.invalidation;
+
+/**
+ * Tells the other application instances to drop cache entries. Publishing never touches this instance's own caches:
+ * callers invalidate those directly, as before. Inside a transaction the invalidation is only delivered if the
+ * transaction commits, and a (region, key) pair is sent once per transaction however often it is published.
+ */
+public interface InvalidationBus {
+
+    /** Key meaning every entry of a region. */
+    String ALL = "*";
+
+    void publish(CacheRegion region, String key);
+}
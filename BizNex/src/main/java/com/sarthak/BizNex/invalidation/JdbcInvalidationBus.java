@@ -0,0 +1,243 @@
+package com.sarthak.BizNex.invalidation;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Invalidation bus over the shared database, for deployments running several instances. {@link #publish} inserts a
+ * row into {@code cache_events} through JdbcTemplate, so it joins the surrounding transaction and becomes visible
+ * exactly when the write it describes commits. Every instance polls the table on one background thread, skips its
+ * own rows and applies each batch coalesced: one action per (region, key), and a whole region once too many of its
+ * keys arrive together.
+ * <p>
+ * Staleness is bounded by the poll interval. Identity values are taken at insert but rows appear at commit, so a
+ * skipped id is re-checked on later polls until it shows up or {@code gap-timeout-ms} passes (a rolled-back insert
+ * never does). If polling has been failing for longer than the retention, rows may have been purged unseen and the
+ * instance drops all its caches instead.
+ * <p>
+ * The bill snapshot disk tier and the warm-start snapshot outlive the process, so the last applied id is kept in
+ * {@code checkpoint-file} and a restarted instance resumes from it. When the checkpoint is missing, older than the
+ * retention or ahead of the table, events may be gone and every cache is dropped before the instance serves.
+ */
+@Component
+@ConditionalOnProperty(name = "app.invalidation.bus", havingValue = "jdbc")
+public class JdbcInvalidationBus implements InvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcInvalidationBus.class);
+    private static final String INSERT_SQL =
+            "INSERT INTO cache_events (region, cache_key, origin, created_at) VALUES (?, ?, ?, ?)";
+    private static final String COLUMNS = "SELECT id, region, cache_key, origin FROM cache_events";
+    private static final int MAX_KEYS_PER_REGION = 256; // beyond this a batch drops the whole region
+    private static final int MAX_GAPS = 1000;
+    private static final long PURGE_INTERVAL_MS = 60_000;
+
+    private record Event(long id, CacheRegion region, String key, String origin) {
+    }
+
+    private static final RowMapper<Event> EVENT = (rs, n) -> new Event(rs.getLong("id"),
+            CacheRegion.valueOf(rs.getString("region")), rs.getString("cache_key"), rs.getString("origin"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheInvalidator cacheInvalidator;
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+    // Poller thread only
+    private final Map<Long, Long> gaps = new HashMap<>();
+    private long lastId;
+    private long lastSuccess;
+    private long lastPurge;
+    // Poller thread, or startup / shutdown while it is not running
+    private long checkpointedId = -1;
+    private long lastCheckpoint;
+    private ScheduledExecutorService executor;
+
+    @Value("${app.invalidation.poll-interval-ms:500}")
+    private long pollIntervalMs;
+    @Value("${app.invalidation.batch-size:500}")
+    private int batchSize;
+    @Value("${app.invalidation.gap-timeout-ms:60000}")
+    private long gapTimeoutMs;
+    @Value("${app.invalidation.retention-minutes:10}")
+    private long retentionMinutes;
+    @Value("${app.invalidation.checkpoint-file:${java.io.tmpdir}/biznex-invalidation.checkpoint}")
+    private Path checkpointFile;
+
+    public JdbcInvalidationBus(JdbcTemplate jdbcTemplate, CacheInvalidator cacheInvalidator) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheInvalidator = cacheInvalidator;
+    }
+
+    @PostConstruct
+    void start() {
+        Long max = jdbcTemplate.queryForObject("SELECT MAX(id) FROM cache_events", Long.class);
+        long[] checkpoint = readCheckpoint();
+        lastSuccess = System.currentTimeMillis();
+        if (checkpoint != null && lastSuccess - checkpoint[1] < TimeUnit.MINUTES.toMillis(retentionMinutes)
+                && checkpoint[0] <= (max == null ? 0 : max)) {
+            lastId = checkpoint[0];
+            log.info("Cache invalidation bus resuming after event {}", lastId);
+        } else {
+            // Events since the persistent caches were written may have been purged: trust none of them
+            lastId = max == null ? 0 : max;
+            log.info("No usable invalidation checkpoint at {}; dropping all caches", checkpointFile);
+            cacheInvalidator.applyAll();
+        }
+        writeCheckpoint(true);
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "invalidation-poller");
+            t.setDaemon(true);
+            return t;
+        });
+        executor.scheduleWithFixedDelay(this::pollSafely, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("Cache invalidation bus polling cache_events every {} ms as node {}", pollIntervalMs, nodeId);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            try {
+                executor.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            writeCheckpoint(true);
+        }
+    }
+
+    @Override
+    public void publish(CacheRegion region, String key) {
+        Map<CacheRegion, Set<String>> batch = TransactionBatch.current(this, committed -> { });
+        if (batch != null && !TransactionBatch.add(batch, region, key)) {
+            return; // already recorded by this transaction
+        }
+        jdbcTemplate.update(INSERT_SQL, region.name(), key, nodeId, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    private void pollSafely() {
+        try {
+            while (poll() == batchSize) {
+                // full batch: keep going until caught up
+            }
+            long now = System.currentTimeMillis();
+            if (now - lastSuccess > TimeUnit.MINUTES.toMillis(retentionMinutes)) {
+                log.warn("Invalidation polling was interrupted for longer than the retention; dropping all caches");
+                cacheInvalidator.applyAll();
+            }
+            lastSuccess = now;
+            writeCheckpoint(now - lastCheckpoint > PURGE_INTERVAL_MS);
+            if (now - lastPurge > PURGE_INTERVAL_MS) {
+                lastPurge = now;
+                jdbcTemplate.update("DELETE FROM cache_events WHERE created_at < ?",
+                        Timestamp.valueOf(LocalDateTime.now().minusMinutes(retentionMinutes)));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Invalidation poll failed: {}", e.getMessage());
+        }
+    }
+
+    /** Reads and applies one batch of events; returns the number of new (not gap) rows read. Package-private for tests. */
+    int poll() {
+        long now = System.currentTimeMillis();
+        List<Event> events = new ArrayList<>();
+        gaps.values().removeIf(noticed -> now - noticed > gapTimeoutMs);
+        if (!gaps.isEmpty()) {
+            List<Long> ids = new ArrayList<>(gaps.keySet());
+            String in = String.join(", ", Collections.nCopies(ids.size(), "?"));
+            List<Event> late = jdbcTemplate.query(COLUMNS + " WHERE id IN (" + in + ")", EVENT, ids.toArray());
+            late.forEach(e -> gaps.remove(e.id()));
+            events.addAll(late);
+        }
+
+        List<Event> fresh = jdbcTemplate.query(COLUMNS + " WHERE id > ? ORDER BY id LIMIT ?", EVENT, lastId, batchSize);
+        long expected = lastId + 1;
+        for (Event e : fresh) {
+            for (long id = expected; id < e.id() && gaps.size() < MAX_GAPS; id++) {
+                gaps.put(id, now);
+            }
+            expected = e.id() + 1;
+        }
+        if (!fresh.isEmpty()) {
+            lastId = fresh.getLast().id();
+        }
+        events.addAll(fresh);
+
+        Map<CacheRegion, Set<String>> coalesced = new EnumMap<>(CacheRegion.class);
+        for (Event e : events) {
+            if (!nodeId.equals(e.origin())) {
+                TransactionBatch.add(coalesced, e.region(), e.key());
+            }
+        }
+        coalesced.forEach((region, keys) -> cacheInvalidator.apply(region,
+                keys.size() > MAX_KEYS_PER_REGION ? Set.of(ALL) : keys));
+        return fresh.size();
+    }
+
+    /** Highest id below which every event has been applied: open gaps may still turn up. */
+    private long appliedThrough() {
+        long through = lastId;
+        for (long gap : gaps.keySet()) {
+            through = Math.min(through, gap - 1);
+        }
+        return through;
+    }
+
+    /** Records the applied position when it moved, or when {@code refresh} asks to renew the timestamp. */
+    private void writeCheckpoint(boolean refresh) {
+        long through = appliedThrough();
+        if (through == checkpointedId && !refresh) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        try {
+            Path parent = checkpointFile.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path tmp = Files.createTempFile(parent, checkpointFile.getFileName().toString(), ".tmp");
+            Files.writeString(tmp, through + " " + now, StandardCharsets.US_ASCII);
+            Files.move(tmp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            checkpointedId = through;
+            lastCheckpoint = now;
+        } catch (IOException e) {
+            log.warn("Could not write invalidation checkpoint {}: {}", checkpointFile, e.toString());
+        }
+    }
+
+    /** {applied id, written at millis}, or null when there is no readable checkpoint. */
+    private long[] readCheckpoint() {
+        try {
+            String[] parts = Files.readString(checkpointFile, StandardCharsets.US_ASCII).trim().split(" ");
+            return new long[]{Long.parseLong(parts[0]), Long.parseLong(parts[1])};
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring invalidation checkpoint {}: {}", checkpointFile, e.toString());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.sarthak.BizNex.invalidation;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Delivers invalidations to the other application contexts running in this JVM (embedded or test deployments that
+ * start several contexts over one database). With a single context it has nobody to tell and costs nothing.
+ * Delivery runs on a background thread, after the publishing transaction has committed.
+ */
+@Component
+@ConditionalOnProperty(name = "app.invalidation.bus", havingValue = "local", matchIfMissing = true)
+public class LocalInvalidationBus implements InvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalInvalidationBus.class);
+    private static final Set<LocalInvalidationBus> NODES = new CopyOnWriteArraySet<>();
+
+    private final CacheInvalidator cacheInvalidator;
+    private ExecutorService executor;
+
+    public LocalInvalidationBus(CacheInvalidator cacheInvalidator) {
+        this.cacheInvalidator = cacheInvalidator;
+    }
+
+    @PostConstruct
+    void start() {
+        executor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "invalidation-local");
+            t.setDaemon(true);
+            return t;
+        });
+        NODES.add(this);
+    }
+
+    @PreDestroy
+    void stop() {
+        NODES.remove(this);
+        executor.shutdownNow();
+    }
+
+    @Override
+    public void publish(CacheRegion region, String key) {
+        if (NODES.size() < 2) {
+            return;
+        }
+        Map<CacheRegion, Set<String>> batch = TransactionBatch.current(this, this::deliver);
+        if (batch == null) {
+            deliver(Map.of(region, Set.of(key)));
+        } else {
+            TransactionBatch.add(batch, region, key);
+        }
+    }
+
+    private void deliver(Map<CacheRegion, Set<String>> batch) {
+        for (LocalInvalidationBus node : NODES) {
+            if (node != this) {
+                node.receive(batch);
+            }
+        }
+    }
+
+    private void receive(Map<CacheRegion, Set<String>> batch) {
+        try {
+            executor.execute(() -> batch.forEach(cacheInvalidator::apply));
+        } catch (RejectedExecutionException e) {
+            log.debug("Invalidation dropped: context is shutting down");
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.sarthak.BizNex.invalidation;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/** The invalidations one bus has collected for the current transaction. */
+final class TransactionBatch {
+
+    private TransactionBatch() {
+    }
+
+    /**
+     * The current transaction's batch for this owner, created (with {@code onCommit} registered to receive it after
+     * a commit) on first use; {@code null} when no transaction is active.
+     */
+    @SuppressWarnings("unchecked")
+    static Map<CacheRegion, Set<String>> current(Object owner, Consumer<Map<CacheRegion, Set<String>>> onCommit) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        Map<CacheRegion, Set<String>> batch = (Map<CacheRegion, Set<String>>) TransactionSynchronizationManager.getResource(owner);
+        if (batch == null) {
+            Map<CacheRegion, Set<String>> created = new EnumMap<>(CacheRegion.class);
+            TransactionSynchronizationManager.bindResource(owner, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(owner);
+                    if (status == STATUS_COMMITTED) {
+                        onCommit.accept(created);
+                    }
+                }
+            });
+            batch = created;
+        }
+        return batch;
+    }
+
+    /** Adds the pair; false when the batch already had it. */
+    static boolean add(Map<CacheRegion, Set<String>> batch, CacheRegion region, String key) {
+        return batch.computeIfAbsent(region, r -> new LinkedHashSet<>()).add(key);
+    }
+}
@@ -0,0 +1,6 @@
+/**
+ * Cache invalidation across application instances: writes publish (region, key) pairs on an
+ * {@link com.sarthak.BizNex.invalidation.InvalidationBus} once their transaction commits, and every other instance
+ * drops the matching local cache entries through {@link com.sarthak.BizNex.invalidation.CacheInvalidator}.
+ */
+package com.sarthak.BizNex.invalidation;
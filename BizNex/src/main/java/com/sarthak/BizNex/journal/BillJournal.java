@@ -0,0 +1,343 @@
+package com.sarthak.BizNex.journal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, segment-rolled journal backed by memory-mapped files.
+ *
+ * <p>Record layout: {@code [int payloadLength][int crc32(seq, payload)][long seq][payload]}. A zero length marks
+ * the end of written data in a (pre-sized, zero-filled) segment. {@link #append} returns only after the record is
+ * forced to disk; concurrent appenders share one {@code force()} (group commit), so the fsync cost is amortised
+ * across everyone who appended while the previous force was running.</p>
+ *
+ * <p>On open, segments are scanned and the first record with a bad length or checksum ends the journal (a torn
+ * tail from a crash): the rest of that segment is zeroed and later segments are discarded. The applied position is
+ * kept in a checkpoint file; fully applied segments other than the active one are deleted ({@link #markApplied}).</p>
+ */
+public class BillJournal implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(BillJournal.class);
+
+    static final int HEADER_BYTES = 4 + 4 + 8;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String CHECKPOINT_FILE = "applied.checkpoint";
+
+    private final Path dir;
+    private final int segmentSize;
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+    private final Object writeLock = new Object();
+    private final Object flushLock = new Object();
+
+    private Segment active;          // guarded by writeLock
+    private long lastSeq;            // guarded by writeLock
+    private volatile long durableSeq;
+    private volatile long appliedSeq;
+
+    // Read cursor so sequential readers do not rescan a segment from its start on every call
+    private volatile ReadCursor cursor;
+
+    public BillJournal(Path dir, int segmentSize) throws IOException {
+        if (segmentSize < HEADER_BYTES + 1 + 4) {
+            throw new IllegalArgumentException("Segment size too small: " + segmentSize);
+        }
+        this.dir = dir;
+        this.segmentSize = segmentSize;
+        Files.createDirectories(dir);
+        this.appliedSeq = readCheckpoint();
+        recover();
+    }
+
+    /** Append a record and wait until it is durable. Returns its sequence number. */
+    public long append(byte[] payload) throws IOException {
+        if (payload == null || payload.length == 0) {
+            throw new IllegalArgumentException("Journal payload must not be empty");
+        }
+        int size = HEADER_BYTES + payload.length;
+        if (size + 4 > segmentSize) {
+            throw new IllegalArgumentException("Journal record of " + size + " bytes exceeds segment size " + segmentSize);
+        }
+        long seq;
+        synchronized (writeLock) {
+            // +4 keeps room for the zero length that terminates the segment
+            if (active.writePos + size + 4 > segmentSize) {
+                roll();
+            }
+            seq = ++lastSeq;
+            MappedByteBuffer buf = active.buffer;
+            int pos = active.writePos;
+            buf.putInt(pos + 4, checksum(seq, payload));
+            buf.putLong(pos + 8, seq);
+            buf.put(pos + HEADER_BYTES, payload);
+            buf.putInt(pos, payload.length);
+            active.lastSeq = seq;
+            active.writePos = pos + size; // volatile publish for readers
+        }
+        awaitDurable(seq);
+        return seq;
+    }
+
+    /** Up to {@code max} durable records with seq greater than {@code afterSeq}, in order. */
+    public List<JournalRecord> readAfter(long afterSeq, int max) {
+        List<JournalRecord> out = new ArrayList<>();
+        long limit = durableSeq;
+        ReadCursor c = cursor;
+        int segIndex;
+        int pos;
+        if (c != null && c.seq == afterSeq && segments.contains(c.segment)) {
+            segIndex = segments.indexOf(c.segment);
+            pos = c.position;
+        } else {
+            segIndex = 0;
+            pos = 0;
+        }
+        Segment lastSegment = null;
+        int lastPos = 0;
+        long lastRead = afterSeq;
+        while (segIndex < segments.size() && out.size() < max) {
+            Segment seg = segments.get(segIndex);
+            if (seg.lastSeq <= afterSeq && seg != segments.get(segments.size() - 1)) {
+                segIndex++;
+                pos = 0;
+                continue;
+            }
+            ByteBuffer view = seg.buffer.duplicate();
+            int end = seg.writePos;
+            while (pos < end && out.size() < max) {
+                int length = view.getInt(pos);
+                long seq = view.getLong(pos + 8);
+                if (seq > limit) {
+                    break;
+                }
+                int next = pos + HEADER_BYTES + length;
+                if (seq > afterSeq) {
+                    byte[] payload = new byte[length];
+                    view.get(pos + HEADER_BYTES, payload);
+                    out.add(new JournalRecord(seq, payload));
+                    lastRead = seq;
+                }
+                pos = next;
+                lastSegment = seg;
+                lastPos = pos;
+            }
+            if (out.size() >= max || pos < end) {
+                break;
+            }
+            segIndex++;
+            pos = 0;
+        }
+        if (lastSegment != null) {
+            cursor = new ReadCursor(lastSegment, lastPos, lastRead);
+        }
+        return out;
+    }
+
+    /** Persist the applied position and delete segments that are fully applied. */
+    public void markApplied(long seq) throws IOException {
+        if (seq <= appliedSeq) {
+            return;
+        }
+        Path tmp = dir.resolve(CHECKPOINT_FILE + ".tmp");
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ch.write(ByteBuffer.allocate(8).putLong(0, seq));
+            ch.force(true);
+        }
+        Files.move(tmp, dir.resolve(CHECKPOINT_FILE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        appliedSeq = seq;
+        compact();
+    }
+
+    public long getAppliedSeq() {
+        return appliedSeq;
+    }
+
+    public long getDurableSeq() {
+        return durableSeq;
+    }
+
+    /** Records written but not yet applied. */
+    public long getBacklog() {
+        return Math.max(0, durableSeq - appliedSeq);
+    }
+
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public void close() {
+        synchronized (writeLock) {
+            if (active != null) {
+                active.buffer.force();
+            }
+        }
+    }
+
+    private void awaitDurable(long seq) {
+        if (durableSeq >= seq) {
+            return;
+        }
+        synchronized (flushLock) {
+            if (durableSeq >= seq) {
+                return; // another appender's force covered this record
+            }
+            long target;
+            Segment seg;
+            synchronized (writeLock) {
+                target = lastSeq;
+                seg = active;
+            }
+            seg.buffer.force(); // earlier segments were forced when they rolled
+            durableSeq = target;
+        }
+    }
+
+    private void roll() throws IOException {
+        active.buffer.force();
+        active = openSegment(lastSeq + 1, true);
+        segments.add(active);
+    }
+
+    private void compact() throws IOException {
+        for (Segment seg : segments) {
+            if (seg != active && seg.lastSeq <= appliedSeq) {
+                segments.remove(seg);
+                Files.deleteIfExists(seg.path);
+                log.debug("Compacted journal segment {}", seg.path.getFileName());
+            }
+        }
+    }
+
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> s = Files.list(dir)) {
+            files = s.filter(p -> p.getFileName().toString().startsWith(SEGMENT_PREFIX)
+                            && p.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted(Comparator.comparingLong(BillJournal::firstSeqOf))
+                    .toList();
+        }
+        long expected = -1;
+        boolean truncated = false;
+        for (Path file : files) {
+            if (truncated) {
+                log.error("Discarding journal segment {} after a corrupt record", file.getFileName());
+                Files.delete(file);
+                continue;
+            }
+            Segment seg = openSegment(firstSeqOf(file), false);
+            int pos = 0;
+            long prev = seg.firstSeq - 1;
+            if (expected >= 0 && seg.firstSeq != expected) {
+                log.warn("Journal segment {} starts at {} but {} was expected", file.getFileName(), seg.firstSeq, expected);
+            }
+            while (pos + HEADER_BYTES <= segmentSize) {
+                int length = seg.buffer.getInt(pos);
+                if (length == 0) {
+                    break;
+                }
+                long seq = seg.buffer.getLong(pos + 8);
+                boolean valid = length > 0 && pos + HEADER_BYTES + length <= segmentSize && seq == prev + 1;
+                if (valid) {
+                    byte[] payload = new byte[length];
+                    seg.buffer.get(pos + HEADER_BYTES, payload);
+                    valid = seg.buffer.getInt(pos + 4) == checksum(seq, payload);
+                }
+                if (!valid) {
+                    log.error("Corrupt journal record in {} at offset {}; truncating", file.getFileName(), pos);
+                    for (int i = pos; i < segmentSize; i++) {
+                        seg.buffer.put(i, (byte) 0);
+                    }
+                    seg.buffer.force();
+                    truncated = true;
+                    break;
+                }
+                prev = seq;
+                pos += HEADER_BYTES + length;
+            }
+            seg.writePos = pos;
+            seg.lastSeq = prev;
+            segments.add(seg);
+            expected = prev + 1;
+        }
+        long recoveredLast = segments.isEmpty() ? 0 : segments.get(segments.size() - 1).lastSeq;
+        lastSeq = Math.max(recoveredLast, appliedSeq);
+        if (segments.isEmpty() || recoveredLast < appliedSeq) {
+            // Fresh journal, or every record is applied and older segments were compacted away
+            active = openSegment(lastSeq + 1, true);
+            segments.add(active);
+        } else {
+            active = segments.get(segments.size() - 1);
+        }
+        durableSeq = lastSeq;
+        compact();
+        if (getBacklog() > 0) {
+            log.info("Bill journal recovered with {} unapplied record(s) (applied={}, last={})", getBacklog(), appliedSeq, lastSeq);
+        }
+    }
+
+    private Segment openSegment(long firstSeq, boolean create) throws IOException {
+        Path path = dir.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSeq, SEGMENT_SUFFIX));
+        try (FileChannel ch = FileChannel.open(path, create
+                ? new StandardOpenOption[]{StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE}
+                : new StandardOpenOption[]{StandardOpenOption.READ, StandardOpenOption.WRITE})) {
+            MappedByteBuffer buffer = ch.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize); // mapping outlives the channel
+            return new Segment(path, firstSeq, buffer);
+        }
+    }
+
+    private long readCheckpoint() throws IOException {
+        Path file = dir.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        return bytes.length == 8 ? ByteBuffer.wrap(bytes).getLong() : 0;
+    }
+
+    private static long firstSeqOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static int checksum(long seq, byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(ByteBuffer.allocate(8).putLong(0, seq));
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    private static final class Segment {
+        final Path path;
+        final long firstSeq;
+        final MappedByteBuffer buffer;
+        volatile int writePos;
+        volatile long lastSeq;
+
+        Segment(Path path, long firstSeq, MappedByteBuffer buffer) {
+            this.path = path;
+            this.firstSeq = firstSeq;
+            this.buffer = buffer;
+            this.lastSeq = firstSeq - 1;
+        }
+    }
+
+    private record ReadCursor(Segment segment, int position, long seq) {
+    }
+}
@@ -0,0 +1,264 @@
+package com.sarthak.BizNex.journal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sarthak.BizNex.dto.request.OfflineBillSyncRequest;
+import com.sarthak.BizNex.dto.request.OfflineBillSyncRequest.OfflineBill;
+import com.sarthak.BizNex.dto.response.OfflineBillSyncResponseDto;
+import com.sarthak.BizNex.dto.response.OfflineBillSyncResponseDto.BillOutcome;
+import com.sarthak.BizNex.dto.response.OfflineBillSyncResponseDto.OutcomeStatus;
+import com.sarthak.BizNex.entity.Bill;
+import com.sarthak.BizNex.exception.BillInformationInvalidException;
+import com.sarthak.BizNex.exception.EntityNotFoundException;
+import com.sarthak.BizNex.repository.BillRepository;
+import com.sarthak.BizNex.service.BillingService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fast-acknowledgement checkout mode ({@code app.billing.journal.enabled=true}). A structurally valid bill is
+ * appended to the local {@link BillJournal} and acknowledged as PENDING once fsynced; a single applier thread
+ * feeds journal records in batches to {@link BillingService#syncOfflineBills}, whose clientBillId de-duplication
+ * makes replay after a crash idempotent. Stock and customer checks therefore happen at apply time, and their
+ * outcome is available from {@link #getOutcome}.
+ */
+@Service
+@ConditionalOnProperty(name = "app.billing.journal.enabled", havingValue = "true")
+public class BillJournalService {
+
+    private static final Logger log = LoggerFactory.getLogger(BillJournalService.class);
+    private static final int MAX_REMEMBERED_OUTCOMES = 50_000;
+    private static final long MAX_BACKOFF_MS = 30_000;
+
+    private final BillJournal journal;
+    private final BillingService billingService;
+    private final BillRepository billRepository;
+    private final ObjectMapper objectMapper;
+    private final int applyBatchSize;
+    private final long replayedThrough; // records up to here were journaled before this start
+
+    private final Map<String, Long> pending = new ConcurrentHashMap<>();
+    private final Map<String, BillOutcome> outcomes = Collections.synchronizedMap(new LinkedHashMap<>(1024, 0.75f, false) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, BillOutcome> eldest) {
+            return size() > MAX_REMEMBERED_OUTCOMES;
+        }
+    });
+    private final Object applierSignal = new Object();
+    private volatile boolean running;
+    private Thread applier;
+
+    public BillJournalService(BillingService billingService, BillRepository billRepository, ObjectMapper objectMapper,
+                              @Value("${app.billing.journal.dir:${java.io.tmpdir}/biznex-bill-journal}") String dir,
+                              @Value("${app.billing.journal.segment-size-mb:64}") int segmentSizeMb,
+                              @Value("${app.billing.journal.apply-batch-size:200}") int applyBatchSize) throws IOException {
+        this.billingService = billingService;
+        this.billRepository = billRepository;
+        this.objectMapper = objectMapper;
+        this.applyBatchSize = applyBatchSize;
+        this.journal = new BillJournal(Paths.get(dir), segmentSizeMb * 1024 * 1024);
+        // Rebuild the pending index from records that survived a restart
+        long after = journal.getAppliedSeq();
+        List<JournalRecord> replay;
+        while (!(replay = journal.readAfter(after, 1000)).isEmpty()) {
+            for (JournalRecord record : replay) {
+                OfflineBill bill = parse(record);
+                if (bill != null) {
+                    pending.put(BillingService.normalizeClientBillId(bill.getClientBillId()), record.getSeq());
+                }
+                after = record.getSeq();
+            }
+        }
+        this.replayedThrough = after;
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        applier = new Thread(this::applyLoop, "bill-journal-applier");
+        applier.setDaemon(true);
+        applier.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        applier.interrupt();
+        applier.join(5_000);
+        journal.close();
+    }
+
+    /** Validate, journal and acknowledge a bill. A clientBillId is generated when the till did not send one. */
+    public BillOutcome submit(OfflineBill bill) {
+        if (bill != null && (bill.getClientBillId() == null || bill.getClientBillId().isBlank())) {
+            bill.setClientBillId(UUID.randomUUID().toString());
+        }
+        String invalid = BillingService.validateOfflineBill(bill);
+        if (invalid != null) {
+            throw new BillInformationInvalidException(invalid);
+        }
+        String key = BillingService.normalizeClientBillId(bill.getClientBillId());
+        bill.setClientBillId(key);
+        BillOutcome known = outcomes.get(key);
+        if (known != null) {
+            return known;
+        }
+        if (pending.putIfAbsent(key, 0L) != null) {
+            return pendingOutcome(key); // retry of a bill that is already journaled
+        }
+        try {
+            long seq = journal.append(objectMapper.writeValueAsBytes(bill));
+            pending.replace(key, 0L, seq); // unless the applier already completed it
+        } catch (IOException | RuntimeException e) {
+            pending.remove(key);
+            throw new IllegalStateException("Bill journal unavailable: " + e.getMessage(), e);
+        }
+        synchronized (applierSignal) {
+            applierSignal.notifyAll();
+        }
+        return pendingOutcome(key);
+    }
+
+    /** Outcome of a journaled bill: PENDING until applied, then the sync outcome (CREATED, CONFLICT, ...). */
+    public BillOutcome getOutcome(String clientBillId) {
+        String key = BillingService.normalizeClientBillId(clientBillId);
+        if (key == null) {
+            throw new BillInformationInvalidException("clientBillId must be a UUID");
+        }
+        BillOutcome outcome = outcomes.get(key);
+        if (outcome != null) {
+            return outcome;
+        }
+        if (pending.containsKey(key)) {
+            return pendingOutcome(key);
+        }
+        // Applied before a restart (outcomes are kept in memory only)
+        List<Bill> bills = billRepository.findByClientBillIdIn(List.of(key));
+        if (!bills.isEmpty()) {
+            return BillOutcome.builder().clientBillId(key).status(OutcomeStatus.CREATED).billNumber(bills.get(0).getBillNumber()).build();
+        }
+        throw new EntityNotFoundException("No journaled bill with clientBillId " + clientBillId);
+    }
+
+    public long getBacklog() {
+        return journal.getBacklog();
+    }
+
+    private void applyLoop() {
+        long backoffMs = 500;
+        while (running) {
+            try {
+                List<JournalRecord> batch = journal.readAfter(journal.getAppliedSeq(), applyBatchSize);
+                if (batch.isEmpty()) {
+                    synchronized (applierSignal) {
+                        applierSignal.wait(200);
+                    }
+                    continue;
+                }
+                try {
+                    apply(batch);
+                } catch (TransientDataAccessException | DataAccessResourceFailureException | CannotCreateTransactionException e) {
+                    throw e;
+                } catch (RuntimeException e) {
+                    // A bill that fails persistence poisons the whole batch; isolate it
+                    log.warn("Journal batch ending at seq {} failed ({}); applying records one by one", batch.get(batch.size() - 1).getSeq(), e.getMessage());
+                    for (JournalRecord record : batch) {
+                        applySingle(record);
+                    }
+                }
+                backoffMs = 500;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.warn("Bill journal applier paused for {} ms: {}", backoffMs, e.getMessage());
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                backoffMs = Math.min(MAX_BACKOFF_MS, backoffMs * 2);
+            }
+        }
+    }
+
+    private void applySingle(JournalRecord record) throws IOException {
+        try {
+            apply(List.of(record));
+        } catch (TransientDataAccessException | DataAccessResourceFailureException | CannotCreateTransactionException e) {
+            throw e; // retry later from this record
+        } catch (RuntimeException e) {
+            OfflineBill bill = parse(record);
+            String key = bill != null ? BillingService.normalizeClientBillId(bill.getClientBillId()) : null;
+            log.error("Journal record {} ({}) cannot be applied and is skipped: {}", record.getSeq(), key, e.getMessage());
+            if (key != null) {
+                complete(key, record.getSeq(), BillOutcome.builder().clientBillId(key).status(OutcomeStatus.REJECTED)
+                        .message("Could not be applied: " + e.getMessage()).build());
+            }
+            journal.markApplied(record.getSeq());
+        }
+    }
+
+    private void apply(List<JournalRecord> batch) throws IOException {
+        List<OfflineBill> bills = new ArrayList<>(batch.size());
+        Map<String, Long> seqByKey = new HashMap<>();
+        for (JournalRecord record : batch) {
+            OfflineBill bill = parse(record);
+            if (bill != null) {
+                bills.add(bill);
+                seqByKey.put(BillingService.normalizeClientBillId(bill.getClientBillId()), record.getSeq());
+            }
+        }
+        if (!bills.isEmpty()) {
+            OfflineBillSyncResponseDto response = billingService.syncOfflineBills(OfflineBillSyncRequest.builder()
+                    .tillId("journal")
+                    .bills(bills)
+                    .build());
+            for (BillOutcome outcome : response.getResults()) {
+                String key = BillingService.normalizeClientBillId(outcome.getClientBillId());
+                complete(key, seqByKey.get(key), outcome);
+            }
+        }
+        journal.markApplied(batch.get(batch.size() - 1).getSeq());
+    }
+
+    /** {@code seq} is the record's own: the pending entry may still hold submit's placeholder. */
+    private void complete(String key, Long seq, BillOutcome outcome) {
+        if (!pending.containsKey(key)) {
+            return; // already completed: its batch is re-read because the checkpoint after it failed
+        }
+        if (outcome.getStatus() == OutcomeStatus.DUPLICATE && seq != null && seq <= replayedThrough) {
+            // Replayed after a crash between commit and checkpoint: the bill was created by us. A duplicate of a
+            // bill journaled in this run was synced some other way first and is reported as such.
+            outcome = BillOutcome.builder().clientBillId(key).status(OutcomeStatus.CREATED).billNumber(outcome.getBillNumber()).build();
+        }
+        outcomes.put(key, outcome);
+        pending.remove(key);
+    }
+
+    private OfflineBill parse(JournalRecord record) {
+        try {
+            return objectMapper.readValue(record.getPayload(), OfflineBill.class);
+        } catch (IOException e) {
+            log.error("Unreadable journal record {} skipped: {}", record.getSeq(), e.getMessage());
+            return null;
+        }
+    }
+
+    private static BillOutcome pendingOutcome(String key) {
+        return BillOutcome.builder().clientBillId(key).status(OutcomeStatus.PENDING).message("Accepted; awaiting application").build();
+    }
+}
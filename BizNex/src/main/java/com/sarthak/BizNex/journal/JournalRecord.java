@@ -0,0 +1,12 @@
+package com.sarthak.BizNex.journal;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** A durable journal entry: its sequence number and opaque payload. */
+@Getter
+@AllArgsConstructor
+public class JournalRecord {
+    private final long seq;
+    private final byte[] payload;
+}
@@ -0,0 +1,5 @@
+/**
+ * Optional write-ahead bill journal: validated bills are appended to local memory-mapped segments and
+ * acknowledged after a (grouped) fsync; a background applier materialises them through BillingService.
+ */
+package com.sarthak.BizNex.journal;
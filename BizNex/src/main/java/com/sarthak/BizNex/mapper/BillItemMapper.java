@@ -18,6 +18,10 @@ public interface BillItemMapper {
     // Ignore generated id and parent back-reference when creating entity from DTO
     @Mapping(target = "billItemId", ignore = true)
     @Mapping(target = "bill", ignore = true)
+    @Mapping(target = "productId", ignore = true)
+    @Mapping(target = "productName", ignore = true)
+    @Mapping(target = "productCode", ignore = true)
+    @Mapping(target = "productCategory", ignore = true)
     BillItem toEntity(BillItemDto billItemDto);
 
     @Mapping(target = "billItemProduct", source = "billItemProduct")
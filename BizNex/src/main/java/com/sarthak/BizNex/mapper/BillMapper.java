@@ -31,6 +31,10 @@ public interface BillMapper {
     // Ignore generated id and server-managed date
     @Mapping(target = "billId", ignore = true)
     @Mapping(target = "billDate", ignore = true)
+    @Mapping(target = "clientBillId", ignore = true)
+    @Mapping(target = "customerName", ignore = true)
+    @Mapping(target = "customerContact", ignore = true)
+    @Mapping(target = "customerEmail", ignore = true)
     Bill toEntity(BillDto billDto);
 
     List<BillDto> toDtoList(List<Bill> bills);
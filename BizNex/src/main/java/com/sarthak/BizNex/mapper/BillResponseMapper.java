@@ -15,9 +15,10 @@ public interface BillResponseMapper {
     BillResponseMapper INSTANCE = Mappers.getMapper(BillResponseMapper.class);
 
     @Mappings({
-            @Mapping(target = "customerName", source = "customer.customerName"),
-            @Mapping(target = "customerEmail", source = "customer.customerEmail"),
-            @Mapping(target = "customerPhone", source = "customer.customerContact"),
+            // Sale-time snapshots on the bill row: mapping never touches the customer or product associations
+            @Mapping(target = "customerName", source = "customerName"),
+            @Mapping(target = "customerEmail", source = "customerEmail"),
+            @Mapping(target = "customerPhone", source = "customerContact"),
             @Mapping(target = "billDate", expression = "java(formatDate(bill.getBillDate()))"),
             @Mapping(target = "totalAmount", source = "billTotalAmount"),
             @Mapping(target = "totalDiscount", source = "billTotalDiscount"),
@@ -37,8 +38,8 @@ public interface BillResponseMapper {
         if (items == null) return null;
         return items.stream().map(item -> {
             BillResponseDto.BillItemResponseDto dto = new BillResponseDto.BillItemResponseDto();
-            dto.setProductId(item.getBillItemProduct().getProductId());
-            dto.setProductName(item.getBillItemProduct().getProductName());
+            dto.setProductId(item.getProductId());
+            dto.setProductName(item.getProductName());
             dto.setBillItemQuantity(item.getBillItemQuantity());
             dto.setBillItemPricePerUnit(item.getPricePerUnit());
             dto.setDiscountPerUnit(item.getBillItemDiscountPerUnit());
@@ -18,7 +18,8 @@ public interface UserMapper {
     // Ignore sensitive/managed fields when mapping from DTO to entity
     @Mappings({
             @Mapping(target = "userPassword", ignore = true),
-            @Mapping(target = "mustChangePassword", ignore = true)
+            @Mapping(target = "mustChangePassword", ignore = true),
+            @Mapping(target = "securityVersion", ignore = true)
     })
     User toEntity(UserDto userDto);
 
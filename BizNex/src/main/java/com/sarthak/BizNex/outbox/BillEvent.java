@@ -0,0 +1,40 @@
+package com.sarthak.BizNex.outbox;
+
+import com.sarthak.BizNex.entity.Bill;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/** JSON payload of BILL aggregate events. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BillEvent {
+    private Long billId;
+    private String billNumber;
+    private Bill.BillType billType;
+    private Bill.BillStatus billStatus;
+    private Bill.PaymentMethod paymentMethod;
+    private Long customerId;
+    private double totalAmount;
+    private String originalBillNumber;
+    private LocalDateTime billDate;
+    private List<Item> items;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Item {
+        private Long productId;
+        private String productName;
+        private int quantity;
+        private double pricePerUnit;
+        private int stockAfter; // product quantity after this bill was applied
+    }
+}
@@ -0,0 +1,46 @@
+package com.sarthak.BizNex.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sarthak.BizNex.entity.OutboxEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Logs a warning when a sale leaves a product below the low-stock threshold
+ * (the same threshold the product listing uses to surface low-stock items first).
+ */
+@Component
+public class LowStockAlertSubscriber implements OutboxSubscriber {
+
+    private static final Logger log = LoggerFactory.getLogger(LowStockAlertSubscriber.class);
+
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.outbox.low-stock-threshold:10}")
+    private int lowStockThreshold;
+
+    public LowStockAlertSubscriber(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean supports(OutboxEvent.EventType eventType) {
+        return eventType == OutboxEvent.EventType.BILL_CREATED;
+    }
+
+    @Override
+    public void handle(OutboxEvent event) throws Exception {
+        BillEvent bill = objectMapper.readValue(event.getPayload(), BillEvent.class);
+        if (bill.getItems() == null) {
+            return;
+        }
+        for (BillEvent.Item item : bill.getItems()) {
+            if (item.getStockAfter() < lowStockThreshold) {
+                log.warn("Low stock: product {} ({}) has {} left after bill {}",
+                        item.getProductId(), item.getProductName(), item.getStockAfter(), bill.getBillNumber());
+            }
+        }
+    }
+}
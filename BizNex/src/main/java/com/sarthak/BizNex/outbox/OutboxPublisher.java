@@ -0,0 +1,96 @@
+package com.sarthak.BizNex.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sarthak.BizNex.entity.Bill;
+import com.sarthak.BizNex.entity.BillItem;
+import com.sarthak.BizNex.entity.OutboxEvent;
+import com.sarthak.BizNex.repository.OutboxEventRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * Records outbox events inside the caller's transaction (one is required), so an event exists if and only if
+ * the business change committed. After commit the relay is nudged to deliver without waiting for its next poll.
+ */
+@Component
+public class OutboxPublisher {
+
+    public static final String AGGREGATE_BILL = "BILL";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final OutboxRelay outboxRelay;
+
+    public OutboxPublisher(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper, OutboxRelay outboxRelay) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+        this.outboxRelay = outboxRelay;
+    }
+
+    /**
+     * Record a bill event; the bill must already be saved (id and number assigned). Returns are keyed by their
+     * original bill so subscribers always see a sale before its returns.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishBillEvent(OutboxEvent.EventType eventType, Bill bill) {
+        String original = bill.getOriginalBillNumber();
+        String aggregateId = original == null || original.isBlank() || "NA".equals(original) ? bill.getBillNumber() : original;
+        publish(AGGREGATE_BILL, aggregateId, eventType, toBillEvent(bill));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(String aggregateType, String aggregateId, OutboxEvent.EventType eventType, Object payload) {
+        OutboxEvent event = new OutboxEvent();
+        event.setAggregateType(aggregateType);
+        event.setAggregateId(aggregateId);
+        event.setEventType(eventType);
+        try {
+            event.setPayload(objectMapper.writeValueAsString(payload));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialise outbox payload for " + aggregateType + ":" + aggregateId, e);
+        }
+        outboxEventRepository.save(event);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    outboxRelay.wakeUp();
+                }
+            });
+        }
+    }
+
+    private static BillEvent toBillEvent(Bill bill) {
+        List<BillEvent.Item> items = bill.getBillItems() == null ? List.of() : bill.getBillItems().stream()
+                .map(OutboxPublisher::toItem)
+                .toList();
+        return BillEvent.builder()
+                .billId(bill.getBillId())
+                .billNumber(bill.getBillNumber())
+                .billType(bill.getBillType())
+                .billStatus(bill.getBillStatus())
+                .paymentMethod(bill.getPaymentMethod())
+                .customerId(bill.getCustomer() != null ? bill.getCustomer().getCustomerId() : null)
+                .totalAmount(bill.getBillTotalAmount())
+                .originalBillNumber(bill.getOriginalBillNumber())
+                .billDate(bill.getBillDate())
+                .items(items)
+                .build();
+    }
+
+    private static BillEvent.Item toItem(BillItem item) {
+        return BillEvent.Item.builder()
+                .productId(item.getBillItemProduct().getProductId())
+                .productName(item.getBillItemProduct().getProductName())
+                .quantity(item.getBillItemQuantity())
+                .pricePerUnit(item.getPricePerUnit())
+                .stockAfter(item.getBillItemProduct().getProductQuantity())
+                .build();
+    }
+}
@@ -0,0 +1,178 @@
+package com.sarthak.BizNex.outbox;
+
+import com.sarthak.BizNex.entity.OutboxEvent;
+import com.sarthak.BizNex.repository.OutboxEventRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Drains {@code outbox_events} on a single background thread and hands each event to every interested
+ * {@link OutboxSubscriber}. Delivery is at-least-once; a failed event is retried with exponential backoff and
+ * blocks later events of the same aggregate until it is delivered or dead-lettered (FAILED). Ordering holds
+ * for a single application instance, which is the deployment model this relay is built for.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<OutboxSubscriber> subscribers;
+    private final AtomicBoolean wakeUpPending = new AtomicBoolean();
+    private ScheduledExecutorService executor;
+    private volatile LocalDateTime lastPurge = LocalDateTime.now();
+
+    @Value("${app.outbox.enabled:true}")
+    private boolean enabled;
+    @Value("${app.outbox.poll-interval-ms:1000}")
+    private long pollIntervalMs;
+    @Value("${app.outbox.batch-size:100}")
+    private int batchSize;
+    @Value("${app.outbox.max-attempts:10}")
+    private int maxAttempts;
+    @Value("${app.outbox.backoff-initial-ms:1000}")
+    private long backoffInitialMs;
+    @Value("${app.outbox.backoff-max-ms:300000}")
+    private long backoffMaxMs;
+    @Value("${app.outbox.retention-hours:72}")
+    private long retentionHours;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository, List<OutboxSubscriber> subscribers) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.subscribers = subscribers;
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            log.info("Outbox relay disabled; events will accumulate in outbox_events");
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "outbox-relay");
+            t.setDaemon(true);
+            return t;
+        });
+        executor.scheduleWithFixedDelay(this::drainSafely, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("Outbox relay started with {} subscriber(s)", subscribers.size());
+    }
+
+    @PreDestroy
+    void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /** Request an immediate drain (called after a transaction that wrote events commits). Cheap and coalescing. */
+    public void wakeUp() {
+        if (executor != null && wakeUpPending.compareAndSet(false, true)) {
+            try {
+                executor.execute(() -> {
+                    wakeUpPending.set(false);
+                    drainSafely();
+                });
+            } catch (RuntimeException e) {
+                wakeUpPending.set(false); // shutting down
+            }
+        }
+    }
+
+    private void drainSafely() {
+        try {
+            while (drainBatch() == batchSize) {
+                // full batch: keep going until caught up
+            }
+            purgeIfDue();
+        } catch (RuntimeException e) {
+            log.warn("Outbox relay pass failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Deliver one batch of due events; returns the number of events attempted (events skipped behind a failure in
+     * this batch are not counted). Package-private for tests.
+     */
+    int drainBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> due = outboxEventRepository.findDue(now, PageRequest.of(0, batchSize));
+        if (due.isEmpty()) {
+            return 0;
+        }
+        // Aggregates already backing off are excluded by the query; this only holds back events behind a failure here
+        Set<String> blocked = new HashSet<>();
+        List<Long> delivered = new ArrayList<>();
+        int attempted = 0;
+        for (OutboxEvent event : due) {
+            String aggregate = event.getAggregateType() + ":" + event.getAggregateId();
+            if (blocked.contains(aggregate)) {
+                continue; // an earlier event of this aggregate is waiting for retry
+            }
+            attempted++;
+            try {
+                dispatch(event);
+                delivered.add(event.getId());
+            } catch (Exception e) {
+                blocked.add(aggregate);
+                recordFailure(event, e);
+            }
+        }
+        if (!delivered.isEmpty()) {
+            outboxEventRepository.markDelivered(delivered, LocalDateTime.now());
+        }
+        return attempted;
+    }
+
+    private void dispatch(OutboxEvent event) throws Exception {
+        for (OutboxSubscriber subscriber : subscribers) {
+            if (subscriber.supports(event.getEventType())) {
+                subscriber.handle(event);
+            }
+        }
+    }
+
+    private void recordFailure(OutboxEvent event, Exception e) {
+        int attempts = event.getAttempts() + 1;
+        event.setAttempts(attempts);
+        String message = e.getClass().getSimpleName() + ": " + e.getMessage();
+        event.setLastError(message.length() > 1000 ? message.substring(0, 1000) : message);
+        if (attempts >= maxAttempts) {
+            event.setStatus(OutboxEvent.Status.FAILED);
+            log.error("Outbox event {} ({} {}) dead-lettered after {} attempts: {}",
+                    event.getId(), event.getEventType(), event.getAggregateId(), attempts, message);
+        } else {
+            long delay = Math.min(backoffMaxMs, backoffInitialMs << Math.min(attempts - 1, 30));
+            event.setNextAttemptAt(LocalDateTime.now().plus(Duration.ofMillis(delay)));
+            log.warn("Outbox event {} ({} {}) failed (attempt {}), retrying in {} ms: {}",
+                    event.getId(), event.getEventType(), event.getAggregateId(), attempts, delay, message);
+        }
+        outboxEventRepository.save(event);
+    }
+
+    private void purgeIfDue() {
+        LocalDateTime now = LocalDateTime.now();
+        if (lastPurge.isBefore(now.minusHours(1))) {
+            lastPurge = now;
+            int purged = outboxEventRepository.purgeDelivered(now.minusHours(retentionHours));
+            if (purged > 0) {
+                log.info("Purged {} delivered outbox events", purged);
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.sarthak.BizNex.outbox;
+
+import com.sarthak.BizNex.entity.OutboxEvent;
+
+/**
+ * Consumer of outbox events. Delivery is at-least-once: an event is re-delivered to every subscriber
+ * when any of them throws, so handlers must be idempotent. Events of one aggregate arrive in order.
+ * Handlers run on the relay thread and should stay short; hand long work to their own executor.
+ */
+public interface OutboxSubscriber {
+
+    /** Whether this subscriber wants the given event type (default: all). */
+    default boolean supports(OutboxEvent.EventType eventType) {
+        return true;
+    }
+
+    void handle(OutboxEvent event) throws Exception;
+}
@@ -0,0 +1,6 @@
+/**
+ * Transactional outbox: services record side-effect events in the same transaction as the business
+ * write ({@link com.sarthak.BizNex.outbox.OutboxPublisher}); the {@link com.sarthak.BizNex.outbox.OutboxRelay}
+ * delivers them asynchronously to {@link com.sarthak.BizNex.outbox.OutboxSubscriber} beans.
+ */
+package com.sarthak.BizNex.outbox;
@@ -1,5 +1,6 @@
 package com.sarthak.BizNex.repository;
 
+import com.sarthak.BizNex.archive.BillSortKey;
 import com.sarthak.BizNex.entity.Bill;
 import com.sarthak.BizNex.entity.Customer;
 import org.springframework.data.domain.Page;
@@ -10,6 +11,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,29 +21,47 @@ public interface BillRepository extends JpaRepository<Bill, Long> {
 
     Optional<Bill> findByBillNumberIgnoreCase(String billNumber);
 
-    @EntityGraph(attributePaths = {"customer", "billItems", "billItems.billItemProduct"})
+    @EntityGraph(attributePaths = {"billItems"})
     List<Bill> findAll();
 
-    @EntityGraph(attributePaths = {"customer", "billItems", "billItems.billItemProduct"})
+    @EntityGraph(attributePaths = {"billItems"})
     List<Bill> findByCustomer(Customer customer);
     Page<Bill> findByCustomer(Customer customer, Pageable pageable);
 
     // Return / credit note lookup for original bill linkage
     List<Bill> findByOriginalBillNumberIgnoreCase(String originalBillNumber);
 
-    @Query("SELECT b FROM Bill b JOIN b.customer c WHERE " +
+    // Matches the customer name/contact recorded on the bill at sale time
+    String SEARCH_FILTER =
             "LOWER(b.billNumber) LIKE LOWER(CONCAT('%', :q, '%')) OR " +
-            "LOWER(c.customerName) LIKE LOWER(CONCAT('%', :q, '%')) OR " +
-            "LOWER(c.customerContact) LIKE LOWER(CONCAT('%', :q, '%')) OR " +
+            "LOWER(b.customerName) LIKE LOWER(CONCAT('%', :q, '%')) OR " +
+            "LOWER(b.customerContact) LIKE LOWER(CONCAT('%', :q, '%')) OR " +
             "LOWER(CAST(b.billType as string)) LIKE LOWER(CONCAT('%', :q, '%')) OR " +
             "LOWER(CAST(b.paymentMethod as string)) LIKE LOWER(CONCAT('%', :q, '%')) OR " +
-            "LOWER(b.originalBillNumber) LIKE LOWER(CONCAT('%', :q, '%'))")
-    Page<Bill> searchBills(@Param("q") String query, Pageable pageable);
+            "LOWER(b.originalBillNumber) LIKE LOWER(CONCAT('%', :q, '%'))";
 
-    // Hydration query for paged results; uses entity graph to pull related entities in one go
-    @EntityGraph(attributePaths = {"customer", "billItems", "billItems.billItemProduct"})
+    // Id pages for the listings; the bills themselves are loaded in chunks while the response is written
+    @Query("SELECT b.billId FROM Bill b")
+    Page<Long> findBillIds(Pageable pageable);
+
+    @Query("SELECT b.billId FROM Bill b WHERE b.customer = :customer")
+    Page<Long> findBillIdsByCustomer(@Param("customer") Customer customer, Pageable pageable);
+
+    // Sort keys of a customer's bills, for merging them with archived ones (no count query)
+    @Query("SELECT new com.sarthak.BizNex.archive.BillSortKey(b.billId, b.billDate, b.billNumber, b.billTotalAmount, " +
+            "b.billTotalDiscount, false) FROM Bill b WHERE b.customer = :customer")
+    List<BillSortKey> findSortKeysByCustomer(@Param("customer") Customer customer, Pageable pageable);
+
+    @Query("SELECT b.billId FROM Bill b WHERE " + SEARCH_FILTER)
+    Page<Long> searchBillIds(@Param("q") String query, Pageable pageable);
+
+    // Hydration query for paged results; bills and their items only (customer/product details are snapshotted)
+    @EntityGraph(attributePaths = {"billItems"})
     List<Bill> findByBillIdIn(List<Long> ids);
 
+    // Offline sync de-duplication by client-generated id
+    List<Bill> findByClientBillIdIn(Collection<String> clientBillIds);
+
     // New helpers to check referential integrity before customer deletion
     boolean existsByCustomer(Customer customer);
     long countByCustomer(Customer customer);
@@ -0,0 +1,25 @@
+package com.sarthak.BizNex.repository;
+
+import com.sarthak.BizNex.entity.ChangeLogEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+
+    // Stamped changes after the commit-sequence cursor, oldest commit first (limit via Pageable)
+    @Query("SELECT c FROM ChangeLogEntry c WHERE c.commitSeq > :since AND c.entityType IN :types ORDER BY c.commitSeq")
+    List<ChangeLogEntry> findChangesSince(@Param("since") long since,
+                                          @Param("types") Collection<ChangeLogEntry.EntityType> types,
+                                          Pageable limit);
+
+    // Highest stamped commit sequence regardless of type; lets a filtered feed advance past other types' changes
+    @Query("SELECT COALESCE(MAX(c.commitSeq), 0) FROM ChangeLogEntry c")
+    long findMaxCommitSeq();
+}
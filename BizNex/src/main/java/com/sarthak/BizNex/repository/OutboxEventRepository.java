@@ -0,0 +1,41 @@
+package com.sarthak.BizNex.repository;
+
+import com.sarthak.BizNex.entity.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Pending events whose retry time has come, oldest first. Events queued behind an earlier event of the same
+    // aggregate that is still backing off are left out here, so they neither fill the page nor hide later events.
+    @Query("SELECT e FROM OutboxEvent e WHERE e.status = com.sarthak.BizNex.entity.OutboxEvent.Status.PENDING " +
+            "AND e.nextAttemptAt <= :now AND NOT EXISTS (SELECT 1 FROM OutboxEvent b " +
+            "WHERE b.aggregateType = e.aggregateType AND b.aggregateId = e.aggregateId AND b.id < e.id " +
+            "AND b.status = com.sarthak.BizNex.entity.OutboxEvent.Status.PENDING AND b.nextAttemptAt > :now) " +
+            "ORDER BY e.id")
+    List<OutboxEvent> findDue(@Param("now") LocalDateTime now, Pageable limit);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE OutboxEvent e SET e.status = com.sarthak.BizNex.entity.OutboxEvent.Status.DELIVERED, " +
+            "e.deliveredAt = :now, e.attempts = e.attempts + 1, e.lastError = null WHERE e.id IN :ids")
+    int markDelivered(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM OutboxEvent e WHERE e.status = com.sarthak.BizNex.entity.OutboxEvent.Status.DELIVERED " +
+            "AND e.deliveredAt < :cutoff")
+    int purgeDelivered(@Param("cutoff") LocalDateTime cutoff);
+
+    long countByStatus(OutboxEvent.Status status);
+}
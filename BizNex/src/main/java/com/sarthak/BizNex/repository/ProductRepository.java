@@ -48,6 +48,14 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
            countQuery = "SELECT count(p) FROM Product p WHERE p.productActive = true AND p.productCategory = :category")
     Page<Product> findByProductCategoryOrdered(@Param("category") String category, Pageable pageable);
 
+    // Literal threshold (same as the orderings above) so the partial index idx_products_active_low_stock applies
+    @Query("SELECT count(p) FROM Product p WHERE p.productActive = true AND p.productQuantity < 10")
+    long countActiveLowStock();
+
+    // Rows of [category, count] for active products
+    @Query("SELECT p.productCategory, count(p) FROM Product p WHERE p.productActive = true GROUP BY p.productCategory ORDER BY p.productCategory")
+    List<Object[]> countActiveByCategory();
+
     @Query(value = "SELECT p FROM Product p WHERE p.productActive = true AND LOWER(p.productName) LIKE LOWER(CONCAT('%', :productName, '%')) ORDER BY CASE WHEN p.productQuantity < 10 THEN 0 ELSE 1 END, LOWER(p.productName), p.productId",
            countQuery = "SELECT count(p) FROM Product p WHERE p.productActive = true AND LOWER(p.productName) LIKE LOWER(CONCAT('%', :productName, '%'))")
     Page<Product> searchByNameOrdered(@Param("productName") String productName, Pageable pageable);
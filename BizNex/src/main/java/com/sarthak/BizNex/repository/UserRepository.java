@@ -2,8 +2,14 @@ package com.sarthak.BizNex.repository;
 
 import com.sarthak.BizNex.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,6 +18,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     boolean existsByUsername(String username);
 
+    List<User> findByUsernameIn(Collection<String> usernames);
+
     // Count by role for last-admin guard
     long countByUserRole(User.UserRole userRole);
+
+    // Re-encoded hash after a successful login (cost upgrade); touches only the password column
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.userPassword = :hash WHERE u.username = :username")
+    int updatePasswordHash(@Param("username") String username, @Param("hash") String hash);
 }
@@ -0,0 +1,55 @@
+package com.sarthak.BizNex.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Principal for token-authenticated requests. Built from verified token claims plus the cached user state, it
+ * carries no password and lets later filters (e.g. the forced password change gate) decide without a lookup.
+ */
+public class AuthenticatedUser implements UserDetails {
+
+    private final String username;
+    private final List<GrantedAuthority> authorities;
+    private final boolean mustChangePassword;
+    private final long securityVersion;
+
+    public AuthenticatedUser(String username, Collection<? extends GrantedAuthority> authorities,
+                             boolean mustChangePassword, long securityVersion) {
+        this.username = username;
+        this.authorities = List.copyOf(authorities);
+        this.mustChangePassword = mustChangePassword;
+        this.securityVersion = securityVersion;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    public boolean isMustChangePassword() {
+        return mustChangePassword;
+    }
+
+    public long getSecurityVersion() {
+        return securityVersion;
+    }
+
+    @Override
+    public String toString() {
+        return "AuthenticatedUser{username='" + username + "', authorities=" + authorities + "}";
+    }
+}
@@ -1,8 +1,6 @@
 package com.sarthak.BizNex.security;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.sarthak.BizNex.entity.User;
-import com.sarthak.BizNex.repository.UserRepository;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -22,17 +20,18 @@ import java.util.Set;
 @Component
 public class ForcePasswordChangeFilter extends OncePerRequestFilter {
 
-    private final UserRepository userRepository;
+    private final UserStateCache userStateCache;
     private final ObjectMapper objectMapper;
 
     private static final Set<String> ALLOWED_PATHS = Set.of(
             "/api/v1/auth/first-login/password",
             "/api/v1/auth/login",
+            "/api/v1/auth/refresh",
             "/api/v1/auth/forgot-password"
     );
 
-    public ForcePasswordChangeFilter(UserRepository userRepository, ObjectMapper objectMapper) {
-        this.userRepository = userRepository;
+    public ForcePasswordChangeFilter(UserStateCache userStateCache, ObjectMapper objectMapper) {
+        this.userStateCache = userStateCache;
         this.objectMapper = objectMapper;
     }
 
@@ -48,17 +47,21 @@ public class ForcePasswordChangeFilter extends OncePerRequestFilter {
             filterChain.doFilter(request, response);
             return;
         }
-        String username = auth.getName();
-        if (username != null) {
-            var opt = userRepository.findByUsername(username.toLowerCase());
-            if (opt.isPresent() && opt.get().isMustChangePassword()) {
-                response.setStatus(423);
-                response.setContentType("application/json");
-                response.getWriter().write(objectMapper.writeValueAsString(new ErrorPayload(
-                        "PASSWORD_CHANGE_REQUIRED",
-                        "Change password at /api/v1/auth/first-login/password before accessing other endpoints.")));
-                return; // short-circuit
-            }
+        // Token-authenticated principals already carry the flag; other authentications fall back to the cache
+        boolean mustChange;
+        if (auth.getPrincipal() instanceof AuthenticatedUser user) {
+            mustChange = user.isMustChangePassword();
+        } else {
+            String username = auth.getName();
+            mustChange = username != null && userStateCache.get(username.toLowerCase()).mustChangePassword();
+        }
+        if (mustChange) {
+            response.setStatus(423);
+            response.setContentType("application/json");
+            response.getWriter().write(objectMapper.writeValueAsString(new ErrorPayload(
+                    "PASSWORD_CHANGE_REQUIRED",
+                    "Change password at /api/v1/auth/first-login/password before accessing other endpoints.")));
+            return; // short-circuit
         }
         filterChain.doFilter(request, response);
     }
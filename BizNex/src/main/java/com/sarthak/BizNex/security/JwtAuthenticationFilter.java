@@ -1,18 +1,18 @@
 package com.sarthak.BizNex.security;
 
-import com.sarthak.BizNex.service.AppUserDetailsService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 
 /**
  * Servlet filter that inspects incoming requests for a Bearer JWT, validates it,
@@ -23,11 +23,11 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
-    private final AppUserDetailsService userDetailsService;
+    private final UserStateCache userStateCache;
 
-    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider, AppUserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider, UserStateCache userStateCache) {
         this.jwtTokenProvider = jwtTokenProvider;
-        this.userDetailsService = userDetailsService;
+        this.userStateCache = userStateCache;
     }
 
     @Override
@@ -38,6 +38,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // Public (no token needed) endpoints
             boolean isPublicAuthEndpoint =
                     path.equals("/api/v1/auth/login") ||
+                    path.equals("/api/v1/auth/refresh") ||
                     path.equals("/api/v1/auth/forgot-password");
 
             // Allow auth public endpoints and preflight
@@ -50,15 +51,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             if (authHeader != null && authHeader.startsWith("Bearer ")) {
                 String token = authHeader.substring(7);
 
-                String username = jwtTokenProvider.extractUsername(token);
+                // Single verification per request (cached across requests); throws if invalid or expired
+                VerifiedToken verified = jwtTokenProvider.verify(token);
+                String username = verified.getSubject();
                 if (username != null && SecurityContextHolder.getContext().getAuthentication() == null){
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-
-                    if(jwtTokenProvider.isTokenValid(token,userDetails)){
+                    // Cached user state instead of a users query; stale tokens (older security version,
+                    // changed role, deleted user) and refresh tokens are left unauthenticated and end up as 401
+                    UserStateCache.UserState state = userStateCache.get(username);
+                    if (isCurrent(verified, state)) {
+                        List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_" + state.role().name()));
+                        AuthenticatedUser principal = new AuthenticatedUser(username, authorities,
+                                state.mustChangePassword(), state.securityVersion());
                         UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                                userDetails,
+                                principal,
                                 null,
-                                userDetails.getAuthorities()
+                                authorities
                         );
                         authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                         SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -72,4 +79,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             throw e;
         }
     }
+
+    private static boolean isCurrent(VerifiedToken token, UserStateCache.UserState state) {
+        return !token.isRefreshToken() // refresh tokens are only accepted by /auth/refresh
+                && state.exists()
+                && token.getSecurityVersion() == state.securityVersion()
+                && token.getRoles().equals(List.of("ROLE_" + state.role().name()));
+    }
 }
@@ -21,6 +21,8 @@ public class JwtTokenProvider {
     private static final Logger log = LoggerFactory.getLogger(JwtTokenProvider.class);
 
     private SecretKey secretKey;
+    private JwtParser parser; // immutable and thread-safe; built once
+    private VerifiedTokenCache verifiedCache;
 
     @Value("${app.security.jwt.secret}")
     private String secret;
@@ -31,6 +33,9 @@ public class JwtTokenProvider {
     @Value("${security.jwt.refresh-expiration}")
     private long refreshExpirationMs;
 
+    @Value("${app.security.jwt.verified-cache-size:10000}")
+    private int verifiedCacheSize;
+
 
     @PostConstruct
     public void init()  {
@@ -56,84 +61,121 @@ public class JwtTokenProvider {
             throw new IllegalStateException("JWT secret key too short. Provide at least 32 bytes (256 bits) either as raw string or Base64 encoded");
         }
         this.secretKey = Keys.hmacShaKeyFor(keyBytes);
+        this.parser = Jwts.parser().verifyWith(secretKey).build();
+        this.verifiedCache = new VerifiedTokenCache(verifiedCacheSize);
     }
 
 
+    public static final String CLAIM_ROLES = "roles";
+    public static final String CLAIM_MUST_CHANGE_PASSWORD = "mcp";
+    public static final String CLAIM_SECURITY_VERSION = "sv";
+    public static final String CLAIM_TOKEN_TYPE = "typ";
+    public static final String TOKEN_TYPE_ACCESS = "access";
+    public static final String TOKEN_TYPE_REFRESH = "refresh";
+
     //Generate access token
     public String generateAccessToken(UserDetails userDetails){
+        return generateAccessToken(userDetails, false, 0L);
+    }
+
+    /** Access token carrying everything the filter chain needs, so requests are authorised without a user lookup. */
+    public String generateAccessToken(UserDetails userDetails, boolean mustChangePassword, long securityVersion){
         Map<String, Object> claims = new HashMap<>();
-        claims.put("roles", userDetails.getAuthorities()
+        claims.put(CLAIM_ROLES, userDetails.getAuthorities()
                 .stream()
                 .map(GrantedAuthority::getAuthority)
                 .collect(Collectors.toList()));
+        claims.put(CLAIM_MUST_CHANGE_PASSWORD, mustChangePassword);
+        claims.put(CLAIM_SECURITY_VERSION, securityVersion);
+        claims.put(CLAIM_TOKEN_TYPE, TOKEN_TYPE_ACCESS);
 
-        return buildToken(claims, userDetails.getUsername(), expirationMs);
+        return buildToken(claims, userDetails.getUsername(), expirationMs, null);
     }
 
     //Generate refresh token
     public String generateRefreshToken(UserDetails userDetails){
-        return buildToken(Collections.emptyMap(), userDetails.getUsername(), refreshExpirationMs);
+        return generateRefreshToken(userDetails, 0L);
+    }
+
+    /** Refresh token with a unique id (jti) so it can be rotated and revoked; usable only at /auth/refresh. */
+    public String generateRefreshToken(UserDetails userDetails, long securityVersion){
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_SECURITY_VERSION, securityVersion);
+        claims.put(CLAIM_TOKEN_TYPE, TOKEN_TYPE_REFRESH);
+        return buildToken(claims, userDetails.getUsername(), refreshExpirationMs, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Verify a token once and return its claims. Repeat presentations of the same token are served from a
+     * digest-keyed cache until the token expires, skipping the HMAC and JSON parsing entirely.
+     *
+     * @throws JwtException (including ExpiredJwtException) if the token is invalid or expired
+     */
+    public VerifiedToken verify(String token) {
+        if (token == null || token.isBlank()) {
+            throw new MalformedJwtException("JWT is empty");
+        }
+        long now = System.currentTimeMillis();
+        String key = VerifiedTokenCache.digest(token);
+        VerifiedToken cached = verifiedCache.get(key, now);
+        if (cached != null) {
+            return cached;
+        }
+        Claims claims = parser.parseSignedClaims(token).getPayload(); // throws on bad signature / expiry
+        VerifiedToken verified = new VerifiedToken(
+                claims.getSubject(),
+                rolesOf(claims),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().getTime() : 0L,
+                claims.getExpiration() != null ? claims.getExpiration().getTime() : Long.MAX_VALUE,
+                claims.get(CLAIM_MUST_CHANGE_PASSWORD, Boolean.class),
+                claims.get(CLAIM_SECURITY_VERSION) instanceof Number n ? n.longValue() : 0L,
+                claims.getId(),
+                claims.get(CLAIM_TOKEN_TYPE, String.class));
+        verifiedCache.put(key, verified);
+        return verified;
     }
 
     //Extract Username from token
     public String extractUsername(String token){
-        return parseClaims(token).getPayload().getSubject();
+        return verify(token).getSubject();
     }
 
     //Extract roles from token
     public List<String> extractRoles(String token) {
-        Object roles = parseClaims(token).getPayload().get("roles");
-        if(roles instanceof List<?>){
-            return ((List<?>) roles).stream()
-                    .map(Object::toString)
-                    .collect(Collectors.toList());
-        }
-        return Collections.emptyList();
+        return verify(token).getRoles();
     }
 
     //Validate JWT token
     public boolean isTokenValid(String token, UserDetails userDetails) {
         try {
-            String username = extractUsername(token);
-            return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
-        } catch (ExpiredJwtException e) {
-            return false; // Token is invalid or expired
-        }catch (MalformedJwtException e){
-            return false;
-        }catch (JwtException | IllegalArgumentException e){
-            return false; // Token is malformed or invalid
+            VerifiedToken verified = verify(token);
+            return verified.getSubject().equals(userDetails.getUsername()) && !verified.isExpired(System.currentTimeMillis());
+        } catch (JwtException | IllegalArgumentException e){
+            return false; // Token is malformed, invalid or expired
         }
     }
 
   public boolean isTokenExpired(String token) {
-      Date expiration = parseClaims(token).getPayload().getExpiration();
-      return expiration.before(new Date());
+      return verify(token).isExpired(System.currentTimeMillis());
   }
 
     public long getExpirationEpochMillis(String token){
-        Date expiration = parseClaims(token).getPayload().getExpiration();
-        return expiration.getTime();
+        return verify(token).getExpiresAtMillis();
     }
 
-    //Parse JWT safely
-    private Jws<Claims> parseClaims(String token) {
-        try{
-            return Jwts.parser()
-                    .verifyWith(secretKey)
-                    .build()
-                    .parseSignedClaims(token);
-        }catch (ExpiredJwtException e) {
-            throw e; // propagate so caller can handle
-        } catch (MalformedJwtException e) {
-            throw e;
-        } catch (JwtException e) {
-            throw e; // generic invalid token
+    private static List<String> rolesOf(Claims claims) {
+        Object roles = claims.get(CLAIM_ROLES);
+        if(roles instanceof List<?>){
+            return ((List<?>) roles).stream()
+                    .map(Object::toString)
+                    .collect(Collectors.toList());
         }
+        return Collections.emptyList();
     }
 
     //Build JWT token with claims, username, and expiration
 
-    private String buildToken(Map<String, Object> claims, String username, long expirationMs) {
+    private String buildToken(Map<String, Object> claims, String username, long expirationMs, String tokenId) {
         Date now = new Date();
         Date expirationDate = new Date(now.getTime() + expirationMs);
 
@@ -141,6 +183,7 @@ public class JwtTokenProvider {
                 .claims()
                 .add(claims)
                 .subject(username)
+                .id(tokenId)
                 .issuedAt(now)
                 .expiration(expirationDate)
                 .and()
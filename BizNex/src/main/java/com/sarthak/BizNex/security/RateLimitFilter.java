@@ -0,0 +1,214 @@
+package com.sarthak.BizNex.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sarthak.BizNex.dto.response.ExceptionResponseDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admission control per route group (auth, billing writes, searches, reports). Each caller gets a token bucket
+ * per group, keyed by JWT subject when authenticated and by client IP otherwise, so one noisy integration
+ * cannot starve the tills. Buckets use GCRA: a single theoretical-arrival-time per key updated with CAS, no
+ * locks. A bucket whose arrival time is in the past is indistinguishable from a new one, so idle buckets are
+ * dropped by a periodic sweep and memory stays bounded. The sweep retires a bucket by CAS'ing it to a sentinel
+ * before unmapping it, so a request racing the sweep either keeps the bucket alive or sees it retired and moves
+ * to its replacement; no admission is recorded in a bucket that is no longer mapped. Rejections get 429 with
+ * Retry-After.
+ * Runs right after {@link JwtAuthenticationFilter}.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public enum RouteGroup {
+        AUTH, BILLING_WRITE, SEARCH, REPORTS
+    }
+
+    /** Bucket parameters in nanoseconds: one token per {@code intervalNanos}, at most {@code burst} at once. */
+    record Limit(long intervalNanos, long burstNanos, int ratePerSecond, int burst) {
+        static Limit of(int ratePerSecond, int burst) {
+            if (ratePerSecond <= 0) {
+                return null; // group not limited
+            }
+            long interval = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+            return new Limit(interval, interval * Math.max(1, burst), ratePerSecond, burst);
+        }
+    }
+
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(30);
+    private static final long SWEPT = Long.MIN_VALUE; // arrival time of a bucket the sweep has retired
+
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int maxKeys;
+    private final Map<RouteGroup, Limit> limits = new EnumMap<>(RouteGroup.class);
+    private final Map<RouteGroup, Counter> allowed = new EnumMap<>(RouteGroup.class);
+    private final Map<RouteGroup, Counter> rejected = new EnumMap<>(RouteGroup.class);
+    private final Counter unlimitedOverflow;
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweep = new AtomicLong(System.nanoTime() + SWEEP_INTERVAL_NANOS);
+
+    public RateLimitFilter(ObjectMapper objectMapper, MeterRegistry meterRegistry, Environment env,
+                           @Value("${app.ratelimit.enabled:true}") boolean enabled,
+                           @Value("${app.ratelimit.max-keys:100000}") int maxKeys) {
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.maxKeys = maxKeys;
+        for (RouteGroup group : RouteGroup.values()) {
+            String prefix = "app.ratelimit." + group.name().toLowerCase(Locale.ROOT).replace('_', '-');
+            Limit limit = Limit.of(env.getProperty(prefix + ".rate-per-second", Integer.class, 0),
+                    env.getProperty(prefix + ".burst", Integer.class, 1));
+            if (limit != null) {
+                limits.put(group, limit);
+            }
+            String tag = group.name().toLowerCase(Locale.ROOT);
+            allowed.put(group, Counter.builder("biznex.ratelimit.decisions")
+                    .tag("group", tag).tag("outcome", "allowed").register(meterRegistry));
+            rejected.put(group, Counter.builder("biznex.ratelimit.decisions")
+                    .tag("group", tag).tag("outcome", "rejected").register(meterRegistry));
+        }
+        this.unlimitedOverflow = Counter.builder("biznex.ratelimit.overflow")
+                .description("Requests let through untracked because the bucket table was full")
+                .register(meterRegistry);
+        Gauge.builder("biznex.ratelimit.buckets", buckets, Map::size).register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || "OPTIONS".equalsIgnoreCase(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        RouteGroup group = classify(request.getMethod(), request.getRequestURI());
+        Limit limit = group == null ? null : limits.get(group);
+        if (limit == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long waitNanos = acquire(group + "|" + callerKey(group, request), limit, System.nanoTime());
+        if (waitNanos == 0) {
+            allowed.get(group).increment();
+            filterChain.doFilter(request, response);
+            return;
+        }
+        rejected.get(group).increment();
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write(objectMapper.writeValueAsString(ExceptionResponseDto.of(
+                HttpStatus.TOO_MANY_REQUESTS.value(), HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase(),
+                "Rate limit exceeded for " + group.name().toLowerCase(Locale.ROOT) + " requests",
+                request.getRequestURI())));
+    }
+
+    /** Route group for a request, or null when the path is not rate limited. */
+    static RouteGroup classify(String method, String path) {
+        if (path == null || !path.startsWith("/api/v1/")) {
+            return null;
+        }
+        if (path.startsWith("/api/v1/auth/")) {
+            return RouteGroup.AUTH;
+        }
+        if (path.startsWith("/api/v1/reports")) {
+            return RouteGroup.REPORTS;
+        }
+        boolean read = "GET".equalsIgnoreCase(method) || "HEAD".equalsIgnoreCase(method);
+        if (read && path.contains("/search")) {
+            return RouteGroup.SEARCH;
+        }
+        if (!read && (path.startsWith("/api/v1/billing") || path.startsWith("/api/v1/bills"))) {
+            return RouteGroup.BILLING_WRITE;
+        }
+        return null;
+    }
+
+    private static String callerKey(RouteGroup group, HttpServletRequest request) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (group != RouteGroup.AUTH && auth != null && auth.isAuthenticated() && auth.getName() != null) {
+            return "u:" + auth.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    /**
+     * GCRA admission: returns 0 if a token was taken, otherwise the nanoseconds until one becomes available.
+     * Package-private for tests.
+     */
+    long acquire(String key, Limit limit, long now) {
+        AtomicLong tat = buckets.get(key);
+        if (tat == null) {
+            sweepIfDue(now);
+            if (buckets.size() >= maxKeys) {
+                unlimitedOverflow.increment(); // fail open rather than grow without bound
+                return 0;
+            }
+            tat = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+        while (true) {
+            long current = tat.get();
+            if (current == SWEPT) {
+                // Retired by the sweep since it was looked up: continue on the bucket that replaces it
+                buckets.remove(key, tat);
+                tat = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+                continue;
+            }
+            long newTat = Math.max(current, now) + limit.intervalNanos();
+            long excess = newTat - now - limit.burstNanos();
+            if (excess > 0) {
+                return excess;
+            }
+            if (tat.compareAndSet(current, newTat)) {
+                return 0;
+            }
+        }
+    }
+
+    /** At most one thread sweeps per interval. */
+    private void sweepIfDue(long now) {
+        long due = nextSweep.get();
+        if ((now - due >= 0 || buckets.size() >= maxKeys) && nextSweep.compareAndSet(due, now + SWEEP_INTERVAL_NANOS)) {
+            sweep(now);
+        }
+    }
+
+    /**
+     * Drop buckets that have fully refilled. The idle check and the retirement are one CAS, so an admission that
+     * lands first keeps the bucket; only a retired bucket is unmapped, and only if it is still the mapped one.
+     * Package-private for tests.
+     */
+    void sweep(long now) {
+        buckets.forEach((key, tat) -> {
+            long current = tat.get();
+            if (current - now <= 0 && tat.compareAndSet(current, SWEPT)) {
+                buckets.remove(key, tat);
+            }
+        });
+    }
+
+    int bucketCount() {
+        return buckets.size();
+    }
+}
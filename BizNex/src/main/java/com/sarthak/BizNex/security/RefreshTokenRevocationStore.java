@@ -0,0 +1,143 @@
+package com.sarthak.BizNex.security;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ids (jti) of refresh tokens that have been rotated out. A rotation claims its token id with one
+ * {@code putIfAbsent} on a concurrent map, so concurrent refreshes of different tokens never wait on each other;
+ * only the append to the local revocation file is serialised. The file is reloaded on startup, so a restart does
+ * not make used refresh tokens valid again. Entries are kept only until the token itself expires; the file is
+ * compacted once it is mostly expired entries.
+ */
+@Component
+public class RefreshTokenRevocationStore {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenRevocationStore.class);
+
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>(); // jti -> token expiry (epoch ms)
+    private final Object fileLock = new Object();
+    private BufferedWriter appender; // guarded by fileLock
+    private int linesInFile; // guarded by fileLock
+
+    @Value("${app.security.refresh.revocation-file:${java.io.tmpdir}/biznex-revoked-refresh-tokens.log}")
+    private String file;
+
+    @PostConstruct
+    void load() {
+        Path path = Path.of(file);
+        long now = System.currentTimeMillis();
+        synchronized (fileLock) {
+            try {
+                if (Files.exists(path)) {
+                    List<String> lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+                    for (String line : lines) {
+                        int tab = line.indexOf('\t');
+                        if (tab <= 0) {
+                            continue; // torn last line after a crash
+                        }
+                        try {
+                            long expiresAt = Long.parseLong(line.substring(tab + 1).trim());
+                            if (expiresAt > now) {
+                                revoked.put(line.substring(0, tab), expiresAt);
+                            }
+                        } catch (NumberFormatException ignored) {
+                            // torn last line after a crash
+                        }
+                    }
+                    log.info("Loaded {} revoked refresh token id(s) from {}", revoked.size(), path);
+                } else if (path.getParent() != null) {
+                    Files.createDirectories(path.getParent());
+                }
+                rewrite(path);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot open refresh token revocation file " + path, e);
+            }
+        }
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        synchronized (fileLock) {
+            if (appender != null) {
+                appender.close();
+                appender = null;
+            }
+        }
+    }
+
+    /** True if this token id has been revoked. */
+    public boolean isRevoked(String tokenId) {
+        return revoked.containsKey(tokenId);
+    }
+
+    /**
+     * Revoke a token id until {@code expiresAtMillis}. Returns false if it was already revoked, which makes this
+     * the atomic claim step of a rotation: of two concurrent refreshes with the same token only one wins.
+     */
+    public boolean revoke(String tokenId, long expiresAtMillis) {
+        if (revoked.putIfAbsent(tokenId, expiresAtMillis) != null) {
+            return false;
+        }
+        synchronized (fileLock) {
+            try {
+                appender.write(tokenId + "\t" + expiresAtMillis + "\n");
+                appender.flush(); // into the OS page cache; survives a process crash
+                linesInFile++;
+                if (linesInFile > 1_000 && linesInFile > 2 * revoked.size()) {
+                    compact();
+                }
+            } catch (IOException e) {
+                log.warn("Could not persist refresh token revocation: {}", e.getMessage());
+            }
+        }
+        return true;
+    }
+
+    int size() {
+        return revoked.size();
+    }
+
+    private void compact() throws IOException {
+        long now = System.currentTimeMillis();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+        rewrite(Path.of(file));
+    }
+
+    /**
+     * Rewrite the file with live entries only. Caller holds fileLock. An id claimed while this runs may be written
+     * twice (here and by its own append), which reloads to the same entry.
+     */
+    private void rewrite(Path path) throws IOException {
+        if (appender != null) {
+            appender.close();
+        }
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        int lines = 0;
+        try (BufferedWriter out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, Long> e : revoked.entrySet()) {
+                out.write(e.getKey() + "\t" + e.getValue() + "\n");
+                lines++;
+            }
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        linesInFile = lines;
+        appender = Files.newBufferedWriter(path, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+    }
+}
@@ -0,0 +1,86 @@
+package com.sarthak.BizNex.security;
+
+import com.sarthak.BizNex.entity.User;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Principal produced by the password login. Besides the hash it keeps the user's role, must-change flag and
+ * security version, so the login endpoint can issue tokens without querying the user a second time.
+ * The hash is erased once authentication completes.
+ */
+public class UserAccountDetails implements UserDetails, CredentialsContainer {
+
+    private final String username;
+    private String password;
+    private final User.UserRole role;
+    private final boolean mustChangePassword;
+    private final long securityVersion;
+
+    public UserAccountDetails(User user) {
+        this.username = user.getUsername();
+        this.password = user.getUserPassword();
+        this.role = user.getUserRole();
+        this.mustChangePassword = user.isMustChangePassword();
+        this.securityVersion = user.getSecurityVersion();
+    }
+
+    private UserAccountDetails(UserAccountDetails source, String password) {
+        this.username = source.username;
+        this.password = password;
+        this.role = source.role;
+        this.mustChangePassword = source.mustChangePassword;
+        this.securityVersion = source.securityVersion;
+    }
+
+    /** Same account with a re-encoded password hash (used by the transparent hash upgrade). */
+    public UserAccountDetails withPassword(String encodedPassword) {
+        return new UserAccountDetails(this, encodedPassword);
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    public User.UserRole getRole() {
+        return role;
+    }
+
+    public boolean isMustChangePassword() {
+        return mustChangePassword;
+    }
+
+    public long getSecurityVersion() {
+        return securityVersion;
+    }
+
+    public UserStateCache.UserState toUserState() {
+        return new UserStateCache.UserState(true, role, mustChangePassword, securityVersion);
+    }
+
+    @Override
+    public void eraseCredentials() {
+        this.password = null;
+    }
+
+    @Override
+    public String toString() {
+        return "UserAccountDetails{username='" + username + "', role=" + role + "}";
+    }
+}
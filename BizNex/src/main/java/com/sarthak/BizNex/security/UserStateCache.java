@@ -0,0 +1,106 @@
+package com.sarthak.BizNex.security;
+
+import com.sarthak.BizNex.entity.User;
+import com.sarthak.BizNex.invalidation.CacheRegion;
+import com.sarthak.BizNex.invalidation.InvalidationBus;
+import com.sarthak.BizNex.repository.UserRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Small in-memory view of the security-relevant user fields (role, must-change flag, security version), so the
+ * filter chain can authorise a request without querying {@code users}. Entries expire after
+ * {@code app.security.user-state-ttl-seconds} and are dropped immediately by {@link #invalidate} whenever
+ * UserServiceImp changes a password or deletes a user, on this and (through the InvalidationBus) every other
+ * application instance. Missing users are cached too, so a deleted user's
+ * tokens cannot cause a query per request. A load that overlaps an invalidation is returned but not cached, so it
+ * cannot put the state from before a password change back.
+ */
+@Component
+public class UserStateCache {
+
+    /** Snapshot of a user's authorisation state; {@code exists=false} marks a deleted/unknown user. */
+    public record UserState(boolean exists, User.UserRole role, boolean mustChangePassword, long securityVersion) {
+        static final UserState ABSENT = new UserState(false, null, false, -1);
+    }
+
+    private record Entry(UserState state, long expiresAtMillis) {
+    }
+
+    private final UserRepository userRepository;
+    private final ObjectProvider<InvalidationBus> invalidationBus; // lazy: the bus applies invalidations back to this cache
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong(); // bumped by every eviction
+
+    @Value("${app.security.user-state-ttl-seconds:60}")
+    private long ttlSeconds;
+
+    public UserStateCache(UserRepository userRepository, ObjectProvider<InvalidationBus> invalidationBus) {
+        this.userRepository = userRepository;
+        this.invalidationBus = invalidationBus;
+    }
+
+    /** Current state for a username (loaded from the database at most once per TTL). */
+    public UserState get(String username) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(username);
+        if (entry != null && entry.expiresAtMillis > now) {
+            return entry.state;
+        }
+        long loadedAt = generation.get();
+        UserState state = userRepository.findByUsername(username)
+                .map(UserStateCache::stateOf)
+                .orElse(UserState.ABSENT);
+        Entry loaded = new Entry(state, now + ttlSeconds * 1000);
+        entries.put(username, loaded);
+        if (generation.get() != loadedAt) {
+            entries.remove(username, loaded); // evicted while loading: what was read may predate the change
+        }
+        return state;
+    }
+
+    /** Seed from an already-loaded user (e.g. at login) so the next request needs no query. */
+    public void put(User user) {
+        put(user.getUsername(), stateOf(user));
+    }
+
+    public void put(String username, UserState state) {
+        entries.put(username, new Entry(state, System.currentTimeMillis() + ttlSeconds * 1000));
+    }
+
+    /** Drops the user's state here and on the other instances. */
+    public void invalidate(String username) {
+        evict(username);
+        invalidationBus.ifAvailable(bus -> bus.publish(CacheRegion.USER, username));
+    }
+
+    /** Drops the user's state on this instance only. */
+    public void evict(String username) {
+        generation.incrementAndGet();
+        entries.remove(username);
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    /** Usernames with a current entry for an existing user (for the warm-start snapshot). */
+    public List<String> knownUsernames() {
+        long now = System.currentTimeMillis();
+        return entries.entrySet().stream()
+                .filter(e -> e.getValue().state.exists() && e.getValue().expiresAtMillis > now)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private static UserState stateOf(User user) {
+        return new UserState(true, user.getUserRole(), user.isMustChangePassword(), user.getSecurityVersion());
+    }
+}
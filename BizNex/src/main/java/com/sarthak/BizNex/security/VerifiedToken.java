@@ -0,0 +1,76 @@
+package com.sarthak.BizNex.security;
+
+import java.util.List;
+
+/**
+ * Immutable result of verifying a JWT once (signature, expiry, claims). Consumers read claims from here
+ * instead of re-parsing the token.
+ */
+public final class VerifiedToken {
+
+    private final String subject;
+    private final List<String> roles;
+    private final long issuedAtMillis;
+    private final long expiresAtMillis;
+    private final Boolean mustChangePassword; // null for tokens issued before the claim existed
+    private final long securityVersion;       // 0 for tokens issued before the claim existed
+    private final String tokenId;             // jti; set on refresh tokens
+    private final String tokenType;           // "access" or "refresh"; null for tokens issued before the claim existed
+
+    public VerifiedToken(String subject, List<String> roles, long issuedAtMillis, long expiresAtMillis,
+                         Boolean mustChangePassword, long securityVersion) {
+        this(subject, roles, issuedAtMillis, expiresAtMillis, mustChangePassword, securityVersion, null, null);
+    }
+
+    public VerifiedToken(String subject, List<String> roles, long issuedAtMillis, long expiresAtMillis,
+                         Boolean mustChangePassword, long securityVersion, String tokenId, String tokenType) {
+        this.subject = subject;
+        this.roles = roles == null ? List.of() : List.copyOf(roles);
+        this.issuedAtMillis = issuedAtMillis;
+        this.expiresAtMillis = expiresAtMillis;
+        this.mustChangePassword = mustChangePassword;
+        this.securityVersion = securityVersion;
+        this.tokenId = tokenId;
+        this.tokenType = tokenType;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public List<String> getRoles() {
+        return roles;
+    }
+
+    public long getIssuedAtMillis() {
+        return issuedAtMillis;
+    }
+
+    public long getExpiresAtMillis() {
+        return expiresAtMillis;
+    }
+
+    public Boolean getMustChangePassword() {
+        return mustChangePassword;
+    }
+
+    public long getSecurityVersion() {
+        return securityVersion;
+    }
+
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public String getTokenType() {
+        return tokenType;
+    }
+
+    public boolean isRefreshToken() {
+        return JwtTokenProvider.TOKEN_TYPE_REFRESH.equals(tokenType);
+    }
+
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+}
@@ -0,0 +1,70 @@
+package com.sarthak.BizNex.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of verified tokens keyed by the SHA-256 digest of the compact token (raw tokens are never held
+ * as keys). Entries are served only until the token's own expiry. When full, expired entries are dropped first,
+ * then an arbitrary slice, so the cache never grows past its capacity.
+ */
+class VerifiedTokenCache {
+
+    private final int capacity;
+    private final Map<String, VerifiedToken> entries = new ConcurrentHashMap<>();
+
+    VerifiedTokenCache(int capacity) {
+        this.capacity = capacity;
+    }
+
+    VerifiedToken get(String key, long nowMillis) {
+        VerifiedToken token = entries.get(key);
+        if (token != null && token.isExpired(nowMillis)) {
+            entries.remove(key, token);
+            return null;
+        }
+        return token;
+    }
+
+    void put(String key, VerifiedToken token) {
+        if (capacity <= 0) {
+            return;
+        }
+        if (entries.size() >= capacity) {
+            evict(System.currentTimeMillis());
+        }
+        entries.put(key, token);
+    }
+
+    void invalidateAll() {
+        entries.clear();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private void evict(long nowMillis) {
+        entries.values().removeIf(t -> t.isExpired(nowMillis));
+        int excess = entries.size() - (capacity - Math.max(1, capacity / 10));
+        Iterator<String> it = entries.keySet().iterator();
+        while (excess-- > 0 && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+}
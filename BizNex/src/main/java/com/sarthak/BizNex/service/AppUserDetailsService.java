@@ -2,16 +2,19 @@ package com.sarthak.BizNex.service;
 
 import com.sarthak.BizNex.entity.User;
 import com.sarthak.BizNex.repository.UserRepository;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import com.sarthak.BizNex.security.UserAccountDetails;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
-
 @Service
-public class AppUserDetailsService implements UserDetailsService {
+public class AppUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
+
+    private static final Logger log = LoggerFactory.getLogger(AppUserDetailsService.class);
 
     private final UserRepository userRepository;
 
@@ -25,13 +28,20 @@ public class AppUserDetailsService implements UserDetailsService {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
-        SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_"+ user.getUserRole().name());
+        return new UserAccountDetails(user);
 
-        return new org.springframework.security.core.userdetails.User(
-                user.getUsername(),
-                user.getUserPassword(),
-                Collections.singletonList(authority)
-        );
+    }
 
+    /**
+     * Called after a successful login whose stored hash uses a weaker BCrypt cost than configured. The password
+     * itself is unchanged, so the security version is left alone and issued tokens stay valid.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePasswordHash(user.getUsername(), newPassword);
+        log.info("Upgraded password hash for user='{}'", user.getUsername());
+        return user instanceof UserAccountDetails account
+                ? account.withPassword(newPassword)
+                : loadUserByUsername(user.getUsername());
     }
 }
@@ -1,8 +1,16 @@
 package com.sarthak.BizNex.service;
 
+import com.sarthak.BizNex.archive.BillArchive;
+import com.sarthak.BizNex.archive.BillSortKey;
 import com.sarthak.BizNex.dto.BillDto;
 import com.sarthak.BizNex.dto.BillItemDto;
+import com.sarthak.BizNex.dto.request.OfflineBillSyncRequest;
 import com.sarthak.BizNex.dto.response.BillResponseDto;
+import com.sarthak.BizNex.dto.response.OfflineBillSyncResponseDto;
+import com.sarthak.BizNex.dto.response.PageResponseDto;
+import com.sarthak.BizNex.dto.response.OfflineBillSyncResponseDto.BillOutcome;
+import com.sarthak.BizNex.dto.response.OfflineBillSyncResponseDto.OutcomeStatus;
+import com.sarthak.BizNex.dto.response.OfflineBillSyncResponseDto.StockConflict;
 import com.sarthak.BizNex.entity.Bill;
 import com.sarthak.BizNex.entity.BillItem;
 import com.sarthak.BizNex.entity.Customer;
@@ -10,15 +18,21 @@ import com.sarthak.BizNex.entity.Product;
 import com.sarthak.BizNex.exception.*;
 import com.sarthak.BizNex.mapper.BillItemMapper;
 import com.sarthak.BizNex.mapper.BillMapper;
+import com.sarthak.BizNex.entity.OutboxEvent;
 import com.sarthak.BizNex.mapper.BillResponseMapper;
+import com.sarthak.BizNex.outbox.OutboxPublisher;
 import com.sarthak.BizNex.repository.BillRepository;
 import com.sarthak.BizNex.repository.CustomerRepository;
 import com.sarthak.BizNex.repository.ProductRepository;
+import com.sarthak.BizNex.streaming.ChunkedList;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.*;
+import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -34,18 +48,31 @@ public class BillingService {
     private final BillMapper billMapper;
     private final BillItemMapper billItemMapper;
     private final BillResponseMapper billResponseMapper;
+    private final OutboxPublisher outboxPublisher;
+    private final BillArchive billArchive;
 
+    // Upper bound for one offline sync call; keeps a single transaction (and its lock footprint) bounded
+    @Value("${app.billing.sync.max-batch-size:2000}")
+    private int maxSyncBatchSize;
+
+    // Ids per IN (...) when batch loading; stays well below driver bind-parameter limits
+    private static final int ID_CHUNK_SIZE = 1000;
+    // Bills loaded per query while a listing is being written (same as hibernate.default_batch_fetch_size)
+    private static final int STREAM_CHUNK_SIZE = 50;
 
     public BillingService( BillMapper billMapper, BillItemMapper billItemMapper,
                           CustomerRepository customerRepository,
                           ProductRepository productRepository,
-                           BillRepository billRepository, BillResponseMapper billResponseMapper) {
+                           BillRepository billRepository, BillResponseMapper billResponseMapper,
+                           OutboxPublisher outboxPublisher, BillArchive billArchive) {
         this.billMapper = billMapper;
         this.billItemMapper = billItemMapper;
         this.customerRepository = customerRepository;
         this.productRepository = productRepository;
         this.billRepository = billRepository;
         this.billResponseMapper = billResponseMapper;
+        this.outboxPublisher = outboxPublisher;
+        this.billArchive = billArchive;
     }
 
 
@@ -104,16 +131,211 @@ public class BillingService {
             customer.setCustomerCredits(currentCredit + savedBill.getBillTotalAmount());
             customerRepository.save(customer);
         }
+        outboxPublisher.publishBillEvent(OutboxEvent.EventType.BILL_CREATED, savedBill);
         return billResponseMapper.toResponseDto(savedBill);
     }
 
+    /**
+     * Apply a batch of bills captured offline by a till. Bills already synced (same clientBillId) are reported
+     * as DUPLICATE; the rest are applied in clientCreatedAt order against stock and credits loaded once for the
+     * whole batch. A bill that would drive any product below zero is reported as CONFLICT and not applied;
+     * malformed bills are REJECTED. Outcomes are returned in request order.
+     */
+    @Transactional
+    public OfflineBillSyncResponseDto syncOfflineBills(OfflineBillSyncRequest request) {
+        List<OfflineBillSyncRequest.OfflineBill> bills = request.getBills();
+        if (bills == null || bills.isEmpty()) {
+            throw new BillInformationInvalidException("Sync batch must contain at least one bill");
+        }
+        if (bills.size() > maxSyncBatchSize) {
+            throw new BillInformationInvalidException("Sync batch of " + bills.size() + " bills exceeds the limit of " + maxSyncBatchSize);
+        }
+
+        BillOutcome[] outcomes = new BillOutcome[bills.size()];
+        String[] clientIds = new String[bills.size()];
+        Set<Long> productIds = new HashSet<>();
+        Set<Long> customerIds = new HashSet<>();
+        for (int i = 0; i < bills.size(); i++) {
+            OfflineBillSyncRequest.OfflineBill ob = bills.get(i);
+            clientIds[i] = normalizeClientBillId(ob == null ? null : ob.getClientBillId());
+            String invalid = validateOfflineBill(ob, clientIds[i]);
+            if (invalid != null) {
+                outcomes[i] = outcome(ob == null ? null : ob.getClientBillId(), OutcomeStatus.REJECTED, null, invalid);
+                continue;
+            }
+            customerIds.add(ob.getCustomer().getCustomerId());
+            for (BillItemDto item : ob.getBillItems()) {
+                productIds.add(item.getBillItemProduct().getProductId());
+            }
+        }
+
+        // Already-synced ids (earlier calls, e.g. a retry after a dropped response)
+        Map<String, String> syncedBillNumbers = new HashMap<>();
+        List<String> candidateIds = Arrays.stream(clientIds).filter(Objects::nonNull).distinct().toList();
+        for (int from = 0; from < candidateIds.size(); from += ID_CHUNK_SIZE) {
+            List<String> chunk = candidateIds.subList(from, Math.min(candidateIds.size(), from + ID_CHUNK_SIZE));
+            for (Bill existing : billRepository.findByClientBillIdIn(chunk)) {
+                syncedBillNumbers.put(existing.getClientBillId(), existing.getBillNumber());
+            }
+        }
+        Map<Long, Product> products = loadById(productRepository, productIds, Product::getProductId);
+        Map<Long, Customer> customers = loadById(customerRepository, customerIds, Customer::getCustomerId);
+
+        // Apply in the order the bills were rung up; ties keep request order
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < bills.size(); i++) {
+            if (outcomes[i] == null) order.add(i);
+        }
+        order.sort(Comparator.comparing(i -> bills.get(i).getClientCreatedAt()));
+
+        Set<Product> touchedProducts = new LinkedHashSet<>();
+        Set<Customer> touchedCustomers = new LinkedHashSet<>();
+        for (int i : order) {
+            OfflineBillSyncRequest.OfflineBill ob = bills.get(i);
+            String clientId = clientIds[i];
+            String existingNumber = syncedBillNumbers.get(clientId);
+            if (existingNumber != null) {
+                outcomes[i] = outcome(ob.getClientBillId(), OutcomeStatus.DUPLICATE, existingNumber, "Bill already synced");
+                continue;
+            }
+            Customer customer = customers.get(ob.getCustomer().getCustomerId());
+            if (customer == null) {
+                outcomes[i] = outcome(ob.getClientBillId(), OutcomeStatus.REJECTED, null, "Customer not found (id=" + ob.getCustomer().getCustomerId() + ")");
+                continue;
+            }
+            // Quantity per product for this bill (the same product may appear on several lines)
+            Map<Long, Integer> requested = new LinkedHashMap<>();
+            for (BillItemDto item : ob.getBillItems()) {
+                requested.merge(item.getBillItemProduct().getProductId(), item.getBillItemQuantity(), Integer::sum);
+            }
+            Long missingProduct = requested.keySet().stream().filter(id -> !products.containsKey(id)).findFirst().orElse(null);
+            if (missingProduct != null) {
+                outcomes[i] = outcome(ob.getClientBillId(), OutcomeStatus.REJECTED, null, "Product not found (id=" + missingProduct + ")");
+                continue;
+            }
+            List<StockConflict> stockConflicts = new ArrayList<>();
+            for (Map.Entry<Long, Integer> e : requested.entrySet()) {
+                Product product = products.get(e.getKey());
+                if (product.getProductQuantity() < e.getValue()) {
+                    stockConflicts.add(StockConflict.builder()
+                            .productId(product.getProductId())
+                            .productName(product.getProductName())
+                            .requested(e.getValue())
+                            .available(product.getProductQuantity())
+                            .build());
+                }
+            }
+            if (!stockConflicts.isEmpty()) {
+                BillOutcome conflict = outcome(ob.getClientBillId(), OutcomeStatus.CONFLICT, null, "Insufficient stock");
+                conflict.setStockConflicts(stockConflicts);
+                outcomes[i] = conflict;
+                continue;
+            }
+
+            List<BillItem> billItems = new ArrayList<>();
+            for (BillItemDto itemDto : ob.getBillItems()) {
+                Product product = products.get(itemDto.getBillItemProduct().getProductId());
+                product.setProductQuantity(product.getProductQuantity() - itemDto.getBillItemQuantity());
+                touchedProducts.add(product);
+                BillItem billItem = billItemMapper.toEntity(itemDto);
+                billItem.setBillItemProduct(product);
+                billItem.setPricePerUnit(product.getPricePerItem());
+                billItems.add(billItem);
+            }
+            Bill bill = new Bill();
+            bill.setCustomer(customer);
+            bill.setBillType(Bill.BillType.NEW);
+            bill.setBillStatus(ob.getBillStatus() != null ? ob.getBillStatus() : Bill.BillStatus.COMPLETE);
+            bill.setPaymentMethod(ob.getPaymentMethod());
+            bill.setBillDate(ob.getClientCreatedAt().withNano(0));
+            bill.setClientBillId(clientId);
+            bill.setBillItems(billItems);
+            for (BillItem item : billItems) {
+                item.setBill(bill);
+            }
+            Bill saved = billRepository.save(bill);
+            if (ob.getPaymentMethod() == Bill.PaymentMethod.CREDIT) {
+                customer.setCustomerCredits(customer.getCustomerCredits() + saved.getBillTotalAmount());
+                touchedCustomers.add(customer);
+            }
+            outboxPublisher.publishBillEvent(OutboxEvent.EventType.BILL_CREATED, saved);
+            syncedBillNumbers.put(clientId, saved.getBillNumber()); // later copies in this batch become DUPLICATE
+            outcomes[i] = outcome(ob.getClientBillId(), OutcomeStatus.CREATED, saved.getBillNumber(), null);
+        }
+        productRepository.saveAll(touchedProducts);
+        customerRepository.saveAll(touchedCustomers);
+
+        List<BillOutcome> results = Arrays.asList(outcomes);
+        Map<OutcomeStatus, Long> counts = results.stream()
+                .collect(Collectors.groupingBy(BillOutcome::getStatus, () -> new EnumMap<>(OutcomeStatus.class), Collectors.counting()));
+        return OfflineBillSyncResponseDto.builder()
+                .received(bills.size())
+                .created(counts.getOrDefault(OutcomeStatus.CREATED, 0L).intValue())
+                .duplicates(counts.getOrDefault(OutcomeStatus.DUPLICATE, 0L).intValue())
+                .conflicts(counts.getOrDefault(OutcomeStatus.CONFLICT, 0L).intValue())
+                .rejected(counts.getOrDefault(OutcomeStatus.REJECTED, 0L).intValue())
+                .results(results)
+                .build();
+    }
+
+    /** Canonical (lower-case) form of a client bill UUID, or null when absent or malformed. */
+    public static String normalizeClientBillId(String raw) {
+        if (raw == null || raw.isBlank()) return null;
+        try {
+            return UUID.fromString(raw.trim()).toString();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /** Structural checks that need no database access; returns the rejection reason or null. */
+    public static String validateOfflineBill(OfflineBillSyncRequest.OfflineBill ob) {
+        return validateOfflineBill(ob, normalizeClientBillId(ob == null ? null : ob.getClientBillId()));
+    }
+
+    private static String validateOfflineBill(OfflineBillSyncRequest.OfflineBill ob, String clientId) {
+        if (ob == null) return "Bill is null";
+        if (clientId == null) return "clientBillId must be a UUID";
+        if (ob.getClientCreatedAt() == null) return "clientCreatedAt is required";
+        if (ob.getCustomer() == null || ob.getCustomer().getCustomerId() == null) return "Customer information is missing";
+        if (ob.getPaymentMethod() == null) return "Payment method must not be null";
+        if (ob.getBillItems() == null || ob.getBillItems().isEmpty()) return "Bill must contain at least one bill item";
+        for (int index = 0; index < ob.getBillItems().size(); index++) {
+            BillItemDto item = ob.getBillItems().get(index);
+            if (item == null || item.getBillItemProduct() == null || item.getBillItemProduct().getProductId() == null) {
+                return "Product reference missing for bill item at index " + index;
+            }
+            if (item.getBillItemQuantity() <= 0) {
+                return "Quantity must be positive for product id=" + item.getBillItemProduct().getProductId();
+            }
+        }
+        return null;
+    }
+
+    private static BillOutcome outcome(String clientBillId, OutcomeStatus status, String billNumber, String message) {
+        return BillOutcome.builder().clientBillId(clientBillId).status(status).billNumber(billNumber).message(message).build();
+    }
+
+    private static <T> Map<Long, T> loadById(JpaRepository<T, Long> repository, Set<Long> ids, Function<T, Long> idOf) {
+        Map<Long, T> byId = new HashMap<>();
+        List<Long> all = new ArrayList<>(ids);
+        for (int from = 0; from < all.size(); from += ID_CHUNK_SIZE) {
+            for (T entity : repository.findAllById(all.subList(from, Math.min(all.size(), from + ID_CHUNK_SIZE)))) {
+                byId.put(idOf.apply(entity), entity);
+            }
+        }
+        return byId;
+    }
+
     // Retrieves a bill by its bill number
 
-    /** Retrieve a bill by billNumber or throw EntityNotFoundException. */
+    /** Retrieve a bill by billNumber (reading through to the archive) or throw EntityNotFoundException. */
+    @Transactional(readOnly = true)
     public BillResponseDto getBillByBillNumber(String billNumber) {
-        Bill bill = billRepository.findByBillNumberIgnoreCase(billNumber)
+        return billRepository.findByBillNumberIgnoreCase(billNumber)
+                .map(billResponseMapper::toResponseDto)
+                .or(() -> billArchive.find(billNumber))
                 .orElseThrow(() -> new EntityNotFoundException("Bill not found"));
-        return billResponseMapper.toResponseDto(bill);
     }
 
 
@@ -145,14 +367,14 @@ public class BillingService {
         for (Bill rBill : priorReturnBills) {
             if (rBill.getBillItems() == null) continue;
             for (BillItem ri : rBill.getBillItems()) {
-                Long pid = ri.getBillItemProduct().getProductId();
+                Long pid = ri.getProductId();
                 alreadyReturnedQty.merge(pid, ri.getBillItemQuantity(), Integer::sum);
             }
         }
 
         // Build original quantities map
         Map<Long, Integer> originalQty = originalBill.getBillItems().stream()
-                .collect(Collectors.toMap(bi -> bi.getBillItemProduct().getProductId(), BillItem::getBillItemQuantity, Integer::sum));
+                .collect(Collectors.toMap(BillItem::getProductId, BillItem::getBillItemQuantity, Integer::sum));
 
         // Compute remaining quantities available for return
         Map<Long, Integer> remainingQty = new HashMap<>();
@@ -224,7 +446,7 @@ public class BillingService {
         List<BillItem> returnItemsEntities = new ArrayList<>();
         for (BillItemDto retDto : billDto.getBillItems()) {
             BillItem originalItem = originalBill.getBillItems().stream()
-                    .filter(i -> i.getBillItemProduct().getProductId().equals(retDto.getBillItemProduct().getProductId()))
+                    .filter(i -> i.getProductId().equals(retDto.getBillItemProduct().getProductId()))
                     .findFirst()
                     .orElseThrow(() -> new InvalidBillReturnException("Product not found in original bill for return: " + retDto.getBillItemProduct().getProductId()));
             BillItem ri = new BillItem();
@@ -232,11 +454,18 @@ public class BillingService {
             ri.setBillItemQuantity(retDto.getBillItemQuantity());
             ri.setPricePerUnit(originalItem.getPricePerUnit());
             ri.setBillItemDiscountPerUnit(originalItem.getBillItemDiscountPerUnit());
+            // A credit note describes the goods as they were sold
+            ri.setProductName(originalItem.getProductName());
+            ri.setProductCode(originalItem.getProductCode());
+            ri.setProductCategory(originalItem.getProductCategory());
             ri.setBill(returnBill);
             returnItemsEntities.add(ri);
         }
         returnBill.setBillItems(returnItemsEntities);
         returnBill.setCustomer(originalBill.getCustomer());
+        returnBill.setCustomerName(originalBill.getCustomerName());
+        returnBill.setCustomerContact(originalBill.getCustomerContact());
+        returnBill.setCustomerEmail(originalBill.getCustomerEmail());
         returnBill.setBillType(processedType);
         returnBill.setBillStatus(Bill.BillStatus.COMPLETE);
         returnBill.setPaymentMethod(billDto.getPaymentMethod());
@@ -248,6 +477,7 @@ public class BillingService {
             customerRepository.save(updated);
         }
 
+        outboxPublisher.publishBillEvent(OutboxEvent.EventType.BILL_RETURNED, savedReturnBill);
         return billResponseMapper.toResponseDto(savedReturnBill);
     }
 
@@ -302,41 +532,102 @@ public class BillingService {
         return true;
     }
 
-    /** Paged list of all bills (hydrated without N+1). */
-    public Page<BillResponseDto> getAllBills(Pageable pageable) {
-        Page<Bill> basePage = billRepository.findAll(pageable); // this page does NOT fetch collections
-        if(basePage.isEmpty()) {
-            return Page.empty(pageable);
-        }
-        List<Long> ids = basePage.stream().map(Bill::getBillId).toList();
-        List<Bill> hydrated = billRepository.findByBillIdIn(ids); // entity graph fetch
-        // Index by id for quick lookup
-        Map<Long,Bill> byId = hydrated.stream().collect(Collectors.toMap(Bill::getBillId, b -> b));
-        List<BillResponseDto> orderedDtos = basePage.stream()
-                .map(b -> billResponseMapper.toResponseDto(byId.get(b.getBillId())))
-                .toList();
-        return new PageImpl<>(orderedDtos, pageable, basePage.getTotalElements());
+    /** Paged list of all bills; content is loaded chunk by chunk while the response is written. */
+    @Transactional(readOnly = true)
+    public PageResponseDto<BillResponseDto> getAllBills(Pageable pageable) {
+        return streamedPage(billRepository.findBillIds(pageable));
     }
 
 
-    /** Bills by customer (paged) hydrated. */
-    public Page<BillResponseDto> getBillsByCustomerContact(String contact, Pageable pageable) {
+    /**
+     * Bills by customer (paged), streamed like {@link #getAllBills}. The customer's archived bills are merged in by
+     * the requested sort: a binary search over hot-row sort keys finds how many archived bills precede the page, and
+     * only the archived bills on the page are read from the archive.
+     */
+    @Transactional(readOnly = true)
+    public PageResponseDto<BillResponseDto> getBillsByCustomerContact(String contact, Pageable pageable) {
         Customer customer = customerRepository.findByCustomerContact(contact)
                 .orElseThrow(() -> new EntityNotFoundException("Customer not found"));
-        Page<Bill> basePage = billRepository.findByCustomer(customer, pageable);
-        if(basePage.isEmpty()) {
-            return Page.empty(pageable);
-        }
-        List<Long> ids = basePage.stream().map(Bill::getBillId).toList();
-        List<Bill> hydrated = billRepository.findByBillIdIn(ids);
-        Map<Long,Bill> byId = hydrated.stream().collect(Collectors.toMap(Bill::getBillId, b -> b));
-        List<BillResponseDto> orderedDtos = basePage.stream()
-                .map(b -> billResponseMapper.toResponseDto(byId.get(b.getBillId())))
-                .toList();
-        return new PageImpl<>(orderedDtos, pageable, basePage.getTotalElements());
+        List<BillSortKey> archivedKeys = billArchive.customerKeys(customer.getCustomerId());
+        if (archivedKeys.isEmpty()) {
+            return streamedPage(billRepository.findBillIdsByCustomer(customer, pageable));
+        }
+        Comparator<BillSortKey> order = BillSortKey.comparator(pageable.getSort());
+        Sort hotSort = BillSortKey.withTieBreak(pageable.getSort());
+        List<BillSortKey> archived = archivedKeys.stream().sorted(order).toList();
+        long hotTotal = billRepository.countByCustomer(customer);
+        long offset = pageable.getOffset();
+
+        // Smallest count of archived bills before the page that keeps the merged order
+        int lo = (int) Math.max(0, offset - hotTotal);
+        int hi = (int) Math.min(archived.size(), offset);
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            List<BillSortKey> hotBefore = hotKeys(customer, offset - mid - 1, 1, hotSort);
+            if (!hotBefore.isEmpty() && order.compare(archived.get(mid), hotBefore.get(0)) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+
+        long hotFrom = offset - lo;
+        List<BillSortKey> hot = hotFrom < hotTotal ? hotKeys(customer, hotFrom, pageable.getPageSize(), hotSort) : List.of();
+        List<BillSortKey> page = new ArrayList<>(pageable.getPageSize());
+        int h = 0;
+        int a = lo;
+        while (page.size() < pageable.getPageSize() && (h < hot.size() || a < archived.size())) {
+            boolean takeHot = a >= archived.size() || h < hot.size() && order.compare(hot.get(h), archived.get(a)) < 0;
+            page.add(takeHot ? hot.get(h++) : archived.get(a++));
+        }
+        Page<?> combined = new PageImpl<>(List.of(), pageable, hotTotal + archived.size());
+        return PageResponseDto.of(combined, new ChunkedList<>(page, STREAM_CHUNK_SIZE, this::loadMergedChunk,
+                BillSortKey::billId));
+    }
+
+    /** {@code count} hot sort keys of a customer from position {@code from}, read as at most two aligned pages. */
+    private List<BillSortKey> hotKeys(Customer customer, long from, int count, Sort sort) {
+        int first = (int) (from / count);
+        int skip = (int) (from - (long) first * count);
+        List<BillSortKey> rows = new ArrayList<>(billRepository.findSortKeysByCustomer(customer, PageRequest.of(first, count, sort)));
+        if (skip > 0) {
+            rows.addAll(billRepository.findSortKeysByCustomer(customer, PageRequest.of(first + 1, count, sort)));
+        }
+        return rows.subList(Math.min(skip, rows.size()), Math.min(skip + count, rows.size()));
+    }
+
+    private List<BillResponseDto> loadMergedChunk(List<BillSortKey> keys) {
+        List<Long> hotIds = keys.stream().filter(k -> !k.archived()).map(BillSortKey::billId).toList();
+        Iterator<BillResponseDto> hot = loadBillChunk(hotIds).iterator();
+        List<BillResponseDto> dtos = new ArrayList<>(keys.size());
+        for (BillSortKey key : keys) {
+            dtos.add(key.archived() ? billArchive.find(key.billNumber()).orElse(null) : hot.next());
+        }
+        return dtos;
+    }
+
+    /**
+     * Page envelope over an id page. Bills (with items, in one query per chunk) are loaded and mapped only as the
+     * serializer iterates the content, so heap per request stays at one chunk however large the page is. Each chunk
+     * is its own read; bills deleted or archived before theirs are listed in the page's {@code missing}.
+     */
+    private PageResponseDto<BillResponseDto> streamedPage(Page<Long> ids) {
+        return PageResponseDto.of(ids, new ChunkedList<>(ids.getContent(), STREAM_CHUNK_SIZE, this::loadBillChunk));
+    }
+
+    private List<BillResponseDto> loadBillChunk(List<Long> ids) {
+        Map<Long, Bill> byId = billRepository.findByBillIdIn(ids).stream()
+                .collect(Collectors.toMap(Bill::getBillId, b -> b));
+        List<BillResponseDto> dtos = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Bill bill = byId.get(id);
+            dtos.add(bill == null ? null : billResponseMapper.toResponseDto(bill)); // gone since the id page: reported as missing
+        }
+        return dtos;
     }
 
     /** Create a credit payment bill reducing existing customer credits. */
+    @Transactional
     public BillResponseDto createCreditBill(BillDto billDto) {
         if (billDto.getCustomer() == null || billDto.getCustomer().getCustomerId() == null) {
             throw new BillInformationInvalidException("Customer information is missing in the bill request");
@@ -360,6 +651,7 @@ public class BillingService {
         newBill.setPaymentMethod(billDto.getPaymentMethod());
 
         Bill savedBill = billRepository.save(newBill);
+        outboxPublisher.publishBillEvent(OutboxEvent.EventType.CREDIT_PAYMENT, savedBill);
 
         return billResponseMapper.toResponseDto(savedBill);
 
@@ -373,26 +665,18 @@ public class BillingService {
     public void deleteBillById(Long billId) {
         Bill bill = billRepository.findById(billId)
                 .orElseThrow(() -> new EntityNotFoundException("Bill not found with ID: " + billId));
+        outboxPublisher.publishBillEvent(OutboxEvent.EventType.BILL_DELETED, bill);
         billRepository.delete(bill);
     }
 
-    /** Search bills (paged) hydrated. */
-    public Page<BillResponseDto> searchBills(String rawQuery, Pageable pageable){
+    /** Search bills (paged), streamed like {@link #getAllBills}. */
+    @Transactional(readOnly = true)
+    public PageResponseDto<BillResponseDto> searchBills(String rawQuery, Pageable pageable){
         String q = rawQuery == null ? "" : rawQuery.trim();
         if(q.isEmpty()){
             return getAllBills(pageable);
         }
-        Page<Bill> basePage = billRepository.searchBills(q, pageable);
-        if(basePage.isEmpty()) {
-            return Page.empty(pageable);
-        }
-        List<Long> ids = basePage.stream().map(Bill::getBillId).toList();
-        List<Bill> hydrated = billRepository.findByBillIdIn(ids);
-        Map<Long,Bill> byId = hydrated.stream().collect(Collectors.toMap(Bill::getBillId, b -> b));
-        List<BillResponseDto> orderedDtos = basePage.stream()
-                .map(b -> billResponseMapper.toResponseDto(byId.get(b.getBillId())))
-                .toList();
-        return new PageImpl<>(orderedDtos, pageable, basePage.getTotalElements());
+        return streamedPage(billRepository.searchBillIds(q, pageable));
     }
 
 }
@@ -0,0 +1,135 @@
+package com.sarthak.BizNex.service;
+
+import com.sarthak.BizNex.dto.response.ChangeFeedResponseDto;
+import com.sarthak.BizNex.dto.response.ChangeFeedResponseDto.Tombstone;
+import com.sarthak.BizNex.entity.Bill;
+import com.sarthak.BizNex.entity.ChangeLogEntry;
+import com.sarthak.BizNex.entity.ChangeLogEntry.EntityType;
+import com.sarthak.BizNex.entity.Customer;
+import com.sarthak.BizNex.entity.Product;
+import com.sarthak.BizNex.mapper.BillResponseMapper;
+import com.sarthak.BizNex.mapper.CustomerMapper;
+import com.sarthak.BizNex.mapper.ProductMapper;
+import com.sarthak.BizNex.repository.BillRepository;
+import com.sarthak.BizNex.repository.ChangeLogRepository;
+import com.sarthak.BizNex.repository.CustomerRepository;
+import com.sarthak.BizNex.repository.ProductRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Incremental change feed over products, customers and bills. Clients keep a local copy and pull only what
+ * changed after their cursor: each changed entity appears once with its current state, or as a tombstone when
+ * it was deleted or soft-deleted since.
+ *
+ * <p>The cursor is the commit sequence stamped by {@link ChangeLogSequencer}, not the identity allocated at insert:
+ * a slow transaction can commit a lower identity after a higher one, but its rows are stamped only once committed
+ * and so always land above any cursor already handed out.</p>
+ */
+@Service
+public class ChangeFeedService {
+
+    public static final int DEFAULT_LIMIT = 500;
+    public static final int MAX_LIMIT = 5000;
+
+    private final ChangeLogRepository changeLogRepository;
+    private final ProductRepository productRepository;
+    private final CustomerRepository customerRepository;
+    private final BillRepository billRepository;
+    private final ProductMapper productMapper;
+    private final CustomerMapper customerMapper;
+    private final BillResponseMapper billResponseMapper;
+    private final ChangeLogSequencer changeLogSequencer;
+
+    public ChangeFeedService(ChangeLogRepository changeLogRepository, ProductRepository productRepository,
+                             CustomerRepository customerRepository, BillRepository billRepository,
+                             ProductMapper productMapper, CustomerMapper customerMapper,
+                             BillResponseMapper billResponseMapper, ChangeLogSequencer changeLogSequencer) {
+        this.changeLogRepository = changeLogRepository;
+        this.productRepository = productRepository;
+        this.customerRepository = customerRepository;
+        this.billRepository = billRepository;
+        this.productMapper = productMapper;
+        this.customerMapper = customerMapper;
+        this.billResponseMapper = billResponseMapper;
+        this.changeLogSequencer = changeLogSequencer;
+    }
+
+    /** Changes after {@code since} for the given types (all when empty), at most {@code limit} log rows. */
+    @Transactional(readOnly = true)
+    public ChangeFeedResponseDto getChangesSince(long since, Set<EntityType> types, int limit) {
+        if (since < 0) {
+            throw new IllegalArgumentException("since must not be negative");
+        }
+        int effectiveLimit = limit <= 0 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+        Set<EntityType> effectiveTypes = types == null || types.isEmpty() ? EnumSet.allOf(EntityType.class) : types;
+        changeLogSequencer.stampCommitted(); // commits on its own before the reads below
+
+        List<ChangeLogEntry> rows = changeLogRepository.findChangesSince(since, effectiveTypes,
+                PageRequest.of(0, effectiveLimit));
+        boolean hasMore = rows.size() == effectiveLimit;
+        long cursor = hasMore
+                ? rows.get(rows.size() - 1).getCommitSeq()
+                : Math.max(since, changeLogRepository.findMaxCommitSeq());
+
+        // Collapse to the latest entry per entity; the current row state decides upsert vs tombstone
+        Map<EntityType, Map<Long, ChangeLogEntry>> latest = new EnumMap<>(EntityType.class);
+        for (ChangeLogEntry row : rows) {
+            latest.computeIfAbsent(row.getEntityType(), t -> new LinkedHashMap<>()).put(row.getEntityId(), row);
+        }
+
+        List<Tombstone> tombstones = new ArrayList<>();
+        ChangeFeedResponseDto.ChangeFeedResponseDtoBuilder response = ChangeFeedResponseDto.builder()
+                .cursor(cursor)
+                .hasMore(hasMore);
+
+        Map<Long, ChangeLogEntry> productRows = latest.getOrDefault(EntityType.PRODUCT, Map.of());
+        if (!productRows.isEmpty()) {
+            Map<Long, Product> found = productRepository.findAllById(productRows.keySet()).stream()
+                    .collect(Collectors.toMap(Product::getProductId, p -> p));
+            List<Product> live = new ArrayList<>();
+            productRows.forEach((id, row) -> {
+                Product p = found.get(id);
+                if (p == null || !p.isProductActive()) tombstones.add(tombstone(row));
+                else live.add(p);
+            });
+            response.products(productMapper.toDtoList(live));
+        }
+
+        Map<Long, ChangeLogEntry> customerRows = latest.getOrDefault(EntityType.CUSTOMER, Map.of());
+        if (!customerRows.isEmpty()) {
+            Map<Long, Customer> found = customerRepository.findAllById(customerRows.keySet()).stream()
+                    .collect(Collectors.toMap(Customer::getCustomerId, c -> c));
+            List<Customer> live = new ArrayList<>();
+            customerRows.forEach((id, row) -> {
+                Customer c = found.get(id);
+                if (c == null || "inactive".equalsIgnoreCase(c.getCustomerActiveStatus())) tombstones.add(tombstone(row));
+                else live.add(c);
+            });
+            response.customers(customerMapper.toDtoList(live));
+        }
+
+        Map<Long, ChangeLogEntry> billRows = latest.getOrDefault(EntityType.BILL, Map.of());
+        if (!billRows.isEmpty()) {
+            Map<Long, Bill> found = billRepository.findByBillIdIn(new ArrayList<>(billRows.keySet())).stream()
+                    .collect(Collectors.toMap(Bill::getBillId, b -> b, (a, b) -> a));
+            List<Bill> live = new ArrayList<>();
+            billRows.forEach((id, row) -> {
+                Bill b = found.get(id);
+                if (b == null) tombstones.add(tombstone(row));
+                else live.add(b);
+            });
+            response.bills(live.stream().map(billResponseMapper::toResponseDto).toList());
+        }
+
+        return response.tombstones(tombstones).build();
+    }
+
+    private static Tombstone tombstone(ChangeLogEntry row) {
+        return new Tombstone(row.getEntityType(), row.getEntityId(), row.getEntityKey());
+    }
+}
@@ -1,5 +1,6 @@
 package com.sarthak.BizNex.service;
 
+import com.sarthak.BizNex.cache.SingleFlight;
 import com.sarthak.BizNex.dto.CustomerDto;
 import com.sarthak.BizNex.entity.Bill;
 import com.sarthak.BizNex.entity.Customer;
@@ -39,6 +40,7 @@ public class CustomerService {
 
 
     /** Paged retrieval of customers. */
+    @Transactional(readOnly = true)
     public Page<CustomerDto> getAllCustomers(Pageable pageable){
         Pageable effective = applyDefaultCustomerSort(pageable);
         return customerRepository.findAll(effective).map(customerMapper::toDto);
@@ -53,6 +55,7 @@ public class CustomerService {
     }
 
     /** Retrieve by numeric id or throw EntityNotFoundException. */
+    @Transactional(readOnly = true)
     public CustomerDto getCustomerById(Long id) {
         Optional<Customer> customer = customerRepository.findById(id);
         return customer.map(customerMapper::toDto)
@@ -141,6 +144,7 @@ public class CustomerService {
     }
 
      /** Find by contact number or 404. */
+     @Transactional(readOnly = true)
      public CustomerDto getCustomerByContact(String contact) {
          Optional<Customer> customer = customerRepository.findByCustomerContact(contact);
          return customer.map(customerMapper::toDto).orElseThrow(()-> new EntityNotFoundException("Customer with contact " + contact + " not found."));
@@ -148,21 +152,27 @@ public class CustomerService {
 
 
      /** Paged list of customers with credits > 0 (default alphabetical if default sort requested). */
+     @Transactional(readOnly = true)
      public Page<CustomerDto> getCustomersWithCredits(Pageable pageable){
         Pageable effective = applyDefaultCustomerSort(pageable);
         return customerRepository.findByCustomerCreditsGreaterThan(0.0, effective)
                 .map(customerMapper::toDto);
     }
 
+    @SingleFlight(invalidatedBy = "CUSTOMER")
+    @Transactional(readOnly = true)
     public double totalPositiveCredits(){
         return customerRepository.sumPositiveCredits();
     }
 
+    @SingleFlight(invalidatedBy = "CUSTOMER")
+    @Transactional(readOnly = true)
     public double averagePositiveCredits(){
         return customerRepository.avgPositiveCredits();
     }
 
 
+    @Transactional(readOnly = true)
     public Page<CustomerDto> searchCustomers(String rawQuery, Pageable pageable){
         String q = rawQuery == null ? "" : rawQuery.trim();
         if(q.isEmpty()){
@@ -172,6 +182,7 @@ public class CustomerService {
         return customerRepository.searchCustomers(q, effective).map(customerMapper::toDto);
     }
 
+    @Transactional(readOnly = true)
     public Page<CustomerDto> searchCustomersWithCredits(String rawQuery, Pageable pageable){
         String q = rawQuery == null ? "" : rawQuery.trim();
         if(q.isEmpty()){
@@ -0,0 +1,313 @@
+package com.sarthak.BizNex.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sarthak.BizNex.archive.BillArchive;
+import com.sarthak.BizNex.archive.BillSortKey;
+import com.sarthak.BizNex.dto.CustomerDto;
+import com.sarthak.BizNex.dto.response.BillResponseDto;
+import com.sarthak.BizNex.entity.Bill;
+import com.sarthak.BizNex.exception.EntityNotFoundException;
+import com.sarthak.BizNex.exception.HistoryStreamsBusyException;
+import com.sarthak.BizNex.mapper.BillResponseMapper;
+import com.sarthak.BizNex.mapper.CustomerMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Long-running, read-only streams of bill and customer history as NDJSON or server-sent events.
+ *
+ * <p>Each stream is pumped by its own virtual thread: rows are read in keyset chunks ({@code id > cursor}), each
+ * chunk in a short read-only transaction, and written before the next chunk is read. A slow client blocks only its
+ * virtual thread on the socket write; no request thread or database connection is held between chunks. Bills are
+ * read from {@code bills}/{@code bill_items}, using the sale-time customer and product details, and merged in id
+ * order with the archived bills that match the same filter (their keys are collected once when the stream
+ * starts).</p>
+ */
+@Service
+public class HistoryStreamService {
+
+    public enum Format { NDJSON, SSE }
+
+    private static final Logger log = LoggerFactory.getLogger(HistoryStreamService.class);
+
+    private static final String BILL_COLUMNS = "b.bill_id, b.bill_number, b.bill_date, b.customer_name, b.customer_email, "
+            + "b.customer_contact, b.bill_type, b.payment_method, b.bill_total_amount, b.bill_total_discount, "
+            + "b.bill_status, b.original_bill_number";
+
+    private static final String ITEMS_SQL = "SELECT bill_id, product_id, product_name, price_per_unit, bill_item_quantity, "
+            + "bill_item_discount_per_unit FROM bill_items WHERE bill_id IN (:ids) ORDER BY bill_item_id";
+
+    private static final String CUSTOMERS_SQL = "SELECT customer_id, customer_name, customer_email, customer_contact, "
+            + "customer_address, customer_registration_date, customer_active_status, customer_credits FROM customers "
+            + "WHERE customer_id > :after ORDER BY customer_id LIMIT :limit";
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate readOnly;
+    private final ObjectMapper objectMapper;
+    private final BillResponseMapper billResponseMapper;
+    private final BillArchive billArchive;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService streams = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("history-stream-", 0).factory());
+    private final AtomicInteger active = new AtomicInteger();
+    private final int chunkSize;
+    private final int maxStreams;
+    private final long timeoutMillis;
+
+    public HistoryStreamService(NamedParameterJdbcTemplate jdbc, PlatformTransactionManager transactionManager,
+                                ObjectMapper objectMapper, BillResponseMapper billResponseMapper,
+                                BillArchive billArchive, MeterRegistry meterRegistry,
+                                @Value("${app.history.chunk-size:200}") int chunkSize,
+                                @Value("${app.history.max-streams:10000}") int maxStreams,
+                                @Value("${app.history.stream-timeout-ms:1800000}") long timeoutMillis) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("app.history.chunk-size must be at least 1");
+        }
+        this.jdbc = jdbc;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.billResponseMapper = billResponseMapper;
+        this.billArchive = billArchive;
+        this.meterRegistry = meterRegistry;
+        this.chunkSize = chunkSize;
+        this.maxStreams = maxStreams;
+        this.timeoutMillis = timeoutMillis;
+        Gauge.builder("biznex.history.streams.active", active, AtomicInteger::get).register(meterRegistry);
+    }
+
+    /**
+     * Bills in id order after {@code afterBillId}, optionally for one customer and a bill-date range (inclusive
+     * days). The customer is resolved before the stream starts, so an unknown contact is a plain 404.
+     */
+    public ResponseBodyEmitter streamBills(String customerContact, LocalDate from, LocalDate to, long afterBillId,
+                                           Format format) {
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new IllegalArgumentException("to must not be before from");
+        }
+        StringBuilder where = new StringBuilder("b.bill_id > :after");
+        Map<String, Object> filter = new HashMap<>();
+        Long customerId = null;
+        if (customerContact != null && !customerContact.isBlank()) {
+            customerId = readOnly.execute(status -> jdbc.query(
+                    "SELECT customer_id FROM customers WHERE customer_contact = :contact",
+                    Map.of("contact", customerContact), rs -> rs.next() ? rs.getLong(1) : null));
+            if (customerId == null) {
+                throw new EntityNotFoundException("Customer not found with contact: " + customerContact);
+            }
+            where.append(" AND b.customer_id = :customerId");
+            filter.put("customerId", customerId);
+        }
+        if (from != null) {
+            where.append(" AND b.bill_date >= :from");
+            filter.put("from", from.atStartOfDay());
+        }
+        if (to != null) {
+            where.append(" AND b.bill_date < :to");
+            filter.put("to", to.plusDays(1).atStartOfDay());
+        }
+        String sql = "SELECT " + BILL_COLUMNS + " FROM bills b WHERE " + where + " ORDER BY b.bill_id LIMIT :limit";
+        List<BillSortKey> archived = billArchive.sortKeys(customerId, (LocalDateTime) filter.get("from"),
+                (LocalDateTime) filter.get("to"));
+        return start(format, "bill", afterBillId, after -> readBills(sql, filter, archived, after));
+    }
+
+    /** All customers in id order after {@code afterCustomerId}, including inactive ones (status is in each row). */
+    public ResponseBodyEmitter streamCustomers(long afterCustomerId, Format format) {
+        return start(format, "customer", afterCustomerId, this::readCustomers);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        streams.shutdownNow();
+    }
+
+    private ResponseBodyEmitter start(Format format, String kind, long after, ChunkReader reader) {
+        if (active.incrementAndGet() > maxStreams) {
+            active.decrementAndGet();
+            throw new HistoryStreamsBusyException("Too many open history streams, retry shortly");
+        }
+        ResponseBodyEmitter emitter = format == Format.SSE ? new SseEmitter(timeoutMillis) : new ResponseBodyEmitter(timeoutMillis);
+        try {
+            streams.execute(() -> pump(emitter, format, kind, after, reader));
+        } catch (RejectedExecutionException e) {
+            active.decrementAndGet();
+            throw new HistoryStreamsBusyException("History streams are shutting down");
+        }
+        return emitter;
+    }
+
+    private void pump(ResponseBodyEmitter emitter, Format format, String kind, long after, ChunkReader reader) {
+        long cursor = after;
+        try {
+            List<Row> chunk;
+            do {
+                long from = cursor;
+                chunk = readOnly.execute(status -> reader.read(from));
+                if (!chunk.isEmpty()) {
+                    send(emitter, format, kind, chunk);
+                    cursor = chunk.get(chunk.size() - 1).id();
+                    meterRegistry.counter("biznex.history.rows", "kind", kind).increment(chunk.size());
+                }
+            } while (chunk.size() == chunkSize);
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            // Client went away or the emitter timed out; the container completes the request
+            log.debug("History stream of {}s stopped after id {}: {}", kind, cursor, e.toString());
+        } catch (RuntimeException e) {
+            log.warn("History stream of {}s failed after id {}", kind, cursor, e);
+            emitter.completeWithError(e);
+        } finally {
+            active.decrementAndGet();
+        }
+    }
+
+    /** One write (and flush) per chunk; it blocks while the client is not reading. */
+    private void send(ResponseBodyEmitter emitter, Format format, String kind, List<Row> chunk) throws IOException {
+        if (format == Format.SSE) {
+            Set<ResponseBodyEmitter.DataWithMediaType> events = new LinkedHashSet<>();
+            for (Row row : chunk) {
+                events.addAll(SseEmitter.event().id(Long.toString(row.id())).name(kind)
+                        .data(row.body(), MediaType.APPLICATION_JSON).build());
+            }
+            emitter.send(events);
+        } else {
+            ByteArrayOutputStream lines = new ByteArrayOutputStream();
+            for (Row row : chunk) {
+                objectMapper.writeValue(lines, row.body());
+                lines.write('\n');
+            }
+            emitter.send(lines.toByteArray(), MediaType.APPLICATION_NDJSON);
+        }
+    }
+
+    /**
+     * The next chunk in id order across both tiers: a chunk of hot bills merged with the archived keys after the
+     * cursor. It comes back short only once both are exhausted; a bill found in both (mid-archive) is sent once.
+     */
+    private List<Row> readBills(String sql, Map<String, Object> filter, List<BillSortKey> archived, long after) {
+        List<Row> hot = readHotBills(sql, filter, after);
+        int next = firstAfter(archived, after);
+        if (next == archived.size()) {
+            return hot;
+        }
+        List<Row> rows = new ArrayList<>(chunkSize);
+        int h = 0;
+        while (rows.size() < chunkSize && (h < hot.size() || next < archived.size())) {
+            if (next == archived.size() || (h < hot.size() && hot.get(h).id() <= archived.get(next).billId())) {
+                Row row = hot.get(h++);
+                if (next < archived.size() && archived.get(next).billId() == row.id()) {
+                    next++;
+                }
+                rows.add(row);
+            } else {
+                BillSortKey key = archived.get(next++);
+                billArchive.find(key.billNumber()).ifPresent(bill -> rows.add(new Row(key.billId(), bill)));
+            }
+        }
+        return rows;
+    }
+
+    private static int firstAfter(List<BillSortKey> keys, long after) {
+        int low = 0;
+        int high = keys.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys.get(mid).billId() <= after) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private List<Row> readHotBills(String sql, Map<String, Object> filter, long after) {
+        MapSqlParameterSource params = new MapSqlParameterSource(filter).addValue("after", after).addValue("limit", chunkSize);
+        Map<Long, BillResponseDto> bills = new LinkedHashMap<>();
+        jdbc.query(sql, params, rs -> {
+            BillResponseDto dto = new BillResponseDto();
+            dto.setBillNumber(rs.getString("bill_number"));
+            dto.setBillDate(billResponseMapper.formatDate(toLocalDateTime(rs.getTimestamp("bill_date"))));
+            dto.setCustomerName(rs.getString("customer_name"));
+            dto.setCustomerEmail(rs.getString("customer_email"));
+            dto.setCustomerPhone(rs.getString("customer_contact"));
+            dto.setBillType(Bill.BillType.valueOf(rs.getString("bill_type")));
+            dto.setPaymentMethod(Bill.PaymentMethod.valueOf(rs.getString("payment_method")));
+            dto.setTotalAmount(rs.getDouble("bill_total_amount"));
+            dto.setTotalDiscount(rs.getDouble("bill_total_discount"));
+            dto.setBillStatus(Bill.BillStatus.valueOf(rs.getString("bill_status")));
+            dto.setOriginalBillNumber(rs.getString("original_bill_number"));
+            dto.setBillItems(new ArrayList<>());
+            bills.put(rs.getLong("bill_id"), dto);
+        });
+        if (bills.isEmpty()) {
+            return List.of();
+        }
+        jdbc.query(ITEMS_SQL, Map.of("ids", bills.keySet()), rs -> {
+            BillResponseDto.BillItemResponseDto item = new BillResponseDto.BillItemResponseDto();
+            item.setProductId(rs.getLong("product_id"));
+            item.setProductName(rs.getString("product_name"));
+            item.setBillItemPricePerUnit(rs.getDouble("price_per_unit"));
+            item.setBillItemQuantity(rs.getInt("bill_item_quantity"));
+            item.setDiscountPerUnit(rs.getDouble("bill_item_discount_per_unit"));
+            item.setTotalPrice(item.getBillItemPricePerUnit() * item.getBillItemQuantity()
+                    - item.getDiscountPerUnit() * item.getBillItemQuantity());
+            bills.get(rs.getLong("bill_id")).getBillItems().add(item);
+        });
+        List<Row> rows = new ArrayList<>(bills.size());
+        bills.forEach((id, dto) -> rows.add(new Row(id, dto)));
+        return rows;
+    }
+
+    private List<Row> readCustomers(long after) {
+        return jdbc.query(CUSTOMERS_SQL, Map.of("after", after, "limit", chunkSize), (rs, n) -> new Row(
+                rs.getLong("customer_id"),
+                CustomerDto.builder()
+                        .customerId(rs.getLong("customer_id"))
+                        .customerName(rs.getString("customer_name"))
+                        .customerEmail(rs.getString("customer_email"))
+                        .customerContact(rs.getString("customer_contact"))
+                        .customerAddress(rs.getString("customer_address"))
+                        .customerRegistrationDate(CustomerMapper.formatDate(
+                                toLocalDateTime(rs.getTimestamp("customer_registration_date"))))
+                        .customerActiveStatus(rs.getString("customer_active_status"))
+                        .customerCredits(rs.getDouble("customer_credits"))
+                        .build()));
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+
+    private record Row(long id, Object body) {
+    }
+
+    @FunctionalInterface
+    private interface ChunkReader {
+        List<Row> read(long after);
+    }
+}
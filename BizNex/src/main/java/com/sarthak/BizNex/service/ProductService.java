@@ -1,5 +1,6 @@
 package com.sarthak.BizNex.service;
 
+import com.sarthak.BizNex.cache.SingleFlight;
 import com.sarthak.BizNex.dto.ProductDto;
 import com.sarthak.BizNex.entity.Product;
 import com.sarthak.BizNex.exception.DuplicateEntityException;
@@ -12,8 +13,11 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -23,6 +27,9 @@ import java.util.Optional;
 @Service
 public class ProductService {
 
+    /** Quantity below which an active product counts as low stock (matches the low-stock-first ordering). */
+    public static final int LOW_STOCK_THRESHOLD = 10;
+
     private final ProductRepository productRepository;
     private final ProductMapper productMapper;
 
@@ -98,12 +105,14 @@ public class ProductService {
     }
 
     /** Retrieve product by id or throw EntityNotFoundException. */
+    @Transactional(readOnly = true)
     public ProductDto getProductById(Long id){
         Optional<Product> product = productRepository.findById(id);
         return productMapper.toDto(product.orElseThrow(() -> new EntityNotFoundException("Product with ID " + id + " not found.")));
     }
 
     /** Paged retrieval of products with default low-stock-first ordering if default sort (productId,asc). */
+    @Transactional(readOnly = true)
     public Page<ProductDto> getAllProducts(Pageable pageable){
         if (isDefaultProductSort(pageable)) {
             Page<Product> page = productRepository.findAllOrderedLowStockFirst(PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
@@ -113,6 +122,24 @@ public class ProductService {
         return page.map(productMapper::toDto);
     }
 
+    /** Number of active products below {@link #LOW_STOCK_THRESHOLD}; dashboard aggregate, coalesced. */
+    @SingleFlight(invalidatedBy = "PRODUCT")
+    @Transactional(readOnly = true)
+    public long countLowStockProducts() {
+        return productRepository.countActiveLowStock();
+    }
+
+    /** Active product count per category, ordered by category; dashboard aggregate, coalesced. */
+    @SingleFlight(invalidatedBy = "PRODUCT")
+    @Transactional(readOnly = true)
+    public Map<String, Long> countProductsByCategory() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Object[] row : productRepository.countActiveByCategory()) {
+            counts.put(row[0] == null ? "" : (String) row[0], (Long) row[1]);
+        }
+        return Collections.unmodifiableMap(counts);
+    }
+
     private boolean isDefaultProductSort(Pageable pageable) {
         if (pageable == null || pageable.getSort().isUnsorted()) return true; // treat unsorted as default
         // If single sort by productId ascending treat as default
@@ -157,6 +184,7 @@ public class ProductService {
 
 
 
+    @Transactional(readOnly = true)
     public Page<ProductDto> getProductByCategory(String category, Pageable pageable){
         if (isDefaultProductSort(pageable)) {
             Page<Product> page = productRepository.findByProductCategoryOrdered(category, PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
@@ -166,6 +194,7 @@ public class ProductService {
         return page.map(productMapper::toDto);
     }
 
+    @Transactional(readOnly = true)
     public Page<ProductDto> searchProductsByName(String productName, Pageable pageable) {
         if (isDefaultProductSort(pageable)) {
             Page<Product> page = productRepository.searchByNameOrdered(productName, PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
@@ -0,0 +1,74 @@
+package com.sarthak.BizNex.service;
+
+import com.sarthak.BizNex.dto.request.ReportRequest;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * In-memory state of a single report execution. Mutated only by the worker running it;
+ * fields are volatile so status polls from request threads see progress without locking.
+ */
+@Getter
+public class ReportJob {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final String id;
+    private final String coalescingKey;
+    private final ReportRequest.ReportType reportType;
+    private final LocalDate from;
+    private final LocalDate to;
+    private final String customerContact;
+    private final String submittedBy;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime completedAt;
+    private volatile long rowCount;
+    private volatile long sizeBytes;
+    private volatile Path resultFile;
+    private volatile String error;
+
+    ReportJob(String id, String coalescingKey, ReportRequest.ReportType reportType, LocalDate from, LocalDate to,
+              String customerContact, String submittedBy) {
+        this.id = id;
+        this.coalescingKey = coalescingKey;
+        this.reportType = reportType;
+        this.from = from;
+        this.to = to;
+        this.customerContact = customerContact;
+        this.submittedBy = submittedBy;
+    }
+
+    public boolean isDone() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    void markRunning() {
+        this.startedAt = LocalDateTime.now();
+        this.status = Status.RUNNING;
+    }
+
+    void markCompleted(Path resultFile, long rowCount, long sizeBytes) {
+        this.resultFile = resultFile;
+        this.rowCount = rowCount;
+        this.sizeBytes = sizeBytes;
+        this.completedAt = LocalDateTime.now();
+        this.status = Status.COMPLETED;
+    }
+
+    void markFailed(String error) {
+        this.error = error;
+        this.completedAt = LocalDateTime.now();
+        this.status = Status.FAILED;
+    }
+}
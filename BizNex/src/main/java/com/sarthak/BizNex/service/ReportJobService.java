@@ -0,0 +1,416 @@
+package com.sarthak.BizNex.service;
+
+import com.sarthak.BizNex.archive.ArchivedBill;
+import com.sarthak.BizNex.archive.BillArchive;
+import com.sarthak.BizNex.dto.request.ReportRequest;
+import com.sarthak.BizNex.dto.response.BillResponseDto;
+import com.sarthak.BizNex.dto.response.ReportJobResponseDto;
+import com.sarthak.BizNex.exception.EntityNotFoundException;
+import com.sarthak.BizNex.exception.ReportQueueFullException;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Runs heavy reports (sales summary, customer statement, inventory valuation) off the request threads.
+ * Jobs execute on a bounded worker pool against a dedicated read-only connection pool, so a long report
+ * never holds a connection checkout needs. Results are streamed row-by-row into gzip-compressed CSV files
+ * under {@code app.reports.dir}. Identical in-flight requests (same type and parameters) coalesce into one job.
+ */
+@Service
+public class ReportJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportJobService.class);
+    private static final int FETCH_SIZE = 500;
+
+    private final Map<String, ReportJob> jobsById = new ConcurrentHashMap<>();
+    private final Map<String, ReportJob> inFlightByKey = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor executor;
+    private final HikariDataSource reportDataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final Path reportDir;
+    private final long retentionMinutes;
+    private final BillArchive billArchive;
+
+    public ReportJobService(DataSourceProperties dataSourceProperties, BillArchive billArchive,
+                            @Value("${app.reports.dir:${java.io.tmpdir}/biznex-reports}") String reportDir,
+                            @Value("${app.reports.worker-threads:2}") int workerThreads,
+                            @Value("${app.reports.queue-capacity:20}") int queueCapacity,
+                            @Value("${app.reports.retention-minutes:1440}") long retentionMinutes,
+                            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                            @Value("${app.datasource.read.url:}") String readUrl,
+                            @Value("${app.datasource.read.username:}") String readUsername,
+                            @Value("${app.datasource.read.password:}") String readPassword) {
+        this.reportDir = Paths.get(reportDir);
+        this.retentionMinutes = retentionMinutes;
+        this.billArchive = billArchive;
+        try {
+            Files.createDirectories(this.reportDir);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot create report directory " + this.reportDir, e);
+        }
+
+        // Separate pool sized to the worker count: reports can never starve the primary pool.
+        // autoCommit=false lets the Postgres driver honour fetchSize (cursor based) instead of buffering results.
+        this.reportDataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        if (!readUrl.isEmpty()) {
+            // Exports are read-only: run them against the read database (replica) when one is configured
+            this.reportDataSource.setJdbcUrl(readUrl);
+            if (!readUsername.isEmpty()) {
+                this.reportDataSource.setUsername(readUsername);
+                this.reportDataSource.setPassword(readPassword);
+            }
+        }
+        this.reportDataSource.setPoolName("report-pool");
+        this.reportDataSource.setMaximumPoolSize(workerThreads);
+        this.reportDataSource.setMinimumIdle(0);
+        this.reportDataSource.setReadOnly(true);
+        this.reportDataSource.setAutoCommit(false);
+        this.jdbcTemplate = new JdbcTemplate(reportDataSource);
+        this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+
+        // Workers are mostly blocked on the cursor; in virtual-thread mode they run as virtual threads.
+        // The pool still bounds how many reports run at once.
+        AtomicInteger threadSeq = new AtomicInteger();
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("report-worker-", 1).factory()
+                : r -> {
+                    Thread t = new Thread(r, "report-worker-" + threadSeq.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                };
+        this.executor = new ThreadPoolExecutor(workerThreads, workerThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /** Submit a report, or join an identical one already queued/running. */
+    public ReportJobResponseDto submit(ReportRequest request, String submittedBy) {
+        purgeExpiredJobs();
+        LocalDate to = request.getTo() != null ? request.getTo() : LocalDate.now();
+        LocalDate from = request.getFrom() != null ? request.getFrom() : to.withDayOfYear(1);
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Report 'from' date must not be after 'to' date");
+        }
+        String contact = request.getCustomerContact() == null ? null : request.getCustomerContact().trim();
+        if (request.getReportType() == ReportRequest.ReportType.CUSTOMER_STATEMENT && (contact == null || contact.isEmpty())) {
+            throw new IllegalArgumentException("customerContact is required for CUSTOMER_STATEMENT reports");
+        }
+        if (request.getReportType() != ReportRequest.ReportType.CUSTOMER_STATEMENT) {
+            contact = null; // not part of the identity of other report types
+        }
+        if (request.getReportType() == ReportRequest.ReportType.INVENTORY_VALUATION) {
+            from = null; // point-in-time report; dates don't change the output
+            to = null;
+        }
+
+        String key = request.getReportType() + "|" + from + "|" + to + "|" + contact;
+        ReportJob candidate = new ReportJob(UUID.randomUUID().toString(), key, request.getReportType(), from, to, contact, submittedBy);
+        ReportJob job = inFlightByKey.compute(key, (k, existing) -> {
+            if (existing != null && !existing.isDone()) {
+                return existing;
+            }
+            // Queue before publishing, so a rejected job is never seen (and joined) by another caller
+            jobsById.put(candidate.getId(), candidate);
+            try {
+                executor.execute(() -> run(candidate));
+            } catch (RejectedExecutionException e) {
+                jobsById.remove(candidate.getId());
+                throw new ReportQueueFullException("Report queue is full, please retry later");
+            }
+            return candidate;
+        });
+        if (job != candidate) {
+            log.info("Report request coalesced into job={} type={} by user='{}'", job.getId(), job.getReportType(), submittedBy);
+            return toDto(job);
+        }
+        log.info("Report job={} type={} queued by user='{}'", job.getId(), job.getReportType(), submittedBy);
+        return toDto(job);
+    }
+
+    /** Current status of a job or throw EntityNotFoundException. */
+    public ReportJobResponseDto getStatus(String jobId) {
+        return toDto(findJob(jobId));
+    }
+
+    /** Path of the finished result file; IllegalStateException (409) while the job is not complete. */
+    public Path getResultFile(String jobId) {
+        ReportJob job = findJob(jobId);
+        if (job.getStatus() != ReportJob.Status.COMPLETED) {
+            throw new IllegalStateException("Report is not ready (status=" + job.getStatus() + ")");
+        }
+        return job.getResultFile();
+    }
+
+    public String getDownloadFileName(String jobId) {
+        ReportJob job = findJob(jobId);
+        return job.getReportType().name().toLowerCase() + "-" + job.getId() + ".csv.gz";
+    }
+
+    private ReportJob findJob(String jobId) {
+        ReportJob job = jobsById.get(jobId);
+        if (job == null) {
+            throw new EntityNotFoundException("Report job not found");
+        }
+        return job;
+    }
+
+    private void run(ReportJob job) {
+        job.markRunning();
+        Path part = reportDir.resolve(job.getId() + ".csv.gz.part");
+        Path target = reportDir.resolve(job.getId() + ".csv.gz");
+        try {
+            long rows;
+            try (Writer out = new BufferedWriter(new OutputStreamWriter(
+                    new GZIPOutputStream(Files.newOutputStream(part), 64 * 1024), StandardCharsets.UTF_8))) {
+                rows = switch (job.getReportType()) {
+                    case SALES_SUMMARY -> writeSalesSummary(job, out);
+                    case CUSTOMER_STATEMENT -> writeCustomerStatement(job, out);
+                    case INVENTORY_VALUATION -> writeInventoryValuation(out);
+                };
+            }
+            Files.move(part, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            job.markCompleted(target, rows, Files.size(target));
+            log.info("Report job={} completed rows={} bytes={}", job.getId(), rows, job.getSizeBytes());
+        } catch (Exception e) {
+            job.markFailed(e.getMessage());
+            log.warn("Report job={} failed: {}", job.getId(), e.getMessage());
+            try {
+                Files.deleteIfExists(part);
+            } catch (IOException ignored) {
+                // best effort cleanup
+            }
+        } finally {
+            inFlightByKey.remove(job.getCoalescingKey(), job);
+        }
+    }
+
+    private long writeSalesSummary(ReportJob job, Writer out) throws IOException {
+        out.write("bill_day,bill_type,payment_method,bill_count,total_amount,total_discount\n");
+        String sql = "SELECT CAST(b.bill_date AS DATE) AS bill_day, b.bill_type, b.payment_method, COUNT(*) AS bill_count, " +
+                "SUM(b.bill_total_amount) AS total_amount, SUM(b.bill_total_discount) AS total_discount " +
+                "FROM bills b WHERE b.bill_date >= ? AND b.bill_date < ? " +
+                "GROUP BY CAST(b.bill_date AS DATE), b.bill_type, b.payment_method " +
+                "ORDER BY bill_day, b.bill_type, b.payment_method";
+        Timestamp from = startOf(job.getFrom());
+        Timestamp to = startOf(job.getTo().plusDays(1));
+        CsvRowWriter rows = new CsvRowWriter(out, 6);
+        if (!billArchive.covers(from.toLocalDateTime(), to.toLocalDateTime())) {
+            jdbcTemplate.query(sql, rows, from, to);
+            return rows.count;
+        }
+        // Archived months are aggregated here and merged with the database groups; a summary is a few rows per day
+        Map<List<String>, double[]> groups = new TreeMap<>(Comparator.comparing((List<String> k) -> k.get(0))
+                .thenComparing(k -> k.get(1)).thenComparing(k -> k.get(2)));
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> addToGroup(groups,
+                List.of(rs.getObject(1).toString(), rs.getString(2), rs.getString(3)),
+                rs.getLong(4), rs.getDouble(5), rs.getDouble(6)), from, to);
+        billArchive.forEachBetween(from.toLocalDateTime(), to.toLocalDateTime(), archived -> addToGroup(groups,
+                List.of(archived.billDate().toLocalDate().toString(), archived.bill().getBillType().name(),
+                        archived.bill().getPaymentMethod().name()),
+                1, archived.bill().getTotalAmount(), archived.bill().getTotalDiscount()));
+        for (Map.Entry<List<String>, double[]> group : groups.entrySet()) {
+            List<String> key = group.getKey();
+            double[] sums = group.getValue();
+            rows.write(key.get(0), key.get(1), key.get(2), (long) sums[0], sums[1], sums[2]);
+        }
+        return rows.count;
+    }
+
+    private static void addToGroup(Map<List<String>, double[]> groups, List<String> key, long count, double amount, double discount) {
+        double[] sums = groups.computeIfAbsent(key, k -> new double[3]);
+        sums[0] += count;
+        sums[1] += amount;
+        sums[2] += discount;
+    }
+
+    private long writeCustomerStatement(ReportJob job, Writer out) throws IOException {
+        out.write("bill_number,bill_date,bill_type,bill_status,payment_method,total_amount,total_discount,original_bill_number\n");
+        Timestamp from = startOf(job.getFrom());
+        Timestamp to = startOf(job.getTo().plusDays(1));
+        // Archived bills of the customer in range (a short, cold list), merged into the date-ordered rows below
+        Deque<ArchivedBill> archived = new ArrayDeque<>();
+        Long customerId = jdbcTemplate.query("SELECT customer_id FROM customers WHERE customer_contact = ?",
+                rs -> rs.next() ? rs.getLong(1) : null, job.getCustomerContact());
+        if (customerId != null) {
+            billArchive.findByCustomer(customerId).stream()
+                    .filter(b -> !b.billDate().isBefore(from.toLocalDateTime()) && b.billDate().isBefore(to.toLocalDateTime()))
+                    .forEach(archived::add);
+        }
+        CsvRowWriter rows = new CsvRowWriter(out, 8) {
+            @Override
+            public void processRow(ResultSet rs) throws SQLException {
+                LocalDateTime billDate = rs.getTimestamp(2).toLocalDateTime();
+                long billId = rs.getLong(9);
+                while (!archived.isEmpty() && (archived.peek().billDate().isBefore(billDate)
+                        || archived.peek().billDate().equals(billDate) && archived.peek().billId() < billId)) {
+                    writeArchived(this, archived.poll());
+                }
+                super.processRow(rs);
+            }
+        };
+        jdbcTemplate.query(
+                "SELECT b.bill_number, b.bill_date, b.bill_type, b.bill_status, b.payment_method, " +
+                        "b.bill_total_amount, b.bill_total_discount, b.original_bill_number, b.bill_id " +
+                        "FROM bills b " +
+                        "WHERE b.customer_id = (SELECT c.customer_id FROM customers c WHERE c.customer_contact = ?) " +
+                        "AND b.bill_date >= ? AND b.bill_date < ? " +
+                        "ORDER BY b.bill_date, b.bill_id",
+                rows, job.getCustomerContact(), from, to);
+        while (!archived.isEmpty()) {
+            writeArchived(rows, archived.poll());
+        }
+        return rows.count;
+    }
+
+    private static void writeArchived(CsvRowWriter rows, ArchivedBill archived) {
+        BillResponseDto bill = archived.bill();
+        rows.write(bill.getBillNumber(), Timestamp.valueOf(archived.billDate()), bill.getBillType(), bill.getBillStatus(),
+                bill.getPaymentMethod(), bill.getTotalAmount(), bill.getTotalDiscount(), bill.getOriginalBillNumber());
+    }
+
+    private long writeInventoryValuation(Writer out) throws IOException {
+        out.write("product_code,product_name,product_category,quantity,price_per_item,stock_value\n");
+        double[] totalValue = {0};
+        CsvRowWriter rows = new CsvRowWriter(out, 6) {
+            @Override
+            public void processRow(ResultSet rs) throws SQLException {
+                totalValue[0] += rs.getDouble(6);
+                super.processRow(rs);
+            }
+        };
+        jdbcTemplate.query(
+                "SELECT product_code, product_name, product_category, product_quantity, price_per_item, " +
+                        "product_quantity * price_per_item AS stock_value " +
+                        "FROM products WHERE product_active = TRUE ORDER BY product_category, product_name",
+                rows);
+        out.write("TOTAL,,,,," + totalValue[0] + "\n");
+        return rows.count;
+    }
+
+    private static Timestamp startOf(LocalDate date) {
+        return Timestamp.valueOf(date.atStartOfDay());
+    }
+
+    /** Drop finished jobs (and their files) once they are older than the retention window. */
+    private void purgeExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(retentionMinutes);
+        List<ReportJob> expired = jobsById.values().stream()
+                .filter(ReportJob::isDone)
+                .filter(j -> j.getCompletedAt() != null && j.getCompletedAt().isBefore(cutoff))
+                .sorted(Comparator.comparing(ReportJob::getCompletedAt))
+                .toList();
+        for (ReportJob job : expired) {
+            jobsById.remove(job.getId());
+            if (job.getResultFile() != null) {
+                try {
+                    Files.deleteIfExists(job.getResultFile());
+                } catch (IOException e) {
+                    log.warn("Could not delete expired report file {}: {}", job.getResultFile(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    private ReportJobResponseDto toDto(ReportJob job) {
+        return ReportJobResponseDto.builder()
+                .jobId(job.getId())
+                .reportType(job.getReportType())
+                .from(job.getFrom())
+                .to(job.getTo())
+                .customerContact(job.getCustomerContact())
+                .status(job.getStatus().name())
+                .submittedBy(job.getSubmittedBy())
+                .submittedAt(job.getSubmittedAt())
+                .startedAt(job.getStartedAt())
+                .completedAt(job.getCompletedAt())
+                .rowCount(job.getStatus() == ReportJob.Status.COMPLETED ? job.getRowCount() : null)
+                .sizeBytes(job.getStatus() == ReportJob.Status.COMPLETED ? job.getSizeBytes() : null)
+                .downloadUrl(job.getStatus() == ReportJob.Status.COMPLETED ? "/api/v1/reports/" + job.getId() + "/download" : null)
+                .error(job.getError())
+                .build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+        reportDataSource.close();
+    }
+
+    /** Writes each result row as one CSV line straight to the compressed stream (no row buffering). */
+    private static class CsvRowWriter implements RowCallbackHandler {
+        private final Writer out;
+        private final int columns;
+        long count;
+
+        CsvRowWriter(Writer out, int columns) {
+            this.out = out;
+            this.columns = columns;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            Object[] values = new Object[columns];
+            for (int i = 1; i <= columns; i++) {
+                values[i - 1] = rs.getObject(i);
+            }
+            write(values);
+        }
+
+        void write(Object... values) {
+            try {
+                for (int i = 0; i < values.length; i++) {
+                    if (i > 0) out.write(',');
+                    if (values[i] != null) out.write(escape(values[i].toString()));
+                }
+                out.write('\n');
+                count++;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private static String escape(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+}
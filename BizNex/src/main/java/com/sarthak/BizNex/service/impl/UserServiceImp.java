@@ -9,6 +9,7 @@ import com.sarthak.BizNex.exception.DuplicateEntityException;
 import com.sarthak.BizNex.exception.EntityNotFoundException;
 import com.sarthak.BizNex.exception.WeakPasswordException;
 import com.sarthak.BizNex.repository.UserRepository;
+import com.sarthak.BizNex.security.UserStateCache;
 import com.sarthak.BizNex.service.UserService;
 import jakarta.validation.constraints.NotBlank;
 import org.slf4j.Logger;
@@ -26,10 +27,12 @@ public class UserServiceImp implements UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserStateCache userStateCache;
 
-    public UserServiceImp(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserServiceImp(UserRepository userRepository, PasswordEncoder passwordEncoder, UserStateCache userStateCache) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.userStateCache = userStateCache;
     }
 
     @Override
@@ -48,7 +51,9 @@ public class UserServiceImp implements UserService {
         user.setUserSalary(request.getUserSalary());
         user.setMustChangePassword(false); // normal registrations do not require forced change
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userStateCache.invalidate(username); // drop a cached "unknown user" entry
+        return saved;
 
     }
 
@@ -84,7 +89,9 @@ public class UserServiceImp implements UserService {
         if (user.isMustChangePassword()) {
             user.setMustChangePassword(false);
         }
+        user.bumpSecurityVersion(); // tokens issued with the old password stop working
         userRepository.save(user);
+        userStateCache.invalidate(user.getUsername());
 
         log.info("Password updated for user='{}'", user.getUsername());
         return new AdminPasswordUpdateResponse(user.getUsername(),"Password updated successfully");
@@ -105,6 +112,7 @@ public class UserServiceImp implements UserService {
             throw new IllegalStateException("Cannot delete the last remaining admin user");
         }
         userRepository.delete(user);
+        userStateCache.invalidate(normalized);
         log.info("User deleted user='{}' role='{}'", normalized, user.getUserRole());
     }
 
@@ -118,7 +126,9 @@ public class UserServiceImp implements UserService {
         validatePassword(newPassword);
         user.setUserPassword(passwordEncoder.encode(newPassword));
         user.setMustChangePassword(false);
+        user.bumpSecurityVersion();
         userRepository.save(user);
+        userStateCache.invalidate(user.getUsername());
         log.info("First-login password changed for user='{}'", user.getUsername());
         return true;
     }
@@ -0,0 +1,21 @@
+package com.sarthak.BizNex.snapshot;
+
+import java.nio.ByteBuffer;
+
+/** Serialised BillResponseDto JSON plus its strong ETag (a content hash, so it is stable across restarts). */
+public record BillSnapshot(String etag, ByteBuffer body) {
+
+    public BillSnapshot {
+        body = body.asReadOnlyBuffer();
+    }
+
+    /** An independent read-only view positioned at the start of the JSON. */
+    @Override
+    public ByteBuffer body() {
+        return body.duplicate();
+    }
+
+    public int length() {
+        return body.remaining();
+    }
+}
@@ -0,0 +1,51 @@
+package com.sarthak.BizNex.snapshot;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+/** Writes a {@link BillSnapshot}'s pre-serialised JSON as is, without going through Jackson. Write-only. */
+@Component
+public class BillSnapshotHttpMessageConverter extends AbstractHttpMessageConverter<BillSnapshot> {
+
+    public BillSnapshotHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return BillSnapshot.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected BillSnapshot readInternal(Class<? extends BillSnapshot> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Bill snapshots are write-only", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(BillSnapshot snapshot, MediaType contentType) {
+        return (long) snapshot.length();
+    }
+
+    @Override
+    protected void writeInternal(BillSnapshot snapshot, HttpOutputMessage outputMessage) throws IOException {
+        ByteBuffer body = snapshot.body();
+        WritableByteChannel channel = Channels.newChannel(outputMessage.getBody());
+        while (body.hasRemaining()) {
+            channel.write(body);
+        }
+    }
+}
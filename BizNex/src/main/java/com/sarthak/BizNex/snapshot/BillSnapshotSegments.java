@@ -0,0 +1,252 @@
+package com.sarthak.BizNex.snapshot;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Disk tier of the bill snapshot store: pre-sized, memory-mapped, append-only segments (same scheme as the bill
+ * journal). Record layout:
+ * {@code [int bodyLength][int crc32][int version][short keyLength][short etagLength][key][etag][body]}; a zero length
+ * ends the written data and a length of -1 is a tombstone. Records stamped with another version (written by a build
+ * whose responses may be shaped differently) are skipped on recovery. Reads return a read-only slice of the
+ * mapping, so a hit is served from the page cache without copying into the heap. Nothing is forced to disk: this is
+ * a cache, and the checksum drops records torn by a crash. The oldest segment is deleted once the tier exceeds its
+ * byte budget; an in-memory index maps each key to its latest record.
+ */
+class BillSnapshotSegments implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(BillSnapshotSegments.class);
+
+    static final int HEADER_BYTES = 4 + 4 + 4 + 2 + 2;
+    private static final int TOMBSTONE = -1;
+    private static final String SEGMENT_PREFIX = "snapshots-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private record Location(Segment segment, int bodyOffset, int bodyLength, String etag) {
+    }
+
+    private final Path dir;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final int version;
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+    private final Map<String, Location> index = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+    private Segment active; // guarded by writeLock
+
+    BillSnapshotSegments(Path dir, int segmentSize, long maxBytes, int version) throws IOException {
+        this.dir = dir;
+        this.segmentSize = segmentSize;
+        this.maxSegments = (int) Math.max(2, maxBytes / segmentSize);
+        this.version = version;
+        Files.createDirectories(dir);
+        recover();
+    }
+
+    BillSnapshot get(String key) {
+        Location loc = index.get(key);
+        if (loc == null) {
+            return null;
+        }
+        return new BillSnapshot(loc.etag(), loc.segment().buffer.slice(loc.bodyOffset(), loc.bodyLength()));
+    }
+
+    void put(String key, BillSnapshot snapshot) throws IOException {
+        ByteBuffer body = snapshot.body();
+        write(key, snapshot.etag(), body, body.remaining());
+    }
+
+    /** Record that a key is gone, so a restart does not resurrect the old snapshot. */
+    void remove(String key) throws IOException {
+        if (index.remove(key) != null) {
+            write(key, "", null, TOMBSTONE);
+        }
+    }
+
+    /** Drop every snapshot: all segments are deleted and writing starts over in a fresh one. */
+    void clear() throws IOException {
+        synchronized (writeLock) {
+            index.clear();
+            Segment next = openSegment(active.number + 1, true);
+            for (Segment segment : segments) {
+                Files.deleteIfExists(segment.path); // existing slices stay valid: the mapping outlives the file
+            }
+            segments.clear();
+            active = next;
+            segments.add(active);
+        }
+    }
+
+    int segmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public void close() {
+        synchronized (writeLock) {
+            if (active != null) {
+                active.buffer.force();
+            }
+        }
+    }
+
+    /** Append a record and point the index at it (tombstones only append). Records larger than a segment are skipped. */
+    private void write(String key, String etag, ByteBuffer body, int bodyLength) throws IOException {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        byte[] etagBytes = etag.getBytes(StandardCharsets.UTF_8);
+        int size = HEADER_BYTES + keyBytes.length + etagBytes.length + Math.max(0, bodyLength);
+        if (size + 4 > segmentSize) {
+            return; // such a bill is simply not kept on disk
+        }
+        synchronized (writeLock) {
+            if (active.writePos + size + 4 > segmentSize) {
+                roll();
+            }
+            MappedByteBuffer buf = active.buffer;
+            int pos = active.writePos;
+            int bodyOffset = pos + HEADER_BYTES + keyBytes.length + etagBytes.length;
+            buf.putInt(pos + 8, version);
+            buf.putShort(pos + 12, (short) keyBytes.length);
+            buf.putShort(pos + 14, (short) etagBytes.length);
+            buf.put(pos + HEADER_BYTES, keyBytes);
+            buf.put(pos + HEADER_BYTES + keyBytes.length, etagBytes);
+            if (body != null) {
+                buf.put(bodyOffset, body, body.position(), bodyLength);
+            }
+            buf.putInt(pos + 4, checksum(buf, pos + 8, size - 8));
+            buf.putInt(pos, bodyLength); // written last: a torn record reads as the end of data
+            active.writePos = pos + size;
+            if (body != null) {
+                index.put(key, new Location(active, bodyOffset, bodyLength, etag));
+            }
+        }
+    }
+
+    private void roll() throws IOException {
+        active = openSegment(active.number + 1, true);
+        segments.add(active);
+        while (segments.size() > maxSegments) {
+            Segment oldest = segments.remove(0);
+            index.values().removeIf(loc -> loc.segment() == oldest);
+            Files.deleteIfExists(oldest.path); // existing slices stay valid: the mapping outlives the file
+            log.debug("Evicted bill snapshot segment {}", oldest.path.getFileName());
+        }
+    }
+
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> s = Files.list(dir)) {
+            files = s.filter(p -> p.getFileName().toString().startsWith(SEGMENT_PREFIX)
+                            && p.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted(Comparator.comparingLong(BillSnapshotSegments::numberOf))
+                    .toList();
+        }
+        for (Path file : files) {
+            Segment seg;
+            try {
+                seg = openSegment(numberOf(file), false);
+            } catch (IOException | IllegalArgumentException e) {
+                log.warn("Dropping unreadable bill snapshot segment {}: {}", file.getFileName(), e.toString());
+                Files.deleteIfExists(file);
+                continue;
+            }
+            int pos = 0;
+            int stale = 0;
+            while (pos + HEADER_BYTES + 4 <= segmentSize) {
+                int bodyLength = seg.buffer.getInt(pos);
+                if (bodyLength == 0) {
+                    break;
+                }
+                int keyLength = seg.buffer.getShort(pos + 12);
+                int etagLength = seg.buffer.getShort(pos + 14);
+                int size = HEADER_BYTES + keyLength + etagLength + Math.max(0, bodyLength);
+                if (bodyLength < TOMBSTONE || keyLength <= 0 || etagLength < 0 || pos + size > segmentSize
+                        || seg.buffer.getInt(pos + 4) != checksum(seg.buffer, pos + 8, size - 8)) {
+                    log.warn("Torn bill snapshot record in {} at offset {}; ignoring the rest of the segment", file.getFileName(), pos);
+                    pos = segmentSize; // sealed: never append after a bad record
+                    break;
+                }
+                byte[] keyBytes = new byte[keyLength];
+                seg.buffer.get(pos + HEADER_BYTES, keyBytes);
+                String key = new String(keyBytes, StandardCharsets.UTF_8);
+                if (bodyLength == TOMBSTONE) {
+                    index.remove(key);
+                } else if (seg.buffer.getInt(pos + 8) != version) {
+                    index.remove(key); // an older snapshot of the key must not resurface either
+                    stale++;
+                } else {
+                    byte[] etagBytes = new byte[etagLength];
+                    seg.buffer.get(pos + HEADER_BYTES + keyLength, etagBytes);
+                    index.put(key, new Location(seg, pos + HEADER_BYTES + keyLength + etagLength, bodyLength,
+                            new String(etagBytes, StandardCharsets.UTF_8)));
+                }
+                pos += size;
+            }
+            if (stale > 0) {
+                log.info("Skipped {} bill snapshot(s) of another format in {}", stale, file.getFileName());
+            }
+            seg.writePos = pos;
+            segments.add(seg);
+        }
+        long next = segments.isEmpty() ? 1 : segments.get(segments.size() - 1).number + 1;
+        active = openSegment(next, true);
+        segments.add(active);
+        if (!index.isEmpty()) {
+            log.info("Bill snapshot store recovered {} snapshot(s) from {} segment(s)", index.size(), segments.size() - 1);
+        }
+    }
+
+    private Segment openSegment(long number, boolean create) throws IOException {
+        Path path = dir.resolve(String.format("%s%010d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+        try (FileChannel ch = FileChannel.open(path, create
+                ? new StandardOpenOption[]{StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE}
+                : new StandardOpenOption[]{StandardOpenOption.READ, StandardOpenOption.WRITE})) {
+            if (!create && ch.size() != segmentSize) {
+                throw new IllegalArgumentException("segment size " + ch.size() + " differs from configured " + segmentSize);
+            }
+            MappedByteBuffer buffer = ch.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize); // mapping outlives the channel
+            return new Segment(path, number, buffer);
+        }
+    }
+
+    private static long numberOf(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static int checksum(ByteBuffer buf, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buf.slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+    private static final class Segment {
+        final Path path;
+        final long number;
+        final MappedByteBuffer buffer;
+        volatile int writePos;
+
+        Segment(Path path, long number, MappedByteBuffer buffer) {
+            this.path = path;
+            this.number = number;
+            this.buffer = buffer;
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.sarthak.BizNex.snapshot;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sarthak.BizNex.BizAppApplication;
+import com.sarthak.BizNex.dto.response.BillResponseDto;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Serialised bill responses. A bill's lines never change after creation; only a return (status/type of the original)
+ * or a delete does, and both invalidate the entry once their transaction commits (via ChangeLogListener). Hot bills
+ * live in direct (off-heap) buffers under an LRU byte budget; every snapshot is also written to a memory-mapped
+ * disk tier that survives restarts and is served straight from the mapping. A load that overlapped an invalidation
+ * of the same key is returned but not stored, in memory or on disk. Disk records are stamped with the response
+ * format and build, so a restart on a different build does not serve snapshots shaped by the old one.
+ */
+@Component
+public class BillSnapshotStore {
+
+    private static final Logger log = LoggerFactory.getLogger(BillSnapshotStore.class);
+    private static final int GENERATION_STRIPES = 1024;
+    private static final int FORMAT_VERSION = 1; // bump when the serialised BillResponseDto changes shape
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final LinkedHashMap<String, BillSnapshot> memory = new LinkedHashMap<>(256, 0.75f, true);
+    private final long[] generations = new long[GENERATION_STRIPES]; // guarded by this
+    private long memoryBytes; // guarded by this
+    private BillSnapshotSegments disk;
+
+    @Value("${app.bills.snapshots.enabled:true}")
+    private boolean enabled;
+    @Value("${app.bills.snapshots.memory-bytes:67108864}")
+    private long maxMemoryBytes;
+    @Value("${app.bills.snapshots.dir:${java.io.tmpdir}/biznex-bill-snapshots}")
+    private String dir;
+    @Value("${app.bills.snapshots.segment-bytes:16777216}")
+    private int segmentBytes;
+    @Value("${app.bills.snapshots.disk-bytes:268435456}")
+    private long maxDiskBytes;
+
+    public BillSnapshotStore(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void open() {
+        Gauge.builder("biznex.bills.snapshots.memory.bytes", this, BillSnapshotStore::memoryBytes).register(meterRegistry);
+        if (!enabled || maxDiskBytes <= 0) {
+            return;
+        }
+        try {
+            disk = new BillSnapshotSegments(Path.of(dir), segmentBytes, maxDiskBytes,
+                    (FORMAT_VERSION + "/" + BizAppApplication.buildId()).hashCode());
+            Gauge.builder("biznex.bills.snapshots.disk.segments", disk, BillSnapshotSegments::segmentCount).register(meterRegistry);
+        } catch (IOException e) {
+            log.warn("Bill snapshot disk tier unavailable at {} ({}); keeping snapshots in memory only", dir, e.toString());
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        if (disk != null) {
+            disk.close();
+        }
+    }
+
+    /**
+     * Snapshot of a bill, loading (and serialising) it with {@code loader} on a miss. The loader's exceptions,
+     * such as EntityNotFoundException, propagate unchanged.
+     */
+    public BillSnapshot get(String billNumber, Function<String, BillResponseDto> loader) {
+        if (!enabled) {
+            return serialise(loader.apply(billNumber));
+        }
+        String key = key(billNumber);
+        BillSnapshot snapshot;
+        long generation;
+        synchronized (this) {
+            snapshot = memory.get(key);
+            generation = generations[stripe(key)];
+        }
+        if (snapshot != null) {
+            count("memory");
+            return snapshot;
+        }
+        snapshot = disk == null ? null : disk.get(key);
+        if (snapshot != null) {
+            count("disk");
+            return snapshot;
+        }
+        count("miss");
+        BillResponseDto dto = loader.apply(billNumber);
+        snapshot = serialise(dto);
+        store(key(dto.getBillNumber()), snapshot, generation);
+        return snapshot;
+    }
+
+    /** Drop a bill's snapshot once the current transaction commits (immediately when there is none). */
+    public void invalidateAfterCommit(String billNumber) {
+        if (billNumber == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(billNumber);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(billNumber);
+            }
+        });
+    }
+
+    public void invalidate(String billNumber) {
+        String key = key(billNumber);
+        synchronized (this) {
+            generations[stripe(key)]++;
+            BillSnapshot removed = memory.remove(key);
+            if (removed != null) {
+                memoryBytes -= removed.length();
+            }
+        }
+        if (disk != null) {
+            try {
+                disk.remove(key);
+            } catch (IOException e) {
+                log.warn("Could not record bill snapshot removal for {}: {}", key, e.toString());
+            }
+        }
+    }
+
+    /** Drop every snapshot, e.g. after the bills were replaced wholesale by a dataset restore. */
+    public void invalidateAll() {
+        synchronized (this) {
+            for (int i = 0; i < GENERATION_STRIPES; i++) {
+                generations[i]++;
+            }
+            memory.clear();
+            memoryBytes = 0;
+        }
+        if (disk != null) {
+            try {
+                disk.clear();
+            } catch (IOException e) {
+                log.warn("Could not clear the bill snapshot disk tier: {}", e.toString());
+            }
+        }
+    }
+
+    synchronized long memoryBytes() {
+        return memoryBytes;
+    }
+
+    private void store(String key, BillSnapshot snapshot, long loadGeneration) {
+        synchronized (this) {
+            if (generations[stripe(key)] != loadGeneration) {
+                return; // the bill changed while it was being loaded
+            }
+            BillSnapshot previous = memory.put(key, snapshot);
+            memoryBytes += snapshot.length() - (previous == null ? 0 : previous.length());
+            Iterator<Map.Entry<String, BillSnapshot>> eldest = memory.entrySet().iterator();
+            while (memoryBytes > maxMemoryBytes && eldest.hasNext()) {
+                memoryBytes -= eldest.next().getValue().length();
+                eldest.remove(); // still on disk
+            }
+        }
+        if (disk != null) {
+            try {
+                disk.put(key, snapshot);
+                boolean invalidated;
+                synchronized (this) {
+                    invalidated = generations[stripe(key)] != loadGeneration;
+                }
+                if (invalidated) {
+                    disk.remove(key); // an invalidation ran between the check above and the put
+                }
+            } catch (IOException e) {
+                log.warn("Could not write bill snapshot {} to disk: {}", key, e.toString());
+            }
+        }
+    }
+
+    private BillSnapshot serialise(BillResponseDto dto) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(dto);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        ByteBuffer body = ByteBuffer.allocateDirect(json.length).put(json).flip();
+        return new BillSnapshot(etagOf(json), body);
+    }
+
+    private static String etagOf(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return "b-" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 22);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String key(String billNumber) {
+        return billNumber.toUpperCase(Locale.ROOT); // lookups are case-insensitive
+    }
+
+    private static int stripe(String key) {
+        return Math.floorMod(key.hashCode(), GENERATION_STRIPES);
+    }
+
+    private void count(String tier) {
+        meterRegistry.counter("biznex.bills.snapshots.lookups", "tier", tier).increment();
+    }
+}
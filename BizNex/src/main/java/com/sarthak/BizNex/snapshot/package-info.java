@@ -0,0 +1,6 @@
+/**
+ * Serialised bill responses: {@link com.sarthak.BizNex.snapshot.BillSnapshotStore} keeps each looked-up bill's
+ * JSON off-heap (LRU) with a memory-mapped disk tier, and serves it with a content ETag until a return or delete
+ * changes the bill.
+ */
+package com.sarthak.BizNex.snapshot;
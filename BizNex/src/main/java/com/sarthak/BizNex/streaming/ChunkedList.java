@@ -0,0 +1,170 @@
+package com.sarthak.BizNex.streaming;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.AbstractSequentialList;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * Read-only list over a known sequence of keys whose elements are loaded {@code chunkSize} keys at a time, in key
+ * order, only while the list is being iterated. Used as page content: Jackson's generator writes each element to
+ * the response as it is produced, so at most one chunk of entities and DTOs is live per request whatever the page
+ * size. Every iteration loads again (nothing is cached), and sequential access keeps Jackson on the iterator path.
+ * A loader must return one element per key, in order; null stands in for a row that disappeared meanwhile (deleted
+ * or archived after the key page was read). Such rows are left out of the serialised array, which is therefore
+ * written without a length up front (an indefinite-length array in binary formats), and reported by
+ * {@link #missing()} so the response can say which rows it lost.
+ * <p>
+ * Each chunk is its own read, so a page is not one snapshot: a row changed between chunks is written as of its
+ * chunk, and a row removed before its chunk is read comes back null and is reported rather than dropped silently.
+ */
+@JsonSerialize(using = ChunkedList.Serializer.class)
+public class ChunkedList<K, T> extends AbstractSequentialList<T> {
+
+    private final List<K> keys;
+    private final int chunkSize;
+    private final Function<List<K>, List<T>> loader;
+    private final Function<K, ?> reportedKey;
+    private LinkedHashSet<Object> missing = new LinkedHashSet<>();
+
+    public ChunkedList(List<K> keys, int chunkSize, Function<List<K>, List<T>> loader) {
+        this(keys, chunkSize, loader, Function.identity());
+    }
+
+    /** As above, reporting a vanished row in {@link #missing()} as {@code reportedKey} of its key (e.g. its id). */
+    public ChunkedList(List<K> keys, int chunkSize, Function<List<K>, List<T>> loader, Function<K, ?> reportedKey) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        this.keys = List.copyOf(keys);
+        this.chunkSize = chunkSize;
+        this.loader = loader;
+        this.reportedKey = reportedKey;
+    }
+
+    /** Keys (as reported) of the rows the latest iteration found missing, in key order. */
+    public List<Object> missing() {
+        return new ArrayList<>(missing);
+    }
+
+    @Override
+    public int size() {
+        return keys.size();
+    }
+
+    @Override
+    public ListIterator<T> listIterator(int index) {
+        if (index < 0 || index > keys.size()) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        missing = new LinkedHashSet<>();
+        return new ChunkIterator(index);
+    }
+
+    private final class ChunkIterator implements ListIterator<T> {
+        private int next;
+        private int chunkStart = -1;
+        private List<T> chunk = List.of();
+
+        ChunkIterator(int next) {
+            this.next = next;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next < keys.size();
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return elementAt(next++);
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return next > 0;
+        }
+
+        @Override
+        public T previous() {
+            if (!hasPrevious()) {
+                throw new NoSuchElementException();
+            }
+            return elementAt(--next);
+        }
+
+        private T elementAt(int index) {
+            if (chunkStart < 0 || index < chunkStart || index >= chunkStart + chunk.size()) {
+                chunkStart = index - index % chunkSize;
+                List<K> slice = keys.subList(chunkStart, Math.min(chunkStart + chunkSize, keys.size()));
+                chunk = loader.apply(slice);
+                if (chunk.size() != slice.size()) {
+                    throw new IllegalStateException("Loader returned " + chunk.size() + " elements for " + slice.size() + " keys");
+                }
+                for (int i = 0; i < chunk.size(); i++) {
+                    if (chunk.get(i) == null) {
+                        missing.add(reportedKey.apply(slice.get(i)));
+                    }
+                }
+            }
+            return chunk.get(index - chunkStart);
+        }
+
+        @Override
+        public int nextIndex() {
+            return next;
+        }
+
+        @Override
+        public int previousIndex() {
+            return next - 1;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void set(T t) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void add(T t) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /** Writes the loaded elements as they are produced, skipping rows that disappeared (see {@link #missing()}). */
+    static final class Serializer extends StdSerializer<ChunkedList<?, ?>> {
+
+        @SuppressWarnings("unchecked")
+        Serializer() {
+            super((Class<ChunkedList<?, ?>>) (Class<?>) ChunkedList.class);
+        }
+
+        @Override
+        public void serialize(ChunkedList<?, ?> value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartArray(value); // no size: it is an upper bound once rows disappear
+            for (Object element : value) {
+                if (element != null) {
+                    provider.defaultSerializeValue(element, gen);
+                }
+            }
+            gen.writeEndArray();
+        }
+    }
+}
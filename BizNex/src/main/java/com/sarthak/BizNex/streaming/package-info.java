@@ -0,0 +1,5 @@
+/**
+ * Response content produced while it is written: {@link com.sarthak.BizNex.streaming.ChunkedList} loads and maps a
+ * listing a chunk at a time as Jackson's generator iterates it, so large pages never exist in memory all at once.
+ */
+package com.sarthak.BizNex.streaming;
@@ -0,0 +1,140 @@
+package com.sarthak.BizNex.warmstart;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sarthak.BizNex.dto.BillDto;
+import com.sarthak.BizNex.dto.BillItemDto;
+import com.sarthak.BizNex.dto.CustomerDto;
+import com.sarthak.BizNex.dto.ProductDto;
+import com.sarthak.BizNex.entity.Bill;
+import com.sarthak.BizNex.repository.CustomerRepository;
+import com.sarthak.BizNex.repository.ProductRepository;
+import com.sarthak.BizNex.service.BillingService;
+import com.sarthak.BizNex.service.CustomerService;
+import com.sarthak.BizNex.service.ProductService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Runs the hot request paths against real rows before the instance takes traffic, so the JIT, Hibernate's query
+ * plans and the database's buffer cache are warm: product lookup by code and name search, customer lookup by
+ * contact and search, bill search, response serialisation and, if enabled, checkout. Every call is best effort: a
+ * failure is logged and the warm-up moves on.
+ * <p>
+ * Synthetic checkout ({@code app.warmstart.synthetic-checkout}) is off by default because it is not free for the
+ * rest of the deployment. It runs the real createBill in a transaction that is always rolled back, so no stock,
+ * bill or outbox row commits, but until the rollback it holds row locks on real products, stalling live checkouts
+ * of those products on other instances. It also uses up bill, outbox and {@code cache_events} identity values; with
+ * the JDBC invalidation bus each unused event id is a gap that holds back other instances' checkpoints for up to
+ * {@code app.invalidation.gap-timeout-ms}. Turn it on for a single instance, or one on the local bus.
+ */
+@Component
+public class SyntheticWarmUp {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticWarmUp.class);
+    private static final int SAMPLE_SIZE = 20;
+    private static final PageRequest PAGE = PageRequest.of(0, 20);
+
+    private record SampleProduct(Long id, String code, String name, int quantity) {
+    }
+
+    private record SampleCustomer(Long id, String contact, String name) {
+    }
+
+    private final ProductService productService;
+    private final CustomerService customerService;
+    private final BillingService billingService;
+    private final ProductRepository productRepository;
+    private final CustomerRepository customerRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate rolledBack;
+    private final boolean syntheticCheckout;
+
+    public SyntheticWarmUp(ProductService productService, CustomerService customerService, BillingService billingService,
+                           ProductRepository productRepository, CustomerRepository customerRepository,
+                           ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+                           @Value("${app.warmstart.synthetic-checkout:false}") boolean syntheticCheckout) {
+        this.productService = productService;
+        this.customerService = customerService;
+        this.billingService = billingService;
+        this.productRepository = productRepository;
+        this.customerRepository = customerRepository;
+        this.objectMapper = objectMapper;
+        this.rolledBack = new TransactionTemplate(transactionManager);
+        this.syntheticCheckout = syntheticCheckout;
+    }
+
+    /** Runs up to {@code iterations} rounds within the time budget; returns the number of rounds completed. */
+    public int run(int iterations, Duration budget) {
+        List<SampleProduct> products = productRepository.findByProductActiveTrue(PageRequest.of(0, SAMPLE_SIZE)).stream()
+                .limit(SAMPLE_SIZE)
+                .map(p -> new SampleProduct(p.getProductId(), p.getProductCode(), p.getProductName(), p.getProductQuantity()))
+                .toList();
+        List<SampleCustomer> customers = customerRepository.findAll(PageRequest.of(0, SAMPLE_SIZE)).stream()
+                .map(c -> new SampleCustomer(c.getCustomerId(), c.getCustomerContact(), c.getCustomerName()))
+                .toList();
+        if (products.isEmpty() || customers.isEmpty()) {
+            log.info("Warm-up skipped: no products or customers to exercise");
+            return 0;
+        }
+        long deadline = System.nanoTime() + budget.toNanos();
+        int done = 0;
+        while (done < iterations && System.nanoTime() < deadline) {
+            SampleProduct product = products.get(done % products.size());
+            SampleCustomer customer = customers.get(done % customers.size());
+            attempt(() -> productRepository.findByProductCode(product.code()));
+            attempt(() -> serialise(productService.searchProductsByName(prefix(product.name()), PAGE).getContent()));
+            attempt(() -> serialise(customerService.getCustomerByContact(customer.contact())));
+            attempt(() -> serialise(customerService.searchCustomers(prefix(customer.name()), PAGE).getContent()));
+            attempt(() -> serialise(billingService.searchBills(prefix(customer.name()), PAGE)));
+            if (syntheticCheckout && product.quantity() > 0) {
+                attempt(() -> checkout(customer, product));
+            }
+            done++;
+        }
+        return done;
+    }
+
+    private void checkout(SampleCustomer customer, SampleProduct product) {
+        BillDto bill = BillDto.builder()
+                .customer(CustomerDto.builder().customerId(customer.id()).build())
+                .billItems(List.of(BillItemDto.builder()
+                        .billItemProduct(ProductDto.builder().productId(product.id()).build())
+                        .billItemQuantity(1).build()))
+                .billStatus(Bill.BillStatus.COMPLETE)
+                .paymentMethod(Bill.PaymentMethod.CASH)
+                .build();
+        rolledBack.executeWithoutResult(status -> {
+            status.setRollbackOnly();
+            serialise(billingService.createBill(bill));
+        });
+    }
+
+    private void serialise(Object value) {
+        try {
+            objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String prefix(String name) {
+        return name == null ? "" : name.substring(0, Math.min(3, name.length()));
+    }
+
+    private static void attempt(Runnable call) {
+        try {
+            call.run();
+        } catch (RuntimeException e) {
+            log.debug("Warm-up call failed: {}", e.toString());
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.sarthak.BizNex.warmstart;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The warm-start snapshot on disk, gzip-compressed:
+ * <pre>
+ * [int magic][int version][utf buildId][long createdAt]
+ * [long productChangeSeq][long productCount][long maxProductId][long quantitySum]
+ * [int entries] ([utf key][utf contentType][int length][body])*
+ * [int users] ([utf username])*
+ * [long crc32 of everything before it]
+ * </pre>
+ * Written to a temporary file and moved into place, so a crash mid-write leaves the previous snapshot.
+ */
+final class WarmStartFile {
+
+    static final int VERSION = 1;
+
+    private static final int MAGIC = 0x425A5753; // "BZWS"
+
+    /** Product-side counters the cached catalog bodies were read under; any product write changes at least one. */
+    record CatalogFingerprint(long productChangeSeq, long productCount, long maxProductId, long quantitySum) {
+    }
+
+    record CatalogEntry(String key, String contentType, byte[] body) {
+    }
+
+    record Contents(String buildId, long createdAt, CatalogFingerprint catalog, List<CatalogEntry> catalogEntries,
+                    List<String> usernames) {
+    }
+
+    private WarmStartFile() {
+    }
+
+    static void write(Path file, Contents contents) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path tmp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream raw = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                CheckedOutputStream checked = new CheckedOutputStream(raw, new CRC32());
+                DataOutputStream out = new DataOutputStream(checked);
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeUTF(contents.buildId());
+                out.writeLong(contents.createdAt());
+                CatalogFingerprint f = contents.catalog();
+                out.writeLong(f.productChangeSeq());
+                out.writeLong(f.productCount());
+                out.writeLong(f.maxProductId());
+                out.writeLong(f.quantitySum());
+                out.writeInt(contents.catalogEntries().size());
+                for (CatalogEntry entry : contents.catalogEntries()) {
+                    out.writeUTF(entry.key());
+                    out.writeUTF(entry.contentType());
+                    out.writeInt(entry.body().length);
+                    out.write(entry.body());
+                }
+                out.writeInt(contents.usernames().size());
+                for (String username : contents.usernames()) {
+                    out.writeUTF(username);
+                }
+                out.flush();
+                new DataOutputStream(raw).writeLong(checked.getChecksum().getValue());
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /** Reads a snapshot; IOException when it is missing, of another format version or damaged. */
+    static Contents read(Path file) throws IOException {
+        try (InputStream raw = new GZIPInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            CheckedInputStream checked = new CheckedInputStream(raw, new CRC32());
+            DataInputStream in = new DataInputStream(checked);
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a warm-start snapshot");
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported warm-start snapshot version " + version);
+            }
+            String buildId = in.readUTF();
+            long createdAt = in.readLong();
+            CatalogFingerprint fingerprint = new CatalogFingerprint(in.readLong(), in.readLong(), in.readLong(), in.readLong());
+            int entryCount = in.readInt();
+            List<CatalogEntry> entries = new ArrayList<>(Math.min(entryCount, 1024));
+            for (int i = 0; i < entryCount; i++) {
+                String key = in.readUTF();
+                String contentType = in.readUTF();
+                int length = in.readInt();
+                if (length < 0) {
+                    throw new IOException("Corrupt warm-start snapshot entry");
+                }
+                byte[] body = new byte[length];
+                in.readFully(body);
+                entries.add(new CatalogEntry(key, contentType, body));
+            }
+            int userCount = in.readInt();
+            List<String> usernames = new ArrayList<>(Math.min(userCount, 1024));
+            for (int i = 0; i < userCount; i++) {
+                usernames.add(in.readUTF());
+            }
+            long expected = checked.getChecksum().getValue();
+            if (new DataInputStream(raw).readLong() != expected) {
+                throw new IOException("Warm-start snapshot checksum mismatch");
+            }
+            return new Contents(buildId, createdAt, fingerprint, entries, usernames);
+        }
+    }
+}
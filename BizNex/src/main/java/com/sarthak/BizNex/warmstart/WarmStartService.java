@@ -0,0 +1,186 @@
+package com.sarthak.BizNex.warmstart;
+
+import com.sarthak.BizNex.BizAppApplication;
+import com.sarthak.BizNex.catalog.CatalogResponseCache;
+import com.sarthak.BizNex.catalog.CatalogVersion;
+import com.sarthak.BizNex.entity.User;
+import com.sarthak.BizNex.invalidation.CacheInvalidator;
+import com.sarthak.BizNex.repository.UserRepository;
+import com.sarthak.BizNex.security.UserStateCache;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saves the hot caches every {@code app.warmstart.interval-minutes} (and at shutdown) to a local snapshot, and at
+ * startup, before the application reports ready, loads it back and runs the synthetic warm-up.
+ * <p>
+ * Cached catalog bodies are only reloaded when the snapshot comes from the same build and the product counters
+ * (newest product change-log row, product count, highest id and total stock) still match the database; otherwise
+ * they are dropped and the catalog fills on first use as before. The same happens when all caches were dropped after
+ * the snapshot was taken, e.g. because this instance missed invalidations while it was down. User states are not trusted from disk: the
+ * snapshot lists which users were active, and their current state is loaded with one query.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class WarmStartService implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmStartService.class);
+    private static final String FINGERPRINT_SQL = "SELECT (SELECT COALESCE(MAX(seq), 0) FROM change_log WHERE entity_type = 'PRODUCT'), "
+            + "COUNT(*), COALESCE(MAX(product_id), 0), COALESCE(SUM(product_quantity), 0) FROM products";
+    private static final int CAPTURE_ATTEMPTS = 3;
+
+    /** What a restore put back into the caches. */
+    public record Restored(int catalogEntries, int users) {
+    }
+
+    private final CatalogResponseCache catalogResponseCache;
+    private final CatalogVersion catalogVersion;
+    private final UserStateCache userStateCache;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final SyntheticWarmUp syntheticWarmUp;
+    private final CacheInvalidator cacheInvalidator;
+    private final String buildId = BizAppApplication.buildId(); // bodies from another build may differ
+    private ScheduledExecutorService executor;
+
+    @Value("${app.warmstart.enabled:true}")
+    private boolean enabled;
+    @Value("${app.warmstart.file:${java.io.tmpdir}/biznex-warmstart.bin}")
+    private Path file;
+    @Value("${app.warmstart.interval-minutes:5}")
+    private long intervalMinutes;
+    @Value("${app.warmstart.warmup-iterations:300}")
+    private int warmupIterations;
+    @Value("${app.warmstart.warmup-max-seconds:20}")
+    private long warmupMaxSeconds;
+
+    public WarmStartService(CatalogResponseCache catalogResponseCache, CatalogVersion catalogVersion,
+                            UserStateCache userStateCache, UserRepository userRepository, JdbcTemplate jdbcTemplate,
+                            SyntheticWarmUp syntheticWarmUp, CacheInvalidator cacheInvalidator) {
+        this.catalogResponseCache = catalogResponseCache;
+        this.catalogVersion = catalogVersion;
+        this.userStateCache = userStateCache;
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.syntheticWarmUp = syntheticWarmUp;
+        this.cacheInvalidator = cacheInvalidator;
+    }
+
+    /** Runs before ApplicationReadyEvent, i.e. while the readiness state is still REFUSING_TRAFFIC. */
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        Restored restored = restore();
+        int rounds = warmupIterations > 0 ? syntheticWarmUp.run(warmupIterations, Duration.ofSeconds(warmupMaxSeconds)) : 0;
+        log.info("Warm start: {} catalog responses and {} user states restored, {} warm-up rounds, {} ms",
+                restored.catalogEntries(), restored.users(), rounds, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "warmstart-capture");
+            t.setDaemon(true);
+            return t;
+        });
+        executor.scheduleWithFixedDelay(this::captureSafely, intervalMinutes, intervalMinutes, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            captureSafely(); // the freshest state for the next start
+        }
+    }
+
+    /**
+     * Writes the current caches to the snapshot file. The version is bumped only after a product write commits, so
+     * the fingerprint is taken between two reads of the version and the bodies are kept only if neither the version
+     * nor the fingerprint moved while they were read; otherwise the capture retries, and after a few busy attempts
+     * the catalog is left out.
+     */
+    public void capture() throws IOException {
+        WarmStartFile.CatalogFingerprint fingerprint = null;
+        List<WarmStartFile.CatalogEntry> entries = new ArrayList<>();
+        for (int attempt = 0; attempt < CAPTURE_ATTEMPTS; attempt++) {
+            long version = catalogVersion.current();
+            fingerprint = fingerprint();
+            Map<String, CatalogResponseCache.CachedBody> bodies = catalogResponseCache.entries(version);
+            if (catalogVersion.current() == version && fingerprint().equals(fingerprint)) {
+                bodies.forEach((key, body) -> entries.add(new WarmStartFile.CatalogEntry(key, body.contentType(), body.identity())));
+                break;
+            }
+        }
+        WarmStartFile.write(file, new WarmStartFile.Contents(buildId, System.currentTimeMillis(), fingerprint, entries,
+                userStateCache.knownUsernames()));
+    }
+
+    /** Loads the snapshot file into the caches, keeping only what is still valid. */
+    public Restored restore() {
+        WarmStartFile.Contents contents;
+        try {
+            contents = WarmStartFile.read(file);
+        } catch (NoSuchFileException e) {
+            return new Restored(0, 0);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring warm-start snapshot {}: {}", file, e.toString());
+            return new Restored(0, 0);
+        }
+
+        int catalogEntries = 0;
+        long version = catalogVersion.current(); // read before the check: a later product write makes these misses
+        if (!buildId.equals(contents.buildId())) {
+            log.info("Warm-start snapshot is from another build; catalog responses not restored");
+        } else if (contents.createdAt() <= cacheInvalidator.lastAppliedAll()) {
+            log.info("Caches were dropped after the warm-start snapshot was taken; catalog responses not restored");
+        } else if (!fingerprint().equals(contents.catalog())) {
+            log.info("Products changed since the warm-start snapshot; catalog responses not restored");
+        } else {
+            for (WarmStartFile.CatalogEntry entry : contents.catalogEntries()) {
+                catalogResponseCache.put(entry.key(), version, entry.contentType(), entry.body());
+            }
+            catalogEntries = contents.catalogEntries().size();
+        }
+
+        int users = 0;
+        if (!contents.usernames().isEmpty()) {
+            List<User> loaded = userRepository.findByUsernameIn(contents.usernames());
+            loaded.forEach(userStateCache::put);
+            users = loaded.size();
+        }
+        return new Restored(catalogEntries, users);
+    }
+
+    private void captureSafely() {
+        try {
+            capture();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not write warm-start snapshot {}: {}", file, e.toString());
+        }
+    }
+
+    private WarmStartFile.CatalogFingerprint fingerprint() {
+        return jdbcTemplate.queryForObject(FINGERPRINT_SQL, (rs, n) ->
+                new WarmStartFile.CatalogFingerprint(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4)));
+    }
+}
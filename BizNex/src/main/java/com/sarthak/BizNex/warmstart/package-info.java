@@ -0,0 +1,6 @@
+/**
+ * Warm start after a deploy: {@link com.sarthak.BizNex.warmstart.WarmStartService} periodically saves the hot caches
+ * to a local snapshot file and, before the instance reports ready, reloads whatever is still valid and runs
+ * {@link com.sarthak.BizNex.warmstart.SyntheticWarmUp} over the lookup and search paths (and, opt-in, checkout).
+ */
+package com.sarthak.BizNex.warmstart;
@@ -0,0 +1,72 @@
+-- H2 counterpart of postgresql/V1__baseline.sql (used by local runs and the migration test)
+
+create table customers (
+    customer_id bigint generated by default as identity,
+    customer_name varchar(255) not null,
+    customer_contact varchar(255) not null,
+    customer_email varchar(255),
+    customer_address varchar(255),
+    customer_registration_date timestamp(6),
+    customer_active_status varchar(255) not null,
+    customer_credits float(53) not null,
+    primary key (customer_id),
+    constraint uk_customers_contact unique (customer_contact)
+);
+
+create table products (
+    product_id bigint generated by default as identity,
+    product_name varchar(255) not null,
+    product_description varchar(255),
+    price_per_item float(53) not null,
+    product_total_price float(53) not null,
+    product_quantity integer not null,
+    product_category varchar(255) not null,
+    product_code varchar(255) not null,
+    product_active boolean not null,
+    primary key (product_id),
+    constraint uk_products_code unique (product_code)
+);
+
+create table bills (
+    bill_id bigint generated by default as identity,
+    customer_id bigint not null,
+    bill_type enum ('CREDITS_PAYMENT','FULL_RETURN','NEW','PARTIAL_RETURN') not null,
+    bill_status enum ('CANCELLED','COMPLETE','RETURNED') not null,
+    payment_method enum ('CARD','CASH','CREDIT','ONLINE') not null,
+    bill_total_amount float(53) not null,
+    bill_total_discount float(53) not null,
+    bill_number varchar(255) not null,
+    bill_date timestamp(6) not null,
+    original_bill_number varchar(255) not null,
+    primary key (bill_id),
+    constraint uk_bills_number unique (bill_number),
+    constraint fk_bills_customer foreign key (customer_id) references customers
+);
+
+create table bill_items (
+    bill_item_id bigint generated by default as identity,
+    bill_id bigint not null,
+    product_id bigint not null,
+    bill_item_quantity integer not null check (bill_item_quantity>=1),
+    price_per_unit float(53) not null,
+    bill_item_total_price float(53) not null,
+    bill_item_discount_per_unit float(53) not null,
+    primary key (bill_item_id),
+    constraint fk_bill_items_bill foreign key (bill_id) references bills,
+    constraint fk_bill_items_product foreign key (product_id) references products
+);
+
+create table users (
+    user_id bigint generated by default as identity,
+    username varchar(255) not null,
+    user_email varchar(255) not null,
+    user_password varchar(255) not null,
+    user_role enum ('ADMIN','USER') not null,
+    user_contact varchar(255) not null,
+    user_salary float(53) not null,
+    password_changed boolean not null,
+    primary key (user_id),
+    constraint uk_users_username unique (username),
+    constraint uk_users_email unique (user_email),
+    constraint uk_users_contact unique (user_contact)
+);
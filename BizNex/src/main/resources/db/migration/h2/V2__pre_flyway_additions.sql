@@ -0,0 +1,34 @@
+-- H2 counterpart of postgresql/V2__pre_flyway_additions.sql.
+
+alter table bills add column if not exists client_bill_id varchar(36);
+create unique index if not exists uk_bills_client_bill_id on bills (client_bill_id);
+
+alter table users add column if not exists security_version bigint default 0 not null;
+
+create table if not exists change_log (
+    seq bigint generated by default as identity,
+    entity_type enum ('BILL','CUSTOMER','PRODUCT') not null,
+    entity_id bigint not null,
+    entity_key varchar(64),
+    change_type enum ('DELETE','UPSERT') not null,
+    changed_at timestamp(6) not null,
+    primary key (seq)
+);
+create index if not exists idx_change_log_type_seq on change_log (entity_type, seq);
+
+create table if not exists outbox_events (
+    id bigint generated by default as identity,
+    aggregate_type varchar(32) not null,
+    aggregate_id varchar(64) not null,
+    event_type enum ('BILL_CREATED','BILL_DELETED','BILL_RETURNED','CREDIT_PAYMENT') not null,
+    payload clob not null,
+    status enum ('DELIVERED','FAILED','PENDING') not null,
+    attempts integer not null,
+    created_at timestamp(6) not null,
+    next_attempt_at timestamp(6) not null,
+    delivered_at timestamp(6),
+    last_error varchar(1000),
+    primary key (id)
+);
+create index if not exists idx_outbox_status_next_attempt on outbox_events (status, next_attempt_at);
+create index if not exists idx_outbox_aggregate on outbox_events (aggregate_type, aggregate_id);
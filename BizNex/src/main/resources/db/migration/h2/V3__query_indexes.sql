@@ -0,0 +1,12 @@
+-- H2 counterpart of postgresql/V3__query_indexes.sql. H2 has no partial, expression or INCLUDE indexes, so
+-- those become plain indexes on the same leading columns.
+
+create index idx_bill_items_bill on bill_items (bill_id);
+create index idx_bill_items_product on bill_items (product_id);
+create index idx_bills_customer_date on bills (customer_id, bill_date);
+create index idx_bills_date_summary on bills (bill_date);
+create index idx_bills_original_bill_number on bills (original_bill_number);
+create index idx_products_active_category on products (product_active, product_category);
+create index idx_products_name_category on products (product_name, product_category);
+create index idx_customers_credits on customers (customer_credits);
+create index idx_outbox_delivered_at on outbox_events (status, delivered_at);
@@ -0,0 +1,19 @@
+-- H2 counterpart of postgresql/V4__bill_sale_snapshots.sql (H2 has no UPDATE ... FROM).
+
+alter table bills add column customer_name varchar(255);
+alter table bills add column customer_contact varchar(255);
+alter table bills add column customer_email varchar(255);
+
+alter table bill_items add column product_name varchar(255);
+alter table bill_items add column product_code varchar(255);
+alter table bill_items add column product_category varchar(255);
+
+update bills b
+set customer_name = (select c.customer_name from customers c where c.customer_id = b.customer_id),
+    customer_contact = (select c.customer_contact from customers c where c.customer_id = b.customer_id),
+    customer_email = (select c.customer_email from customers c where c.customer_id = b.customer_id);
+
+update bill_items i
+set product_name = (select p.product_name from products p where p.product_id = i.product_id),
+    product_code = (select p.product_code from products p where p.product_id = i.product_id),
+    product_category = (select p.product_category from products p where p.product_id = i.product_id);
@@ -0,0 +1,11 @@
+-- H2 counterpart of postgresql/V5__cache_events.sql.
+
+create table cache_events (
+    id bigint generated by default as identity,
+    region varchar(16) not null,
+    cache_key varchar(255) not null,
+    origin varchar(16) not null,
+    created_at timestamp(6) not null,
+    primary key (id)
+);
+create index idx_cache_events_created_at on cache_events (created_at);
@@ -0,0 +1,14 @@
+-- H2 counterpart of postgresql/V6__change_log_commit_order.sql.
+
+alter table change_log add column commit_seq bigint;
+update change_log set commit_seq = seq;
+create unique index idx_change_log_commit_seq on change_log (commit_seq);
+create index idx_change_log_type_commit_seq on change_log (entity_type, commit_seq);
+
+create table change_log_sequence (
+    id integer not null,
+    last_commit_seq bigint not null,
+    primary key (id)
+);
+insert into change_log_sequence (id, last_commit_seq)
+select 1, coalesce(max(seq), 0) from change_log;
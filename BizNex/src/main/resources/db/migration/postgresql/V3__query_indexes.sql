@@ -0,0 +1,37 @@
+-- Indexes for the repository and report queries. Built CONCURRENTLY so an existing database keeps taking
+-- writes while they build (see the .conf file: this script runs outside a transaction). IF NOT EXISTS makes a
+-- rerun after a failed concurrent build safe; drop any INVALID index it left behind first.
+
+-- Foreign keys are not indexed automatically. bill_items.bill_id drives bill hydration and cascade deletes,
+-- bill_items.product_id the product delete checks.
+create index concurrently if not exists idx_bill_items_bill on bill_items (bill_id);
+create index concurrently if not exists idx_bill_items_product on bill_items (product_id);
+
+-- Bills of a customer newest-first (paged listing), exists/countByCustomer and the customer statement report
+create index concurrently if not exists idx_bills_customer_date on bills (customer_id, bill_date);
+
+-- Sales summary report: bill_date range, grouped by type and payment method. INCLUDE makes it index-only.
+create index concurrently if not exists idx_bills_date_summary on bills (bill_date)
+    include (bill_type, payment_method, bill_total_amount, bill_total_discount);
+
+-- Case-insensitive lookups: Spring Data's IgnoreCase compiles to upper(column) = upper(?)
+create index concurrently if not exists idx_bills_bill_number_upper on bills (upper(bill_number));
+create index concurrently if not exists idx_bills_original_bill_number_upper on bills (upper(original_bill_number));
+
+-- Active products by category (category listings and category counts)
+create index concurrently if not exists idx_products_active_category on products (product_active, product_category);
+-- Duplicate check on create (name + category)
+create index concurrently if not exists idx_products_name_category on products (product_name, product_category);
+-- Low-stock count; the predicate matches ProductRepository.countActiveLowStock, so the index stays tiny
+create index concurrently if not exists idx_products_active_low_stock on products (product_quantity)
+    where product_active and product_quantity < 10;
+
+-- Customers with credits: listing by name and the sum/average aggregates, index-only over just those rows
+create index concurrently if not exists idx_customers_with_credits on customers (customer_name, customer_id)
+    include (customer_credits) where customer_credits > 0;
+
+-- Outbox relay: due pending events in id order, and purging of delivered ones
+create index concurrently if not exists idx_outbox_pending_due on outbox_events (next_attempt_at, id)
+    where status = 'PENDING';
+create index concurrently if not exists idx_outbox_delivered_at on outbox_events (delivered_at)
+    where status = 'DELIVERED';
@@ -0,0 +1,22 @@
+-- Customer and product details captured on the bill at sale time (see Bill/BillItem prePersist). History reads
+-- (listings, search, bill lookups) then use bills + bill_items only, and later edits to a product or customer
+-- no longer rewrite past bills. Nullable columns: adding them is a catalog-only change.
+
+alter table bills add column if not exists customer_name varchar(255);
+alter table bills add column if not exists customer_contact varchar(255);
+alter table bills add column if not exists customer_email varchar(255);
+
+alter table bill_items add column if not exists product_name varchar(255);
+alter table bill_items add column if not exists product_code varchar(255);
+alter table bill_items add column if not exists product_category varchar(255);
+
+-- Existing bills get the current details: the sale-time values were never recorded
+update bills b
+set customer_name = c.customer_name, customer_contact = c.customer_contact, customer_email = c.customer_email
+from customers c
+where c.customer_id = b.customer_id and b.customer_name is null;
+
+update bill_items i
+set product_name = p.product_name, product_code = p.product_code, product_category = p.product_category
+from products p
+where p.product_id = i.product_id and i.product_name is null;
@@ -0,0 +1,12 @@
+-- Cross-instance cache invalidations (app.invalidation.bus=jdbc). Short-lived rows: each instance polls by id and
+-- purges rows older than app.invalidation.retention-minutes.
+
+create table if not exists cache_events (
+    id bigint generated by default as identity,
+    region varchar(16) not null,
+    cache_key varchar(255) not null,
+    origin varchar(16) not null,
+    created_at timestamp(6) not null,
+    primary key (id)
+);
+create index if not exists idx_cache_events_created_at on cache_events (created_at);
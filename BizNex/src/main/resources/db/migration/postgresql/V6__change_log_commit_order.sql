@@ -0,0 +1,19 @@
+-- Commit-ordered change feed cursor. change_log.seq is allocated at flush, so a long transaction can commit a
+-- lower seq after readers have moved past it. commit_seq is stamped on committed rows under a lock on the
+-- single change_log_sequence row, so it only ever grows in commit order. Existing rows keep their seq as
+-- commit_seq, which keeps cursors issued before this migration valid.
+
+alter table change_log add column if not exists commit_seq bigint;
+update change_log set commit_seq = seq where commit_seq is null;
+create unique index if not exists idx_change_log_commit_seq on change_log (commit_seq);
+create index if not exists idx_change_log_type_commit_seq on change_log (entity_type, commit_seq);
+create index if not exists idx_change_log_unstamped on change_log (seq) where commit_seq is null;
+
+create table if not exists change_log_sequence (
+    id integer not null,
+    last_commit_seq bigint not null,
+    primary key (id)
+);
+insert into change_log_sequence (id, last_commit_seq)
+select 1, coalesce(max(seq), 0) from change_log
+on conflict (id) do nothing;
@@ -0,0 +1,119 @@
+package com.sarthak.BizNex.archive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sarthak.BizNex.dto.response.BillResponseDto;
+import com.sarthak.BizNex.entity.Bill;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BillArchiveSegmentTest {
+
+    private static final YearMonth MONTH = YearMonth.of(2024, 3);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @TempDir
+    Path dir;
+
+    private static ArchivedBill bill(int n, long customerId) {
+        BillResponseDto dto = new BillResponseDto();
+        dto.setBillNumber(String.format("AB0%d0324-%04d", 1 + n % 9, n));
+        dto.setBillType(Bill.BillType.NEW);
+        dto.setBillStatus(Bill.BillStatus.COMPLETE);
+        dto.setPaymentMethod(Bill.PaymentMethod.CASH);
+        dto.setCustomerName("Customer " + customerId);
+        dto.setTotalAmount(10.0 * n);
+        return new ArchivedBill(n, customerId, MONTH.atDay(1 + n % 9).atTime(10, 0), dto);
+    }
+
+    private Path write(List<ArchivedBill> bills) throws IOException {
+        Path file = dir.resolve("bills-2024-03.1" + BillArchiveSegment.SUFFIX);
+        try (BillArchiveSegment.Writer writer = new BillArchiveSegment.Writer(file, MONTH, objectMapper, 4)) {
+            for (ArchivedBill bill : bills) {
+                writer.add(bill);
+            }
+            writer.finish();
+        }
+        return file;
+    }
+
+    private static List<ArchivedBill> sortedBills(int count) {
+        List<ArchivedBill> bills = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            bills.add(bill(i, i % 3));
+        }
+        bills.sort((a, b) -> a.key().compareTo(b.key()));
+        return bills;
+    }
+
+    @Test
+    @DisplayName("Bills are found by key and by customer across blocks, also after reopening")
+    void writeFindAndReopen() throws Exception {
+        List<ArchivedBill> bills = sortedBills(30);
+        Path file = write(bills);
+
+        try (BillArchiveSegment segment = BillArchiveSegment.open(file, objectMapper)) {
+            assertThat(segment.month()).isEqualTo(MONTH);
+            assertThat(segment.billCount()).isEqualTo(30);
+            for (ArchivedBill expected : bills) {
+                ArchivedBill found = segment.find(expected.key());
+                assertThat(found.billId()).isEqualTo(expected.billId());
+                assertThat(found.billDate()).isEqualTo(expected.billDate());
+                assertThat(found.bill().getTotalAmount()).isEqualTo(expected.bill().getTotalAmount());
+            }
+            assertThat(segment.find("AB010324-9999")).isNull();
+            assertThat(segment.find("AA000000-0000")).isNull();
+            assertThat(segment.find("ZZ999999-9999")).isNull();
+
+            List<ArchivedBill> customerOne = new ArrayList<>();
+            segment.forCustomer(1, customerOne::add);
+            assertThat(customerOne).hasSize(10).allMatch(b -> b.customerId() == 1);
+            assertThat(segment.keys()).hasSize(30).contains(bills.get(17).key());
+        }
+
+        try (BillArchiveSegment reopened = BillArchiveSegment.open(file, objectMapper)) {
+            List<ArchivedBill> all = new ArrayList<>();
+            reopened.forEach(all::add);
+            assertThat(all).extracting(ArchivedBill::key).containsExactlyElementsOf(bills.stream().map(ArchivedBill::key).toList());
+        }
+    }
+
+    @Test
+    @DisplayName("Writer rejects keys out of order and bills of another month; an unfinished file is removed")
+    void writerValidatesInput() throws Exception {
+        Path file = dir.resolve("bills-2024-03.2" + BillArchiveSegment.SUFFIX);
+        try (BillArchiveSegment.Writer writer = new BillArchiveSegment.Writer(file, MONTH, objectMapper, 4)) {
+            writer.add(bill(5, 1));
+            assertThatThrownBy(() -> writer.add(bill(4, 1))).isInstanceOf(IllegalArgumentException.class);
+            ArchivedBill otherMonth = new ArchivedBill(99, 1, LocalDateTime.of(2024, 4, 1, 0, 0), bill(9, 1).bill());
+            assertThatThrownBy(() -> writer.add(otherMonth)).isInstanceOf(IllegalArgumentException.class);
+        }
+        assertThat(file).doesNotExist();
+    }
+
+    @Test
+    @DisplayName("A segment with a damaged index is refused")
+    void corruptIndexIsRejected() throws Exception {
+        Path file = write(sortedBills(10));
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            long lastIndexByte = raf.length() - 21; // the trailer is the final 20 bytes
+            raf.seek(lastIndexByte);
+            int b = raf.read();
+            raf.seek(lastIndexByte);
+            raf.write(b ^ 0xFF);
+        }
+        assertThatThrownBy(() -> BillArchiveSegment.open(file, objectMapper)).isInstanceOf(IOException.class);
+    }
+}
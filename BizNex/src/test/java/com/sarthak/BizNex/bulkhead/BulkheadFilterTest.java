@@ -0,0 +1,50 @@
+package com.sarthak.BizNex.bulkhead;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.AsyncContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BulkheadFilterTest {
+
+    private final BulkheadRegistry registry = new BulkheadRegistry(new MockEnvironment(), new SimpleMeterRegistry());
+    private final BulkheadFilter filter = new BulkheadFilter(registry, new ObjectMapper());
+
+    private static MockHttpServletRequest get(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setAsyncSupported(true);
+        return request;
+    }
+
+    @Test
+    @DisplayName("A plain request releases its permit when the chain returns")
+    void releasesAfterChain() throws Exception {
+        filter.doFilter(get("/api/v1/products"), new MockHttpServletResponse(),
+                (req, res) -> assertThat(registry.lane(Lane.INTERACTIVE).active()).isEqualTo(1));
+        assertThat(registry.lane(Lane.INTERACTIVE).active()).isZero();
+    }
+
+    @Test
+    @DisplayName("An open stream holds its permit until the async request completes, once")
+    void asyncStreamHoldsPermit() throws Exception {
+        MockHttpServletRequest request = get("/api/v1/history/bills");
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+
+        assertThat(request.isAsyncStarted()).isTrue();
+        assertThat(registry.lane(Lane.INTERACTIVE).active()).isEqualTo(1);
+
+        AsyncContext async = request.getAsyncContext();
+        async.complete();
+        assertThat(registry.lane(Lane.INTERACTIVE).active()).isZero();
+        // A second completion notice does not release someone else's permit
+        registry.acquire(Lane.INTERACTIVE);
+        async.complete();
+        assertThat(registry.lane(Lane.INTERACTIVE).active()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,68 @@
+package com.sarthak.BizNex.bulkhead;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BulkheadRegistryTest {
+
+    private static BulkheadRegistry registry(SimpleMeterRegistry meters) {
+        MockEnvironment env = new MockEnvironment();
+        for (Lane lane : Lane.values()) {
+            String prefix = "app.bulkhead." + lane.name().toLowerCase();
+            env.setProperty(prefix + ".max-concurrent", "2");
+            env.setProperty(prefix + ".queue-size", "0");
+            env.setProperty(prefix + ".queue-timeout-ms", "50");
+        }
+        return new BulkheadRegistry(env, meters);
+    }
+
+    @Test
+    @DisplayName("Endpoints map to lanes; non-API paths are not limited")
+    void classifiesEndpoints() {
+        assertThat(Lane.classify("POST", "/api/v1/billing")).isEqualTo(Lane.CHECKOUT);
+        assertThat(Lane.classify("POST", "/api/v1/billing/return-bill")).isEqualTo(Lane.CHECKOUT);
+        assertThat(Lane.classify("DELETE", "/api/v1/billing/7")).isEqualTo(Lane.ADMIN);
+        assertThat(Lane.classify("GET", "/api/v1/billing/search")).isEqualTo(Lane.HEAVY);
+        assertThat(Lane.classify("POST", "/api/v1/reports/bills")).isEqualTo(Lane.HEAVY);
+        assertThat(Lane.classify("GET", "/api/v1/changes")).isEqualTo(Lane.HEAVY);
+        assertThat(Lane.classify("POST", "/api/v1/products")).isEqualTo(Lane.ADMIN);
+        assertThat(Lane.classify("GET", "/api/v1/users")).isEqualTo(Lane.ADMIN);
+        assertThat(Lane.classify("GET", "/api/v1/products")).isEqualTo(Lane.INTERACTIVE);
+        assertThat(Lane.classify("GET", "/actuator/health")).isNull();
+    }
+
+    @Test
+    @DisplayName("A full lane fails fast while checkout borrows idle permits and never lends its own")
+    void checkoutBorrowsButNeverLends() throws Exception {
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        BulkheadRegistry registry = registry(meters);
+        List<BulkheadRegistry.Permit> held = new ArrayList<>();
+
+        // Saturate checkout, then keep going: the next permits come from other lanes
+        held.add(registry.acquire(Lane.CHECKOUT));
+        held.add(registry.acquire(Lane.CHECKOUT));
+        held.add(registry.acquire(Lane.CHECKOUT));
+        held.add(registry.acquire(Lane.CHECKOUT));
+        assertThat(registry.lane(Lane.CHECKOUT).active()).isEqualTo(2);
+        assertThat(registry.lane(Lane.HEAVY).active()).isEqualTo(2);
+        assertThat(meters.counter("biznex.bulkhead.borrowed", "lane", "checkout").count()).isEqualTo(2);
+
+        // Heavy is now full (lent to checkout) and cannot take checkout's permits in return
+        assertThatThrownBy(() -> registry.acquire(Lane.HEAVY)).isInstanceOf(BulkheadRegistry.Rejected.class);
+        assertThat(meters.counter("biznex.bulkhead.rejected", "lane", "heavy", "reason", "queue_full").count()).isEqualTo(1);
+
+        // Releasing returns each permit to the lane it was taken from
+        held.forEach(BulkheadRegistry.Permit::release);
+        assertThat(registry.lane(Lane.CHECKOUT).active()).isZero();
+        assertThat(registry.lane(Lane.HEAVY).active()).isZero();
+        registry.acquire(Lane.HEAVY).release();
+    }
+}
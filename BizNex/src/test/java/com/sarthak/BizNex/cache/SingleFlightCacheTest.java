@@ -0,0 +1,141 @@
+package com.sarthak.BizNex.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightCacheTest {
+
+    private static final SingleFlightCache.Key KEY = new SingleFlightCache.Key("test.sum", List.of());
+    private static final List<String> CUSTOMER = List.of("CUSTOMER");
+
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private final SingleFlightCache cache = new SingleFlightCache(meters, true, 3, 1);
+
+    @AfterEach
+    void shutdown() {
+        cache.shutdown();
+    }
+
+    @Test
+    @DisplayName("Concurrent identical calls share one load; failures reach every waiter and are not cached")
+    void coalescesConcurrentCalls() throws Throwable {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        SingleFlightCache.Loader slow = () -> {
+            loads.incrementAndGet();
+            started.countDown();
+            release.await();
+            return 42.0;
+        };
+        CompletableFuture<Object> first = CompletableFuture.supplyAsync(() -> call(slow));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        List<CompletableFuture<Object>> others = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            others.add(CompletableFuture.supplyAsync(() -> call(slow)));
+        }
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (coalesced() < 8 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(42.0);
+        for (CompletableFuture<Object> other : others) {
+            assertThat(other.get(5, TimeUnit.SECONDS)).isEqualTo(42.0);
+        }
+        assertThat(loads).hasValue(1);
+
+        SingleFlightCache.Key failing = new SingleFlightCache.Key("test.fail", List.of());
+        assertThatThrownBy(() -> cache.get(failing, 60_000, 0, CUSTOMER, () -> {
+            throw new IllegalStateException("db down");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(cache.get(failing, 60_000, 0, CUSTOMER, () -> 1)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("A stale value is served while one background refresh runs; invalidation forces a reload")
+    void servesStaleWhileRevalidating() throws Throwable {
+        AtomicInteger version = new AtomicInteger();
+        SingleFlightCache.Loader loader = version::incrementAndGet;
+        assertThat(cache.get(KEY, 0, 60_000, CUSTOMER, loader)).isEqualTo(1);
+        // Past the fresh window: old value immediately, refreshed value shortly after
+        assertThat(cache.get(KEY, 0, 60_000, CUSTOMER, loader)).isEqualTo(1);
+        long deadline = System.currentTimeMillis() + 5_000;
+        Object value = 1;
+        while (value.equals(1) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+            value = cache.get(KEY, 60_000, 0, CUSTOMER, loader);
+        }
+        assertThat(value).isEqualTo(2);
+
+        cache.invalidate(Set.of("PRODUCT"));
+        assertThat(cache.get(KEY, 60_000, 0, CUSTOMER, loader)).isEqualTo(2);
+        cache.invalidate(Set.of("CUSTOMER"));
+        assertThat(cache.get(KEY, 60_000, 0, CUSTOMER, loader)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("A write marks entries stale instead of dropping them and spoils only loads of the types it names")
+    void invalidationMarksStale() throws Throwable {
+        AtomicInteger version = new AtomicInteger();
+        SingleFlightCache.Loader loader = version::incrementAndGet;
+        assertThat(cache.get(KEY, 60_000, 60_000, CUSTOMER, loader)).isEqualTo(1);
+        cache.invalidate(Set.of("CUSTOMER"));
+        assertThat(cache.get(KEY, 60_000, 60_000, CUSTOMER, loader)).isEqualTo(1); // stale, refresh started
+        long deadline = System.currentTimeMillis() + 5_000;
+        Object value = 1;
+        while (value.equals(1) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+            value = cache.get(KEY, 60_000, 60_000, CUSTOMER, loader);
+        }
+        assertThat(value).isEqualTo(2);
+
+        SingleFlightCache.Key unrelated = new SingleFlightCache.Key("test.unrelated", List.of());
+        assertThat(cache.get(unrelated, 60_000, 0, CUSTOMER, () -> {
+            cache.invalidate(Set.of("PRODUCT"));
+            return 10;
+        })).isEqualTo(10);
+        assertThat(cache.get(unrelated, 60_000, 0, CUSTOMER, () -> 11)).isEqualTo(10);
+
+        SingleFlightCache.Key overlapped = new SingleFlightCache.Key("test.overlapped", List.of());
+        assertThat(cache.get(overlapped, 60_000, 0, CUSTOMER, () -> {
+            cache.invalidate(Set.of("CUSTOMER"));
+            return 20;
+        })).isEqualTo(20);
+        assertThat(cache.get(overlapped, 60_000, 0, CUSTOMER, () -> 21)).isEqualTo(21);
+    }
+
+    @Test
+    @DisplayName("The table stays within max-entries")
+    void boundsEntries() throws Throwable {
+        for (int i = 0; i < 10; i++) {
+            cache.get(new SingleFlightCache.Key("test.byArg", List.of(i)), 60_000, 0, CUSTOMER, () -> 0);
+        }
+        assertThat(cache.size()).isLessThanOrEqualTo(3);
+    }
+
+    private Object call(SingleFlightCache.Loader loader) {
+        try {
+            return cache.get(KEY, 60_000, 0, CUSTOMER, loader);
+        } catch (Throwable t) {
+            throw new RuntimeException(t);
+        }
+    }
+
+    private double coalesced() {
+        return meters.counter("biznex.singleflight.requests", "cache", "test.sum", "outcome", "coalesced").count();
+    }
+}
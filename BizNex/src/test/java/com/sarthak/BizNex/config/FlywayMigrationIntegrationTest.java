@@ -0,0 +1,76 @@
+package com.sarthak.BizNex.config;
+
+import com.sarthak.BizNex.dto.ProductDto;
+import com.sarthak.BizNex.service.ProductService;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:flywaytest;DB_CLOSE_DELAY=-1",
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class FlywayMigrationIntegrationTest {
+
+    @Autowired
+    Flyway flyway;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    ProductService productService;
+
+    @Test
+    @DisplayName("Migrations build a schema that Hibernate validates against the entities, with the query indexes")
+    void migrationsMatchEntities() {
+        // Context startup already ran the migrations and ddl-auto=validate
+        assertThat(Arrays.stream(flyway.info().applied()).map(MigrationInfo::getVersion).map(Object::toString))
+                .containsExactly("1", "2", "3", "4", "5", "6");
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT index_name FROM information_schema.indexes WHERE table_name = 'BILLS'", String.class))
+                .contains("IDX_BILLS_CUSTOMER_DATE", "IDX_BILLS_DATE_SUMMARY");
+
+        productService.addProduct(ProductDto.builder()
+                .productName("Nut").productCategory("hardware").pricePerItem(1.0).productQuantity(2).build());
+        assertThat(productService.countLowStockProducts()).isEqualTo(1);
+        assertThat(productService.countProductsByCategory()).containsEntry("hardware", 1L);
+    }
+
+    @Test
+    @DisplayName("A database created by the former ddl-auto=update is baselined at V1 and receives every later change")
+    void legacyDatabaseCatchesUp() throws Exception {
+        DriverManagerDataSource legacy = new DriverManagerDataSource("jdbc:h2:mem:flywaylegacy;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate legacyJdbc = new JdbcTemplate(legacy);
+        String baseline = new ClassPathResource("db/migration/h2/V1__baseline.sql").getContentAsString(StandardCharsets.UTF_8);
+        for (String statement : baseline.replaceAll("(?m)^--.*$", "").split(";")) {
+            if (!statement.isBlank()) {
+                legacyJdbc.execute(statement);
+            }
+        }
+
+        Flyway.configure().dataSource(legacy).locations("classpath:db/migration/h2")
+                .baselineOnMigrate(true).baselineVersion("1").load().migrate();
+
+        assertThat(legacyJdbc.queryForList(
+                "SELECT table_name FROM information_schema.tables WHERE table_schema = 'PUBLIC'", String.class))
+                .contains("CHANGE_LOG", "CHANGE_LOG_SEQUENCE", "OUTBOX_EVENTS", "CACHE_EVENTS");
+        assertThat(legacyJdbc.queryForList(
+                "SELECT column_name FROM information_schema.columns WHERE table_name IN ('BILLS', 'USERS')", String.class))
+                .contains("CLIENT_BILL_ID", "SECURITY_VERSION", "CUSTOMER_NAME");
+    }
+}
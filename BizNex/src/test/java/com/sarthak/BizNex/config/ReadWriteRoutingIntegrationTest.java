@@ -0,0 +1,118 @@
+package com.sarthak.BizNex.config;
+
+import com.sarthak.BizNex.dto.ProductDto;
+import com.sarthak.BizNex.service.ProductService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReadWriteRoutingIntegrationTest.PRIMARY_URL,
+        "app.datasource.read.url=" + ReadWriteRoutingIntegrationTest.REPLICA_URL,
+        "app.datasource.read.maximum-pool-size=2"
+})
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class ReadWriteRoutingIntegrationTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:rwprimary;DB_CLOSE_DELAY=-1;MODE=MySQL";
+    static final String REPLICA_URL = "jdbc:h2:mem:rwreplica;DB_CLOSE_DELAY=-1;MODE=MySQL";
+
+    @Autowired
+    ProductService productService;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path dir;
+
+    /** Stand-in for replication: copy the primary's current state into the replica database. */
+    private void replicate() throws Exception {
+        String script = dir.resolve("snapshot-" + UUID.randomUUID() + ".sql").toString().replace('\\', '/');
+        try (Connection primary = DriverManager.getConnection(PRIMARY_URL, "sa", "");
+             Statement st = primary.createStatement()) {
+            st.execute("SCRIPT TO '" + script + "'");
+        }
+        try (Connection replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+             Statement st = replica.createStatement()) {
+            st.execute("DROP ALL OBJECTS");
+            st.execute("RUNSCRIPT FROM '" + script + "'");
+        }
+    }
+
+    private ProductDto product(String name) {
+        return ProductDto.builder()
+                .productName(name)
+                .productCategory("routing")
+                .pricePerItem(2.0)
+                .productQuantity(5)
+                .productCode("RW-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Read-only service methods read the replica; writes and read-write transactions use the primary")
+    void readOnlyMethodsUseReplica() throws Exception {
+        Long id = productService.addProduct(product("Routed Original")).getProductId();
+        replicate();
+        productService.partialUpdateProduct(id, ProductDto.builder().productName("Routed Updated").build());
+
+        // Replica has not seen the update yet, so the read-only path returns the replicated state
+        assertThat(productService.getProductById(id).getProductName()).isEqualTo("Routed Original");
+        String inWriteTx = new TransactionTemplate(transactionManager)
+                .execute(status -> productService.getProductById(id).getProductName());
+        assertThat(inWriteTx).isEqualTo("Routed Updated");
+
+        replicate();
+        assertThat(productService.getProductById(id).getProductName()).isEqualTo("Routed Updated");
+    }
+
+    @Test
+    @DisplayName("An exhausted read pool does not block writes")
+    void saturatedReadPoolDoesNotBlockWrites() throws Exception {
+        productService.addProduct(product("Seed For Replica"));
+        replicate();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        CountDownLatch holding = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<?>[] readers = new CompletableFuture<?>[2];
+        for (int i = 0; i < readers.length; i++) {
+            readers[i] = CompletableFuture.runAsync(() -> readOnly.executeWithoutResult(status -> {
+                productService.searchProductsByName("Seed", org.springframework.data.domain.PageRequest.of(0, 5));
+                holding.countDown();
+                try {
+                    release.await(30, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        try {
+            assertThat(holding.await(10, TimeUnit.SECONDS)).isTrue();
+            long start = System.nanoTime();
+            productService.addProduct(product("Checkout Still Works"));
+            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(5_000);
+        } finally {
+            release.countDown();
+            CompletableFuture.allOf(readers).get(30, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.sarthak.BizNex.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sarthak.BizNex.BizAppApplication;
+import com.sarthak.BizNex.entity.Customer;
+import com.sarthak.BizNex.entity.Product;
+import com.sarthak.BizNex.entity.User;
+import com.sarthak.BizNex.repository.CustomerRepository;
+import com.sarthak.BizNex.repository.ProductRepository;
+import com.sarthak.BizNex.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Mixed checkout + search load against a real embedded Tomcat, once with platform request threads and once with
+ * virtual threads. Prints throughput and p50/p99 latency per mode; the only assertion is that every request
+ * got a non-5xx answer, since absolute numbers depend on the machine. Run with: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+class ThreadModeLoadBenchmarkTest {
+
+    private static final int CLIENTS = 100;
+    private static final int REQUESTS_PER_CLIENT = 20;
+
+    record Result(double requestsPerSecond, double p50Ms, double p99Ms, int failures) {
+    }
+
+    @Test
+    @DisplayName("Platform vs virtual threads: mixed checkout and search throughput and tail latency")
+    void compareThreadModes() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+        System.out.printf("platform threads: %.0f req/s, p50 %.1f ms, p99 %.1f ms%n",
+                platform.requestsPerSecond(), platform.p50Ms(), platform.p99Ms());
+        System.out.printf("virtual threads:  %.0f req/s, p50 %.1f ms, p99 %.1f ms%n",
+                virtual.requestsPerSecond(), virtual.p50Ms(), virtual.p99Ms());
+        assertThat(platform.failures()).isZero();
+        assertThat(virtual.failures()).isZero();
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        String db = "loadbench" + (virtualThreads ? "vt" : "pt");
+        try (ConfigurableApplicationContext ctx = new SpringApplicationBuilder(BizAppApplication.class)
+                .profiles("test")
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--server.tomcat.threads.max=32",
+                        "--spring.datasource.url=jdbc:h2:mem:" + db + ";DB_CLOSE_DELAY=-1;MODE=MySQL",
+                        "--app.security.bcrypt-strength=4")) {
+            int port = ((ServletWebServerApplicationContext) ctx).getWebServer().getPort();
+            Seed seed = seed(ctx);
+            HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+            String token = login(client, port);
+
+            List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+            AtomicInteger failures = new AtomicInteger();
+            List<String> failureSamples = Collections.synchronizedList(new ArrayList<>());
+            long start = System.nanoTime();
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int c = 0; c < CLIENTS; c++) {
+                    final int clientId = c;
+                    futures.add(clients.submit(() -> {
+                        for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                            HttpRequest request = (clientId + i) % 4 == 0
+                                    ? checkout(port, token, seed, clientId)
+                                    : search(port, token);
+                            long t0 = System.nanoTime();
+                            try {
+                                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                                if (response.statusCode() >= 500) {
+                                    failures.incrementAndGet();
+                                    failureSamples.add(response.statusCode() + " " + request.uri().getPath());
+                                }
+                            } catch (Exception e) {
+                                failures.incrementAndGet();
+                                failureSamples.add(e.toString());
+                            }
+                            latencies.add(System.nanoTime() - t0);
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> f : futures) {
+                    f.get();
+                }
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            if (!failureSamples.isEmpty()) {
+                System.out.println("failures (" + (virtualThreads ? "virtual" : "platform") + "): "
+                        + failureSamples.subList(0, Math.min(5, failureSamples.size())));
+            }
+            List<Long> sorted = new ArrayList<>(latencies);
+            Collections.sort(sorted);
+            return new Result(sorted.size() / seconds,
+                    sorted.get(sorted.size() / 2) / 1e6,
+                    sorted.get((int) (sorted.size() * 0.99)) / 1e6,
+                    failures.get());
+        }
+    }
+
+    /** Products get consecutive ids, so checkouts spread over {@code productCount} rows. */
+    record Seed(long customerId, long firstProductId, int productCount) {
+    }
+
+    private static Seed seed(ConfigurableApplicationContext ctx) {
+        UserRepository users = ctx.getBean(UserRepository.class);
+        User u = new User("loadbench", "loadbench@example.com");
+        u.setUserPassword(ctx.getBean(PasswordEncoder.class).encode("Pass123!"));
+        u.setUserRole(User.UserRole.ADMIN);
+        u.setUserContact("9998887776");
+        u.setUserSalary(0);
+        users.save(u);
+
+        Customer customer = new Customer();
+        customer.setCustomerName("Load Buyer");
+        customer.setCustomerContact("9998887775");
+        long customerId = ctx.getBean(CustomerRepository.class).save(customer).getCustomerId();
+
+        ProductRepository products = ctx.getBean(ProductRepository.class);
+        long productId = 0;
+        for (int i = 0; i < 200; i++) {
+            Product p = new Product();
+            p.setProductName("Load Item " + i);
+            p.setProductCategory("load");
+            p.setPricePerItem(3.0);
+            p.setProductQuantity(1_000_000);
+            p.setProductCode("LOAD-" + i);
+            long id = products.save(p).getProductId();
+            if (i == 0) {
+                productId = id;
+            }
+        }
+        return new Seed(customerId, productId, 200);
+    }
+
+    private static String login(HttpClient client, int port) throws Exception {
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"loadbench\",\"userPassword\":\"Pass123!\"}"))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        return new ObjectMapper().readTree(response.body()).get("accessToken").asText();
+    }
+
+    private static HttpRequest search(int port, String token) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/products/search?productName=Item&size=20"))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    private static HttpRequest checkout(int port, String token, Seed seed, int clientId) {
+        long productId = seed.firstProductId() + clientId % seed.productCount();
+        String body = "{\"customer\":{\"customerId\":" + seed.customerId() + "},"
+                + "\"billItems\":[{\"billItemProduct\":{\"productId\":" + productId + "},\"billItemQuantity\":1}],"
+                + "\"paymentMethod\":\"CASH\",\"billStatus\":\"COMPLETE\"}";
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/billing"))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+}
@@ -0,0 +1,56 @@
+package com.sarthak.BizNex.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.threads.virtual.enabled=true",
+        "spring.datasource.hikari.maximum-pool-size=4"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class VirtualThreadModeIntegrationTest {
+
+    @Autowired
+    DataSource dataSource;
+    @Autowired
+    ApplicationContext context;
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    @WithMockUser(roles = {"USER"})
+    @DisplayName("Virtual-thread mode bounds DB concurrency to the pool size and starts the pinning monitor")
+    void virtualThreadModeWiring() throws Exception {
+        assertThat(dataSource).isInstanceOf(ConcurrencyLimitingDataSource.class);
+        ConcurrencyLimitingDataSource limited = (ConcurrencyLimitingDataSource) dataSource;
+        assertThat(context.getBeansOfType(VirtualThreadPinningMonitor.class)).hasSize(1);
+
+        int idle = limited.availablePermits();
+        assertThat(idle).isEqualTo(4);
+        try (Connection c = dataSource.getConnection()) {
+            assertThat(limited.availablePermits()).isEqualTo(idle - 1);
+            c.close(); // double close must not release twice
+        }
+        assertThat(limited.availablePermits()).isEqualTo(idle);
+
+        mockMvc.perform(get("/api/v1/products")).andExpect(status().isOk());
+        assertThat(limited.availablePermits()).isEqualTo(idle);
+    }
+}
@@ -0,0 +1,191 @@
+package com.sarthak.BizNex.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sarthak.BizNex.archive.BillArchiver;
+import com.sarthak.BizNex.dto.BillDto;
+import com.sarthak.BizNex.dto.BillItemDto;
+import com.sarthak.BizNex.dto.CustomerDto;
+import com.sarthak.BizNex.dto.ProductDto;
+import com.sarthak.BizNex.dto.request.OfflineBillSyncRequest;
+import com.sarthak.BizNex.entity.Bill;
+import com.sarthak.BizNex.entity.Customer;
+import com.sarthak.BizNex.entity.Product;
+import com.sarthak.BizNex.repository.BillRepository;
+import com.sarthak.BizNex.repository.CustomerRepository;
+import com.sarthak.BizNex.repository.ProductRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class BillArchiveIntegrationTest {
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    ObjectMapper objectMapper;
+    @Autowired
+    CustomerRepository customerRepository;
+    @Autowired
+    ProductRepository productRepository;
+    @Autowired
+    BillRepository billRepository;
+    @Autowired
+    BillArchiver billArchiver;
+
+    private OfflineBillSyncRequest.OfflineBill oldBill(String clientId, LocalDateTime at, Long customerId, Long productId) {
+        return OfflineBillSyncRequest.OfflineBill.builder()
+                .clientBillId(clientId)
+                .clientCreatedAt(at)
+                .customer(CustomerDto.builder().customerId(customerId).build())
+                .billItems(List.of(BillItemDto.builder()
+                        .billItemProduct(ProductDto.builder().productId(productId).build())
+                        .billItemQuantity(1)
+                        .build()))
+                .paymentMethod(Bill.PaymentMethod.CASH)
+                .build();
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    @DisplayName("Old bills move to the archive and stay visible to lookups, customer history and statements")
+    void archivedBillsReadThrough() throws Exception {
+        Customer c = new Customer();
+        c.setCustomerName("Yusra Kettleby");
+        String contact = Long.toString(ThreadLocalRandom.current().nextLong(1_000_000_000L, 9_999_999_999L));
+        c.setCustomerContact(contact);
+        c.setCustomerCredits(0.0);
+        Long customerId = customerRepository.save(c).getCustomerId();
+
+        Product p = new Product();
+        p.setProductName("Archive Kettle");
+        p.setProductCategory("archive");
+        p.setPricePerItem(40.0);
+        p.setProductQuantity(50);
+        p.setProductCode("ARC-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase());
+        Long productId = productRepository.save(p).getProductId();
+
+        // Three bills rung up two years ago (two in one month, one in the next) and two today
+        LocalDateTime old = LocalDate.now().minusYears(2).withDayOfMonth(10).atTime(11, 0);
+        List<String> clientIds = List.of(UUID.randomUUID().toString(), UUID.randomUUID().toString(), UUID.randomUUID().toString());
+        mockMvc.perform(post("/api/v1/billing/sync")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(OfflineBillSyncRequest.builder()
+                                .tillId("till-archive")
+                                .bills(List.of(
+                                        oldBill(clientIds.get(0), old, customerId, productId),
+                                        oldBill(clientIds.get(1), old.plusDays(1), customerId, productId),
+                                        oldBill(clientIds.get(2), old.plusMonths(1), customerId, productId)))
+                                .build())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", is(3)));
+        List<String> oldNumbers = billRepository.findByClientBillIdIn(clientIds).stream()
+                .sorted(Comparator.comparing(Bill::getBillDate)).map(Bill::getBillNumber).toList();
+        assertThat(oldNumbers).hasSize(3);
+
+        List<String> allNumbers = new ArrayList<>(oldNumbers);
+        for (int i = 0; i < 2; i++) {
+            String created = mockMvc.perform(post("/api/v1/billing")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(BillDto.builder()
+                                    .customer(CustomerDto.builder().customerId(customerId).build())
+                                    .billItems(List.of(BillItemDto.builder()
+                                            .billItemProduct(ProductDto.builder().productId(productId).build())
+                                            .billItemQuantity(2).build()))
+                                    .billStatus(Bill.BillStatus.COMPLETE)
+                                    .paymentMethod(Bill.PaymentMethod.CASH)
+                                    .build())))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            allNumbers.add(objectMapper.readTree(created).get("billNumber").asText());
+        }
+
+        assertThat(billArchiver.archiveDue()).isEqualTo(3);
+        assertThat(billRepository.findByClientBillIdIn(clientIds)).isEmpty();
+
+        mockMvc.perform(get("/api/v1/billing/" + oldNumbers.get(0).toLowerCase()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.billNumber", is(oldNumbers.get(0))))
+                .andExpect(jsonPath("$.customerName", is("Yusra Kettleby")))
+                .andExpect(jsonPath("$.billItems[0].productName", is("Archive Kettle")))
+                .andExpect(jsonPath("$.totalAmount", is(40.0)));
+
+        // Archived and hot bills merged in the requested order, pages straddling both
+        mockMvc.perform(get("/api/v1/billing/customer/" + contact).param("size", "2").param("page", "0"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements", is(5)))
+                .andExpect(jsonPath("$.totalPages", is(3)))
+                .andExpect(jsonPath("$.content[*].billNumber", contains(allNumbers.get(0), allNumbers.get(1))));
+        mockMvc.perform(get("/api/v1/billing/customer/" + contact).param("size", "2").param("page", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].billNumber", contains(allNumbers.get(2), allNumbers.get(3))));
+        mockMvc.perform(get("/api/v1/billing/customer/" + contact).param("size", "3").param("page", "0")
+                        .param("sort", "billId,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].billNumber", contains(allNumbers.get(4), allNumbers.get(3), allNumbers.get(2))));
+        mockMvc.perform(get("/api/v1/billing/customer/" + contact).param("size", "3").param("page", "1")
+                        .param("sort", "billId,desc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[*].billNumber", contains(allNumbers.get(1), allNumbers.get(0))));
+        mockMvc.perform(get("/api/v1/billing/customer/" + contact).param("sort", "paymentMethod,asc"))
+                .andExpect(status().isBadRequest());
+
+        String submitted = mockMvc.perform(post("/api/v1/reports")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"reportType\":\"CUSTOMER_STATEMENT\",\"customerContact\":\"" + contact + "\",\"from\":\""
+                                + LocalDate.now().minusYears(3) + "\"}"))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getContentAsString();
+        String jobId = objectMapper.readTree(submitted).get("jobId").asText();
+        JsonNode job = null;
+        for (int i = 0; i < 100; i++) {
+            job = objectMapper.readTree(mockMvc.perform(get("/api/v1/reports/" + jobId))
+                    .andReturn().getResponse().getContentAsString());
+            if ("COMPLETED".equals(job.get("status").asText()) || "FAILED".equals(job.get("status").asText())) {
+                break;
+            }
+            Thread.sleep(50);
+        }
+        assertThat(job.get("status").asText()).isEqualTo("COMPLETED");
+        byte[] gz = mockMvc.perform(get("/api/v1/reports/" + jobId + "/download"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        String csv;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gz))) {
+            csv = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        List<String> statementNumbers = csv.lines().skip(1).map(line -> line.substring(0, line.indexOf(','))).toList();
+        assertThat(statementNumbers).containsExactlyElementsOf(allNumbers); // date order across archive and database
+
+        // A second pass finds nothing left to move
+        assertThat(billArchiver.archiveDue()).isZero();
+    }
+}
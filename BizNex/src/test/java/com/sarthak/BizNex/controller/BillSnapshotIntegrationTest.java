@@ -0,0 +1,151 @@
+package com.sarthak.BizNex.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sarthak.BizNex.dto.BillDto;
+import com.sarthak.BizNex.dto.BillItemDto;
+import com.sarthak.BizNex.dto.CustomerDto;
+import com.sarthak.BizNex.dto.ProductDto;
+import com.sarthak.BizNex.dto.response.BillResponseDto;
+import com.sarthak.BizNex.entity.Bill;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class BillSnapshotIntegrationTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    private <T> T postJson(String path, Object body, Class<T> type) throws Exception {
+        String json = mockMvc.perform(post(path).with(user("admin").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(json, type);
+    }
+
+    private CustomerDto createCustomer(String name) throws Exception {
+        return postJson("/api/v1/customers", CustomerDto.builder()
+                .customerName(name)
+                .customerContact(Long.toString(ThreadLocalRandom.current().nextLong(1_000_000_000L, 9_999_999_999L)))
+                .customerEmail("snap@test.com").customerAddress("Addr").customerCredits(0.0).build(), CustomerDto.class);
+    }
+
+    private ProductDto createProduct(String name) throws Exception {
+        return postJson("/api/v1/products", ProductDto.builder()
+                .productName(name).productCategory("lighting").pricePerItem(25.0).productQuantity(50)
+                .productCode("SNAP-" + System.nanoTime()).build(), ProductDto.class);
+    }
+
+    private BillResponseDto createBill(CustomerDto customer, ProductDto product) throws Exception {
+        return postJson("/api/v1/billing", BillDto.builder()
+                .customer(CustomerDto.builder().customerId(customer.getCustomerId()).build())
+                .billItems(List.of(BillItemDto.builder()
+                        .billItemProduct(ProductDto.builder().productId(product.getProductId()).build())
+                        .billItemQuantity(2).build()))
+                .billStatus(Bill.BillStatus.COMPLETE)
+                .paymentMethod(Bill.PaymentMethod.CASH)
+                .build(), BillResponseDto.class);
+    }
+
+    @Test
+    @DisplayName("Bill lookups carry an ETag, answer 304 when unchanged and reflect a return once it commits")
+    void snapshotServedAndInvalidatedByReturn() throws Exception {
+        CustomerDto customer = createCustomer("Snapshot Customer");
+        ProductDto product = createProduct("Snapshot Lamp");
+        BillResponseDto created = createBill(customer, product);
+        String path = "/api/v1/billing/" + created.getBillNumber();
+
+        MvcResult first = mockMvc.perform(get(path).with(user("clerk").roles("USER")))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.billNumber", is(created.getBillNumber())))
+                .andExpect(jsonPath("$.customerName", is("Snapshot Customer")))
+                .andExpect(jsonPath("$.totalAmount", is(50.0)))
+                .andExpect(jsonPath("$.billStatus", is("COMPLETE")))
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotBlank();
+
+        // Served from the snapshot: same bytes, same tag, and a conditional request costs nothing
+        MvcResult second = mockMvc.perform(get(path.toLowerCase()).with(user("clerk").roles("USER")))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(second.getResponse().getContentAsString()).isEqualTo(first.getResponse().getContentAsString());
+        mockMvc.perform(get(path).with(user("clerk").roles("USER")).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        postJson("/api/v1/billing/return-bill", BillDto.builder()
+                .billNumber(created.getBillNumber())
+                .billItems(List.of(BillItemDto.builder()
+                        .billItemProduct(ProductDto.builder().productId(product.getProductId()).build())
+                        .billItemQuantity(2).build()))
+                .paymentMethod(Bill.PaymentMethod.CASH)
+                .build(), BillResponseDto.class);
+
+        MvcResult afterReturn = mockMvc.perform(get(path).with(user("clerk").roles("USER")).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.billType", is("FULL_RETURN")))
+                .andExpect(jsonPath("$.billStatus", is("CANCELLED")))
+                .andReturn();
+        assertThat(afterReturn.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+
+        mockMvc.perform(get("/api/v1/billing/NO-SUCH-BILL").with(user("clerk").roles("USER")))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Bills keep the customer and product details of the sale after those records are edited")
+    void historyKeepsSaleTimeDetails() throws Exception {
+        CustomerDto customer = createCustomer("Original Buyer");
+        ProductDto product = createProduct("Original Lamp");
+        BillResponseDto created = createBill(customer, product);
+
+        mockMvc.perform(patch("/api/v1/products/" + product.getProductId()).with(user("admin").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ProductDto.builder().productName("Renamed Lamp").build())))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/api/v1/customers").with(user("admin").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(CustomerDto.builder()
+                                .customerContact(customer.getCustomerContact()).customerName("Renamed Buyer").build())))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/billing/search").with(user("clerk").roles("USER"))
+                        .param("query", created.getBillNumber()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].customerName", is("Original Buyer")))
+                .andExpect(jsonPath("$.content[0].customerPhone", is(customer.getCustomerContact())))
+                .andExpect(jsonPath("$.content[0].billItems[0].productName", is("Original Lamp")))
+                .andExpect(jsonPath("$.content[0].billItems[0].productId", is(product.getProductId().intValue())));
+        mockMvc.perform(get("/api/v1/billing/search").with(user("clerk").roles("USER"))
+                        .param("query", "original buyer"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements", is(1)));
+    }
+}
@@ -0,0 +1,89 @@
+package com.sarthak.BizNex.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sarthak.BizNex.dto.ProductDto;
+import com.sarthak.BizNex.repository.BillItemRepository;
+import com.sarthak.BizNex.repository.BillRepository;
+import com.sarthak.BizNex.repository.ProductRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.catalog.cache.min-compress-bytes=0")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class CatalogConditionalCachingIntegrationTest {
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    ObjectMapper objectMapper;
+    @Autowired
+    ProductRepository productRepository;
+    @Autowired
+    BillItemRepository billItemRepository;
+    @Autowired
+    BillRepository billRepository;
+
+    private void addProduct(String name) throws Exception {
+        ProductDto dto = ProductDto.builder().productName(name).productCategory("tools").pricePerItem(5.0).productQuantity(20).build();
+        mockMvc.perform(post("/api/v1/products").contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    @DisplayName("Catalog listings carry a version ETag, answer If-None-Match with 304, serve gzip, and change on product writes")
+    void conditionalAndPrecompressedCatalogReads() throws Exception {
+        billItemRepository.deleteAll();
+        billRepository.deleteAll();
+        productRepository.deleteAll();
+        addProduct("Hammer");
+
+        MockHttpServletResponse first = mockMvc.perform(get("/api/v1/products").param("size", "10"))
+                .andExpect(status().isOk()).andReturn().getResponse();
+        String etag = first.getHeader(HttpHeaders.ETAG);
+        assertThat(etag).startsWith("\"cat-");
+        assertThat(first.getContentAsString()).contains("Hammer");
+
+        mockMvc.perform(get("/api/v1/products").param("size", "10").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        MockHttpServletResponse gzipped = mockMvc.perform(get("/api/v1/products").param("size", "10")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk()).andReturn().getResponse();
+        assertThat(gzipped.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(gzipped.getHeader(HttpHeaders.ETAG)).isEqualTo(etag.replace("\"", "").transform(t -> "\"" + t + "-gz\""));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getContentAsByteArray()))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(first.getContentAsString());
+        }
+        // The gzip variant's tag validates too
+        mockMvc.perform(get("/api/v1/products").param("size", "10").header(HttpHeaders.IF_NONE_MATCH, gzipped.getHeader(HttpHeaders.ETAG)))
+                .andExpect(status().isNotModified());
+
+        addProduct("Wrench");
+        MockHttpServletResponse after = mockMvc.perform(get("/api/v1/products").param("size", "10").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk()).andReturn().getResponse();
+        assertThat(after.getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+        assertThat(after.getContentAsString()).contains("Wrench");
+    }
+}
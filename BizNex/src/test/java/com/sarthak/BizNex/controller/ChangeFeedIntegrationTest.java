@@ -0,0 +1,140 @@
+package com.sarthak.BizNex.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sarthak.BizNex.dto.ProductDto;
+import com.sarthak.BizNex.entity.Product;
+import com.sarthak.BizNex.repository.ProductRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class ChangeFeedIntegrationTest {
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    ObjectMapper objectMapper;
+    @Autowired
+    ProductRepository productRepository;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    private long createProduct(String name, String code) throws Exception {
+        ProductDto p = ProductDto.builder().productName(name).productCategory("feed").pricePerItem(3.0).productQuantity(7).productCode(code).build();
+        String created = mockMvc.perform(post("/api/v1/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(p)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(created, ProductDto.class).getProductId();
+    }
+
+    private void restock(long productId, int quantity) {
+        Product p = productRepository.findById(productId).orElseThrow();
+        p.setProductQuantity(quantity);
+        productRepository.saveAndFlush(p);
+    }
+
+    private JsonNode changes(long since) throws Exception {
+        String body = mockMvc.perform(get("/api/v1/changes").param("since", Long.toString(since)).param("types", "PRODUCT"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    @DisplayName("Change feed returns upserts once, then tombstones after soft-delete, and advances the cursor")
+    void productChangesAndTombstones() throws Exception {
+        long start = changes(0).get("cursor").asLong();
+
+        String code = "CF-" + System.nanoTime();
+        long productId = createProduct("Feed Item", code);
+
+        JsonNode delta = changes(start);
+        assertThat(delta.get("products")).hasSize(1);
+        assertThat(delta.get("products").get(0).get("productCode").asText()).isEqualTo(code);
+        long afterCreate = delta.get("cursor").asLong();
+        assertThat(afterCreate).isGreaterThan(start);
+
+        // Nothing new since the returned cursor
+        mockMvc.perform(get("/api/v1/changes").param("since", Long.toString(afterCreate)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products").doesNotExist())
+                .andExpect(jsonPath("$.cursor", is((int) afterCreate)));
+
+        mockMvc.perform(delete("/api/v1/products/" + productId)).andExpect(status().isOk());
+
+        JsonNode afterDelete = changes(afterCreate);
+        assertThat(afterDelete.get("products")).isNull();
+        assertThat(afterDelete.get("tombstones")).hasSize(1);
+        assertThat(afterDelete.get("tombstones").get(0).get("entityId").asLong()).isEqualTo(productId);
+        assertThat(afterDelete.get("tombstones").get(0).get("entityKey").asText()).isEqualTo(code);
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    @DisplayName("A long transaction that commits after a later one is still delivered past the cursor already handed out")
+    void longTransactionCommittedLateIsNotSkipped() throws Exception {
+        String slowCode = "CF-SLOW-" + System.nanoTime();
+        String fastCode = "CF-FAST-" + System.nanoTime();
+        long slowId = createProduct("Feed Slow", slowCode);
+        long fastId = createProduct("Feed Fast", fastCode);
+        long start = changes(0).get("cursor").asLong();
+
+        // The slow transaction writes (and so takes the lower change_log seq) first, then stays open
+        CountDownLatch written = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread slow = new Thread(() -> transactionTemplate.executeWithoutResult(status -> {
+            restock(slowId, 11);
+            written.countDown();
+            try {
+                release.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        slow.start();
+        try {
+            assertThat(written.await(30, TimeUnit.SECONDS)).isTrue();
+            transactionTemplate.executeWithoutResult(status -> restock(fastId, 12));
+
+            JsonNode first = changes(start);
+            assertThat(first.get("products")).hasSize(1);
+            assertThat(first.get("products").get(0).get("productCode").asText()).isEqualTo(fastCode);
+            long cursor = first.get("cursor").asLong();
+
+            release.countDown();
+            slow.join(30_000);
+
+            JsonNode second = changes(cursor);
+            assertThat(second.get("products")).hasSize(1);
+            assertThat(second.get("products").get(0).get("productCode").asText()).isEqualTo(slowCode);
+            assertThat(second.get("cursor").asLong()).isGreaterThan(cursor);
+        } finally {
+            release.countDown();
+            slow.join(30_000);
+        }
+    }
+}
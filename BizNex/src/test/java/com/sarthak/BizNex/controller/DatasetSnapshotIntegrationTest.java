@@ -0,0 +1,215 @@
+package com.sarthak.BizNex.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sarthak.BizNex.archive.BillArchiver;
+import com.sarthak.BizNex.dto.BillDto;
+import com.sarthak.BizNex.dto.BillItemDto;
+import com.sarthak.BizNex.dto.CustomerDto;
+import com.sarthak.BizNex.dto.ProductDto;
+import com.sarthak.BizNex.dto.request.OfflineBillSyncRequest;
+import com.sarthak.BizNex.dto.response.BillResponseDto;
+import com.sarthak.BizNex.entity.Bill;
+import com.sarthak.BizNex.repository.BillRepository;
+import com.sarthak.BizNex.repository.CustomerRepository;
+import com.sarthak.BizNex.repository.ProductRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class DatasetSnapshotIntegrationTest {
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    ObjectMapper objectMapper;
+    @Autowired
+    ProductRepository productRepository;
+    @Autowired
+    CustomerRepository customerRepository;
+    @Autowired
+    BillRepository billRepository;
+    @Autowired
+    BillArchiver billArchiver;
+
+    @TempDir
+    static Path backupDir;
+
+    @DynamicPropertySource
+    static void backupDir(DynamicPropertyRegistry registry) {
+        registry.add("app.backup.dir", () -> backupDir.toString());
+    }
+
+    private <T> T postJson(String path, Object body, Class<T> type) throws Exception {
+        String json = mockMvc.perform(post(path)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(json, type);
+    }
+
+    private ProductDto createProduct(String name) throws Exception {
+        return postJson("/api/v1/products", ProductDto.builder()
+                .productName(name).productCategory("snapshots").productDescription("Ünïcode, \"quoted\"")
+                .pricePerItem(12.5).productQuantity(100).productCode("SNAP-" + System.nanoTime()).build(), ProductDto.class);
+    }
+
+    private BillResponseDto createBill(CustomerDto customer, ProductDto product, int quantity) throws Exception {
+        return postJson("/api/v1/billing", BillDto.builder()
+                .customer(CustomerDto.builder().customerId(customer.getCustomerId()).build())
+                .billItems(List.of(BillItemDto.builder()
+                        .billItemProduct(ProductDto.builder().productId(product.getProductId()).build())
+                        .billItemQuantity(quantity).build()))
+                .billStatus(Bill.BillStatus.COMPLETE)
+                .paymentMethod(Bill.PaymentMethod.CARD)
+                .build(), BillResponseDto.class);
+    }
+
+    /** A bill rung up two years ago (offline sync) and moved to the archive; returns its number. */
+    private String archivedBill(CustomerDto customer, ProductDto product) throws Exception {
+        String clientId = UUID.randomUUID().toString();
+        mockMvc.perform(post("/api/v1/billing/sync")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(OfflineBillSyncRequest.builder()
+                                .tillId("till-snapshot")
+                                .bills(List.of(OfflineBillSyncRequest.OfflineBill.builder()
+                                        .clientBillId(clientId)
+                                        .clientCreatedAt(LocalDate.now().minusYears(2).atTime(10, 0))
+                                        .customer(CustomerDto.builder().customerId(customer.getCustomerId()).build())
+                                        .billItems(List.of(BillItemDto.builder()
+                                                .billItemProduct(ProductDto.builder().productId(product.getProductId()).build())
+                                                .billItemQuantity(1).build()))
+                                        .paymentMethod(Bill.PaymentMethod.CASH)
+                                        .build()))
+                                .build())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", is(1)));
+        String billNumber = billRepository.findByClientBillIdIn(List.of(clientId)).get(0).getBillNumber();
+        assertThat(billArchiver.archiveDue()).isEqualTo(1);
+        return billNumber;
+    }
+
+    /** Submits a job (snapshot or restore) and waits for it to finish. */
+    private JsonNode runJob(String path) throws Exception {
+        String submitted = mockMvc.perform(post(path))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists(HttpHeaders.LOCATION))
+                .andReturn().getResponse().getContentAsString();
+        String jobId = objectMapper.readTree(submitted).get("jobId").asText();
+        JsonNode job = null;
+        for (int i = 0; i < 200; i++) {
+            job = objectMapper.readTree(mockMvc.perform(get("/api/v1/snapshots/jobs/" + jobId))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString());
+            if ("COMPLETED".equals(job.get("status").asText()) || "FAILED".equals(job.get("status").asText())) {
+                break;
+            }
+            Thread.sleep(50);
+        }
+        return job;
+    }
+
+    @Test
+    @WithMockUser(username = "snapshot-admin", roles = {"ADMIN"})
+    @DisplayName("A snapshot restores the dataset as it was; a damaged snapshot rolls back and changes nothing")
+    void snapshotAndRestore() throws Exception {
+        ProductDto product = createProduct("Snapshot Lantern");
+        CustomerDto customer = postJson("/api/v1/customers", CustomerDto.builder()
+                .customerName("Orrin Faulkner")
+                .customerContact(Long.toString(ThreadLocalRandom.current().nextLong(1_000_000_000L, 9_999_999_999L)))
+                .customerEmail("snap@test.com").customerAddress("Addr").customerCredits(0.0).build(), CustomerDto.class);
+        BillResponseDto kept = createBill(customer, product, 3);
+        String archived = archivedBill(customer, product);
+
+        JsonNode snapshot = runJob("/api/v1/snapshots");
+        assertThat(snapshot.get("status").asText()).isEqualTo("COMPLETED");
+        String snapshotId = snapshot.get("snapshotId").asText();
+        mockMvc.perform(get("/api/v1/snapshots"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is(snapshotId)))
+                .andExpect(jsonPath("$[0].tables", hasSize(5)))
+                .andExpect(jsonPath("$[0].archive", hasSize(1)))
+                .andExpect(jsonPath("$[0].tables[?(@.table == 'bills')].rows", contains((int) billRepository.count())));
+
+        // Changes after the snapshot: a new product and bill (looked up once, so its snapshot is cached), another
+        // archived bill
+        ProductDto later = createProduct("Snapshot Candle");
+        BillResponseDto dropped = createBill(customer, later, 1);
+        String droppedArchived = archivedBill(customer, product);
+        mockMvc.perform(get("/api/v1/billing/" + dropped.getBillNumber())).andExpect(status().isOk());
+        long products = productRepository.count();
+
+        JsonNode restore = runJob("/api/v1/snapshots/" + snapshotId + "/restore");
+        assertThat(restore.get("status").asText()).isEqualTo("COMPLETED");
+        assertThat(restore.get("rowCount").asLong()).isPositive();
+
+        assertThat(productRepository.count()).isEqualTo(products - 1);
+        assertThat(productRepository.findById(later.getProductId())).isEmpty();
+        assertThat(productRepository.findById(product.getProductId()).orElseThrow().getProductDescription())
+                .isEqualTo("Ünïcode, \"quoted\"");
+        assertThat(productRepository.findById(product.getProductId()).orElseThrow().getProductQuantity()).isEqualTo(96); // 3 billed, 1 archived
+        assertThat(customerRepository.findById(customer.getCustomerId()).orElseThrow().getCustomerRegistrationDate()).isNotNull();
+        mockMvc.perform(get("/api/v1/billing/" + kept.getBillNumber()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalAmount", is(kept.getTotalAmount())))
+                .andExpect(jsonPath("$.billItems[0].productName", is("Snapshot Lantern")));
+        mockMvc.perform(get("/api/v1/billing/" + dropped.getBillNumber())).andExpect(status().isNotFound());
+        // The archive is restored with the tables
+        mockMvc.perform(get("/api/v1/billing/" + archived)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/billing/" + droppedArchived)).andExpect(status().isNotFound());
+
+        // Identities continue after the restored ids
+        BillResponseDto after = createBill(customer, product, 1);
+        assertThat(billRepository.findByBillNumberIgnoreCase(after.getBillNumber()).orElseThrow().getBillId())
+                .isGreaterThan(billRepository.findByBillNumberIgnoreCase(kept.getBillNumber()).orElseThrow().getBillId());
+
+        // A damaged block fails the restore, which leaves the data as it was
+        String damagedId = runJob("/api/v1/snapshots").get("snapshotId").asText();
+        Path bills = backupDir.resolve(damagedId).resolve("bills.bzt");
+        try (RandomAccessFile raf = new RandomAccessFile(bills.toFile(), "rw")) {
+            long middle = raf.length() / 2;
+            raf.seek(middle);
+            int b = raf.read();
+            raf.seek(middle);
+            raf.write(b ^ 0xFF);
+        }
+        createProduct("Snapshot Torch");
+        long before = productRepository.count();
+        JsonNode failed = runJob("/api/v1/snapshots/" + damagedId + "/restore");
+        assertThat(failed.get("status").asText()).isEqualTo("FAILED");
+        assertThat(failed.get("error").asText()).isNotBlank();
+        assertThat(productRepository.count()).isEqualTo(before);
+        mockMvc.perform(get("/api/v1/billing/" + archived)).andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/v1/snapshots/20200101-000000-abcdef/restore")).andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,223 @@
+package com.sarthak.BizNex.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sarthak.BizNex.archive.BillArchiver;
+import com.sarthak.BizNex.dto.BillDto;
+import com.sarthak.BizNex.dto.BillItemDto;
+import com.sarthak.BizNex.dto.CustomerDto;
+import com.sarthak.BizNex.dto.ProductDto;
+import com.sarthak.BizNex.dto.request.OfflineBillSyncRequest;
+import com.sarthak.BizNex.dto.response.BillResponseDto;
+import com.sarthak.BizNex.dto.response.OfflineBillSyncResponseDto;
+import com.sarthak.BizNex.entity.Bill;
+import com.sarthak.BizNex.repository.BillRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "app.history.chunk-size=2")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class HistoryStreamIntegrationTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    BillRepository billRepository;
+
+    @Autowired
+    BillArchiver billArchiver;
+
+    private <T> T postJson(String path, Object body, Class<T> type) throws Exception {
+        String json = mockMvc.perform(post(path).with(user("admin").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(json, type);
+    }
+
+    private CustomerDto createCustomer(String name) throws Exception {
+        return postJson("/api/v1/customers", CustomerDto.builder()
+                .customerName(name)
+                .customerContact(Long.toString(ThreadLocalRandom.current().nextLong(1_000_000_000L, 9_999_999_999L)))
+                .customerEmail("history@test.com").customerAddress("Addr").customerCredits(0.0).build(), CustomerDto.class);
+    }
+
+    private List<BillResponseDto> createBills(CustomerDto customer, int count) throws Exception {
+        ProductDto product = postJson("/api/v1/products", ProductDto.builder()
+                .productName("History Lamp " + customer.getCustomerId()).productCategory("lighting").pricePerItem(25.0).productQuantity(100)
+                .productCode("HIST-" + System.nanoTime()).build(), ProductDto.class);
+        List<BillResponseDto> bills = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            bills.add(postJson("/api/v1/billing", BillDto.builder()
+                    .customer(CustomerDto.builder().customerId(customer.getCustomerId()).build())
+                    .billItems(List.of(BillItemDto.builder()
+                            .billItemProduct(ProductDto.builder().productId(product.getProductId()).build())
+                            .billItemQuantity(i + 1).build()))
+                    .billStatus(Bill.BillStatus.COMPLETE)
+                    .paymentMethod(Bill.PaymentMethod.CASH)
+                    .build(), BillResponseDto.class));
+        }
+        return bills;
+    }
+
+    /** Runs a streaming request to completion and returns the body. */
+    private String stream(MockHttpServletRequestBuilder request, MediaType accept) throws Exception {
+        MvcResult result = mockMvc.perform(request.with(user("clerk").roles("USER")).accept(accept))
+                .andExpect(request().asyncStarted())
+                .andExpect(status().isOk())
+                .andReturn();
+        result.getAsyncResult(10_000);
+        // Complete the request as the container would, releasing its bulkhead permit
+        result.getRequest().getAsyncContext().complete();
+        // Headers go out with the first chunk
+        assertThat(MediaType.parseMediaType(result.getResponse().getContentType()).isCompatibleWith(accept)).isTrue();
+        return result.getResponse().getContentAsString();
+    }
+
+    @Test
+    @DisplayName("NDJSON streams every bill of a customer across chunks, one JSON object per line")
+    void streamsBillsAsNdjson() throws Exception {
+        CustomerDto customer = createCustomer("Quill Vantage");
+        List<BillResponseDto> created = createBills(customer, 5);
+
+        String body = stream(get("/api/v1/history/bills").param("customerContact", customer.getCustomerContact()),
+                MediaType.APPLICATION_NDJSON);
+        List<String> lines = body.lines().toList();
+        assertThat(lines).hasSize(5);
+        for (int i = 0; i < lines.size(); i++) {
+            BillResponseDto streamed = objectMapper.readValue(lines.get(i), BillResponseDto.class);
+            assertThat(streamed.getBillNumber()).isEqualTo(created.get(i).getBillNumber());
+            assertThat(streamed.getCustomerName()).isEqualTo("Quill Vantage");
+            assertThat(streamed.getTotalAmount()).isEqualTo(created.get(i).getTotalAmount());
+            assertThat(streamed.getBillItems()).hasSize(1);
+            assertThat(streamed.getBillItems().get(0).getBillItemQuantity()).isEqualTo(i + 1);
+            assertThat(streamed.getBillItems().get(0).getProductName()).startsWith("History Lamp");
+        }
+
+        mockMvc.perform(get("/api/v1/history/bills").with(user("clerk").roles("USER"))
+                        .param("customerContact", "0000000000").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("SSE events carry the bill id and a reconnect with Last-Event-ID resumes after it")
+    void streamsBillsAsEventsAndResumes() throws Exception {
+        CustomerDto customer = createCustomer("Zora Wexley");
+        createBills(customer, 3);
+
+        String body = stream(get("/api/v1/history/bills").param("customerContact", customer.getCustomerContact()),
+                MediaType.TEXT_EVENT_STREAM);
+        List<String> ids = body.lines().filter(l -> l.startsWith("id:")).map(l -> l.substring(3).trim()).toList();
+        assertThat(ids).hasSize(3);
+        assertThat(body.lines().filter(l -> l.equals("event:bill")).count()).isEqualTo(3);
+
+        String resumed = stream(get("/api/v1/history/bills").param("customerContact", customer.getCustomerContact())
+                .header("Last-Event-ID", ids.get(0)), MediaType.TEXT_EVENT_STREAM);
+        assertThat(resumed.lines().filter(l -> l.startsWith("id:")).map(l -> l.substring(3).trim()).toList())
+                .isEqualTo(ids.subList(1, 3));
+    }
+
+    @Test
+    @DisplayName("Customers stream includes newly registered customers")
+    void streamsCustomers() throws Exception {
+        CustomerDto customer = createCustomer("Streamed Customer");
+
+        String body = stream(get("/api/v1/history/customers"), MediaType.APPLICATION_NDJSON);
+        List<CustomerDto> customers = new ArrayList<>();
+        for (String line : body.lines().toList()) {
+            customers.add(objectMapper.readValue(line, CustomerDto.class));
+        }
+        assertThat(customers).extracting(CustomerDto::getCustomerContact).contains(customer.getCustomerContact());
+        assertThat(customers).extracting(CustomerDto::getCustomerId).isSorted();
+    }
+
+    @Test
+    @DisplayName("Archived bills are streamed with the hot ones in bill id order, within the requested dates")
+    void streamsArchivedBills() throws Exception {
+        CustomerDto customer = createCustomer("Odile Marchetti");
+        ProductDto product = postJson("/api/v1/products", ProductDto.builder()
+                .productName("Archive Lantern").productCategory("lighting").pricePerItem(30.0).productQuantity(100)
+                .productCode("HIST-" + System.nanoTime()).build(), ProductDto.class);
+        // Three bills rung up offline two years ago, archived below, then two hot ones
+        LocalDateTime old = LocalDate.now().minusYears(2).withDayOfMonth(10).atTime(11, 0);
+        List<String> clientIds = List.of(UUID.randomUUID().toString(), UUID.randomUUID().toString(), UUID.randomUUID().toString());
+        List<OfflineBillSyncRequest.OfflineBill> offline = new ArrayList<>();
+        for (int i = 0; i < clientIds.size(); i++) {
+            offline.add(OfflineBillSyncRequest.OfflineBill.builder()
+                    .clientBillId(clientIds.get(i))
+                    .clientCreatedAt(old.plusMonths(i))
+                    .customer(CustomerDto.builder().customerId(customer.getCustomerId()).build())
+                    .billItems(List.of(BillItemDto.builder()
+                            .billItemProduct(ProductDto.builder().productId(product.getProductId()).build())
+                            .billItemQuantity(1).build()))
+                    .paymentMethod(Bill.PaymentMethod.CASH)
+                    .build());
+        }
+        postJson("/api/v1/billing/sync", OfflineBillSyncRequest.builder().tillId("till-history").bills(offline).build(),
+                OfflineBillSyncResponseDto.class);
+        List<String> expected = new ArrayList<>(billRepository.findByClientBillIdIn(clientIds).stream()
+                .sorted(Comparator.comparing(Bill::getBillId)).map(Bill::getBillNumber).toList());
+        assertThat(expected).hasSize(3);
+        createBills(customer, 2).forEach(bill -> expected.add(bill.getBillNumber()));
+        billArchiver.archiveDue();
+        assertThat(billRepository.findByClientBillIdIn(clientIds)).isEmpty();
+
+        String body = stream(get("/api/v1/history/bills").param("customerContact", customer.getCustomerContact()),
+                MediaType.APPLICATION_NDJSON);
+        List<BillResponseDto> streamed = new ArrayList<>();
+        for (String line : body.lines().toList()) {
+            streamed.add(objectMapper.readValue(line, BillResponseDto.class));
+        }
+        assertThat(streamed).extracting(BillResponseDto::getBillNumber).isEqualTo(expected);
+        assertThat(streamed.get(0).getBillItems()).hasSize(1);
+        assertThat(streamed.get(0).getBillItems().get(0).getProductName()).isEqualTo("Archive Lantern");
+
+        // Resuming mid-archive, and a date range that only the archive covers
+        String events = stream(get("/api/v1/history/bills").param("customerContact", customer.getCustomerContact()),
+                MediaType.TEXT_EVENT_STREAM);
+        List<String> ids = events.lines().filter(l -> l.startsWith("id:")).map(l -> l.substring(3).trim()).toList();
+        assertThat(ids).hasSize(5);
+        String resumed = stream(get("/api/v1/history/bills").param("customerContact", customer.getCustomerContact())
+                .header("Last-Event-ID", ids.get(1)), MediaType.TEXT_EVENT_STREAM);
+        assertThat(resumed.lines().filter(l -> l.startsWith("id:")).map(l -> l.substring(3).trim()).toList())
+                .isEqualTo(ids.subList(2, 5));
+
+        String ranged = stream(get("/api/v1/history/bills").param("customerContact", customer.getCustomerContact())
+                .param("from", old.toLocalDate().toString()).param("to", old.plusMonths(1).toLocalDate().toString()),
+                MediaType.APPLICATION_NDJSON);
+        List<String> rangedNumbers = new ArrayList<>();
+        for (String line : ranged.lines().toList()) {
+            rangedNumbers.add(objectMapper.readValue(line, BillResponseDto.class).getBillNumber());
+        }
+        assertThat(rangedNumbers).isEqualTo(expected.subList(0, 2));
+    }
+}
@@ -0,0 +1,61 @@
+package com.sarthak.BizNex.controller;
+
+import com.sarthak.BizNex.entity.User;
+import com.sarthak.BizNex.repository.UserRepository;
+import com.sarthak.BizNex.security.UserStateCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.security.bcrypt-strength=5")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class LoginPasswordUpgradeIntegrationTest {
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    UserStateCache userStateCache;
+
+    @Test
+    @DisplayName("Login with a weaker stored hash succeeds and re-encodes it at the configured cost")
+    void weakHashUpgradedOnLogin() throws Exception {
+        userRepository.deleteAll();
+        userStateCache.invalidateAll();
+        User u = new User("upgrader", "upgrader@example.com");
+        u.setUserPassword(new BCryptPasswordEncoder(4).encode("Pass123!"));
+        u.setUserRole(User.UserRole.USER);
+        u.setUserContact("1112223337");
+        u.setUserSalary(0);
+        userRepository.save(u);
+
+        String login = "{\"username\":\"upgrader\",\"userPassword\":\"Pass123!\"}";
+        mockMvc.perform(post("/api/v1/auth/login").contentType(MediaType.APPLICATION_JSON).content(login))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userRole").value("USER"))
+                .andExpect(jsonPath("$.mustChangePassword").value(false));
+
+        User stored = userRepository.findByUsername("upgrader").orElseThrow();
+        assertThat(stored.getUserPassword()).startsWith("$2a$05$");
+        assertThat(stored.getSecurityVersion()).isZero();
+
+        // Upgraded hash still verifies
+        mockMvc.perform(post("/api/v1/auth/login").contentType(MediaType.APPLICATION_JSON).content(login))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,138 @@
+package com.sarthak.BizNex.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sarthak.BizNex.dto.BillItemDto;
+import com.sarthak.BizNex.dto.CustomerDto;
+import com.sarthak.BizNex.dto.ProductDto;
+import com.sarthak.BizNex.dto.request.OfflineBillSyncRequest;
+import com.sarthak.BizNex.entity.Bill;
+import com.sarthak.BizNex.entity.Customer;
+import com.sarthak.BizNex.entity.Product;
+import com.sarthak.BizNex.repository.BillRepository;
+import com.sarthak.BizNex.repository.CustomerRepository;
+import com.sarthak.BizNex.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class OfflineBillSyncIntegrationTest {
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    ObjectMapper objectMapper;
+    @Autowired
+    ProductRepository productRepository;
+    @Autowired
+    CustomerRepository customerRepository;
+    @Autowired
+    BillRepository billRepository;
+
+    private Long customerId;
+    private Long productId;
+
+    @BeforeEach
+    void setup() {
+        Customer c = new Customer();
+        c.setCustomerName("Offline Buyer");
+        c.setCustomerContact(Long.toString(ThreadLocalRandom.current().nextLong(1_000_000_000L, 9_999_999_999L)));
+        c.setCustomerCredits(0.0);
+        customerId = customerRepository.save(c).getCustomerId();
+
+        Product p = new Product();
+        p.setProductName("Offline Widget");
+        p.setProductCategory("sync");
+        p.setPricePerItem(10.0);
+        p.setProductQuantity(5);
+        p.setProductCode("OFF-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase());
+        productId = productRepository.save(p).getProductId();
+    }
+
+    private OfflineBillSyncRequest.OfflineBill bill(String clientId, LocalDateTime at, int qty, Bill.PaymentMethod method) {
+        return OfflineBillSyncRequest.OfflineBill.builder()
+                .clientBillId(clientId)
+                .clientCreatedAt(at)
+                .customer(CustomerDto.builder().customerId(customerId).build())
+                .billItems(List.of(BillItemDto.builder()
+                        .billItemProduct(ProductDto.builder().productId(productId).build())
+                        .billItemQuantity(qty)
+                        .build()))
+                .paymentMethod(method)
+                .build();
+    }
+
+    @Test
+    @WithMockUser(roles = {"USER"})
+    @DisplayName("Sync applies bills in till order, reports stock conflicts and de-duplicates retries")
+    void syncAppliesInOrderAndDeduplicates() throws Exception {
+        LocalDateTime base = LocalDateTime.of(2025, 3, 1, 10, 0);
+        String first = UUID.randomUUID().toString();
+        String second = UUID.randomUUID().toString();
+        String third = UUID.randomUUID().toString();
+        // Sent out of order: 'third' was rung up last and can no longer be served from the remaining stock
+        OfflineBillSyncRequest request = OfflineBillSyncRequest.builder()
+                .tillId("till-1")
+                .bills(List.of(
+                        bill(third, base.plusMinutes(2), 3, Bill.PaymentMethod.CASH),
+                        bill(first, base, 2, Bill.PaymentMethod.CREDIT),
+                        bill(second, base.plusMinutes(1), 1, Bill.PaymentMethod.CASH),
+                        bill(first, base, 2, Bill.PaymentMethod.CREDIT),
+                        bill("not-a-uuid", base, 1, Bill.PaymentMethod.CASH)))
+                .build();
+
+        mockMvc.perform(post("/api/v1/billing/sync")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received", is(5)))
+                .andExpect(jsonPath("$.created", is(2)))
+                .andExpect(jsonPath("$.duplicates", is(1)))
+                .andExpect(jsonPath("$.conflicts", is(1)))
+                .andExpect(jsonPath("$.rejected", is(1)))
+                .andExpect(jsonPath("$.results[0].status", is("CONFLICT")))
+                .andExpect(jsonPath("$.results[0].stockConflicts[0].requested", is(3)))
+                .andExpect(jsonPath("$.results[0].stockConflicts[0].available", is(2)))
+                .andExpect(jsonPath("$.results[1].status", is("CREATED")))
+                .andExpect(jsonPath("$.results[2].status", is("CREATED")))
+                .andExpect(jsonPath("$.results[3].status", is("DUPLICATE")))
+                .andExpect(jsonPath("$.results[4].status", is("REJECTED")));
+
+        assertThat(productRepository.findById(productId).orElseThrow().getProductQuantity()).isEqualTo(2);
+        assertThat(customerRepository.findById(customerId).orElseThrow().getCustomerCredits()).isEqualTo(20.0);
+        Bill synced = billRepository.findByClientBillIdIn(List.of(first)).get(0);
+        assertThat(synced.getBillDate()).isEqualTo(base);
+
+        // Retrying the same batch changes nothing
+        mockMvc.perform(post("/api/v1/billing/sync")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", is(0)))
+                .andExpect(jsonPath("$.duplicates", is(3)))
+                .andExpect(jsonPath("$.results[1].billNumber", is(synced.getBillNumber())));
+        assertThat(productRepository.findById(productId).orElseThrow().getProductQuantity()).isEqualTo(2);
+        assertThat(customerRepository.findById(customerId).orElseThrow().getCustomerCredits()).isEqualTo(20.0);
+    }
+}
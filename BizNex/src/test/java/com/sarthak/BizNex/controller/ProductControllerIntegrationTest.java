@@ -169,4 +169,39 @@ class ProductControllerIntegrationTest {
                 .andExpect(jsonPath("$.status", is(409)))
                 .andExpect(jsonPath("$.message", containsString("Product already exists")));
     }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    @DisplayName("GET /api/v1/products/stats reflects product writes once the refresh their commit triggers lands")
+    void statsInvalidatedByProductWrites() throws Exception {
+        billItemRepository.deleteAll();
+        billRepository.deleteAll();
+        productRepository.deleteAll();
+        mockMvc.perform(get("/api/v1/products/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lowStockCount", is(0)));
+
+        ProductDto create = ProductDto.builder()
+                .productName("Bolt")
+                .productCategory("hardware")
+                .pricePerItem(1.0)
+                .productQuantity(3)
+                .build();
+        mockMvc.perform(post("/api/v1/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(create)))
+                .andExpect(status().isOk());
+
+        // The write ends the cached value's fresh window: at most a stale read or two while it reloads
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (objectMapper.readTree(mockMvc.perform(get("/api/v1/products/stats")).andReturn().getResponse()
+                .getContentAsString()).get("lowStockCount").asInt() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        mockMvc.perform(get("/api/v1/products/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lowStockThreshold", is(10)))
+                .andExpect(jsonPath("$.lowStockCount", is(1)))
+                .andExpect(jsonPath("$.categoryCounts.hardware", is(1)));
+    }
 }
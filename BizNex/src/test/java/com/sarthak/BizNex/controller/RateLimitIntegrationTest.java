@@ -0,0 +1,58 @@
+package com.sarthak.BizNex.controller;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "app.ratelimit.enabled=true",
+        "app.ratelimit.search.rate-per-second=1",
+        "app.ratelimit.search.burst=2"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class RateLimitIntegrationTest {
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    private MockHttpServletRequestBuilder search(String username) {
+        return get("/api/v1/products/search").param("productName", "x").with(user(username).roles("USER"));
+    }
+
+    @Test
+    @DisplayName("Searches beyond the burst are rejected with 429 and Retry-After, per user")
+    void searchBurstIsLimitedPerUser() throws Exception {
+        mockMvc.perform(search("noisy-script")).andExpect(status().isOk());
+        mockMvc.perform(search("noisy-script")).andExpect(status().isOk());
+        mockMvc.perform(search("noisy-script"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(jsonPath("$.status").value(429));
+
+        // Another caller has its own bucket; unrelated route groups are not affected
+        mockMvc.perform(search("till-1")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/products").with(user("noisy-script").roles("USER"))).andExpect(status().isOk());
+
+        assertThat(meterRegistry.counter("biznex.ratelimit.decisions", "group", "search", "outcome", "rejected").count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.counter("biznex.ratelimit.decisions", "group", "search", "outcome", "allowed").count())
+                .isEqualTo(3.0);
+    }
+}
@@ -0,0 +1,117 @@
+package com.sarthak.BizNex.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sarthak.BizNex.entity.User;
+import com.sarthak.BizNex.repository.UserRepository;
+import com.sarthak.BizNex.security.UserStateCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class RefreshTokenIntegrationTest {
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    PasswordEncoder passwordEncoder;
+    @Autowired
+    ObjectMapper objectMapper;
+    @Autowired
+    UserStateCache userStateCache;
+
+    @BeforeEach
+    void setup() {
+        userRepository.deleteAll();
+        userStateCache.invalidateAll();
+        User u = new User("rtadmin", "rtadmin@example.com");
+        u.setUserPassword(passwordEncoder.encode("Pass123!"));
+        u.setUserRole(User.UserRole.ADMIN);
+        u.setUserContact("1112223336");
+        u.setUserSalary(0);
+        userRepository.save(u);
+    }
+
+    private JsonNode login() throws Exception {
+        String body = mockMvc.perform(post("/api/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"rtadmin\",\"userPassword\":\"Pass123!\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private ResultActions refresh(String refreshToken) throws Exception {
+        return mockMvc.perform(post("/api/v1/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"refreshToken\":\"" + refreshToken + "\"}"));
+    }
+
+    @Test
+    @DisplayName("Refresh rotates tokens and each refresh token works only once")
+    void refreshRotatesAndRejectsReuse() throws Exception {
+        String firstRefresh = login().get("refreshToken").asText();
+
+        String body = refresh(firstRefresh)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("rtadmin"))
+                .andExpect(jsonPath("$.userRole").value("ADMIN"))
+                .andReturn().getResponse().getContentAsString();
+        JsonNode rotated = objectMapper.readTree(body);
+        String access = rotated.get("accessToken").asText();
+        String secondRefresh = rotated.get("refreshToken").asText();
+        assertThat(secondRefresh).isNotEqualTo(firstRefresh);
+
+        mockMvc.perform(get("/api/v1/users").header("Authorization", "Bearer " + access))
+                .andExpect(status().isOk());
+
+        // Reuse of a rotated-out token is refused; the newest one still works
+        refresh(firstRefresh).andExpect(status().isUnauthorized());
+        refresh(secondRefresh).andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Access and refresh tokens are not interchangeable")
+    void tokenTypesAreNotInterchangeable() throws Exception {
+        JsonNode tokens = login();
+
+        refresh(tokens.get("accessToken").asText()).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/v1/users").header("Authorization", "Bearer " + tokens.get("refreshToken").asText()))
+                .andExpect(status().isUnauthorized());
+        refresh("not-a-jwt").andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Password change invalidates outstanding refresh tokens")
+    void passwordChangeInvalidatesRefreshToken() throws Exception {
+        JsonNode tokens = login();
+
+        mockMvc.perform(patch("/api/v1/users/rtadmin/password")
+                        .header("Authorization", "Bearer " + tokens.get("accessToken").asText())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"newPassword\":\"Changed1!\"}"))
+                .andExpect(status().isOk());
+
+        refresh(tokens.get("refreshToken").asText()).andExpect(status().isUnauthorized());
+    }
+}
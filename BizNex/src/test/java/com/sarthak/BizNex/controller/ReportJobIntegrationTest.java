@@ -0,0 +1,102 @@
+package com.sarthak.BizNex.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sarthak.BizNex.entity.Product;
+import com.sarthak.BizNex.repository.ProductRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class ReportJobIntegrationTest {
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    ObjectMapper objectMapper;
+    @Autowired
+    ProductRepository productRepository;
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    @DisplayName("Inventory report runs asynchronously and downloads as gzip CSV with Range support")
+    void inventoryReportLifecycle() throws Exception {
+        String code = "RPT-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        Product p = new Product();
+        p.setProductName("Report Widget");
+        p.setProductCategory("reports");
+        p.setPricePerItem(12.5);
+        p.setProductQuantity(4);
+        p.setProductCode(code);
+        productRepository.save(p);
+
+        String submitted = mockMvc.perform(post("/api/v1/reports")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"reportType\":\"INVENTORY_VALUATION\"}"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().exists(HttpHeaders.LOCATION))
+                .andExpect(jsonPath("$.jobId").exists())
+                .andReturn().getResponse().getContentAsString();
+        String jobId = objectMapper.readTree(submitted).get("jobId").asText();
+
+        JsonNode status = null;
+        for (int i = 0; i < 100; i++) {
+            String body = mockMvc.perform(get("/api/v1/reports/" + jobId))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            status = objectMapper.readTree(body);
+            if ("COMPLETED".equals(status.get("status").asText()) || "FAILED".equals(status.get("status").asText())) {
+                break;
+            }
+            Thread.sleep(50);
+        }
+        assertThat(status.get("status").asText()).isEqualTo("COMPLETED");
+
+        byte[] gz = mockMvc.perform(get("/api/v1/reports/" + jobId + "/download"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+        String csv;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gz))) {
+            csv = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        assertThat(csv).startsWith("product_code,product_name");
+        assertThat(csv).contains(code + ",Report Widget,reports,4,12.5,50.0");
+
+        mockMvc.perform(get("/api/v1/reports/" + jobId + "/download").header(HttpHeaders.RANGE, "bytes=0-9"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_LENGTH, "10"));
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    @DisplayName("Customer statement without contact is rejected")
+    void customerStatementRequiresContact() throws Exception {
+        mockMvc.perform(post("/api/v1/reports")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"reportType\":\"CUSTOMER_STATEMENT\"}"))
+                .andExpect(status().isBadRequest());
+    }
+}
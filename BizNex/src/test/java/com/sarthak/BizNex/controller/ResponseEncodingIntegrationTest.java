@@ -0,0 +1,135 @@
+package com.sarthak.BizNex.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.sarthak.BizNex.dto.BillDto;
+import com.sarthak.BizNex.dto.BillItemDto;
+import com.sarthak.BizNex.dto.CustomerDto;
+import com.sarthak.BizNex.dto.ProductDto;
+import com.sarthak.BizNex.dto.response.ChangeFeedResponseDto;
+import com.sarthak.BizNex.dto.response.PageResponseDto;
+import com.sarthak.BizNex.dto.response.BillResponseDto;
+import com.sarthak.BizNex.encoding.ColumnarJson;
+import com.sarthak.BizNex.encoding.ColumnarJsonHttpMessageConverter;
+import com.sarthak.BizNex.entity.Bill;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class ResponseEncodingIntegrationTest {
+
+    private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    private <T> T postJson(String path, Object body, Class<T> type) throws Exception {
+        String json = mockMvc.perform(post(path).with(user("admin").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(json, type);
+    }
+
+    private byte[] fetch(String path, MediaType accept) throws Exception {
+        MvcResult result = mockMvc.perform(get(path).with(user("admin").roles("ADMIN")).accept(accept))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(accept))
+                .andReturn();
+        return result.getResponse().getContentAsByteArray();
+    }
+
+    private <T> T fromColumnar(byte[] body, TypeReference<T> type) throws Exception {
+        return objectMapper.convertValue(ColumnarJson.decode((ObjectNode) objectMapper.readTree(body)), type);
+    }
+
+    @Test
+    @DisplayName("CBOR and columnar JSON carry the same pages as JSON in fewer bytes")
+    void encodingsRoundTripToTheJsonResponse() throws Exception {
+        CustomerDto customer = postJson("/api/v1/customers", CustomerDto.builder()
+                .customerName("Encoding Customer")
+                .customerContact(Long.toString(ThreadLocalRandom.current().nextLong(1_000_000_000L, 9_999_999_999L)))
+                .customerEmail("enc@test.com").customerAddress("Addr").customerCredits(0.0).build(), CustomerDto.class);
+        List<ProductDto> products = new java.util.ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            products.add(postJson("/api/v1/products", ProductDto.builder()
+                    .productName("Encoded Item " + i).productCategory("encoding").pricePerItem(3.5 + i).productQuantity(500)
+                    .productCode("ENC-" + i + "-" + System.nanoTime()).build(), ProductDto.class));
+        }
+        for (int i = 0; i < 30; i++) {
+            postJson("/api/v1/billing", BillDto.builder()
+                    .customer(CustomerDto.builder().customerId(customer.getCustomerId()).build())
+                    .billItems(List.of(
+                            BillItemDto.builder().billItemProduct(ProductDto.builder().productId(products.get(i % 3).getProductId()).build())
+                                    .billItemQuantity(1 + i % 4).build(),
+                            BillItemDto.builder().billItemProduct(ProductDto.builder().productId(products.get((i + 1) % 3).getProductId()).build())
+                                    .billItemQuantity(1).build()))
+                    .billStatus(Bill.BillStatus.COMPLETE)
+                    .paymentMethod(i % 2 == 0 ? Bill.PaymentMethod.CASH : Bill.PaymentMethod.CARD)
+                    .build(), BillResponseDto.class);
+        }
+        TypeReference<PageResponseDto<BillResponseDto>> billPage = new TypeReference<>() {
+        };
+        String bills = "/api/v1/billing?size=100";
+
+        byte[] json = fetch(bills, MediaType.APPLICATION_JSON);
+        byte[] cbor = fetch(bills, CBOR);
+        byte[] columnar = fetch(bills, ColumnarJsonHttpMessageConverter.COLUMNAR_JSON);
+
+        PageResponseDto<BillResponseDto> expected = objectMapper.readValue(json, billPage);
+        assertThat(expected.getContent()).hasSizeGreaterThanOrEqualTo(30);
+        assertThat(new CBORMapper().readValue(cbor, billPage)).isEqualTo(expected);
+        assertThat(fromColumnar(columnar, billPage)).isEqualTo(expected);
+        assertThat(cbor.length).isLessThan(json.length);
+        assertThat(columnar.length).isLessThan(json.length / 3);
+
+        // Catalog listing: a cached JSON body must not be served to a columnar client (and vice versa)
+        String catalog = "/api/v1/products/category/encoding";
+        TypeReference<PageResponseDto<ProductDto>> productPage = new TypeReference<>() {
+        };
+        PageResponseDto<ProductDto> catalogJson = objectMapper.readValue(fetch(catalog, MediaType.APPLICATION_JSON), productPage);
+        assertThat(fromColumnar(fetch(catalog, ColumnarJsonHttpMessageConverter.COLUMNAR_JSON), productPage)).isEqualTo(catalogJson);
+        assertThat(objectMapper.readValue(fetch(catalog, MediaType.APPLICATION_JSON), productPage)).isEqualTo(catalogJson);
+
+        // Change feed (the sync export)
+        String changes = "/api/v1/changes?since=0&limit=1000";
+        ChangeFeedResponseDto feed = objectMapper.readValue(fetch(changes, MediaType.APPLICATION_JSON), ChangeFeedResponseDto.class);
+        assertThat(fromColumnar(fetch(changes, ColumnarJsonHttpMessageConverter.COLUMNAR_JSON), new TypeReference<ChangeFeedResponseDto>() {
+        })).isEqualTo(feed);
+
+        // Single bill lookups stay JSON-only (pre-serialised snapshots)
+        mockMvc.perform(get("/api/v1/billing/" + expected.getContent().get(0).getBillNumber())
+                        .with(user("admin").roles("ADMIN")).accept(CBOR))
+                .andExpect(status().isNotAcceptable());
+        mockMvc.perform(get(bills).with(user("admin").roles("ADMIN")).header(HttpHeaders.ACCEPT, "application/cbor;q=0.5, application/json"))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+}
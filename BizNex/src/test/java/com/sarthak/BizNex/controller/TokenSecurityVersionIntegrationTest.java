@@ -0,0 +1,100 @@
+package com.sarthak.BizNex.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sarthak.BizNex.entity.User;
+import com.sarthak.BizNex.repository.UserRepository;
+import com.sarthak.BizNex.security.UserStateCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class TokenSecurityVersionIntegrationTest {
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    PasswordEncoder passwordEncoder;
+    @Autowired
+    ObjectMapper objectMapper;
+    @Autowired
+    UserStateCache userStateCache;
+
+    @BeforeEach
+    void setup() {
+        userRepository.deleteAll();
+        userStateCache.invalidateAll();
+        userRepository.save(user("svadmin", User.UserRole.ADMIN, "1112223334"));
+        userRepository.save(user("svclerk", User.UserRole.USER, "1112223335"));
+    }
+
+    private User user(String username, User.UserRole role, String contact) {
+        User u = new User(username, username + "@example.com");
+        u.setUserPassword(passwordEncoder.encode("Pass123!"));
+        u.setUserRole(role);
+        u.setUserContact(contact);
+        u.setUserSalary(0);
+        return u;
+    }
+
+    private String login(String username, String password) throws Exception {
+        String body = mockMvc.perform(post("/api/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"" + username + "\",\"userPassword\":\"" + password + "\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("accessToken").asText();
+    }
+
+    @Test
+    @DisplayName("Admin password reset revokes tokens issued before the change")
+    void passwordResetRevokesOutstandingTokens() throws Exception {
+        String admin = login("svadmin", "Pass123!");
+        String clerk = login("svclerk", "Pass123!");
+
+        mockMvc.perform(get("/api/v1/products").header("Authorization", "Bearer " + clerk))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(patch("/api/v1/users/svclerk/password")
+                        .header("Authorization", "Bearer " + admin)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"newPassword\":\"Changed1!\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/v1/products").header("Authorization", "Bearer " + clerk))
+                .andExpect(status().isUnauthorized());
+
+        String fresh = login("svclerk", "Changed1!");
+        mockMvc.perform(get("/api/v1/products").header("Authorization", "Bearer " + fresh))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Deleting a user revokes their outstanding tokens")
+    void deletedUserTokenRejected() throws Exception {
+        String admin = login("svadmin", "Pass123!");
+        String clerk = login("svclerk", "Pass123!");
+
+        mockMvc.perform(delete("/api/v1/users/svclerk").header("Authorization", "Bearer " + admin))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/v1/products").header("Authorization", "Bearer " + clerk))
+                .andExpect(status().isUnauthorized());
+    }
+}
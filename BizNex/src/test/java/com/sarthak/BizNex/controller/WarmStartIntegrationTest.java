@@ -0,0 +1,142 @@
+package com.sarthak.BizNex.controller;
+
+import com.sarthak.BizNex.catalog.CatalogResponseCache;
+import com.sarthak.BizNex.catalog.CatalogVersion;
+import com.sarthak.BizNex.dto.ProductDto;
+import com.sarthak.BizNex.entity.Customer;
+import com.sarthak.BizNex.entity.User;
+import com.sarthak.BizNex.repository.BillRepository;
+import com.sarthak.BizNex.repository.CustomerRepository;
+import com.sarthak.BizNex.repository.ProductRepository;
+import com.sarthak.BizNex.repository.UserRepository;
+import com.sarthak.BizNex.security.UserStateCache;
+import com.sarthak.BizNex.service.ProductService;
+import com.sarthak.BizNex.warmstart.SyntheticWarmUp;
+import com.sarthak.BizNex.warmstart.WarmStartService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.warmstart.synthetic-checkout=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class WarmStartIntegrationTest {
+
+    private static final String PRODUCTS = "/api/v1/products";
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    WarmStartService warmStartService;
+    @Autowired
+    SyntheticWarmUp syntheticWarmUp;
+    @Autowired
+    CatalogResponseCache catalogResponseCache;
+    @Autowired
+    CatalogVersion catalogVersion;
+    @Autowired
+    UserStateCache userStateCache;
+    @Autowired
+    ProductService productService;
+    @Autowired
+    ProductRepository productRepository;
+    @Autowired
+    CustomerRepository customerRepository;
+    @Autowired
+    BillRepository billRepository;
+    @Autowired
+    UserRepository userRepository;
+
+    @TempDir
+    static Path dir;
+
+    @DynamicPropertySource
+    static void warmStartFile(DynamicPropertyRegistry registry) {
+        registry.add("app.warmstart.file", () -> dir.resolve("warmstart.bin").toString());
+    }
+
+    private ProductDto createProduct(String name) {
+        return productService.addProduct(ProductDto.builder()
+                .productName(name).productCategory("warmstart").pricePerItem(4.0).productQuantity(30).build());
+    }
+
+    private Customer createCustomer(String name) {
+        Customer c = new Customer();
+        c.setCustomerName(name);
+        c.setCustomerContact(Long.toString(ThreadLocalRandom.current().nextLong(1_000_000_000L, 9_999_999_999L)));
+        c.setCustomerCredits(0.0);
+        return customerRepository.save(c);
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMIN"})
+    @DisplayName("A restart reloads cached catalog responses while products are unchanged, and active users' state")
+    void restoresValidCaches() throws Exception {
+        createProduct("Warm Kettle");
+        User clerk = new User("warmclerk", "warmclerk@example.com");
+        clerk.setUserPassword("not-a-real-hash");
+        clerk.setUserRole(User.UserRole.USER);
+        clerk.setUserContact("5550002223");
+        userRepository.save(clerk);
+        assertThat(userStateCache.get("warmclerk").exists()).isTrue();
+
+        String listing = mockMvc.perform(get(PRODUCTS)).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(catalogResponseCache.entries(catalogVersion.current())).containsKey(PRODUCTS);
+        warmStartService.capture();
+
+        // As after a restart: nothing cached
+        catalogResponseCache.clear();
+        userStateCache.invalidateAll();
+        WarmStartService.Restored restored = warmStartService.restore();
+        assertThat(restored.catalogEntries()).isPositive();
+        assertThat(restored.users()).isPositive();
+        assertThat(userStateCache.knownUsernames()).contains("warmclerk");
+        CatalogResponseCache.CachedBody cached = catalogResponseCache.get(PRODUCTS, catalogVersion.current());
+        assertThat(cached).isNotNull();
+        assertThat(new String(cached.identity())).isEqualTo(listing);
+
+        // A product written after the snapshot makes its catalog bodies stale
+        warmStartService.capture();
+        createProduct("Warm Teapot");
+        catalogResponseCache.clear();
+        assertThat(warmStartService.restore().catalogEntries()).isZero();
+
+        // A damaged file is ignored
+        Files.write(dir.resolve("warmstart.bin"), new byte[]{1, 2, 3, 4});
+        assertThat(warmStartService.restore()).isEqualTo(new WarmStartService.Restored(0, 0));
+    }
+
+    @Test
+    @DisplayName("The synthetic warm-up runs checkouts and searches without leaving any data behind")
+    void warmUpLeavesNoTrace() {
+        Long productId = createProduct("Warm Ladle").getProductId();
+        createCustomer("Quill Warmsley");
+        long bills = billRepository.count();
+        int stock = productRepository.findById(productId).orElseThrow().getProductQuantity();
+
+        assertThat(syntheticWarmUp.run(5, Duration.ofSeconds(30))).isEqualTo(5);
+
+        assertThat(billRepository.count()).isEqualTo(bills);
+        assertThat(productRepository.findById(productId).orElseThrow().getProductQuantity()).isEqualTo(stock);
+    }
+}
@@ -0,0 +1,92 @@
+package com.sarthak.BizNex.encoding;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sarthak.BizNex.dto.response.BillResponseDto;
+import com.sarthak.BizNex.dto.response.PageResponseDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Per-row CPU time and allocation of writing a bill page as columnar JSON: the converter (columns straight from the
+ * bean serializers, envelope included) against converting each row to a tree first and encoding the trees, as the
+ * converter used to.
+ * Run with: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+class ColumnarJsonHttpMessageConverterBenchmarkTest {
+
+    private static final int ROWS = 5_000;
+    private static final int WARMUP = 50;
+    private static final int ITERATIONS = 100;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /** Nanoseconds and bytes allocated per row. */
+    private double[] costPerRow(Writer writer) throws Exception {
+        for (int i = 0; i < WARMUP; i++) {
+            writer.write();
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            writer.write();
+        }
+        long nanos = System.nanoTime() - start;
+        return new double[]{nanos / (double) ITERATIONS / ROWS,
+                (threads.getCurrentThreadAllocatedBytes() - allocated) / (double) ITERATIONS / ROWS};
+    }
+
+    @Test
+    @DisplayName("Columnar write cost per row: bean columns vs a tree per row")
+    void writeCostPerRow() throws Exception {
+        List<BillResponseDto> bills = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            bills.add(ColumnarJsonTest.bill(i));
+        }
+        PageResponseDto<BillResponseDto> page = PageResponseDto.from(new PageImpl<>(bills));
+        ColumnarJsonHttpMessageConverter converter = new ColumnarJsonHttpMessageConverter(mapper);
+
+        double[] columns = costPerRow(() -> converter.write(page, ColumnarJsonHttpMessageConverter.COLUMNAR_JSON,
+                new MockHttpOutputMessage()));
+        double[] trees = costPerRow(() -> {
+            try (JsonGenerator gen = mapper.createGenerator(new ByteArrayOutputStream())) {
+                Iterator<BillResponseDto> rows = bills.iterator();
+                ColumnarJson.writeRows(new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return rows.hasNext();
+                    }
+
+                    @Override
+                    public JsonNode next() {
+                        return mapper.valueToTree(rows.next());
+                    }
+                }, gen);
+            }
+        });
+        System.out.printf("Columnar JSON: %.2f us/row and %.0f B/row from bean columns, %.2f us/row and %.0f B/row via trees (%.1fx)%n",
+                columns[0] / 1000, columns[1], trees[0] / 1000, trees[1], trees[0] / columns[0]);
+        assertThat(columns[1]).isLessThan(trees[1]);
+        assertThat(columns[0]).isLessThan(trees[0]);
+    }
+
+    @FunctionalInterface
+    private interface Writer {
+        void write() throws Exception;
+    }
+}
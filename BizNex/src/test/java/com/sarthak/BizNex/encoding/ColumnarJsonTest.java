@@ -0,0 +1,120 @@
+package com.sarthak.BizNex.encoding;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sarthak.BizNex.dto.response.BillResponseDto;
+import com.sarthak.BizNex.dto.response.PageResponseDto;
+import com.sarthak.BizNex.entity.Bill;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ColumnarJsonTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Tables round-trip nulls, nested arrays and mixed columns; repeated strings are stored once")
+    void roundTrip() throws Exception {
+        ObjectNode response = (ObjectNode) mapper.readTree("""
+                {"page": 0, "last": true, "tags": ["a", "b"],
+                 "content": [
+                   {"id": 1, "method": "CASH", "note": null, "items": [{"sku": "X", "qty": 2}, {"sku": "Y", "qty": 1}]},
+                   {"id": 2, "method": "CASH", "note": "gift", "items": []},
+                   {"id": 3, "method": "CARD", "note": 7, "items": null}
+                 ],
+                 "empty": []}
+                """);
+
+        ObjectNode encoded = ColumnarJson.encode(response);
+
+        assertThat(encoded.get(ColumnarJson.TABLES)).hasSize(1);
+        assertThat(encoded.get("content")).hasSize(1);
+        assertThat(encoded.at("/content/0/columns/method/dictionary")).hasSize(2);
+        assertThat(encoded.at("/content/0/columns/note/values")).hasSize(3);
+        assertThat(encoded.at("/content/0/columns/items/table/rows").asInt()).isEqualTo(2);
+        assertThat(encoded.get("empty")).isEmpty();
+        assertThat(encoded.get("tags")).isEqualTo(response.get("tags"));
+        assertThat(ColumnarJson.decode(encoded)).isEqualTo(response);
+        assertThat(ColumnarJson.decode((ObjectNode) mapper.readTree(mapper.writeValueAsBytes(encoded)))).isEqualTo(response);
+    }
+
+    @Test
+    @DisplayName("Long lists are split into blocks; streamed rows encode exactly like the tree")
+    void blocks() throws Exception {
+        ObjectNode response = mapper.createObjectNode();
+        ArrayNode content = response.putArray("content");
+        List<JsonNode> rows = new ArrayList<>();
+        for (int i = 0; i < 2 * ColumnarJson.BLOCK_ROWS + 5; i++) {
+            ObjectNode row = content.addObject().put("id", i).put("method", i % 2 == 0 ? "CASH" : "CARD");
+            rows.add(row);
+        }
+
+        ObjectNode encoded = ColumnarJson.encode(response);
+
+        assertThat(encoded.get("content")).hasSize(3);
+        assertThat(encoded.at("/content/2/rows").asInt()).isEqualTo(5);
+        assertThat(ColumnarJson.decode(encoded)).isEqualTo(response);
+
+        StringWriter out = new StringWriter();
+        try (JsonGenerator gen = mapper.createGenerator(out)) {
+            assertThat(ColumnarJson.writeRows(rows.iterator(), gen)).isTrue();
+        }
+        assertThat(mapper.readTree(out.toString())).isEqualTo(encoded.get("content"));
+    }
+
+    static BillResponseDto bill(int i) {
+        BillResponseDto bill = new BillResponseDto();
+        bill.setBillNumber("AB010125-" + i);
+        bill.setBillDate("01-01-2025 10:00:00");
+        bill.setCustomerName(i % 3 == 0 ? null : "Customer " + i % 7);
+        bill.setBillType(Bill.BillType.NEW);
+        bill.setPaymentMethod(i % 2 == 0 ? Bill.PaymentMethod.CASH : Bill.PaymentMethod.CARD);
+        bill.setTotalAmount(10.5 * i);
+        bill.setBillStatus(Bill.BillStatus.COMPLETE);
+        if (i % 5 != 0) {
+            List<BillResponseDto.BillItemResponseDto> items = new ArrayList<>();
+            for (int j = 0; j < i % 4; j++) {
+                BillResponseDto.BillItemResponseDto item = new BillResponseDto.BillItemResponseDto();
+                item.setProductId((long) j);
+                item.setProductName("Item " + j);
+                item.setBillItemQuantity(j + 1);
+                items.add(item);
+            }
+            bill.setBillItems(items);
+        }
+        return bill;
+    }
+
+    @Test
+    @DisplayName("The converter writes bean rows column by column exactly as the tree encoder does")
+    void converterMatchesTreeEncoding() throws Exception {
+        List<BillResponseDto> bills = new ArrayList<>();
+        for (int i = 0; i < ColumnarJson.BLOCK_ROWS + 5; i++) {
+            bills.add(bill(i));
+        }
+        PageResponseDto<BillResponseDto> page = PageResponseDto.from(new PageImpl<>(bills));
+        PageResponseDto<String> strings = PageResponseDto.from(new PageImpl<>(List.of("a", "b", "a")));
+        ColumnarJsonHttpMessageConverter converter = new ColumnarJsonHttpMessageConverter(mapper);
+
+        for (PageResponseDto<?> response : List.of(page, strings)) {
+            MockHttpOutputMessage out = new MockHttpOutputMessage();
+            converter.write(response, ColumnarJsonHttpMessageConverter.COLUMNAR_JSON, out);
+            // Both parsed from text, so numbers compare by their written form
+            ObjectNode tree = (ObjectNode) mapper.readTree(mapper.writeValueAsBytes(response));
+            assertThat(mapper.readTree(out.getBodyAsBytes()))
+                    .isEqualTo(mapper.readTree(mapper.writeValueAsBytes(ColumnarJson.encode(tree))));
+            assertThat(ColumnarJson.decode((ObjectNode) mapper.readTree(out.getBodyAsBytes()))).isEqualTo(tree);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.sarthak.BizNex.invalidation;
+
+import com.sarthak.BizNex.BizAppApplication;
+import com.sarthak.BizNex.catalog.CatalogVersion;
+import com.sarthak.BizNex.dto.ProductDto;
+import com.sarthak.BizNex.entity.User;
+import com.sarthak.BizNex.repository.UserRepository;
+import com.sarthak.BizNex.security.UserStateCache;
+import com.sarthak.BizNex.service.ProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Two application instances sharing one database, exchanging invalidations through cache_events. */
+class JdbcInvalidationBusIntegrationTest {
+
+    static ConfigurableApplicationContext nodeA;
+    static ConfigurableApplicationContext nodeB;
+    @TempDir
+    static Path checkpoints;
+
+    @BeforeAll
+    static void startNodes() {
+        nodeA = node("create-drop", "a");
+        nodeB = node("none", "b"); // schema already built by node A
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (nodeB != null) {
+            nodeB.close();
+        }
+        if (nodeA != null) {
+            nodeA.close();
+        }
+    }
+
+    private static ConfigurableApplicationContext node(String ddlAuto, String name) {
+        return new SpringApplicationBuilder(BizAppApplication.class)
+                .profiles("test")
+                .run("--spring.datasource.url=jdbc:h2:mem:invalidationtest;DB_CLOSE_DELAY=-1;MODE=MySQL",
+                        "--spring.jpa.hibernate.ddl-auto=" + ddlAuto,
+                        "--server.port=0",
+                        "--app.invalidation.bus=jdbc",
+                        "--app.invalidation.poll-interval-ms=50",
+                        "--app.invalidation.checkpoint-file=" + checkpoints.resolve(name + ".checkpoint"));
+    }
+
+    private static double applied(ConfigurableApplicationContext node, CacheRegion region) {
+        return node.getBean(MeterRegistry.class).counter("biznex.invalidation.applied",
+                "region", region.name().toLowerCase(Locale.ROOT)).count();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        for (int i = 0; i < 250 && !condition.getAsBoolean(); i++) {
+            Thread.sleep(20);
+        }
+        assertThat(condition.getAsBoolean()).as("condition reached within 5s").isTrue();
+    }
+
+    @Test
+    @DisplayName("A product write on one instance moves the other instance's catalog version, and only once on its own")
+    void productWriteReachesOtherInstance() throws Exception {
+        CatalogVersion versionA = nodeA.getBean(CatalogVersion.class);
+        CatalogVersion versionB = nodeB.getBean(CatalogVersion.class);
+        long beforeA = versionA.current();
+        long beforeB = versionB.current();
+
+        nodeA.getBean(ProductService.class).addProduct(ProductDto.builder()
+                .productName("Bus Lamp").productCategory("invalidation").pricePerItem(3.0).productQuantity(7).build());
+
+        await(() -> versionB.current() > beforeB);
+        Thread.sleep(200); // several polls: node A must skip its own event
+        assertThat(versionA.current()).isEqualTo(beforeA + 1);
+    }
+
+    @Test
+    @DisplayName("A changed user is reloaded by the other instance instead of being served from its cache")
+    void userInvalidationReachesOtherInstance() throws Exception {
+        UserStateCache cacheB = nodeB.getBean(UserStateCache.class);
+        assertThat(cacheB.get("busclerk").exists()).isFalse(); // cached as absent on node B
+
+        User user = new User("busclerk", "busclerk@example.com");
+        user.setUserPassword("not-a-real-hash");
+        user.setUserRole(User.UserRole.USER);
+        user.setUserContact("5550001112");
+        nodeA.getBean(UserRepository.class).save(user);
+        nodeA.getBean(UserStateCache.class).invalidate("busclerk");
+
+        await(() -> cacheB.get("busclerk").exists());
+    }
+
+    @Test
+    @DisplayName("A transaction publishes each invalidation once, and nothing when it rolls back")
+    void publishesCoalescePerTransaction() {
+        InvalidationBus bus = nodeA.getBean(InvalidationBus.class);
+        TransactionTemplate tx = nodeA.getBean(TransactionTemplate.class);
+        JdbcTemplate jdbc = nodeA.getBean(JdbcTemplate.class);
+
+        tx.executeWithoutResult(status -> {
+            bus.publish(CacheRegion.BILL, "BUS-1");
+            bus.publish(CacheRegion.BILL, "BUS-1");
+            bus.publish(CacheRegion.BILL, "BUS-2");
+            bus.publish(CacheRegion.BILL, "BUS-1");
+        });
+        tx.executeWithoutResult(status -> {
+            bus.publish(CacheRegion.BILL, "BUS-3");
+            status.setRollbackOnly();
+        });
+
+        assertThat(jdbc.queryForList("SELECT cache_key FROM cache_events WHERE cache_key LIKE 'BUS-%' ORDER BY id", String.class))
+                .containsExactly("BUS-1", "BUS-2");
+    }
+
+    @Test
+    @DisplayName("A restarted instance resumes from its checkpoint and applies what was published while it was down")
+    void restartResumesFromCheckpoint() throws Exception {
+        nodeB.close();
+        nodeA.getBean(InvalidationBus.class).publish(CacheRegion.BILL, "BUS-DOWN");
+
+        nodeB = node("none", "b");
+        ConfigurableApplicationContext restarted = nodeB;
+        await(() -> applied(restarted, CacheRegion.BILL) >= 1);
+        assertThat(restarted.getBean(CacheInvalidator.class).lastAppliedAll()).isZero();
+    }
+
+    @Test
+    @DisplayName("A checkpoint older than the retention drops every cache, persistent tiers included, before serving")
+    void staleCheckpointDropsEverything() throws Exception {
+        nodeB.close();
+        Files.writeString(checkpoints.resolve("b.checkpoint"), "0 " + (System.currentTimeMillis() - 3_600_000L));
+
+        nodeB = node("none", "b");
+        assertThat(nodeB.getBean(CacheInvalidator.class).lastAppliedAll()).isPositive();
+        assertThat(applied(nodeB, CacheRegion.USER)).isEqualTo(1);
+    }
+}
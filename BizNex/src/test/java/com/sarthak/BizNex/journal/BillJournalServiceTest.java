@@ -0,0 +1,103 @@
+package com.sarthak.BizNex.journal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sarthak.BizNex.dto.BillItemDto;
+import com.sarthak.BizNex.dto.CustomerDto;
+import com.sarthak.BizNex.dto.ProductDto;
+import com.sarthak.BizNex.dto.request.OfflineBillSyncRequest;
+import com.sarthak.BizNex.dto.request.OfflineBillSyncRequest.OfflineBill;
+import com.sarthak.BizNex.dto.response.OfflineBillSyncResponseDto;
+import com.sarthak.BizNex.dto.response.OfflineBillSyncResponseDto.BillOutcome;
+import com.sarthak.BizNex.dto.response.OfflineBillSyncResponseDto.OutcomeStatus;
+import com.sarthak.BizNex.entity.Bill;
+import com.sarthak.BizNex.repository.BillRepository;
+import com.sarthak.BizNex.service.BillingService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BillJournalServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @TempDir
+    Path dir;
+
+    private static OfflineBill bill() {
+        return OfflineBill.builder()
+                .clientBillId(UUID.randomUUID().toString())
+                .clientCreatedAt(LocalDateTime.now())
+                .customer(CustomerDto.builder().customerId(1L).build())
+                .billItems(List.of(BillItemDto.builder()
+                        .billItemProduct(ProductDto.builder().productId(1L).build())
+                        .billItemQuantity(1).build()))
+                .paymentMethod(Bill.PaymentMethod.CASH)
+                .build();
+    }
+
+    /** The database already holds every bill it is asked to sync. */
+    private static OfflineBillSyncResponseDto allDuplicates(OfflineBillSyncRequest request) {
+        List<BillOutcome> results = request.getBills().stream()
+                .map(b -> BillOutcome.builder().clientBillId(b.getClientBillId()).status(OutcomeStatus.DUPLICATE)
+                        .billNumber("AB010125-" + b.getClientBillId().substring(0, 4)).message("Bill already synced").build())
+                .toList();
+        return OfflineBillSyncResponseDto.builder().received(results.size()).duplicates(results.size()).results(results).build();
+    }
+
+    private BillJournalService service(BillingService billingService) throws Exception {
+        BillJournalService service = new BillJournalService(billingService, mock(BillRepository.class), objectMapper,
+                dir.toString(), 1, 50);
+        service.start();
+        return service;
+    }
+
+    private static BillOutcome awaitOutcome(BillJournalService service, String clientBillId) throws InterruptedException {
+        BillOutcome outcome = service.getOutcome(clientBillId);
+        for (int i = 0; i < 200 && outcome.getStatus() == OutcomeStatus.PENDING; i++) {
+            Thread.sleep(25);
+            outcome = service.getOutcome(clientBillId);
+        }
+        return outcome;
+    }
+
+    @Test
+    @DisplayName("A replayed bill found already synced is ours (CREATED); one journaled in this run stays DUPLICATE")
+    void duplicateOutcomes() throws Exception {
+        // First run: the bill is journaled but the database goes away before it is applied and checkpointed
+        BillingService down = mock(BillingService.class);
+        when(down.syncOfflineBills(any())).thenThrow(new DataAccessResourceFailureException("database down"));
+        BillJournalService first = service(down);
+        OfflineBill replayed = bill();
+        assertThat(first.submit(replayed).getStatus()).isEqualTo(OutcomeStatus.PENDING);
+        first.stop();
+
+        // Second run: the first run's commit had landed, so the replay comes back DUPLICATE
+        BillingService billingService = mock(BillingService.class);
+        when(billingService.syncOfflineBills(any())).thenAnswer(inv -> allDuplicates(inv.getArgument(0)));
+        BillJournalService second = service(billingService);
+        try {
+            BillOutcome recovered = awaitOutcome(second, replayed.getClientBillId());
+            assertThat(recovered.getStatus()).isEqualTo(OutcomeStatus.CREATED);
+            assertThat(recovered.getBillNumber()).isNotBlank();
+
+            // A new bill the till already synced directly is a genuine duplicate
+            OfflineBill synced = bill();
+            second.submit(synced);
+            BillOutcome duplicate = awaitOutcome(second, synced.getClientBillId());
+            assertThat(duplicate.getStatus()).isEqualTo(OutcomeStatus.DUPLICATE);
+        } finally {
+            second.stop();
+        }
+    }
+}
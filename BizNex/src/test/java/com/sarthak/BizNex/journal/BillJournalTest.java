@@ -0,0 +1,126 @@
+package com.sarthak.BizNex.journal;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BillJournalTest {
+
+    private static final int SEGMENT_SIZE = 1024;
+
+    @TempDir
+    Path dir;
+
+    private static byte[] payload(int i) {
+        return ("{\"bill\":" + i + ",\"pad\":\"xxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxx\"}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> texts(List<JournalRecord> records) {
+        return records.stream().map(r -> new String(r.getPayload(), StandardCharsets.UTF_8)).toList();
+    }
+
+    private long segmentFiles() throws Exception {
+        try (Stream<Path> s = Files.list(dir)) {
+            return s.filter(p -> p.getFileName().toString().endsWith(".log")).count();
+        }
+    }
+
+    @Test
+    @DisplayName("Records roll across segments and replay in order after reopening")
+    void appendRollAndReplay() throws Exception {
+        try (BillJournal journal = new BillJournal(dir, SEGMENT_SIZE)) {
+            for (int i = 1; i <= 50; i++) {
+                assertThat(journal.append(payload(i))).isEqualTo(i);
+            }
+            assertThat(journal.getSegmentCount()).isGreaterThan(1);
+            List<JournalRecord> firstPage = journal.readAfter(0, 20);
+            assertThat(firstPage).hasSize(20);
+            assertThat(journal.readAfter(20, 100)).extracting(JournalRecord::getSeq).startsWith(21L).endsWith(50L);
+        }
+        try (BillJournal reopened = new BillJournal(dir, SEGMENT_SIZE)) {
+            assertThat(reopened.getDurableSeq()).isEqualTo(50);
+            List<JournalRecord> all = reopened.readAfter(0, 100);
+            assertThat(all).hasSize(50);
+            assertThat(texts(all).get(49)).isEqualTo(new String(payload(50), StandardCharsets.UTF_8));
+            assertThat(reopened.append(payload(51))).isEqualTo(51);
+        }
+    }
+
+    @Test
+    @DisplayName("Applied segments are compacted and the checkpoint survives a restart")
+    void checkpointAndCompaction() throws Exception {
+        try (BillJournal journal = new BillJournal(dir, SEGMENT_SIZE)) {
+            for (int i = 1; i <= 50; i++) {
+                journal.append(payload(i));
+            }
+            long before = segmentFiles();
+            journal.markApplied(40);
+            assertThat(segmentFiles()).isLessThan(before);
+            assertThat(journal.getBacklog()).isEqualTo(10);
+        }
+        try (BillJournal reopened = new BillJournal(dir, SEGMENT_SIZE)) {
+            assertThat(reopened.getAppliedSeq()).isEqualTo(40);
+            assertThat(reopened.readAfter(reopened.getAppliedSeq(), 100)).extracting(JournalRecord::getSeq)
+                    .containsExactly(41L, 42L, 43L, 44L, 45L, 46L, 47L, 48L, 49L, 50L);
+            reopened.markApplied(50);
+            assertThat(reopened.append(payload(51))).isEqualTo(51);
+        }
+    }
+
+    @Test
+    @DisplayName("A torn record at the tail is detected by its checksum and truncated")
+    void corruptTailIsTruncated() throws Exception {
+        try (BillJournal journal = new BillJournal(dir, SEGMENT_SIZE)) {
+            journal.append(payload(1));
+            journal.append(payload(2));
+        }
+        Path segment;
+        try (Stream<Path> s = Files.list(dir)) {
+            segment = s.filter(p -> p.getFileName().toString().endsWith(".log")).findFirst().orElseThrow();
+        }
+        int secondRecordPayload = BillJournal.HEADER_BYTES + payload(1).length + BillJournal.HEADER_BYTES;
+        try (RandomAccessFile raf = new RandomAccessFile(segment.toFile(), "rw")) {
+            raf.seek(secondRecordPayload + 3);
+            raf.write('#');
+        }
+        try (BillJournal reopened = new BillJournal(dir, SEGMENT_SIZE)) {
+            assertThat(reopened.readAfter(0, 10)).extracting(JournalRecord::getSeq).containsExactly(1L);
+            assertThat(reopened.append(payload(3))).isEqualTo(2);
+        }
+    }
+
+    @Test
+    @DisplayName("Concurrent appenders all get distinct, durable sequence numbers")
+    void concurrentAppendsShareFsync() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try (BillJournal journal = new BillJournal(dir, 64 * 1024)) {
+            List<Future<Long>> futures = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                int n = i;
+                futures.add(pool.submit(() -> journal.append(payload(n))));
+            }
+            List<Long> seqs = new ArrayList<>();
+            for (Future<Long> f : futures) {
+                seqs.add(f.get());
+            }
+            assertThat(seqs).doesNotHaveDuplicates().hasSize(400);
+            assertThat(journal.getDurableSeq()).isEqualTo(400);
+            assertThat(journal.readAfter(0, 1000)).hasSize(400);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
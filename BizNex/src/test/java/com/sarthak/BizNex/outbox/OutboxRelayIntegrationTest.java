@@ -0,0 +1,168 @@
+package com.sarthak.BizNex.outbox;
+
+import com.sarthak.BizNex.dto.BillDto;
+import com.sarthak.BizNex.dto.BillItemDto;
+import com.sarthak.BizNex.dto.CustomerDto;
+import com.sarthak.BizNex.dto.ProductDto;
+import com.sarthak.BizNex.dto.response.BillResponseDto;
+import com.sarthak.BizNex.entity.Bill;
+import com.sarthak.BizNex.entity.Customer;
+import com.sarthak.BizNex.entity.OutboxEvent;
+import com.sarthak.BizNex.entity.Product;
+import com.sarthak.BizNex.repository.CustomerRepository;
+import com.sarthak.BizNex.repository.OutboxEventRepository;
+import com.sarthak.BizNex.repository.ProductRepository;
+import com.sarthak.BizNex.service.BillingService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "app.outbox.enabled=true",
+        "app.outbox.poll-interval-ms=50",
+        "app.outbox.backoff-initial-ms=100",
+        "app.outbox.batch-size=2"
+})
+@ActiveProfiles("test")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class OutboxRelayIntegrationTest {
+
+    @TestConfiguration
+    static class RecordingSubscriberConfig {
+        @Bean
+        RecordingSubscriber recordingSubscriber() {
+            return new RecordingSubscriber();
+        }
+    }
+
+    /** Fails its first delivery, then records every event it sees. */
+    static class RecordingSubscriber implements OutboxSubscriber {
+        final AtomicBoolean failNext = new AtomicBoolean(true);
+        final List<String> received = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void handle(OutboxEvent event) {
+            if (failNext.getAndSet(false)) {
+                throw new IllegalStateException("simulated subscriber outage");
+            }
+            received.add(event.getEventType() + ":" + event.getAggregateId());
+        }
+    }
+
+    @Autowired
+    BillingService billingService;
+    @Autowired
+    CustomerRepository customerRepository;
+    @Autowired
+    ProductRepository productRepository;
+    @Autowired
+    OutboxEventRepository outboxEventRepository;
+    @Autowired
+    RecordingSubscriber recordingSubscriber;
+
+    @Test
+    @DisplayName("Bill events are written with the bill and delivered in order after a retry")
+    void billEventsAreRelayedWithRetry() throws Exception {
+        Customer c = new Customer();
+        c.setCustomerName("Outbox Buyer");
+        c.setCustomerContact(String.format("%010d", System.nanoTime() % 10_000_000_000L));
+        Long customerId = customerRepository.save(c).getCustomerId();
+        Product p = new Product();
+        p.setProductName("Outbox Item");
+        p.setProductCategory("outbox");
+        p.setPricePerItem(4.0);
+        p.setProductQuantity(20);
+        p.setProductCode("OBX-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase());
+        Long productId = productRepository.save(p).getProductId();
+
+        BillItemDto item = BillItemDto.builder()
+                .billItemProduct(ProductDto.builder().productId(productId).build())
+                .billItemQuantity(2)
+                .build();
+        BillResponseDto sale = billingService.createBill(BillDto.builder()
+                .customer(CustomerDto.builder().customerId(customerId).build())
+                .billItems(List.of(item))
+                .billStatus(Bill.BillStatus.COMPLETE)
+                .paymentMethod(Bill.PaymentMethod.CASH)
+                .build());
+        billingService.updateBillForReturn(BillDto.builder()
+                .billNumber(sale.getBillNumber())
+                .billItems(List.of(BillItemDto.builder()
+                        .billItemProduct(ProductDto.builder().productId(productId).build())
+                        .billItemQuantity(1)
+                        .build()))
+                .paymentMethod(Bill.PaymentMethod.CASH)
+                .build());
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (outboxEventRepository.countByStatus(OutboxEvent.Status.PENDING) > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        assertThat(outboxEventRepository.countByStatus(OutboxEvent.Status.PENDING)).isZero();
+        // The return shares the sale's aggregate, so it waits for the sale's retry
+        assertThat(recordingSubscriber.received).containsExactly(
+                "BILL_CREATED:" + sale.getBillNumber(),
+                "BILL_RETURNED:" + sale.getBillNumber());
+        OutboxEvent created = outboxEventRepository.findAll().stream()
+                .filter(e -> e.getEventType() == OutboxEvent.EventType.BILL_CREATED)
+                .findFirst().orElseThrow();
+        assertThat(created.getStatus()).isEqualTo(OutboxEvent.Status.DELIVERED);
+        assertThat(created.getAttempts()).isEqualTo(2);
+        assertThat(created.getPayload()).contains("\"stockAfter\":18");
+    }
+
+    private OutboxEvent pending(String aggregateId, LocalDateTime nextAttemptAt) {
+        OutboxEvent e = new OutboxEvent();
+        e.setAggregateType("TEST");
+        e.setAggregateId(aggregateId);
+        e.setEventType(OutboxEvent.EventType.BILL_DELETED);
+        e.setPayload("{}");
+        e.setNextAttemptAt(nextAttemptAt);
+        return outboxEventRepository.save(e);
+    }
+
+    @Test
+    @DisplayName("Events queued behind a backing-off aggregate do not block due events of other aggregates")
+    void backingOffAggregateDoesNotBlockOthers() throws Exception {
+        boolean failArmed = recordingSubscriber.failNext.getAndSet(false);
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> stuck = new ArrayList<>();
+        try {
+            // More queued events than one batch, all behind an event retrying in an hour
+            stuck.add(pending("stuck", now.plusHours(1)));
+            for (int i = 0; i < 4; i++) {
+                stuck.add(pending("stuck", now.minusSeconds(1)));
+            }
+            OutboxEvent other = pending("other", now.minusSeconds(1));
+
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (outboxEventRepository.findById(other.getId()).orElseThrow().getStatus() != OutboxEvent.Status.DELIVERED
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            assertThat(outboxEventRepository.findById(other.getId()).orElseThrow().getStatus())
+                    .isEqualTo(OutboxEvent.Status.DELIVERED);
+            assertThat(outboxEventRepository.findAllById(stuck.stream().map(OutboxEvent::getId).toList()))
+                    .allMatch(e -> e.getStatus() == OutboxEvent.Status.PENDING);
+            assertThat(recordingSubscriber.received).contains("BILL_DELETED:other").doesNotContain("BILL_DELETED:stuck");
+        } finally {
+            outboxEventRepository.deleteAll(stuck);
+            recordingSubscriber.failNext.set(failArmed);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.sarthak.BizNex.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Per-request overhead of JwtAuthenticationFilter with the verified-token cache disabled (one HMAC verification
+ * per request) and enabled (digest lookup only). User state lookup is stubbed so only token handling is measured.
+ * Run with: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+class JwtAuthenticationFilterBenchmarkTest {
+
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 100_000;
+
+    private static JwtTokenProvider provider(int cacheSize) {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "secret", "MDEyMzQ1Njc4OUFCQ0RFRjAxMjM0NTY3ODlBQkNERUY=");
+        ReflectionTestUtils.setField(provider, "expirationMs", 3_600_000L);
+        ReflectionTestUtils.setField(provider, "refreshExpirationMs", 7_200_000L);
+        ReflectionTestUtils.setField(provider, "verifiedCacheSize", cacheSize);
+        provider.init();
+        return provider;
+    }
+
+    private static double nanosPerRequest(JwtTokenProvider provider) throws Exception {
+        UserDetails user = User.withUsername("bench").password("x").authorities(new SimpleGrantedAuthority("ROLE_USER")).build();
+        UserStateCache userStateCache = mock(UserStateCache.class);
+        when(userStateCache.get("bench")).thenReturn(
+                new UserStateCache.UserState(true, com.sarthak.BizNex.entity.User.UserRole.USER, false, 0));
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter(provider, userStateCache);
+        String token = provider.generateAccessToken(user);
+
+        for (int i = 0; i < WARMUP; i++) {
+            runOnce(filter, token);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            runOnce(filter, token);
+        }
+        return (System.nanoTime() - start) / (double) ITERATIONS;
+    }
+
+    private static void runOnce(JwtAuthenticationFilter filter, String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/products");
+        request.setServletPath("/api/v1/products");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNotNull();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Filter overhead per request: verify every time vs verified-token cache")
+    void filterOverheadPerRequest() throws Exception {
+        double uncached = nanosPerRequest(provider(0));
+        double cached = nanosPerRequest(provider(10_000));
+        System.out.printf("JwtAuthenticationFilter: %.1f us/request uncached, %.1f us/request cached (%.1fx)%n",
+                uncached / 1000, cached / 1000, uncached / cached);
+        assertThat(cached).isLessThan(uncached);
+    }
+}
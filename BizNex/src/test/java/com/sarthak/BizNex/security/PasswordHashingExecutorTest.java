@@ -0,0 +1,49 @@
+package com.sarthak.BizNex.security;
+
+import com.sarthak.BizNex.exception.LoginThrottledException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHashingExecutorTest {
+
+    @Test
+    @DisplayName("Logins beyond pool plus queue are rejected immediately; task exceptions pass through")
+    void rejectsWhenSaturated() throws Exception {
+        PasswordHashingExecutor executor = new PasswordHashingExecutor(1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+        try {
+            CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> executor.execute(() -> {
+                running.countDown();
+                release.await();
+                return "first";
+            }));
+            assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+            CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> executor.execute(() -> "queued"));
+            // Wait until the second task occupies the only queue slot
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (executor.queued() < 1 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            assertThatThrownBy(() -> executor.execute(() -> "third")).isInstanceOf(LoginThrottledException.class);
+
+            release.countDown();
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("first");
+            assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("queued");
+            assertThatThrownBy(() -> executor.execute(() -> {
+                throw new BadCredentialsException("nope");
+            })).isInstanceOf(BadCredentialsException.class);
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+}
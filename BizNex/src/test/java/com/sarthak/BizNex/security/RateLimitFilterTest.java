@@ -0,0 +1,67 @@
+package com.sarthak.BizNex.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private final RateLimitFilter filter = new RateLimitFilter(new ObjectMapper(), new SimpleMeterRegistry(),
+            new MockEnvironment(), true, 1000);
+
+    @Test
+    @DisplayName("Idle buckets are swept, but a sweep racing an admission never lets a second request through")
+    void sweepRacingAdmissions() throws Exception {
+        RateLimitFilter.Limit limit = RateLimitFilter.Limit.of(1, 1);
+        long base = System.nanoTime();
+        assertThat(filter.acquire("idle", limit, base)).isZero();
+        filter.sweep(base + TimeUnit.SECONDS.toNanos(5));
+        assertThat(filter.bucketCount()).isZero();
+
+        int callers = 4;
+        ExecutorService pool = Executors.newFixedThreadPool(callers + 1);
+        try {
+            for (int round = 0; round < 500; round++) {
+                // The bucket has refilled since the last round, so the sweep may retire it while callers arrive
+                long now = base + TimeUnit.SECONDS.toNanos(10L * (round + 1));
+                CyclicBarrier start = new CyclicBarrier(callers + 1);
+                AtomicInteger admitted = new AtomicInteger();
+                List<Future<?>> tasks = new ArrayList<>();
+                for (int i = 0; i < callers; i++) {
+                    tasks.add(pool.submit(() -> {
+                        start.await();
+                        if (filter.acquire("k", limit, now) == 0) {
+                            admitted.incrementAndGet();
+                        }
+                        return null;
+                    }));
+                }
+                tasks.add(pool.submit(() -> {
+                    start.await();
+                    filter.sweep(now);
+                    return null;
+                }));
+                for (Future<?> task : tasks) {
+                    task.get(5, TimeUnit.SECONDS);
+                }
+                assertThat(admitted.get()).as("admitted in round %d", round).isEqualTo(1);
+                assertThat(filter.acquire("k", limit, now)).as("round %d", round).isPositive();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
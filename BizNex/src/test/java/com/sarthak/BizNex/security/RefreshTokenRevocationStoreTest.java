@@ -0,0 +1,78 @@
+package com.sarthak.BizNex.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RefreshTokenRevocationStoreTest {
+
+    @TempDir
+    Path dir;
+
+    private RefreshTokenRevocationStore open() {
+        RefreshTokenRevocationStore store = new RefreshTokenRevocationStore();
+        ReflectionTestUtils.setField(store, "file", dir.resolve("revoked.log").toString());
+        store.load();
+        return store;
+    }
+
+    @Test
+    @DisplayName("Revocations are claimed once and survive a restart; expired ones are dropped")
+    void revocationsPersistAcrossRestart() throws Exception {
+        long future = System.currentTimeMillis() + 60_000;
+        RefreshTokenRevocationStore store = open();
+        assertThat(store.revoke("a", future)).isTrue();
+        assertThat(store.revoke("a", future)).isFalse();
+        assertThat(store.revoke("expired", System.currentTimeMillis() - 1)).isTrue();
+        assertThat(store.isRevoked("a")).isTrue();
+        assertThat(store.isRevoked("b")).isFalse();
+        store.close();
+
+        RefreshTokenRevocationStore reopened = open();
+        assertThat(reopened.isRevoked("a")).isTrue();
+        assertThat(reopened.isRevoked("expired")).isFalse();
+        assertThat(reopened.size()).isEqualTo(1);
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("Of many concurrent claims of one token id exactly one wins, and every distinct id is claimed")
+    void concurrentClaims() throws Exception {
+        long future = System.currentTimeMillis() + 60_000;
+        RefreshTokenRevocationStore store = open();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Boolean>> claims = new ArrayList<>();
+            for (int i = 0; i < 2_000; i++) {
+                String id = i % 2 == 0 ? "shared" : "own-" + i;
+                claims.add(() -> store.revoke(id, future));
+            }
+            long won = 0;
+            for (Future<Boolean> f : pool.invokeAll(claims)) {
+                if (f.get()) {
+                    won++;
+                }
+            }
+            assertThat(won).isEqualTo(1 + 1_000);
+            assertThat(store.size()).isEqualTo(1 + 1_000);
+        } finally {
+            pool.shutdown();
+            store.close();
+        }
+
+        RefreshTokenRevocationStore reopened = open();
+        assertThat(reopened.size()).isEqualTo(1 + 1_000);
+        reopened.close();
+    }
+}
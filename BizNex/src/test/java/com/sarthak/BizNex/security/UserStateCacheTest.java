@@ -0,0 +1,51 @@
+package com.sarthak.BizNex.security;
+
+import com.sarthak.BizNex.entity.User;
+import com.sarthak.BizNex.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserStateCacheTest {
+
+    private static User user(long securityVersion) {
+        User user = new User("alice", "alice@test.com");
+        user.setUserRole(User.UserRole.USER);
+        user.setSecurityVersion(securityVersion);
+        return user;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    @DisplayName("A load overlapping an invalidation is not cached; the next request reads the new state")
+    void invalidateDuringLoad() {
+        UserRepository userRepository = mock(UserRepository.class);
+        UserStateCache cache = new UserStateCache(userRepository, mock(ObjectProvider.class));
+        ReflectionTestUtils.setField(cache, "ttlSeconds", 60L);
+        AtomicReference<User> current = new AtomicReference<>(user(1));
+        when(userRepository.findByUsername("alice")).thenAnswer(inv -> {
+            User read = current.get();
+            if (read.getSecurityVersion() == 1) {
+                // The password changes (and the cache is invalidated) after this load read the row
+                current.set(user(2));
+                cache.invalidate("alice");
+            }
+            return Optional.of(read);
+        });
+
+        assertThat(cache.get("alice").securityVersion()).isEqualTo(1);
+        assertThat(cache.get("alice").securityVersion()).isEqualTo(2);
+        assertThat(cache.get("alice").securityVersion()).isEqualTo(2);
+        verify(userRepository, times(2)).findByUsername("alice");
+    }
+}
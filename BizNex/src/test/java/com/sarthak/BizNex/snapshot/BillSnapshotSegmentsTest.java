@@ -0,0 +1,98 @@
+package com.sarthak.BizNex.snapshot;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BillSnapshotSegmentsTest {
+
+    private static final int SEGMENT_SIZE = 1024;
+    private static final int VERSION = 7;
+
+    @TempDir
+    Path dir;
+
+    private static BillSnapshot snapshot(String etag, String json) {
+        return new BillSnapshot(etag, ByteBuffer.wrap(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String text(BillSnapshot snapshot) {
+        ByteBuffer body = snapshot.body();
+        byte[] bytes = new byte[body.remaining()];
+        body.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("Snapshots survive reopening; tombstones keep removed keys removed")
+    void putRemoveAndRecover() throws Exception {
+        try (BillSnapshotSegments segments = new BillSnapshotSegments(dir, SEGMENT_SIZE, 4 * SEGMENT_SIZE, VERSION)) {
+            segments.put("B-1", snapshot("e1", "{\"billNumber\":\"B-1\"}"));
+            segments.put("B-2", snapshot("e2", "{\"billNumber\":\"B-2\"}"));
+            segments.put("B-1", snapshot("e1b", "{\"billNumber\":\"B-1\",\"billStatus\":\"RETURNED\"}"));
+            segments.remove("B-2");
+            assertThat(segments.get("B-2")).isNull();
+        }
+        try (BillSnapshotSegments reopened = new BillSnapshotSegments(dir, SEGMENT_SIZE, 4 * SEGMENT_SIZE, VERSION)) {
+            BillSnapshot b1 = reopened.get("B-1");
+            assertThat(b1.etag()).isEqualTo("e1b");
+            assertThat(text(b1)).contains("RETURNED");
+            assertThat(b1.body().isReadOnly()).isTrue();
+            assertThat(reopened.get("B-2")).isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("Old segments are evicted past the byte budget and a torn record is ignored on recovery")
+    void evictsAndIgnoresTornRecords() throws Exception {
+        String pad = "x".repeat(200);
+        try (BillSnapshotSegments segments = new BillSnapshotSegments(dir, SEGMENT_SIZE, 2 * SEGMENT_SIZE, VERSION)) {
+            for (int i = 0; i < 20; i++) {
+                segments.put("B-" + i, snapshot("e" + i, "{\"n\":" + i + ",\"pad\":\"" + pad + "\"}"));
+            }
+            assertThat(segments.segmentCount()).isEqualTo(2);
+            assertThat(segments.get("B-0")).isNull();
+            assertThat(segments.get("B-19")).isNotNull();
+        }
+
+        Path fresh = dir.resolve("torn");
+        try (BillSnapshotSegments segments = new BillSnapshotSegments(fresh, SEGMENT_SIZE, 4 * SEGMENT_SIZE, VERSION)) {
+            segments.put("B-1", snapshot("e1", "{\"n\":1}"));
+            segments.put("B-2", snapshot("e2", "{\"n\":2}"));
+        }
+        int secondRecord = BillSnapshotSegments.HEADER_BYTES + 3 + 2 + 7;
+        try (RandomAccessFile file = new RandomAccessFile(fresh.resolve("snapshots-0000000001.seg").toFile(), "rw")) {
+            file.seek(secondRecord + BillSnapshotSegments.HEADER_BYTES + 3 + 2);
+            file.write('#'); // body corrupted after its checksum was written
+        }
+        try (BillSnapshotSegments reopened = new BillSnapshotSegments(fresh, SEGMENT_SIZE, 4 * SEGMENT_SIZE, VERSION)) {
+            assertThat(text(reopened.get("B-1"))).isEqualTo("{\"n\":1}");
+            assertThat(reopened.get("B-2")).isNull();
+            reopened.put("B-3", snapshot("e3", "{\"n\":3}"));
+            assertThat(reopened.get("B-3")).isNotNull();
+        }
+    }
+
+    @Test
+    @DisplayName("Snapshots written by another build are skipped on recovery, older ones of the same key included")
+    void skipsRecordsOfAnotherVersion() throws Exception {
+        try (BillSnapshotSegments segments = new BillSnapshotSegments(dir, SEGMENT_SIZE, 4 * SEGMENT_SIZE, VERSION)) {
+            segments.put("B-1", snapshot("e1", "{\"n\":1}"));
+        }
+        try (BillSnapshotSegments upgraded = new BillSnapshotSegments(dir, SEGMENT_SIZE, 4 * SEGMENT_SIZE, VERSION + 1)) {
+            assertThat(upgraded.get("B-1")).isNull();
+            upgraded.put("B-2", snapshot("e2", "{\"n\":2}"));
+        }
+        try (BillSnapshotSegments downgraded = new BillSnapshotSegments(dir, SEGMENT_SIZE, 4 * SEGMENT_SIZE, VERSION)) {
+            assertThat(downgraded.get("B-2")).isNull();
+            assertThat(text(downgraded.get("B-1"))).isEqualTo("{\"n\":1}");
+        }
+    }
+}
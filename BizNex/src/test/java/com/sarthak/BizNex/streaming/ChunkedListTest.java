@@ -0,0 +1,45 @@
+package com.sarthak.BizNex.streaming;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.sarthak.BizNex.dto.response.PageResponseDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChunkedListTest {
+
+    private final ObjectMapper json = new ObjectMapper();
+
+    @Test
+    @DisplayName("A streamed page serialises like a materialised one without vanished rows, which it reports after content")
+    void serialisesChunkByChunk() throws Exception {
+        List<Long> ids = IntStream.rangeClosed(1, 120).mapToObj(Long::valueOf).toList();
+        List<Integer> chunkSizes = new ArrayList<>();
+        ChunkedList<Long, String> content = new ChunkedList<>(ids, 50, chunk -> {
+            chunkSizes.add(chunk.size());
+            return chunk.stream().map(id -> id == 7 ? null : "bill-" + id).toList();
+        });
+        PageImpl<Long> idPage = new PageImpl<>(ids, PageRequest.of(0, 120), 500);
+
+        String streamed = json.writeValueAsString(PageResponseDto.of(idPage, content));
+        List<String> materialised = new ArrayList<>();
+        ids.stream().filter(id -> id != 7).forEach(id -> materialised.add("bill-" + id));
+
+        String expected = json.writeValueAsString(PageResponseDto.of(idPage, materialised));
+        assertThat(streamed).isEqualTo(expected.substring(0, expected.length() - 1) + ",\"missing\":[7]}");
+        assertThat(chunkSizes).containsExactly(50, 50, 20);
+        assertThat(json.readTree(streamed).get("totalElements").asLong()).isEqualTo(500);
+
+        // Binary formats get an indefinite-length array, since size() counts the vanished row too
+        CBORMapper cbor = new CBORMapper();
+        assertThat(cbor.readTree(cbor.writeValueAsBytes(PageResponseDto.of(idPage, content))).get("content")).hasSize(119);
+    }
+}